@@ -62,10 +62,15 @@ public class ProvisioningEntriesReadPlatformServiceImpl implements ProvisioningE
         private final StringBuilder sqlQuery;
 
         private LoanProductProvisioningEntryMapper(DatabaseSpecificSQLGenerator sqlGenerator) {
+            // outstanding balances are summed per provisioning entry line, so the database returns one row per office,
+            // product, currency, category and overdue days instead of one row per loan
             sqlQuery = new StringBuilder().append(
-                    "select (CASE WHEN loan.loan_type_enum=1 THEN mclient.office_id ELSE mgroup.office_id END) as office_id, loan.loan_type_enum, pcd.criteria_id as criteriaid, loan.product_id,loan.currency_code,")
+                    "select t.office_id, t.criteriaid, t.product_id, t.currency_code, t.numberofdaysoverdue, t.category_id,")
+                    .append(" t.provision_percentage,")
+                    .append(" sum(t.outstandingbalance) as outstandingbalance, t.liability_account, t.expense_account from (")
+                    .append("select (CASE WHEN loan.loan_type_enum=1 THEN mclient.office_id ELSE mgroup.office_id END) as office_id, pcd.criteria_id as criteriaid, loan.product_id,loan.currency_code,")
                     .append("GREATEST(" + sqlGenerator.dateDiff("?", "sch.duedate")
-                            + ", 0) as numberofdaysoverdue,sch.duedate, pcd.category_id, pcd.provision_percentage,")
+                            + ", 0) as numberofdaysoverdue, pcd.category_id, pcd.provision_percentage,")
                     .append("loan.total_outstanding_derived as outstandingbalance, pcd.liability_account, pcd.expense_account from m_loan_repayment_schedule sch")
                     .append(" LEFT JOIN m_loan loan on sch.loan_id = loan.id")
                     .append(" JOIN m_loanproduct_provisioning_mapping lpm on lpm.product_id = loan.product_id")
@@ -75,7 +80,9 @@ public class ProvisioningEntriesReadPlatformServiceImpl implements ProvisioningE
                     .append("LEFT JOIN m_client mclient ON mclient.id = loan.client_id ")
                     .append("LEFT JOIN m_group mgroup ON mgroup.id = loan.group_id ")
                     .append("where loan.loan_status_id=300 and sch.duedate = ")
-                    .append("(select MIN(sch1.duedate) from m_loan_repayment_schedule sch1 where sch1.loan_id=loan.id and sch1.completed_derived=false)");
+                    .append("(select MIN(sch1.duedate) from m_loan_repayment_schedule sch1 where sch1.loan_id=loan.id and sch1.completed_derived=false)")
+                    .append(") t group by t.office_id, t.criteriaid, t.product_id, t.currency_code, t.numberofdaysoverdue, t.category_id,")
+                    .append(" t.provision_percentage, t.liability_account, t.expense_account");
         }
 
         @Override
@@ -37,7 +37,9 @@ public interface BatchApiService {
     /**
      * Returns a list of {@link org.apache.fineract.batch.domain.BatchResponse}s by getting the appropriate
      * CommandStrategy for every {@link org.apache.fineract.batch.domain.BatchRequest}. It will be used when the Query
-     * Parameter "enclosingTransaction "is set to 'false'.
+     * Parameter "enclosingTransaction "is set to 'false'. When {@code fineract.api.batch.parallel-execution-enabled} is
+     * set, requests that do not reference each other are executed concurrently; requests referencing a parent still run
+     * after it, and responses are ordered by request id.
      *
      * @param requestList
      * @param uriInfo
@@ -23,6 +23,7 @@ import static org.apache.http.HttpStatus.SC_OK;
 
 import com.google.gson.Gson;
 import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.ReadContext;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.github.resilience4j.core.functions.Either;
 import jakarta.persistence.EntityManager;
@@ -34,8 +35,12 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -51,12 +56,18 @@ import org.apache.fineract.batch.domain.Header;
 import org.apache.fineract.batch.exception.BatchReferenceInvalidException;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.batch.starter.BatchApiConfiguration;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractBatchApiProperties;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchCallHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchFilter;
 import org.apache.fineract.infrastructure.core.filters.BatchRequestPreprocessor;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.stereotype.Service;
@@ -89,6 +100,11 @@ public class BatchApiServiceImpl implements BatchApiService {
 
     private final List<BatchRequestPreprocessor> batchPreprocessors;
 
+    private final FineractProperties fineractProperties;
+
+    @Qualifier(BatchApiConfiguration.BATCH_API_TASK_EXECUTOR_BEAN_NAME)
+    private final AsyncTaskExecutor batchApiTaskExecutor;
+
     @PersistenceContext
     private final EntityManager entityManager;
 
@@ -177,13 +193,118 @@ public class BatchApiServiceImpl implements BatchApiService {
         }
 
         final ArrayList<BatchResponse> responseList = new ArrayList<>(requestList.size());
-        for (BatchRequestNode rootNode : rootNodes) {
-            this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+        if (isParallelExecution(rootNodes)) {
+            callRootNodesInParallel(rootNodes, responseList, uriInfo);
+        } else {
+            for (BatchRequestNode rootNode : rootNodes) {
+                this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+            }
         }
         responseList.sort(Comparator.comparing(BatchResponse::getRequestId));
         return responseList;
     }
 
+    private boolean isParallelExecution(List<BatchRequestNode> rootNodes) {
+        return rootNodes.size() > 1 && !BatchRequestContextHolder.isEnclosingTransaction() && getParallelExecutionProperties() != null
+                && getParallelExecutionProperties().isParallelExecutionEnabled();
+    }
+
+    /**
+     * Runs the independent request trees on the bounded batch executor. Requests of one tree still run one after the
+     * other, children after their parent, on the same worker thread. The executor propagates the tenant, business date,
+     * security and logging contexts of the calling thread to the workers. Trees the executor cannot accept are run on the
+     * calling thread.
+     * <p>
+     * Each worker collects the responses of its tree into a list shared with the calling thread, so the responses of a
+     * tree failing half way are kept, and only the requests without a response are reported as failed.
+     *
+     * @param rootNodes
+     *            the roots of the independent request trees
+     * @param responseList
+     *            the collected responses
+     * @param uriInfo
+     */
+    private void callRootNodesInParallel(List<BatchRequestNode> rootNodes, List<BatchResponse> responseList, UriInfo uriInfo) {
+        final List<List<BatchResponse>> treeResponseLists = new ArrayList<>(rootNodes.size());
+        final List<Future<?>> futures = new ArrayList<>(rootNodes.size());
+        for (BatchRequestNode rootNode : rootNodes) {
+            final List<BatchResponse> treeResponses = Collections.synchronizedList(new ArrayList<>());
+            treeResponseLists.add(treeResponses);
+            final Runnable tree = () -> this.callRequestRecursive(rootNode.getRequest(), rootNode, treeResponses, uriInfo);
+            try {
+                futures.add(batchApiTaskExecutor.submit(tree));
+            } catch (TaskRejectedException e) {
+                log.debug("Batch executor is saturated, running request {} on the calling thread", rootNode.getRequest().getRequestId());
+                final FutureTask<Void> inline = new FutureTask<>(tree, null);
+                inline.run();
+                futures.add(inline);
+            }
+        }
+        for (int i = 0; i < rootNodes.size(); i++) {
+            final List<BatchResponse> treeResponses = treeResponseLists.get(i);
+            Throwable failure = null;
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            } catch (ExecutionException e) {
+                log.error("Exception during the parallel batch request processing", e.getCause());
+                failure = e.getCause();
+            }
+            final List<BatchResponse> producedResponses;
+            synchronized (treeResponses) {
+                producedResponses = new ArrayList<>(treeResponses);
+            }
+            responseList.addAll(producedResponses);
+            if (failure != null) {
+                final Map<Long, BatchResponse> responsesById = new HashMap<>();
+                producedResponses.forEach(response -> responsesById.put(response.getRequestId(), response));
+                responseList.addAll(treeFailedRecursive(rootNodes.get(i), null, failure, responsesById));
+            }
+        }
+    }
+
+    /**
+     * Builds the responses of the requests of a tree the worker did not answer because it failed. A request whose
+     * parent succeeded gets the error of the failure, its child requests fail with their parent as in
+     * {@link #callRequestRecursive(BatchRequest, BatchRequestNode, List, UriInfo)}.
+     *
+     * @param requestNode
+     *            the current request node
+     * @param parentNode
+     *            the parent request node, {@code null} for the root
+     * @param failure
+     *            the failure of the worker
+     * @param responsesById
+     *            the responses already produced, by request id
+     * @return {@code BatchResponse} list of the generated batch responses
+     */
+    private List<BatchResponse> treeFailedRecursive(@NotNull BatchRequestNode requestNode, BatchRequestNode parentNode,
+            @NotNull Throwable failure, @NotNull Map<Long, BatchResponse> responsesById) {
+        final BatchRequest request = requestNode.getRequest();
+        final BatchResponse response = responsesById.get(request.getRequestId());
+        final List<BatchResponse> responseList = new ArrayList<>();
+        if (response != null) {
+            requestNode.getChildNodes()
+                    .forEach(childNode -> responseList.addAll(treeFailedRecursive(childNode, requestNode, failure, responsesById)));
+            return responseList;
+        }
+        final BatchResponse parentResponse = parentNode == null ? null : responsesById.get(parentNode.getRequest().getRequestId());
+        if (parentResponse == null || (parentResponse.getStatusCode() != null && parentResponse.getStatusCode() == SC_OK)) {
+            final BatchResponse errorResponse = buildErrorResponse(failure, request);
+            responseList.add(errorResponse);
+            responseList.addAll(parentRequestFailedRecursive(request, requestNode, errorResponse, null));
+        } else {
+            responseList.addAll(parentRequestFailedRecursive(request, requestNode, parentResponse, parentNode.getRequest().getRequestId()));
+        }
+        return responseList;
+    }
+
+    private FineractBatchApiProperties getParallelExecutionProperties() {
+        return fineractProperties.getApi() == null ? null : fineractProperties.getApi().getBatch();
+    }
+
     /**
      * Executes the request and call child requests recursively.
      *
@@ -201,12 +322,13 @@ public class BatchApiServiceImpl implements BatchApiService {
         BatchResponse response = executeRequest(request, uriInfo);
         responseList.add(response);
         if (response.getStatusCode() != null && response.getStatusCode() == SC_OK) {
-            // run child nodes
+            // run child nodes, parsing the parent response only once for all of them
+            final Supplier<ReadContext> responseCtx = this.resolutionHelper.parsedResponse(response);
             requestNode.getChildNodes().forEach(childNode -> {
                 BatchRequest childRequest = childNode.getRequest();
                 BatchRequest resolvedChildRequest;
                 try {
-                    resolvedChildRequest = this.resolutionHelper.resolveRequest(childRequest, response);
+                    resolvedChildRequest = this.resolutionHelper.resolveRequest(childRequest, responseCtx.get());
                     callRequestRecursive(resolvedChildRequest, childNode, responseList, uriInfo);
                 } catch (JsonPathException jpex) {
                     responseList.add(buildOrThrowErrorResponse(jpex, childRequest));
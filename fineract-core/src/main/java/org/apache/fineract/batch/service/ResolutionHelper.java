@@ -19,6 +19,7 @@
 package org.apache.fineract.batch.service;
 
 import com.google.common.base.Splitter;
+import com.google.common.base.Suppliers;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -27,6 +28,7 @@ import com.jayway.jsonpath.ReadContext;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.batch.domain.BatchResponse;
@@ -123,7 +125,33 @@ public class ResolutionHelper {
      * @return BatchRequest
      */
     public BatchRequest resolveRequest(final BatchRequest request, final BatchResponse parentResponse) {
-        final ReadContext responseCtx = JsonPath.parse(parentResponse.getBody());
+        return resolveRequest(request, parseResponse(parentResponse));
+    }
+
+    /**
+     * Returns a supplier of the parsed body of the given response. The body is parsed on first use only, so all the child
+     * requests of a parent resolve their references against the same document.
+     *
+     * @param parentResponse
+     * @return Supplier&lt;ReadContext&gt;
+     */
+    public Supplier<ReadContext> parsedResponse(final BatchResponse parentResponse) {
+        return Suppliers.memoize(() -> parseResponse(parentResponse));
+    }
+
+    private ReadContext parseResponse(final BatchResponse parentResponse) {
+        return JsonPath.parse(parentResponse.getBody());
+    }
+
+    /**
+     * Same as {@link #resolveRequest(BatchRequest, BatchResponse)}, but resolves against an already parsed parent
+     * response.
+     *
+     * @param request
+     * @param responseCtx
+     * @return BatchRequest
+     */
+    public BatchRequest resolveRequest(final BatchRequest request, final ReadContext responseCtx) {
         // Gets the body from current Request as a JsonObject
         String requestBody = request.getBody();
         if (requestBody != null) {
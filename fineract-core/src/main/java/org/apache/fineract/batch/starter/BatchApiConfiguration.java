@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.starter;
+
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractBatchApiProperties;
+import org.apache.fineract.infrastructure.core.service.ContextPropagatingTaskDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BatchApiConfiguration {
+
+    public static final String BATCH_API_TASK_EXECUTOR_BEAN_NAME = "batchApiThreadPoolTaskExecutor";
+
+    /**
+     * Bounded executor for the independent request trees of a batch call. Tasks run with the context of the calling
+     * request; when all workers are busy and the queue is full the tree is run on the calling thread instead.
+     */
+    @Bean(BATCH_API_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor batchApiThreadPoolTaskExecutor(FineractProperties fineractProperties) {
+        final FineractBatchApiProperties batchProperties = fineractProperties.getApi() == null ? null
+                : fineractProperties.getApi().getBatch();
+        final int poolSize = batchProperties == null ? 1 : Math.max(1, batchProperties.getParallelExecutionPoolSize());
+        final int queueCapacity = batchProperties == null ? 0 : Math.max(0, batchProperties.getParallelExecutionQueueCapacity());
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(poolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(poolSize);
+        threadPoolTaskExecutor.setQueueCapacity(queueCapacity);
+        threadPoolTaskExecutor.setThreadNamePrefix("batch-api-");
+        threadPoolTaskExecutor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return threadPoolTaskExecutor;
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.fineract.commands.annotation;
 
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
@@ -27,7 +28,8 @@ import java.lang.annotation.Target;
 /**
  * Specifies the command type for the annotated class.<br>
  * <br>
- * The entity name (e.g. CLIENT, SAVINGSACCOUNT, LOANPRODUCT) and the action (e.g. CREATE, DELETE) must be given.
+ * The entity name (e.g. CLIENT, SAVINGSACCOUNT, LOANPRODUCT) and the action (e.g. CREATE, DELETE) must be given. A
+ * handler serving the same action for several entities can be annotated repeatedly.
  *
  * @author Markus Geiss
  * @version 1.0
@@ -36,6 +38,7 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 @Documented
+@Repeatable(CommandTypes.class)
 public @interface CommandType {
 
     /**
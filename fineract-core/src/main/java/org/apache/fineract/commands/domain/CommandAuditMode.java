@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.domain;
+
+/**
+ * How much of a processed command is written to <code>m_portfolio_command_source</code>.
+ */
+public enum CommandAuditMode {
+
+    /**
+     * Initial row in its own transaction before processing, updated with the result afterwards.
+     */
+    FULL,
+    /**
+     * Single row written together with the business changes, the request body is replaced by its SHA-256 hash.
+     */
+    COMPACT,
+    /**
+     * As {@link #COMPACT}, the full request body is appended to the row by a background writer after commit.
+     */
+    ASYNC;
+}
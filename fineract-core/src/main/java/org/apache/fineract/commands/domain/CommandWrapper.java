@@ -293,4 +293,36 @@ public class CommandWrapper {
         return this.actionName.equalsIgnoreCase("UPDATE") && this.entityName.equalsIgnoreCase("DISBURSEMENTDETAIL")
                 && this.entityId == null;
     }
+
+    /**
+     * Entity name the command handler is registered for. Datatable and survey commands carry the name of the datatable
+     * as entity, their handlers are registered for <code>DATATABLE</code> and <code>SURVEY</code>.
+     */
+    public String handlerEntityName() {
+        if (isDatatableResource()) {
+            return "DATATABLE";
+        }
+        if (isSurveyResource()) {
+            return "SURVEY";
+        }
+        return this.entityName;
+    }
+
+    /**
+     * Action name the command handler is registered for. Datatable entry commands are told apart from the datatable
+     * definition commands by their <code>_ENTRY</code> suffix, adding and deleting several disbursement details by
+     * <code>ADD_AND_DELETE</code>.
+     */
+    public String handlerActionName() {
+        if (isDatatableResource() && this.entityId != null) {
+            if (this.subentityId != null && (isUpdateOperation() || isDeleteOperation())) {
+                return this.actionName + "_MULTIPLE_ENTRY";
+            }
+            return this.actionName + "_ENTRY";
+        }
+        if (addAndDeleteDisbursementDetails()) {
+            return "ADD_AND_DELETE";
+        }
+        return this.actionName;
+    }
 }
@@ -20,15 +20,18 @@ package org.apache.fineract.commands.provider;
 
 import com.google.common.base.Preconditions;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.commands.annotation.CommandType;
 import org.apache.fineract.commands.exception.UnsupportedCommandException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Component;
@@ -37,7 +40,8 @@ import org.springframework.stereotype.Component;
  * {@link CommandHandlerProvider} provides {@link NewCommandSourceHandler}s for a given entity and action. <br>
  * <br>
  * A {@link NewCommandSourceHandler} can be registered and the annotation {@link CommandType} is used to determine the
- * entity and the action the handler is capable to process.
+ * entity and the action the handler is capable to process. The handlers are resolved once all singletons are
+ * instantiated, so a command is dispatched by a single map lookup.
  *
  * @author Markus Geiss
  * @version 1.0
@@ -48,33 +52,60 @@ import org.springframework.stereotype.Component;
 @Component
 @NoArgsConstructor
 @Slf4j
-public class CommandHandlerProvider implements ApplicationContextAware, InitializingBean {
+public class CommandHandlerProvider implements ApplicationContextAware, SmartInitializingSingleton {
 
-    private final HashMap<String, String> registeredHandlers = new HashMap<>();
+    private volatile Map<String, NewCommandSourceHandler> registeredHandlers;
     private ApplicationContext applicationContext;
 
     @Override
-    public void afterPropertiesSet() throws Exception {
-        initializeHandlerRegistry();
+    public void afterSingletonsInstantiated() {
+        getRegisteredHandlers();
     }
 
-    private void initializeHandlerRegistry() {
-        final String[] commandHandlerBeans = applicationContext.getBeanNamesForAnnotation(CommandType.class);
-        if (ArrayUtils.isNotEmpty(commandHandlerBeans)) {
-            for (final String commandHandlerName : commandHandlerBeans) {
+    private Map<String, NewCommandSourceHandler> getRegisteredHandlers() {
+        Map<String, NewCommandSourceHandler> handlers = registeredHandlers;
+        if (handlers == null) {
+            synchronized (this) {
+                handlers = registeredHandlers;
+                if (handlers == null) {
+                    handlers = initializeHandlerRegistry();
+                    registeredHandlers = handlers;
+                }
+            }
+        }
+        return handlers;
+    }
+
+    private Map<String, NewCommandSourceHandler> initializeHandlerRegistry() {
+        final Map<String, NewCommandSourceHandler> handlers = new HashMap<>();
+        final Map<String, String> handlerNames = new TreeMap<>();
+        for (final String commandHandlerName : applicationContext.getBeanNamesForType(NewCommandSourceHandler.class)) {
+            try {
+                final Set<CommandType> commandTypes = applicationContext.findAllAnnotationsOnBean(commandHandlerName, CommandType.class,
+                        false);
+                if (commandTypes.isEmpty()) {
+                    log.debug("Skip command handler '{}' without command type", commandHandlerName);
+                    continue;
+                }
                 log.debug("Register command handler '{}' ...", commandHandlerName);
-                final CommandType commandType = applicationContext.findAnnotationOnBean(commandHandlerName, CommandType.class);
-                try {
-                    if (commandType != null) {
-                        registeredHandlers.put(commandType.entity() + "|" + commandType.action(), commandHandlerName);
-                    } else {
-                        log.error("Unable to register command handler '{}'!", commandHandlerName);
+                final NewCommandSourceHandler handler = applicationContext.getBean(commandHandlerName, NewCommandSourceHandler.class);
+                for (final CommandType commandType : commandTypes) {
+                    final String key = commandType.entity() + "|" + commandType.action();
+                    final String previous = handlerNames.put(key, commandHandlerName);
+                    if (previous != null) {
+                        log.warn("Command handler '{}' replaces '{}' for {}", commandHandlerName, previous, key);
                     }
-                } catch (final Throwable th) {
-                    log.error("Unable to register command handler '{}'!", commandHandlerName, th);
+                    handlers.put(key, handler);
                 }
+            } catch (final Throwable th) {
+                log.error("Unable to register command handler '{}'!", commandHandlerName, th);
             }
         }
+        log.info("Registered {} commands served by {} command handlers", handlers.size(), new HashSet<>(handlerNames.values()).size());
+        if (log.isDebugEnabled()) {
+            handlerNames.forEach((key, name) -> log.debug("Command {} -> {}", key, name));
+        }
+        return Map.copyOf(handlers);
     }
 
     /**
@@ -93,10 +124,11 @@ public class CommandHandlerProvider implements ApplicationContextAware, Initiali
         Preconditions.checkArgument(StringUtils.isNoneEmpty(action), "An action must be given!");
 
         final String key = entity + "|" + action;
-        if (!registeredHandlers.containsKey(key)) {
+        final NewCommandSourceHandler handler = getRegisteredHandlers().get(key);
+        if (handler == null) {
             throw new UnsupportedCommandException(key);
         }
-        return (NewCommandSourceHandler) applicationContext.getBean(registeredHandlers.get(key));
+        return handler;
     }
 
     @Override
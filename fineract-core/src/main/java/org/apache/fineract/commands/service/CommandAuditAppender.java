@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.domain.CommandAuditMode;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Background writer of the {@link CommandAuditMode#ASYNC} audit mode: appends the full request body to the already
+ * committed compact command source rows in batches, one batch update per tenant.
+ * <p>
+ * Entries are queued after the command transaction committed. When the queue is full the entry is written by the
+ * caller instead. A batch that fails to write is logged with its command source ids and not retried, those rows keep
+ * their compact request body.
+ */
+@Slf4j
+@Component
+public class CommandAuditAppender {
+
+    private static final String UPDATE_COMMAND_AS_JSON = "UPDATE m_portfolio_command_source SET command_as_json = ? WHERE id = ?";
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 1000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditEntry> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private ScheduledExecutorService writer;
+
+    public CommandAuditAppender(final JdbcTemplate jdbcTemplate, final FineractProperties fineractProperties) {
+        final FineractProperties.FineractCommandAuditProperties properties = fineractProperties.getCommandAudit();
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(positiveOrDefault(properties == null ? 0 : properties.getAsyncQueueCapacity(),
+                DEFAULT_QUEUE_CAPACITY));
+        this.batchSize = positiveOrDefault(properties == null ? 0 : properties.getAsyncBatchSize(), DEFAULT_BATCH_SIZE);
+        this.flushIntervalMs = properties == null || properties.getAsyncFlushIntervalMs() <= 0 ? DEFAULT_FLUSH_INTERVAL_MS
+                : properties.getAsyncFlushIntervalMs();
+    }
+
+    /**
+     * Queues the full request body of the command source. Inside a transaction the entry is queued only after commit,
+     * as the row is not visible to the writer before.
+     */
+    public void append(final Long commandSourceId, final String commandAsJson) {
+        if (commandSourceId == null || commandAsJson == null) {
+            return;
+        }
+        final AuditEntry entry = new AuditEntry(ThreadLocalContextUtil.getContext(), commandSourceId, commandAsJson);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    private void enqueue(final AuditEntry entry) {
+        getWriter();
+        if (!this.queue.offer(entry)) {
+            log.debug("Command audit queue is full, writing command source {} synchronously", entry.commandSourceId());
+            write(List.of(entry));
+        }
+    }
+
+    void flush() {
+        final List<AuditEntry> entries = new ArrayList<>(this.batchSize);
+        while (this.queue.drainTo(entries, this.batchSize) > 0) {
+            final Map<String, List<AuditEntry>> entriesByTenant = new LinkedHashMap<>();
+            for (AuditEntry entry : entries) {
+                entriesByTenant.computeIfAbsent(entry.context().getTenantContext().getTenantIdentifier(), tenant -> new ArrayList<>())
+                        .add(entry);
+            }
+            for (List<AuditEntry> tenantEntries : entriesByTenant.values()) {
+                try {
+                    ThreadLocalContextUtil.init(tenantEntries.get(0).context());
+                    write(tenantEntries);
+                } catch (RuntimeException e) {
+                    log.error("Failed to append the command audit records of command sources {}",
+                            tenantEntries.stream().map(AuditEntry::commandSourceId).toList(), e);
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            }
+            entries.clear();
+        }
+    }
+
+    private void write(final List<AuditEntry> entries) {
+        this.jdbcTemplate.batchUpdate(UPDATE_COMMAND_AS_JSON,
+                entries.stream().map(entry -> new Object[] { entry.commandAsJson(), entry.commandSourceId() }).toList());
+    }
+
+    private synchronized ScheduledExecutorService getWriter() {
+        if (this.writer == null) {
+            this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "command-audit-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.writer.scheduleWithFixedDelay(this::flush, this.flushIntervalMs, this.flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        return this.writer;
+    }
+
+    @PreDestroy
+    public synchronized void shutdownWriter() throws InterruptedException {
+        if (this.writer != null) {
+            this.writer.shutdown();
+            this.writer.awaitTermination(this.flushIntervalMs, TimeUnit.MILLISECONDS);
+            flush();
+        }
+    }
+
+    private static int positiveOrDefault(final int value, final int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+    private record AuditEntry(FineractContext context, Long commandSourceId, String commandAsJson) {
+    }
+}
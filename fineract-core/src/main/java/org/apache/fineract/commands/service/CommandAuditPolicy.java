@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.fineract.commands.domain.CommandAuditMode;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the {@link CommandAuditMode} of a command from its permission name (e.g. <code>REPAYMENT_LOAN</code>) as
+ * configured by <code>fineract.command-audit.compact-commands</code> and
+ * <code>fineract.command-audit.async-commands</code>.
+ */
+@Component
+public class CommandAuditPolicy {
+
+    private final Set<String> compactCommands;
+    private final Set<String> asyncCommands;
+
+    public CommandAuditPolicy(final FineractProperties fineractProperties) {
+        final FineractProperties.FineractCommandAuditProperties properties = fineractProperties.getCommandAudit();
+        this.compactCommands = toPermissionNames(properties == null ? null : properties.getCompactCommands());
+        this.asyncCommands = toPermissionNames(properties == null ? null : properties.getAsyncCommands());
+    }
+
+    public CommandAuditMode getAuditMode(final CommandWrapper wrapper) {
+        final String permissionName = wrapper.taskPermissionName();
+        if (this.asyncCommands.contains(permissionName)) {
+            return CommandAuditMode.ASYNC;
+        }
+        if (this.compactCommands.contains(permissionName)) {
+            return CommandAuditMode.COMPACT;
+        }
+        return CommandAuditMode.FULL;
+    }
+
+    /**
+     * Replaces the request body of the not yet saved command source by its hash, so duplicates can still be matched
+     * against the audit trail.
+     */
+    public CommandSource compact(final CommandSource commandSource) {
+        commandSource.setCommandAsJson(compactPayload(commandSource.getCommandAsJson()));
+        return commandSource;
+    }
+
+    static String compactPayload(final String commandAsJson) {
+        if (commandAsJson == null) {
+            return "{}";
+        }
+        return "{\"sha256\":\"" + sha256(commandAsJson) + "\"}";
+    }
+
+    private static String sha256(final String value) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Set<String> toPermissionNames(final List<String> commands) {
+        if (commands == null) {
+            return Set.of();
+        }
+        return commands.stream().map(String::trim).filter(command -> !command.isEmpty()).map(command -> command.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
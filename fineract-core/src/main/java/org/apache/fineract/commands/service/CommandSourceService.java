@@ -18,8 +18,11 @@
  */
 package org.apache.fineract.commands.service;
 
+import static org.apache.fineract.commands.domain.CommandProcessingResultType.PROCESSED;
 import static org.apache.fineract.commands.domain.CommandProcessingResultType.UNDER_PROCESSING;
+import static org.apache.http.HttpStatus.SC_OK;
 
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.commands.domain.CommandSource;
@@ -34,6 +37,7 @@ import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessUnderProcessingException;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.dao.DataAccessException;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Isolation;
@@ -70,14 +74,18 @@ public class CommandSourceService {
             CommandSource initialCommandSource = getInitialCommandSource(wrapper, jsonCommand, maker, idempotencyKey);
             return commandSourceRepository.saveAndFlush(initialCommandSource);
         } catch (JpaSystemException jse) {
-            final String message = (jse.getRootCause() != null) ? jse.getRootCause().getMessage() : null;
-            if (message != null && message.toUpperCase().contains("UNIQUE_PORTFOLIO_COMMAND_SOURCE")) {
-                throw new IdempotentCommandProcessUnderProcessingException(wrapper, idempotencyKey, jse);
-            }
-            throw jse;
+            throw mapDuplicateCommand(jse, wrapper, idempotencyKey);
         }
     }
 
+    private RuntimeException mapDuplicateCommand(DataAccessException jse, CommandWrapper wrapper, String idempotencyKey) {
+        final String message = (jse.getRootCause() != null) ? jse.getRootCause().getMessage() : null;
+        if (message != null && message.toUpperCase().contains("UNIQUE_PORTFOLIO_COMMAND_SOURCE")) {
+            return new IdempotentCommandProcessUnderProcessingException(wrapper, idempotencyKey, jse);
+        }
+        return jse;
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
     public CommandSource saveResultNewTransaction(@NotNull CommandSource commandSource) {
         return saveResult(commandSource);
@@ -128,4 +136,24 @@ public class CommandSourceService {
         }
         return result;
     }
+
+    /**
+     * Single phase variant used by the lightweight audit modes: the command source is inserted together with the
+     * business changes, a concurrent request with the same idempotency key fails on the unique constraint.
+     */
+    @Transactional
+    public CommandProcessingResult processCommandAndSaveResult(NewCommandSourceHandler handler, CommandWrapper wrapper,
+            JsonCommand command, CommandSource commandSource, AppUser user, Function<CommandProcessingResult, String> resultSerializer) {
+        final CommandProcessingResult result = processCommand(handler, command, commandSource, user, false, false);
+        commandSource.setResultStatusCode(SC_OK);
+        commandSource.updateForAudit(result);
+        commandSource.setResult(resultSerializer.apply(result));
+        commandSource.setStatus(PROCESSED.getValue());
+        try {
+            commandSourceRepository.saveAndFlush(commandSource);
+        } catch (DataAccessException jse) {
+            throw mapDuplicateCommand(jse, wrapper, commandSource.getIdempotencyKey());
+        }
+        return result;
+    }
 }
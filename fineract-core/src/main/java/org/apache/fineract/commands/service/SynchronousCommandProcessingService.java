@@ -33,10 +33,11 @@ import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.batch.exception.ErrorInfo;
+import org.apache.fineract.commands.domain.CommandAuditMode;
 import org.apache.fineract.commands.domain.CommandProcessingResultType;
 import org.apache.fineract.commands.domain.CommandSource;
 import org.apache.fineract.commands.domain.CommandWrapper;
-import org.apache.fineract.commands.exception.UnsupportedCommandException;
+import org.apache.fineract.commands.exception.RollbackTransactionNotApprovedException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.apache.fineract.commands.provider.CommandHandlerProvider;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -76,6 +77,8 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final CommandHandlerProvider commandHandlerProvider;
     private final IdempotencyKeyResolver idempotencyKeyResolver;
     private final CommandSourceService commandSourceService;
+    private final CommandAuditPolicy commandAuditPolicy;
+    private final CommandAuditAppender commandAuditAppender;
 
     private final FineractRequestContextHolder fineractRequestContextHolder;
     private final Gson gson = GoogleGsonSerializerHelper.createSimpleGson();
@@ -105,8 +108,18 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
 
         AppUser user = context.authenticatedUser(wrapper);
+        boolean isMakerChecker = configurationDomainService.isMakerCheckerEnabledForTask(wrapper.taskPermissionName());
+        // Lightweight audit only for fresh commands which are neither part of a batch transaction nor subject to approval
+        CommandAuditMode auditMode = commandSource == null && !isEnclosingTransaction && !isApprovedByChecker && !isMakerChecker
+                ? commandAuditPolicy.getAuditMode(wrapper)
+                : CommandAuditMode.FULL;
+        boolean isLightweightAudit = auditMode != CommandAuditMode.FULL;
         if (commandSource == null) {
-            if (isEnclosingTransaction) {
+            if (isLightweightAudit) {
+                // saved together with the result
+                commandSource = commandAuditPolicy
+                        .compact(commandSourceService.getInitialCommandSource(wrapper, command, user, idempotencyKey));
+            } else if (isEnclosingTransaction) {
                 commandSource = commandSourceService.getInitialCommandSource(wrapper, command, user, idempotencyKey);
             } else {
                 commandSource = commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
@@ -117,7 +130,6 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             storeCommandIdInContext(commandSource); // Store command id as a request attribute
         }
 
-        boolean isMakerChecker = configurationDomainService.isMakerCheckerEnabledForTask(wrapper.taskPermissionName());
         if (isApprovedByChecker || (isMakerChecker && user.isCheckerSuperUser())) {
             commandSource.markAsChecked(user);
         }
@@ -125,10 +137,25 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
         final CommandProcessingResult result;
         try {
-            result = commandSourceService.processCommand(findCommandHandler(wrapper), command, commandSource, user, isApprovedByChecker,
-                    isMakerChecker);
+            if (isLightweightAudit) {
+                result = commandSourceService.processCommandAndSaveResult(findCommandHandler(wrapper), wrapper, command, commandSource,
+                        user, toApiResultJsonSerializer::serializeResult);
+            } else {
+                result = commandSourceService.processCommand(findCommandHandler(wrapper), command, commandSource, user, isApprovedByChecker,
+                        isMakerChecker);
+            }
         } catch (Throwable t) { // NOSONAR
             RuntimeException mappable = ErrorHandler.getMappable(t);
+            if (isLightweightAudit) {
+                if (mappable instanceof IdempotentCommandProcessUnderProcessingException) {
+                    throw mappable; // the same request was committed concurrently
+                }
+                // the compact entry was rolled back, failures are audited with the full request
+                commandSource = commandSourceService.getInitialCommandSource(wrapper, command, user, idempotencyKey);
+                if (mappable instanceof RollbackTransactionNotApprovedException) {
+                    commandSource.markAsAwaitingApproval();
+                }
+            }
             ErrorInfo errorInfo = commandSourceService.generateErrorInfo(mappable);
             Integer statusCode = errorInfo.getStatusCode();
             commandSource.setResultStatusCode(statusCode);
@@ -139,18 +166,29 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             if (!isEnclosingTransaction) { // TODO: temporary solution
                 commandSource = commandSourceService.saveResultNewTransaction(commandSource);
             }
+            if (isLightweightAudit) {
+                storeCommandIdInContext(commandSource);
+                if (mappable instanceof RollbackTransactionNotApprovedException rollback) {
+                    mappable = new RollbackTransactionNotApprovedException(commandSource.getId(), rollback.getResult().getResourceId());
+                }
+            }
             // must not throw any exception; must persist in new transaction as the current transaction was already
             // marked as rollback
             publishHookErrorEvent(wrapper, command, errorInfo);
             throw mappable;
         }
 
-        commandSource.setResultStatusCode(SC_OK);
-        commandSource.updateForAudit(result);
-        commandSource.setResult(toApiResultJsonSerializer.serializeResult(result));
-        commandSource.setStatus(PROCESSED.getValue());
-        commandSource = commandSourceService.saveResultSameTransaction(commandSource);
+        if (!isLightweightAudit) {
+            commandSource.setResultStatusCode(SC_OK);
+            commandSource.updateForAudit(result);
+            commandSource.setResult(toApiResultJsonSerializer.serializeResult(result));
+            commandSource.setStatus(PROCESSED.getValue());
+            commandSource = commandSourceService.saveResultSameTransaction(commandSource);
+        }
         storeCommandIdInContext(commandSource); // Store command id as a request attribute
+        if (auditMode == CommandAuditMode.ASYNC) {
+            commandAuditAppender.append(commandSource.getId(), command.json());
+        }
 
         result.setRollbackTransaction(null);
         publishHookEvent(wrapper.entityName(), wrapper.actionName(), command, result); // TODO must be performed in a
@@ -199,61 +237,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     }
 
     private NewCommandSourceHandler findCommandHandler(final CommandWrapper wrapper) {
-        NewCommandSourceHandler handler;
-
-        if (wrapper.isDatatableResource()) {
-            if (wrapper.isCreateDatatable()) {
-                handler = applicationContext.getBean("createDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDeleteDatatable()) {
-                handler = applicationContext.getBean("deleteDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdateDatatable()) {
-                handler = applicationContext.getBean("updateDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isCreate()) {
-                handler = applicationContext.getBean("createDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdateMultiple()) {
-                handler = applicationContext.getBean("updateOneToManyDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdateOneToOne()) {
-                handler = applicationContext.getBean("updateOneToOneDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDeleteMultiple()) {
-                handler = applicationContext.getBean("deleteOneToManyDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDeleteOneToOne()) {
-                handler = applicationContext.getBean("deleteOneToOneDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isRegisterDatatable()) {
-                handler = applicationContext.getBean("registerDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else if (wrapper.isNoteResource()) {
-            if (wrapper.isCreate()) {
-                handler = applicationContext.getBean("createNoteCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdate()) {
-                handler = applicationContext.getBean("updateNoteCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDelete()) {
-                handler = applicationContext.getBean("deleteNoteCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else if (wrapper.isSurveyResource()) {
-            if (wrapper.isRegisterSurvey()) {
-                handler = applicationContext.getBean("registerSurveyCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isFullFilSurvey()) {
-                handler = applicationContext.getBean("fullFilSurveyCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else if (wrapper.isLoanDisburseDetailResource()) {
-            if (wrapper.isUpdateDisbursementDate()) {
-                handler = applicationContext.getBean("updateLoanDisburseDateCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.addAndDeleteDisbursementDetails()) {
-                handler = applicationContext.getBean("addAndDeleteLoanDisburseDetailsCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else {
-            handler = commandHandlerProvider.getHandler(wrapper.entityName(), wrapper.actionName());
-        }
-
-        return handler;
+        return commandHandlerProvider.getHandler(wrapper.handlerEntityName(), wrapper.handlerActionName());
     }
 
     @Override
@@ -38,6 +38,8 @@ public class FineractProperties {
 
     private String idempotencyKeyHeaderName;
 
+    private Integer idempotencyMaxResultSize;
+
     private Boolean insecureHttpClient;
 
     private FineractTenantProperties tenant;
@@ -74,6 +76,10 @@ public class FineractProperties {
 
     private FineractSamplingProperties sampling;
 
+    private FineractCommandAuditProperties commandAudit;
+
+    private FineractBusinessCalendarProperties businessCalendar;
+
     private FineractModulesProperties module;
 
     private FineractSqlValidationProperties sqlValidation;
@@ -102,6 +108,27 @@ public class FineractProperties {
         private String readOnlyName;
 
         private FineractConfigProperties config;
+
+        private FineractTenantUpgradeProperties upgrade;
+
+        private FineractTenantPoolProperties pool;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTenantUpgradeProperties {
+
+        private int poolSize;
+        private boolean checksumSkipEnabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTenantPoolProperties {
+
+        private boolean eagerInitialization;
+        private long idleTimeoutMinutes;
+        private int maxTotalConnections;
     }
 
     /**
@@ -388,6 +415,8 @@ public class FineractProperties {
 
         private int stuckRetryThreshold;
         private boolean loanCobEnabled;
+        private boolean loanArrearsAgeingIncremental;
+        private int npaUpdateBatchSize;
     }
 
     @Getter
@@ -424,6 +453,16 @@ public class FineractProperties {
     public static class FineractApiProperties {
 
         private FineractBodyItemSizeLimitProperties bodyItemSizeLimit;
+        private FineractBatchApiProperties batch;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBatchApiProperties {
+
+        private boolean parallelExecutionEnabled;
+        private int parallelExecutionPoolSize;
+        private int parallelExecutionQueueCapacity;
     }
 
     @Getter
@@ -490,6 +529,16 @@ public class FineractProperties {
     public static class FineractSecurityBasicAuth {
 
         private boolean enabled;
+        private FineractSecurityCredentialCache credentialCache;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSecurityCredentialCache {
+
+        private boolean enabled;
+        private long ttlSeconds;
+        private int maxEntries;
     }
 
     @Getter
@@ -523,6 +572,24 @@ public class FineractProperties {
         private int resetPeriodSec;
     }
 
+    @Getter
+    @Setter
+    public static class FineractCommandAuditProperties {
+
+        private List<String> compactCommands;
+        private List<String> asyncCommands;
+        private int asyncQueueCapacity;
+        private int asyncBatchSize;
+        private long asyncFlushIntervalMs;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBusinessCalendarProperties {
+
+        private long cacheTtlSeconds;
+    }
+
     @Getter
     @Setter
     public static class FineractModulesProperties {
@@ -0,0 +1,178 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.filters;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response wrapper which keeps the body in a size bounded buffer so it can be stored as the idempotent command result.
+ * <p>
+ * Bodies within the limit are held back until {@link #copyBodyToResponse()}, so the result is stored before the client
+ * sees the response. Once a body exceeds the limit the buffered part is written out, the rest streams straight to the
+ * client and nothing is captured.
+ */
+public class IdempotencyResponseCaptureWrapper extends HttpServletResponseWrapper {
+
+    private final int maxCapturedSize;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+    private boolean overflow;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public IdempotencyResponseCaptureWrapper(final HttpServletResponse response, final int maxCapturedSize) {
+        super(response);
+        this.maxCapturedSize = maxCapturedSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (this.writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return captureStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (this.writer == null) {
+            if (this.outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            final String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            this.writer = new PrintWriter(new OutputStreamWriter(captureStream(), encoding), false);
+        }
+        return this.writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        if (this.overflow) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (!this.overflow) {
+            this.buffer.reset();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (!this.overflow) {
+            this.buffer.reset();
+        }
+    }
+
+    /**
+     * @return whether the complete body fits into the capture buffer
+     */
+    public boolean isCaptured() {
+        return !this.overflow;
+    }
+
+    public String getCapturedBody() {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        return this.overflow ? null : this.buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    public void copyBodyToResponse() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        if (!this.overflow && this.buffer.size() > 0) {
+            final ServletOutputStream out = getResponse().getOutputStream();
+            this.buffer.writeTo(out);
+            this.buffer = new ByteArrayOutputStream(0);
+            out.flush();
+        }
+    }
+
+    private ServletOutputStream captureStream() throws IOException {
+        if (this.outputStream == null) {
+            this.outputStream = new CaptureOutputStream(getResponse().getOutputStream());
+        }
+        return this.outputStream;
+    }
+
+    private void write(final ServletOutputStream target, final byte[] bytes, final int offset, final int length) throws IOException {
+        if (!this.overflow && this.buffer.size() + length > this.maxCapturedSize) {
+            this.overflow = true;
+            this.buffer.writeTo(target);
+            this.buffer = new ByteArrayOutputStream(0);
+        }
+        if (this.overflow) {
+            target.write(bytes, offset, length);
+        } else {
+            this.buffer.write(bytes, offset, length);
+        }
+    }
+
+    private final class CaptureOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+
+        private CaptureOutputStream(final ServletOutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            IdempotencyResponseCaptureWrapper.this.write(this.target, new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            IdempotencyResponseCaptureWrapper.this.write(this.target, bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (IdempotencyResponseCaptureWrapper.this.overflow) {
+                this.target.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return this.target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            this.target.setWriteListener(writeListener);
+        }
+    }
+}
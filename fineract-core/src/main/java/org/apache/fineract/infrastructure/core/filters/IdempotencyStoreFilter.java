@@ -23,23 +23,21 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.mutable.Mutable;
-import org.apache.commons.lang3.mutable.MutableObject;
 import org.apache.fineract.commands.service.SynchronousCommandProcessingService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 @RequiredArgsConstructor
 @Slf4j
 public class IdempotencyStoreFilter extends OncePerRequestFilter {
 
+    private static final int DEFAULT_MAX_CAPTURED_RESULT_SIZE = 1024 * 1024;
+
     private final FineractRequestContextHolder fineractRequestContextHolder;
     private final IdempotencyStoreHelper helper;
     private final FineractProperties fineractProperties;
@@ -47,27 +45,37 @@ public class IdempotencyStoreFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
             @NotNull FilterChain filterChain) throws ServletException, IOException {
-        Mutable<ContentCachingResponseWrapper> wrapper = new MutableObject<>();
-        if (helper.isAllowedContentTypeRequest(request)) {
-            wrapper.setValue(new ContentCachingResponseWrapper(response));
+        IdempotencyResponseCaptureWrapper wrapper = null;
+        // Only write requests can issue commands, reads are passed through without capturing their body
+        if (helper.isAllowedContentTypeRequest(request) && helper.isCommandRequest(request)) {
+            wrapper = new IdempotencyResponseCaptureWrapper(response, getMaxCapturedResultSize());
         }
         extractIdempotentKeyFromHttpServletRequest(request).ifPresent(idempotentKey -> fineractRequestContextHolder
                 .setAttribute(SynchronousCommandProcessingService.IDEMPOTENCY_KEY_ATTRIBUTE, idempotentKey, request));
 
-        filterChain.doFilter(request, wrapper.getValue() != null ? wrapper.getValue() : response);
+        filterChain.doFilter(request, wrapper != null ? wrapper : response);
         Optional<Long> commandId = helper.getCommandId(request);
-        boolean isSuccessWithoutStored = commandId.isPresent() && wrapper.getValue() != null && helper.isStoreIdempotencyKey(request)
+        boolean isSuccessWithoutStored = commandId.isPresent() && wrapper != null && helper.isStoreIdempotencyKey(request)
                 && helper.isAllowedContentTypeResponse(response);
         if (isSuccessWithoutStored) {
-            helper.storeCommandResult(response.getStatus(), Optional.ofNullable(wrapper.getValue())
-                    .map(ContentCachingResponseWrapper::getContentAsByteArray).map(s -> new String(s, StandardCharsets.UTF_8)).orElse(null),
-                    commandId.get());
+            if (wrapper.isCaptured()) {
+                helper.storeCommandResult(response.getStatus(), wrapper.getCapturedBody(), commandId.get());
+            } else {
+                // The command processing already persisted its result, which is replayed instead of the oversized body
+                log.debug("Response body of command {} exceeds {} bytes, keeping the persisted command result", commandId.get(),
+                        getMaxCapturedResultSize());
+            }
         }
-        if (wrapper.getValue() != null) {
-            wrapper.getValue().copyBodyToResponse();
+        if (wrapper != null) {
+            wrapper.copyBodyToResponse();
         }
     }
 
+    private int getMaxCapturedResultSize() {
+        Integer maxSize = fineractProperties.getIdempotencyMaxResultSize();
+        return maxSize != null && maxSize > 0 ? maxSize : DEFAULT_MAX_CAPTURED_RESULT_SIZE;
+    }
+
     private Optional<String> extractIdempotentKeyFromHttpServletRequest(HttpServletRequest request) {
         return Optional.ofNullable(request.getHeader(fineractProperties.getIdempotencyKeyHeaderName()));
     }
@@ -20,7 +20,9 @@ package org.apache.fineract.infrastructure.core.filters;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.commands.domain.CommandSourceRepository;
 import org.apache.fineract.commands.service.CommandSourceService;
@@ -32,12 +34,18 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class IdempotencyStoreHelper {
 
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
     private final CommandSourceRepository commandSourceRepository;
     private final CommandSourceService commandSourceService;
     private final FineractRequestContextHolder fineractRequestContextHolder;
 
     public void storeCommandResult(Integer response, String body, Long commandId) {
         commandSourceRepository.findById(commandId).ifPresent(commandSource -> {
+            if (Objects.equals(commandSource.getResultStatusCode(), response) && Objects.equals(commandSource.getResult(), body)) {
+                // already persisted by the command processing
+                return;
+            }
             commandSource.setResultStatusCode(response);
             commandSource.setResult(body);
             commandSourceService.saveResultSameTransaction(commandSource);
@@ -54,6 +62,10 @@ public class IdempotencyStoreHelper {
                 .orElse(false);
     }
 
+    public boolean isCommandRequest(HttpServletRequest request) {
+        return !READ_METHODS.contains(request.getMethod());
+    }
+
     public boolean isStoreIdempotencyKey(HttpServletRequest request) {
         return Optional
                 .ofNullable(
@@ -21,6 +21,7 @@ package org.apache.fineract.infrastructure.core.serialization;
 import com.google.gson.ExclusionStrategy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import java.io.Writer;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -28,7 +29,10 @@ import java.time.MonthDay;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.api.DateAdapter;
 import org.apache.fineract.infrastructure.core.api.ExternalIdAdapter;
@@ -46,19 +50,28 @@ import org.springframework.stereotype.Service;
 
 /**
  * Helper class for serialization of Java objects into JSON using Google's GSON.
+ *
+ * Serializers for partial responses are cached by their field set and pretty printing flag, a {@link Gson} instance is
+ * thread safe and keeps the reflective type adapters it has built, so repeated requests with the same fields do not
+ * rebuild them.
  */
 @Service
 public final class GoogleGsonSerializerHelper {
 
-    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
-        final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
+    private static final int MAX_CACHED_SERIALIZERS = 256;
 
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
+    private final Map<SerializerKey, Gson> serializers = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<SerializerKey, Gson> eldest) {
+            return size() > MAX_CACHED_SERIALIZERS;
         }
-        return builder.create();
+    });
+
+    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
+        final SerializerKey key = new SerializerKey(true, Set.copyOf(responseParameters), prettyPrint);
+        return this.serializers.computeIfAbsent(key,
+                k -> createGson(new ParameterListInclusionStrategy(k.parameterNames()), k.prettyPrint()));
     }
 
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
@@ -80,8 +93,16 @@ public final class GoogleGsonSerializerHelper {
             parameterNamesToSkip.removeAll(responseParameters);
         }
 
-        final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
+        final SerializerKey key = new SerializerKey(false, Set.copyOf(parameterNamesToSkip), prettyPrint);
+        return this.serializers.computeIfAbsent(key,
+                k -> createGson(new ParameterListExclusionStrategy(k.parameterNames()), k.prettyPrint()));
+    }
+
+    public Gson createGsonExcludingNothing(final boolean prettyPrint) {
+        return createGsonBuilderWithParameterExclusionSerializationStrategy(Set.of(), prettyPrint, Set.of());
+    }
 
+    private static Gson createGson(final ExclusionStrategy strategy, final boolean prettyPrint) {
         final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
         registerTypeAdapters(builder);
         if (prettyPrint) {
@@ -98,6 +119,10 @@ public final class GoogleGsonSerializerHelper {
         return serializer.toJson(singleDataObject);
     }
 
+    public void serializeJsonTo(final Gson serializer, final Object singleDataObject, final Writer writer) {
+        serializer.toJson(singleDataObject, writer);
+    }
+
     public static Gson createSimpleGson() {
         return createGsonBuilder().create();
     }
@@ -126,4 +151,7 @@ public final class GoogleGsonSerializerHelper {
         builder.registerTypeAdapter(OffsetDateTime.class, new OffsetDateTimeAdapter());
         builder.registerTypeAdapter(ExternalId.class, new ExternalIdAdapter());
     }
+
+    private record SerializerKey(boolean inclusion, Set<String> parameterNames, boolean prettyPrint) {
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.core.serialization;
 
+import jakarta.ws.rs.core.StreamingOutput;
 import java.util.Collection;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.service.Page;
@@ -46,4 +47,7 @@ public interface ToApiJsonSerializer<T> {
     String serialize(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
 
     String serialize(ApiRequestJsonSerializationSettings settings, Page<T> singleObject, Set<String> supportedResponseParameters);
+
+    // Writes the JSON of a list page straight to the response output stream instead of building the whole body as a String
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Page<T> page, Set<String> supportedResponseParameters);
 }
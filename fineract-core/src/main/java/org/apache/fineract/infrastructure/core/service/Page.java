@@ -25,16 +25,37 @@ public class Page<E> implements Serializable {
 
     private final Integer totalFilteredRecords;
     private final List<E> pageItems;
+    // Only set when the total count is skipped: whether another page may follow this one
+    private final Boolean hasMorePages;
 
     public Page(final List<E> pageItems, final Integer totalFilteredRecords) {
+        this(pageItems, totalFilteredRecords, null);
+    }
+
+    private Page(final List<E> pageItems, final Integer totalFilteredRecords, final Boolean hasMorePages) {
         this.pageItems = pageItems;
         this.totalFilteredRecords = totalFilteredRecords;
+        this.hasMorePages = hasMorePages;
+    }
+
+    /**
+     * Returns a page without a total count, e.g. when the count query is skipped.
+     */
+    public static <E> Page<E> withoutTotal(final List<E> pageItems, final boolean hasMorePages) {
+        return new Page<>(pageItems, null, hasMorePages);
     }
 
-    public int getTotalFilteredRecords() {
+    /**
+     * @return the number of records matching the filter, or {@code null} when the total was not counted
+     */
+    public Integer getTotalFilteredRecords() {
         return this.totalFilteredRecords;
     }
 
+    public Boolean getHasMorePages() {
+        return this.hasMorePages;
+    }
+
     public List<E> getPageItems() {
         return this.pageItems;
     }
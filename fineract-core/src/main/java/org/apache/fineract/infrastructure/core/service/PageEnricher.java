@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Enriches the items of a list result with data looked up by item id.
+ * <p>
+ * Instead of a lookup per row inside the row mapper, the ids of the whole page are collected and handed to the loader once, so
+ * every enrichment costs a single set based query. Items the loader has no value for are left untouched.
+ *
+ * @param <T>
+ *            the type of the list items
+ * @param <V>
+ *            the type of the enriched value
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageEnricher<T, V> {
+
+    private final Function<T, Long> idExtractor;
+    private final Function<Collection<Long>, Map<Long, V>> loader;
+    private final BiConsumer<T, V> assigner;
+
+    public static <T, V> PageEnricher<T, V> of(final Function<T, Long> idExtractor, final Function<Collection<Long>, Map<Long, V>> loader,
+            final BiConsumer<T, V> assigner) {
+        return new PageEnricher<>(Objects.requireNonNull(idExtractor), Objects.requireNonNull(loader), Objects.requireNonNull(assigner));
+    }
+
+    public Page<T> enrich(final Page<T> page) {
+        if (page != null) {
+            enrich(page.getPageItems());
+        }
+        return page;
+    }
+
+    public <C extends Collection<T>> C enrich(final C items) {
+        if (items == null || items.isEmpty()) {
+            return items;
+        }
+        final Set<Long> ids = new LinkedHashSet<>();
+        for (final T item : items) {
+            final Long id = idExtractor.apply(item);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return items;
+        }
+        final Map<Long, V> values = loader.apply(ids);
+        for (final T item : items) {
+            final Long id = idExtractor.apply(item);
+            final V value = id == null ? null : values.get(id);
+            if (value != null) {
+                assigner.accept(item, value);
+            }
+        }
+        return items;
+    }
+}
@@ -18,8 +18,10 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.fineract.infrastructure.core.data.DataValidatorBuilder;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,6 +57,56 @@ public class PaginationHelper {
         return new Page<>(items, totalFilteredRecords);
     }
 
+    /**
+     * Same as {@link #fetchPage(JdbcTemplate, String, Object[], RowMapper)}, but honours the totals option of the search
+     * parameters. When the total is skipped no count query is executed, the page has no total and only tells whether
+     * another page may follow: that is the case when the page is full.
+     */
+    public <E> Page<E> fetchPage(final JdbcTemplate jt, final String sqlFetchRows, final Object[] args, final RowMapper<E> rowMapper,
+            final SearchParameters searchParameters) {
+        if (searchParameters == null || !searchParameters.getSkipTotal()) {
+            return fetchPage(jt, sqlFetchRows, args, rowMapper);
+        }
+        final List<E> items = jt.query(sqlFetchRows, rowMapper, args); // NOSONAR
+        return Page.withoutTotal(items, hasMorePages(searchParameters, items.size()));
+    }
+
+    /**
+     * Returns the select modifier that prepares the total count on MySQL, or an empty string when the total is skipped.
+     */
+    public String calcFoundRows(final SearchParameters searchParameters) {
+        if (searchParameters != null && searchParameters.getSkipTotal()) {
+            return "";
+        }
+        return sqlGenerator.calcFoundRows();
+    }
+
+    /**
+     * Rejects search parameters that cannot be combined with keyset pagination. Keyset pages are always ordered by id
+     * and start after the given id, so an explicit order or offset would otherwise be ignored silently.
+     */
+    public void validateKeysetPagination(final SearchParameters searchParameters) {
+        if (searchParameters == null || !searchParameters.hasAfterId()) {
+            return;
+        }
+        final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(new ArrayList<>()).resource("pagination");
+        if (searchParameters.hasOrderBy()) {
+            baseDataValidator.reset().parameter("orderBy").value(searchParameters.getOrderBy()).failWithCode("not.supported.with.afterId");
+        }
+        if (searchParameters.hasSortOrder()) {
+            baseDataValidator.reset().parameter("sortOrder").value(searchParameters.getSortOrder())
+                    .failWithCode("not.supported.with.afterId");
+        }
+        if (searchParameters.hasOffset() && searchParameters.getOffset() > 0) {
+            baseDataValidator.reset().parameter("offset").value(searchParameters.getOffset()).failWithCode("not.supported.with.afterId");
+        }
+        baseDataValidator.throwValidationErrors();
+    }
+
+    static boolean hasMorePages(final SearchParameters searchParameters, final int fetchedRows) {
+        return searchParameters.hasLimit() && fetchedRows >= searchParameters.getLimit();
+    }
+
     public <E> Page<Long> fetchPage(JdbcTemplate jdbcTemplate, String sql, Class<Long> type) {
         final List<Long> items = jdbcTemplate.queryForList(sql, type);
 
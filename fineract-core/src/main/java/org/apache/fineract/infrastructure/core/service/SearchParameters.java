@@ -55,6 +55,11 @@ public class SearchParameters {
     private Long categoryId;
     @Getter(AccessLevel.NONE)
     private Boolean isSelfUser;
+    // Keyset pagination: only rows with a greater id are returned, ordered by id; cannot be combined with offset or order
+    private Long afterId;
+    // Skips the total count query, the page then only tells whether more pages may follow
+    @Getter(AccessLevel.NONE)
+    private Boolean skipTotal;
 
     public Integer getLimit() {
         if (limit == null) {
@@ -76,6 +81,10 @@ public class SearchParameters {
         return Boolean.TRUE.equals(isSelfUser);
     }
 
+    public Boolean getSkipTotal() {
+        return Boolean.TRUE.equals(skipTotal);
+    }
+
     public boolean hasOrderBy() {
         return StringUtils.isNotBlank(this.orderBy);
     }
@@ -100,6 +109,10 @@ public class SearchParameters {
         return this.offset != null;
     }
 
+    public boolean hasAfterId() {
+        return this.afterId != null;
+    }
+
     public boolean hasHierarchy() {
         return StringUtils.isNotBlank(this.hierarchy);
     }
@@ -18,17 +18,25 @@
  */
 package org.apache.fineract.infrastructure.core.service.database;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationListener;
@@ -40,23 +48,38 @@ import org.springframework.stereotype.Service;
  * {@link ThreadLocal} variable for this request.
  *
  * {@link ThreadLocalContextUtil} is used to retrieve the {@link FineractPlatformTenant} for the request.
+ * <p>
+ * Pools are created and warmed up on the first use of a tenant, unless
+ * <code>fineract.tenant.pool.eager-initialization</code> is set. A pool which was not used for
+ * <code>fineract.tenant.pool.idle-timeout-minutes</code> is shrunk to a single connection, its idle connections are
+ * retired by Hikari, and it grows back on the next use. The maximum pool sizes of all tenants together are kept within
+ * <code>fineract.tenant.pool.max-total-connections</code>.
  */
 @Slf4j
 @Service
 public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService, ApplicationListener<ContextRefreshedEvent> {
 
-    private static final Map<Long, DataSource> TENANT_TO_DATA_SOURCE_MAP = new ConcurrentHashMap<>();
+    private final Map<Long, TenantPool> tenantPools = new ConcurrentHashMap<>();
+    private final Map<Long, Object> tenantPoolLocks = new ConcurrentHashMap<>();
     private final DataSource tenantDataSource;
     private final TenantDetailsService tenantDetailsService;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final FineractProperties fineractProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private int reservedConnections;
+    private ScheduledExecutorService idlePoolReclaimer;
 
     @Autowired
     public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
-            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService) {
+            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService,
+            final FineractProperties fineractProperties, final ObjectProvider<MeterRegistry> meterRegistry) {
         this.tenantDataSource = tenantDataSource;
         this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
         this.tenantDetailsService = tenantDetailsService;
+        this.fineractProperties = fineractProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -66,15 +89,14 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
         if (tenant != null) {
-            final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
-            Long tenantConnectionKey = tenantConnection.getConnectionId();
             // if tenantConnection information available switch to the
             // appropriate datasource for that tenant.
-            actualDataSource = TENANT_TO_DATA_SOURCE_MAP.computeIfAbsent(tenantConnectionKey, (key) -> {
-                DataSource tenantSpecificDataSource = dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenantConnection);
-                return tenantSpecificDataSource;
-            });
-
+            TenantPool tenantPool = getTenantPool(tenant);
+            tenantPool.lastUsed = System.currentTimeMillis();
+            if (tenantPool.shrunk) {
+                growPool(tenantPool);
+            }
+            actualDataSource = tenantPool.dataSource;
         }
 
         return actualDataSource;
@@ -82,27 +104,173 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
     @Override
     public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (!getPoolProperties().isEagerInitialization()) {
+            log.debug("Tenant connection pools are initialized on first use");
+            return;
+        }
         final List<FineractPlatformTenant> allTenants = tenantDetailsService.findAllTenants();
         for (final FineractPlatformTenant tenant : allTenants) {
-            initializeDataSourceConnection(tenant);
+            getTenantPool(tenant);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdownIdlePoolReclaimer() {
+        if (idlePoolReclaimer != null) {
+            idlePoolReclaimer.shutdownNow();
+        }
+    }
+
+    private TenantPool getTenantPool(FineractPlatformTenant tenant) {
+        final Long connectionId = tenant.getConnection().getConnectionId();
+        TenantPool tenantPool = tenantPools.get(connectionId);
+        if (tenantPool == null) {
+            // not created inside computeIfAbsent, connecting to a slow database must not block the map for other tenants
+            synchronized (tenantPoolLocks.computeIfAbsent(connectionId, key -> new Object())) {
+                tenantPool = tenantPools.get(connectionId);
+                if (tenantPool == null) {
+                    tenantPool = initializeDataSourceConnection(tenant);
+                    tenantPools.put(connectionId, tenantPool);
+                }
+            }
         }
+        return tenantPool;
     }
 
-    private void initializeDataSourceConnection(FineractPlatformTenant tenant) {
+    private TenantPool initializeDataSourceConnection(FineractPlatformTenant tenant) {
         log.debug("Initializing database connection for {}", tenant.getName());
         final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
-        Long tenantConnectionKey = tenantConnection.getConnectionId();
-        TENANT_TO_DATA_SOURCE_MAP.computeIfAbsent(tenantConnectionKey, (key) -> {
-            DataSource tenantSpecificDataSource = dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenantConnection);
-            try (Connection connection = tenantSpecificDataSource.getConnection()) {
-                String url = connection.getMetaData().getURL();
-                log.debug("Established database connection with URL {}", url);
-            } catch (SQLException e) {
-                log.error("Error while initializing database connection for {}", tenant.getName(), e);
+        DataSource tenantSpecificDataSource = dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenantConnection);
+        TenantPool tenantPool = new TenantPool(tenantSpecificDataSource);
+        if (tenantSpecificDataSource instanceof HikariDataSource hikariDataSource) {
+            tenantPool.maximumPoolSize = hikariDataSource.getMaximumPoolSize();
+            tenantPool.minimumIdle = hikariDataSource.getMinimumIdle();
+            int reserved;
+            try {
+                reserved = reserveConnections(tenant, tenantPool.maximumPoolSize);
+            } catch (IllegalStateException e) {
+                hikariDataSource.close();
+                throw e;
             }
-            return tenantSpecificDataSource;
-        });
+            if (reserved < tenantPool.maximumPoolSize) {
+                hikariDataSource.setMinimumIdle(Math.min(tenantPool.minimumIdle, reserved));
+                hikariDataSource.setMaximumPoolSize(reserved);
+            }
+            tenantPool.reserved = reserved;
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null && hikariDataSource.getMetricRegistry() == null) {
+                hikariDataSource.setMetricRegistry(registry);
+            }
+            startIdlePoolReclaimer();
+        }
+        try (Connection connection = tenantSpecificDataSource.getConnection()) {
+            String url = connection.getMetaData().getURL();
+            log.debug("Established database connection with URL {}", url);
+        } catch (SQLException e) {
+            log.error("Error while initializing database connection for {}", tenant.getName(), e);
+        }
         log.debug("Database connection for {} initialized", tenant.getName());
+        return tenantPool;
+    }
 
+    /**
+     * Shrinks the pools not used since the idle timeout to a single connection and releases the rest of their
+     * reservation from the connection budget.
+     */
+    synchronized void reclaimIdlePools(long now) {
+        long idleTimeout = TimeUnit.MINUTES.toMillis(getPoolProperties().getIdleTimeoutMinutes());
+        for (TenantPool tenantPool : tenantPools.values()) {
+            if (!tenantPool.shrunk && tenantPool.dataSource instanceof HikariDataSource hikariDataSource
+                    && now - tenantPool.lastUsed >= idleTimeout) {
+                hikariDataSource.setMinimumIdle(0);
+                hikariDataSource.setMaximumPoolSize(1);
+                reservedConnections -= tenantPool.reserved - 1;
+                tenantPool.reserved = 1;
+                tenantPool.shrunk = true;
+                log.debug("Shrunk idle connection pool {}", hikariDataSource.getPoolName());
+            }
+        }
+    }
+
+    synchronized int getReservedConnections() {
+        return reservedConnections;
+    }
+
+    private synchronized void growPool(TenantPool tenantPool) {
+        if (!tenantPool.shrunk) {
+            return;
+        }
+        HikariDataSource hikariDataSource = (HikariDataSource) tenantPool.dataSource;
+        int available = getAvailableConnections();
+        int reserved = Math.min(tenantPool.maximumPoolSize, tenantPool.reserved + available);
+        if (reserved <= tenantPool.reserved) {
+            // the budget is in use by other tenants, the pool stays shrunk and growing is retried on the next use
+            log.debug("No connections left in the budget to grow connection pool {}", hikariDataSource.getPoolName());
+            return;
+        }
+        reservedConnections += reserved - tenantPool.reserved;
+        tenantPool.reserved = reserved;
+        tenantPool.shrunk = false;
+        hikariDataSource.setMaximumPoolSize(reserved);
+        hikariDataSource.setMinimumIdle(Math.min(tenantPool.minimumIdle, reserved));
+        log.debug("Grown connection pool {} to {} connections", hikariDataSource.getPoolName(), reserved);
+    }
+
+    private synchronized int reserveConnections(FineractPlatformTenant tenant, int maximumPoolSize) {
+        int available = getAvailableConnections();
+        if (available < 1) {
+            throw new IllegalStateException("No database connections left for tenant %s, the budget of %d connections is in use"
+                    .formatted(tenant.getTenantIdentifier(), getPoolProperties().getMaxTotalConnections()));
+        }
+        int reserved = Math.min(maximumPoolSize, available);
+        if (reserved < maximumPoolSize) {
+            log.warn("Connection pool of tenant {} is limited to {} connections by the connection budget", tenant.getTenantIdentifier(),
+                    reserved);
+        }
+        reservedConnections += reserved;
+        return reserved;
+    }
+
+    private int getAvailableConnections() {
+        int maxTotalConnections = getPoolProperties().getMaxTotalConnections();
+        return maxTotalConnections > 0 ? maxTotalConnections - reservedConnections : Integer.MAX_VALUE;
+    }
+
+    private synchronized void startIdlePoolReclaimer() {
+        long idleTimeoutMinutes = getPoolProperties().getIdleTimeoutMinutes();
+        if (idlePoolReclaimer != null || idleTimeoutMinutes <= 0) {
+            return;
+        }
+        idlePoolReclaimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tenant-pool-reclaimer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        idlePoolReclaimer.scheduleWithFixedDelay(() -> {
+            try {
+                reclaimIdlePools(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.warn("Error while reclaiming idle tenant connection pools", e);
+            }
+        }, 1, 1, TimeUnit.MINUTES);
+    }
+
+    private FineractProperties.FineractTenantPoolProperties getPoolProperties() {
+        FineractProperties.FineractTenantPoolProperties pool = fineractProperties.getTenant().getPool();
+        return pool != null ? pool : new FineractProperties.FineractTenantPoolProperties();
+    }
+
+    private static final class TenantPool {
+
+        private final DataSource dataSource;
+        private int maximumPoolSize;
+        private int minimumIdle;
+        private int reserved;
+        private volatile boolean shrunk;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private TenantPool(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
     }
 }
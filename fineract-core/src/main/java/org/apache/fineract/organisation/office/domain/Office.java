@@ -41,6 +41,7 @@ import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
+import org.apache.fineract.organisation.office.exception.CannotUpdateOfficeWithParentOfficeBelowSelf;
 import org.apache.fineract.organisation.office.exception.CannotUpdateOfficeWithParentOfficeSameAsSelf;
 import org.apache.fineract.organisation.office.exception.RootOfficeParentCannotBeUpdated;
 
@@ -177,8 +178,23 @@ public class Office extends AbstractPersistableCustom<Long> implements Serializa
             throw new CannotUpdateOfficeWithParentOfficeSameAsSelf(getId(), newParent.getId());
         }
 
+        if (hasAnOfficeInHierarchyWithId(newParent.getId())) {
+            throw new CannotUpdateOfficeWithParentOfficeBelowSelf(getId(), newParent.getId());
+        }
+
         this.parent = newParent;
+        generateSubtreeHierarchy();
+    }
+
+    /**
+     * The hierarchy of every office below this one starts with the hierarchy of this office, so a move regenerates all
+     * of them.
+     */
+    private void generateSubtreeHierarchy() {
         generateHierarchy();
+        for (final Office child : this.children) {
+            child.generateSubtreeHierarchy();
+        }
     }
 
     public boolean identifiedBy(final Long id) {
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.office.service;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains <code>m_office_closure</code>, which links every office to itself and to each of its ancestors, and builds
+ * the data scoping conditions on top of it.
+ * <p>
+ * Scoping through the closure table is an index range scan on <code>(ancestor_id, descendant_id)</code>, unlike
+ * matching <code>m_office.hierarchy</code> with <code>like</code>.
+ */
+@Service
+@RequiredArgsConstructor
+public class OfficeClosureService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * @param officeIdColumn
+     *            the office id column to scope, e.g. <code>o.id</code>
+     * @return condition which holds for the office bound to the positional parameter and all offices below it
+     */
+    public static String underOffice(final String officeIdColumn) {
+        return officeIdColumn + " in (select oc.descendant_id from m_office_closure oc where oc.ancestor_id = ?)";
+    }
+
+    /**
+     * Same as {@link #underOffice(String)} for a named parameter.
+     */
+    public static String underOffice(final String officeIdColumn, final String parameterName) {
+        return officeIdColumn + " in (select oc.descendant_id from m_office_closure oc where oc.ancestor_id = :" + parameterName + ")";
+    }
+
+    public void addOffice(final Long officeId, final Long parentId) {
+        this.jdbcTemplate.update("INSERT INTO m_office_closure (ancestor_id, descendant_id) VALUES (?, ?)", officeId, officeId);
+        if (parentId != null) {
+            this.jdbcTemplate.update("INSERT INTO m_office_closure (ancestor_id, descendant_id)"
+                    + " SELECT oc.ancestor_id, ? FROM m_office_closure oc WHERE oc.descendant_id = ?", officeId, parentId);
+        }
+    }
+
+    /**
+     * Moves the office together with all offices below it under the new parent.
+     */
+    public void moveOffice(final Long officeId, final Long newParentId) {
+        final List<Long> subtree = this.jdbcTemplate.queryForList("SELECT descendant_id FROM m_office_closure WHERE ancestor_id = ?",
+                Long.class, officeId);
+        if (subtree.isEmpty()) {
+            return;
+        }
+        this.namedParameterJdbcTemplate.update(
+                "DELETE FROM m_office_closure WHERE descendant_id IN (:subtree) AND ancestor_id NOT IN (:subtree)",
+                Map.of("subtree", subtree));
+        this.jdbcTemplate.update("INSERT INTO m_office_closure (ancestor_id, descendant_id)"
+                + " SELECT a.ancestor_id, d.descendant_id FROM m_office_closure a, m_office_closure d"
+                + " WHERE a.descendant_id = ? AND d.ancestor_id = ?", newParentId, officeId);
+    }
+}
@@ -0,0 +1,362 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.workingdays.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.RescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+
+/**
+ * Business calendar of an office: the working days of the week and the active holidays of the office.
+ * <p>
+ * Working days are kept as a weekday mask. For every year that is looked at, a bitmap of the business days (working
+ * days which are not holidays) and the holiday applicable to each day are computed once. Lookups, moving to the next or
+ * previous business day and counting business days therefore do not walk the calendar day by day or scan the holidays.
+ * <p>
+ * The calendar keeps plain copies of the working days and holiday values, never the entities it was built from, and
+ * hands out new unmanaged entities. Instances are immutable apart from the lazily computed years and may be shared
+ * between threads and transactions.
+ */
+public final class BusinessCalendar {
+
+    private static final int ALL_DAYS_OF_WEEK = 0x7F;
+    private static final int MAX_SEARCH_YEARS = 10;
+
+    private final String recurrence;
+    private final Integer repaymentReschedulingType;
+    private final Boolean extendTermForDailyRepayments;
+    private final Boolean extendTermForRepaymentsOnHolidays;
+    private final List<HolidayPeriod> holidays;
+    private final int workingDayMask;
+    private final Map<Integer, BusinessYear> years = new ConcurrentHashMap<>();
+
+    public BusinessCalendar(final WorkingDays workingDays, final List<Holiday> holidays) {
+        this.recurrence = workingDays.getRecurrence();
+        this.repaymentReschedulingType = workingDays.getRepaymentReschedulingType();
+        this.extendTermForDailyRepayments = workingDays.getExtendTermForDailyRepayments();
+        this.extendTermForRepaymentsOnHolidays = workingDays.getExtendTermForRepaymentsOnHolidays();
+        this.holidays = holidays == null ? List.of() : holidays.stream().map(HolidayPeriod::of).toList();
+        this.workingDayMask = workingDayMask(workingDays);
+    }
+
+    /**
+     * @return new unmanaged working days with the values of the calendar, which the caller may change
+     */
+    public WorkingDays getWorkingDays() {
+        return new WorkingDays(this.recurrence, this.repaymentReschedulingType, this.extendTermForDailyRepayments,
+                this.extendTermForRepaymentsOnHolidays);
+    }
+
+    /**
+     * @return new unmanaged holidays with the values of the calendar
+     */
+    public List<Holiday> getHolidays() {
+        return this.holidays.stream().map(HolidayPeriod::toHoliday).toList();
+    }
+
+    /**
+     * @return new unmanaged holidays which end on or after the given date, the same selection as
+     *         <code>HolidayRepository.findByOfficeIdAndGreaterThanDate</code>
+     */
+    public List<Holiday> getHolidaysEndingOnOrAfter(final LocalDate date) {
+        if (date == null) {
+            return List.of();
+        }
+        return this.holidays.stream().filter(holiday -> !DateUtils.isBefore(holiday.toDate(), date)).map(HolidayPeriod::toHoliday)
+                .toList();
+    }
+
+    public boolean isSevenDayWeek() {
+        return this.workingDayMask == ALL_DAYS_OF_WEEK;
+    }
+
+    public boolean isWorkingDay(final LocalDate date) {
+        return (this.workingDayMask & dayOfWeekBit(date)) != 0;
+    }
+
+    public boolean isNonWorkingDay(final LocalDate date) {
+        return !isWorkingDay(date);
+    }
+
+    /**
+     * @return the holiday covering the date, the first one in holiday order if several do, or null
+     */
+    public HolidayPeriod getApplicableHoliday(final LocalDate date) {
+        return year(date.getYear()).holiday(date.getDayOfYear() - 1);
+    }
+
+    public boolean isHoliday(final LocalDate date) {
+        return getApplicableHoliday(date) != null;
+    }
+
+    /**
+     * @return whether the date is a working day and not a holiday
+     */
+    public boolean isBusinessDay(final LocalDate date) {
+        return year(date.getYear()).isBusinessDay(date.getDayOfYear() - 1);
+    }
+
+    public LocalDate getBusinessDayOnOrAfter(final LocalDate date) {
+        int year = date.getYear();
+        int day = date.getDayOfYear() - 1;
+        for (int i = 0; i < MAX_SEARCH_YEARS; i++) {
+            final int found = year(year).next(day);
+            if (found >= 0) {
+                return LocalDate.ofYearDay(year, found + 1);
+            }
+            year++;
+            day = 0;
+        }
+        throw new IllegalStateException("No business day within " + MAX_SEARCH_YEARS + " years on or after " + date);
+    }
+
+    public LocalDate getBusinessDayOnOrBefore(final LocalDate date) {
+        int year = date.getYear();
+        int day = date.getDayOfYear() - 1;
+        for (int i = 0; i < MAX_SEARCH_YEARS; i++) {
+            final int found = year(year).previous(day);
+            if (found >= 0) {
+                return LocalDate.ofYearDay(year, found + 1);
+            }
+            year--;
+            day = LocalDate.ofYearDay(year, 1).lengthOfYear() - 1;
+        }
+        throw new IllegalStateException("No business day within " + MAX_SEARCH_YEARS + " years on or before " + date);
+    }
+
+    /**
+     * @return the number of business days from <code>fromDate</code> inclusive to <code>toDate</code> exclusive,
+     *         negative when <code>toDate</code> is before <code>fromDate</code>
+     */
+    public int getBusinessDaysBetween(final LocalDate fromDate, final LocalDate toDate) {
+        if (DateUtils.isBefore(toDate, fromDate)) {
+            return -getBusinessDaysBetween(toDate, fromDate);
+        }
+        final BusinessYear first = year(fromDate.getYear());
+        if (fromDate.getYear() == toDate.getYear()) {
+            return first.rank(toDate.getDayOfYear() - 1) - first.rank(fromDate.getDayOfYear() - 1);
+        }
+        int count = first.total() - first.rank(fromDate.getDayOfYear() - 1);
+        for (int year = fromDate.getYear() + 1; year < toDate.getYear(); year++) {
+            count += year(year).total();
+        }
+        return count + year(toDate.getYear()).rank(toDate.getDayOfYear() - 1);
+    }
+
+    public LocalDate getWorkingDayOnOrAfter(final LocalDate date) {
+        requireWorkingDays();
+        LocalDate workingDay = date;
+        while (isNonWorkingDay(workingDay)) {
+            workingDay = workingDay.plusDays(1);
+        }
+        return workingDay;
+    }
+
+    public LocalDate getWorkingDayOnOrBefore(final LocalDate date) {
+        requireWorkingDays();
+        LocalDate workingDay = date;
+        while (isNonWorkingDay(workingDay)) {
+            workingDay = workingDay.minusDays(1);
+        }
+        return workingDay;
+    }
+
+    /**
+     * Same as {@link WorkingDaysUtil#getOffSetDateIfNonWorkingDay(LocalDate, LocalDate, WorkingDays)}.
+     */
+    public LocalDate getOffSetDateIfNonWorkingDay(final LocalDate date, final LocalDate nextMeetingDate) {
+        return getOffSetDateIfNonWorkingDay(date, nextMeetingDate, getRepaymentRescheduleType());
+    }
+
+    /**
+     * Same as {@link #getOffSetDateIfNonWorkingDay(LocalDate, LocalDate)} with the given reschedule type instead of the
+     * one of the working days.
+     */
+    public LocalDate getOffSetDateIfNonWorkingDay(final LocalDate date, final LocalDate nextMeetingDate,
+            final RepaymentRescheduleType rescheduleType) {
+        if (isWorkingDay(date)) {
+            return date;
+        }
+        return switch (rescheduleType) {
+            case MOVE_TO_NEXT_WORKING_DAY -> getWorkingDayOnOrAfter(date);
+            case MOVE_TO_NEXT_REPAYMENT_MEETING_DAY -> nextMeetingDate;
+            case MOVE_TO_PREVIOUS_WORKING_DAY -> getWorkingDayOnOrBefore(date);
+            default -> date;
+        };
+    }
+
+    public RepaymentRescheduleType getRepaymentRescheduleType() {
+        return RepaymentRescheduleType.fromInt(this.repaymentReschedulingType);
+    }
+
+    private void requireWorkingDays() {
+        if (this.workingDayMask == 0) {
+            throw new IllegalStateException("The working days recurrence " + this.recurrence + " has no working day");
+        }
+    }
+
+    private BusinessYear year(final int year) {
+        return this.years.computeIfAbsent(year, this::buildYear);
+    }
+
+    private BusinessYear buildYear(final int year) {
+        final LocalDate firstDay = LocalDate.ofYearDay(year, 1);
+        final int length = firstDay.lengthOfYear();
+        final LocalDate lastDay = firstDay.plusDays(length - 1L);
+
+        HolidayPeriod[] applicableHolidays = null;
+        for (final HolidayPeriod holiday : this.holidays) {
+            if (holiday.fromDate() == null || holiday.toDate() == null || DateUtils.isBefore(holiday.toDate(), firstDay)
+                    || DateUtils.isAfter(holiday.fromDate(), lastDay)) {
+                continue;
+            }
+            if (applicableHolidays == null) {
+                applicableHolidays = new HolidayPeriod[length];
+            }
+            final int from = holiday.fromDate().getYear() < year ? 0 : holiday.fromDate().getDayOfYear() - 1;
+            final int to = holiday.toDate().getYear() > year ? length - 1 : holiday.toDate().getDayOfYear() - 1;
+            for (int day = from; day <= to; day++) {
+                if (applicableHolidays[day] == null) {
+                    applicableHolidays[day] = holiday;
+                }
+            }
+        }
+
+        final long[] businessDays = new long[(length + Long.SIZE - 1) / Long.SIZE];
+        int dayOfWeek = firstDay.getDayOfWeek().getValue() - 1;
+        for (int day = 0; day < length; day++) {
+            if ((this.workingDayMask & (1 << dayOfWeek)) != 0 && (applicableHolidays == null || applicableHolidays[day] == null)) {
+                businessDays[day >>> 6] |= 1L << day;
+            }
+            dayOfWeek = dayOfWeek == 6 ? 0 : dayOfWeek + 1;
+        }
+        return new BusinessYear(businessDays, applicableHolidays);
+    }
+
+    private static int workingDayMask(final WorkingDays workingDays) {
+        // the working days recurrence is evaluated with the date itself as seed, so only the day of the week matters
+        int mask = 0;
+        final LocalDate monday = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 7; i++) {
+            final LocalDate date = monday.plusDays(i);
+            if (WorkingDaysUtil.isWorkingDay(workingDays, date)) {
+                mask |= dayOfWeekBit(date);
+            }
+        }
+        return mask;
+    }
+
+    private static int dayOfWeekBit(final LocalDate date) {
+        return 1 << (date.getDayOfWeek().getValue() - 1);
+    }
+
+    /**
+     * Business day bitmap of one year, indexed by day of year starting at 0, with the number of business days before
+     * each word of the bitmap.
+     */
+    private static final class BusinessYear {
+
+        private final long[] businessDays;
+        private final int[] businessDaysBefore;
+        private final HolidayPeriod[] holidays;
+
+        private BusinessYear(final long[] businessDays, final HolidayPeriod[] holidays) {
+            this.businessDays = businessDays;
+            this.holidays = holidays;
+            this.businessDaysBefore = new int[businessDays.length + 1];
+            for (int i = 0; i < businessDays.length; i++) {
+                this.businessDaysBefore[i + 1] = this.businessDaysBefore[i] + Long.bitCount(businessDays[i]);
+            }
+        }
+
+        private HolidayPeriod holiday(final int day) {
+            return this.holidays == null ? null : this.holidays[day];
+        }
+
+        private boolean isBusinessDay(final int day) {
+            return (this.businessDays[day >>> 6] & (1L << day)) != 0;
+        }
+
+        private int total() {
+            return this.businessDaysBefore[this.businessDays.length];
+        }
+
+        /**
+         * @return the number of business days before the day
+         */
+        private int rank(final int day) {
+            final int word = day >>> 6;
+            return this.businessDaysBefore[word] + Long.bitCount(this.businessDays[word] & ((1L << day) - 1));
+        }
+
+        private int next(final int day) {
+            int word = day >>> 6;
+            long bits = this.businessDays[word] & (-1L << day);
+            while (bits == 0) {
+                if (++word == this.businessDays.length) {
+                    return -1;
+                }
+                bits = this.businessDays[word];
+            }
+            return (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+
+        private int previous(final int day) {
+            int word = day >>> 6;
+            long bits = this.businessDays[word] & (-1L >>> (63 - (day & 63)));
+            while (bits == 0) {
+                if (--word < 0) {
+                    return -1;
+                }
+                bits = this.businessDays[word];
+            }
+            return (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+        }
+    }
+
+    /**
+     * The values of a holiday which the calendar uses, detached from the persistence context.
+     */
+    public record HolidayPeriod(Long id, String name, LocalDate fromDate, LocalDate toDate, LocalDate repaymentsRescheduledTo,
+            int reschedulingType, Integer status) {
+
+        static HolidayPeriod of(final Holiday holiday) {
+            return new HolidayPeriod(holiday.getId(), holiday.getName(), holiday.getFromDate(), holiday.getToDate(),
+                    holiday.getRepaymentsRescheduledTo(), holiday.getReschedulingType(), holiday.getStatus());
+        }
+
+        public RescheduleType getReScheduleType() {
+            return RescheduleType.fromInt(this.reschedulingType);
+        }
+
+        private Holiday toHoliday() {
+            final Holiday holiday = new Holiday().setName(this.name).setFromDate(this.fromDate).setToDate(this.toDate)
+                    .setRepaymentsRescheduledTo(this.repaymentsRescheduledTo).setReschedulingType(this.reschedulingType)
+                    .setStatus(this.status);
+            holiday.setId(this.id);
+            return holiday;
+        }
+    }
+}
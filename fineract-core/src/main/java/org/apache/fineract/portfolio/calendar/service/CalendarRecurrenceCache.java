@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.calendar.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import net.fortuna.ical4j.model.Recur;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+
+/**
+ * Bounded, thread-safe memoization of the expensive parts of {@link CalendarUtils}: parsing of RRULE strings and
+ * expansion of recurrences from a seed date.
+ *
+ * Collection sheets and meeting-linked schedules evaluate the same few calendars for thousands of accounts, so both the
+ * parsed {@link Recur} and the expanded dates are kept in small LRU maps. Expanded dates depend on the tenant and the
+ * system time zone, which are part of every expansion key.
+ *
+ * Cached {@link Recur} instances are shared and must be treated as read-only; derive modified rules through
+ * {@link Recur.Builder}.
+ */
+final class CalendarRecurrenceCache {
+
+    private static final int MAX_PARSED_RULES = 1_000;
+    private static final int MAX_EXPANSIONS = 10_000;
+
+    private static final Map<String, Recur> PARSED_RULES = lruMap(MAX_PARSED_RULES);
+    private static final Map<RecurringDatesKey, List<LocalDate>> RECURRING_DATES = lruMap(MAX_EXPANSIONS);
+    private static final Map<NextDateKey, LocalDate> NEXT_DATES = lruMap(MAX_EXPANSIONS);
+
+    private CalendarRecurrenceCache() {}
+
+    static Recur parsedRule(final String recurringRule, final Supplier<Recur> parser) {
+        Recur recur = PARSED_RULES.get(recurringRule);
+        if (recur == null) {
+            // invalid rules are not cached, so they keep being reported on every use
+            recur = parser.get();
+            if (recur != null) {
+                PARSED_RULES.put(recurringRule, recur);
+            }
+        }
+        return recur;
+    }
+
+    static List<LocalDate> recurringDates(final Recur recur, final LocalDate seedDate, final LocalDate periodStartDate,
+            final LocalDate periodEndDate, final int maxCount, final Supplier<Collection<LocalDate>> expansion) {
+        final RecurringDatesKey key = new RecurringDatesKey(recur.toString(), seedDate, periodStartDate, periodEndDate, maxCount,
+                DateUtils.getDateTimeZoneOfTenant(), ZoneId.systemDefault());
+        List<LocalDate> dates = RECURRING_DATES.get(key);
+        if (dates == null) {
+            dates = List.copyOf(expansion.get());
+            RECURRING_DATES.put(key, dates);
+        }
+        return dates;
+    }
+
+    static LocalDate nextDate(final Recur recur, final LocalDate seedDate, final LocalDate startDate, final Supplier<LocalDate> expansion) {
+        final NextDateKey key = new NextDateKey(recur.toString(), seedDate, startDate, DateUtils.getDateTimeZoneOfTenant(),
+                ZoneId.systemDefault());
+        LocalDate nextDate = NEXT_DATES.get(key);
+        if (nextDate == null) {
+            nextDate = expansion.get();
+            if (nextDate != null) {
+                NEXT_DATES.put(key, nextDate);
+            }
+        }
+        return nextDate;
+    }
+
+    private static <K, V> Map<K, V> lruMap(final int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private record RecurringDatesKey(String rule, LocalDate seedDate, LocalDate periodStartDate, LocalDate periodEndDate, int maxCount,
+            ZoneId tenantZone, ZoneId systemZone) {
+    }
+
+    private record NextDateKey(String rule, LocalDate seedDate, LocalDate startDate, ZoneId tenantZone, ZoneId systemZone) {
+    }
+}
@@ -107,6 +107,10 @@ public final class CalendarUtils {
     }
 
     private static LocalDate getNextRecurringDate(final Recur recur, final LocalDate seedDate, final LocalDate startDate) {
+        return CalendarRecurrenceCache.nextDate(recur, seedDate, startDate, () -> expandNextRecurringDate(recur, seedDate, startDate));
+    }
+
+    private static LocalDate expandNextRecurringDate(final Recur recur, final LocalDate seedDate, final LocalDate startDate) {
         final DateTime periodStart = new DateTime(java.util.Date.from(startDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
         final Date seed = convertToiCal4JCompatibleDate(seedDate.atStartOfDay());
         final Date nextRecDate = recur.getNextDate(seed, periodStart);
@@ -160,14 +164,23 @@ public final class CalendarUtils {
         if (recur == null) {
             return null;
         }
+        final Collection<LocalDate> recurringDates = CalendarRecurrenceCache.recurringDates(recur, seedDate, periodStartDate,
+                periodEndDate, maxCount, () -> expandRecurringDates(recur, seedDate, periodStartDate, periodEndDate, maxCount));
+        if (isSkippMeetingOnFirstDay) {
+            return skipMeetingOnFirstdayOfMonth(recurringDates, numberOfDays);
+        }
+        return new ArrayList<>(recurringDates);
+    }
+
+    private static Collection<LocalDate> expandRecurringDates(final Recur recur, final LocalDate seedDate, final LocalDate periodStartDate,
+            final LocalDate periodEndDate, final int maxCount) {
         final Date seed = convertToiCal4JCompatibleDate(seedDate.atStartOfDay());
         final DateTime periodStart = new DateTime(java.util.Date.from(periodStartDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
         final DateTime periodEnd = new DateTime(java.util.Date.from(periodEndDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
 
         final Value value = new Value(Value.DATE.getValue());
         final DateList recurringDates = recur.getDates(seed, periodStart, periodEnd, value, maxCount);
-        return convertToLocalDateList(recurringDates, seedDate, getMeetingPeriodFrequencyType(recur), isSkippMeetingOnFirstDay,
-                numberOfDays);
+        return convertToLocalDateList(recurringDates, seedDate, getMeetingPeriodFrequencyType(recur), false, 0);
     }
 
     static Collection<LocalDate> convertToLocalDateList(final DateList dates, final LocalDate seedDate,
@@ -214,7 +227,18 @@ public final class CalendarUtils {
         return recuringDate;
     }
 
+    /**
+     * Parses the given RRULE. Parsed rules are cached and shared between callers, so the returned {@link Recur} must not
+     * be modified.
+     */
     public static Recur getICalRecur(final String recurringRule) {
+        if (recurringRule == null) {
+            return parseICalRecur(null);
+        }
+        return CalendarRecurrenceCache.parsedRule(recurringRule, () -> parseICalRecur(recurringRule));
+    }
+
+    private static Recur parseICalRecur(final String recurringRule) {
 
         // Construct RRule
         try {
@@ -119,6 +119,8 @@ public class AppUser extends AbstractPersistableCustom<Long> implements Platform
     @Column(name = "cannot_change_password", nullable = true)
     private Boolean cannotChangePassword;
 
+    private transient volatile AppUserPermissions effectivePermissions;
+
     public static AppUser fromJson(final Office userOffice, final Staff linkedStaff, final Set<Role> allRoles,
             final Collection<Client> clients, final JsonCommand command) {
 
@@ -218,6 +220,7 @@ public class AppUser extends AbstractPersistableCustom<Long> implements Platform
         if (!allRoles.isEmpty()) {
             this.roles.clear();
             this.roles = allRoles;
+            this.effectivePermissions = null;
         }
     }
 
@@ -362,6 +365,7 @@ public class AppUser extends AbstractPersistableCustom<Long> implements Platform
         this.firstTimeLoginRemaining = true;
         this.username = getId() + "_DELETED_" + this.username;
         this.roles.clear();
+        this.effectivePermissions = null;
     }
 
     public boolean isDeleted() {
@@ -539,14 +543,7 @@ public class AppUser extends AbstractPersistableCustom<Long> implements Platform
      * @return whether the user has the specified permission
      */
     public boolean hasSpecificPermissionTo(final String permissionCode) {
-        boolean hasPermission = false;
-        for (final Role role : this.roles) {
-            if (role.hasPermissionTo(permissionCode)) {
-                hasPermission = true;
-                break;
-            }
-        }
-        return hasPermission;
+        return getEffectivePermissions().hasSpecific(permissionCode);
     }
 
     public void validateHasReadPermission(final String resourceType) {
@@ -581,27 +578,25 @@ public class AppUser extends AbstractPersistableCustom<Long> implements Platform
     }
 
     private boolean hasPermissionTo(final String permissionCode) {
-        boolean hasPermission = hasAllFunctionsPermission();
-        if (!hasPermission) {
-            for (final Role role : this.roles) {
-                if (role.hasPermissionTo(permissionCode)) {
-                    hasPermission = true;
-                    break;
-                }
-            }
-        }
-        return hasPermission;
+        return getEffectivePermissions().has(permissionCode);
     }
 
-    private boolean hasAllFunctionsPermission() {
-        boolean match = false;
-        for (final Role role : this.roles) {
-            if (role.hasPermissionTo("ALL_FUNCTIONS")) {
-                match = true;
-                break;
-            }
+    /**
+     * Compiles the permissions of all roles of this user once and keeps them with the user, so that they travel with
+     * it in the {@code usersByUsername} cache. Role and permission changes evict that cache, and role changes on this
+     * instance reset the compiled permissions.
+     */
+    public void compilePermissions() {
+        this.effectivePermissions = AppUserPermissions.compile(this.roles);
+    }
+
+    private AppUserPermissions getEffectivePermissions() {
+        AppUserPermissions permissions = this.effectivePermissions;
+        if (permissions == null) {
+            permissions = AppUserPermissions.compile(this.roles);
+            this.effectivePermissions = permissions;
         }
-        return match;
+        return permissions;
     }
 
     public boolean hasIdOf(final Long userId) {
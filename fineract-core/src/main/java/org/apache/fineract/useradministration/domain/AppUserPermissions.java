@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.useradministration.domain;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable, compiled view of the effective permissions of an {@link AppUser}.
+ *
+ * Permission codes are interned into a JVM wide code to index table, so a user's permissions are held as a {@link BitSet}
+ * and every check is a single hash lookup plus a bit test. Only codes granted to some role are ever interned, so the
+ * table is bounded by the size of {@code m_permission}.
+ */
+final class AppUserPermissions {
+
+    private static final String ALL_FUNCTIONS = "ALL_FUNCTIONS";
+
+    private static final ConcurrentMap<String, Integer> CODE_INDEX = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    private final BitSet granted;
+    private final boolean allFunctions;
+
+    private AppUserPermissions(final BitSet granted) {
+        this.granted = granted;
+        this.allFunctions = isSet(granted, ALL_FUNCTIONS);
+    }
+
+    static AppUserPermissions compile(final Collection<Role> roles) {
+        final BitSet granted = new BitSet();
+        if (roles != null) {
+            for (final Role role : roles) {
+                for (final Permission permission : role.getPermissions()) {
+                    if (permission.getCode() != null) {
+                        granted.set(intern(permission.getCode()));
+                    }
+                }
+            }
+        }
+        return new AppUserPermissions(granted);
+    }
+
+    /**
+     * @return whether the permission is granted explicitly, ignoring {@code ALL_FUNCTIONS}
+     */
+    boolean hasSpecific(final String permissionCode) {
+        return isSet(this.granted, permissionCode);
+    }
+
+    /**
+     * @return whether the permission is granted explicitly or implied by {@code ALL_FUNCTIONS}
+     */
+    boolean has(final String permissionCode) {
+        return this.allFunctions || hasSpecific(permissionCode);
+    }
+
+    private static boolean isSet(final BitSet bits, final String permissionCode) {
+        if (permissionCode == null) {
+            return false;
+        }
+        final Integer index = CODE_INDEX.get(normalize(permissionCode));
+        return index != null && bits.get(index);
+    }
+
+    private static int intern(final String permissionCode) {
+        return CODE_INDEX.computeIfAbsent(normalize(permissionCode), code -> NEXT_INDEX.getAndIncrement());
+    }
+
+    // Permission.hasCode() matches case-insensitively, so the interned form has to as well
+    private static String normalize(final String permissionCode) {
+        return permissionCode.toUpperCase(Locale.ROOT);
+    }
+}
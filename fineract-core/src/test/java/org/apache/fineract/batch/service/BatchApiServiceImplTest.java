@@ -0,0 +1,204 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.batch.exception.ErrorInfo;
+import org.apache.fineract.batch.starter.BatchApiConfiguration;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class BatchApiServiceImplTest {
+
+    private final CommandStrategyProvider strategyProvider = mock(CommandStrategyProvider.class);
+    private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final Map<Long, String> threadByRequest = new ConcurrentHashMap<>();
+    private final Map<Long, String> tenantByRequest = new ConcurrentHashMap<>();
+    private final Map<Long, String> correlationIdByRequest = new ConcurrentHashMap<>();
+
+    private ThreadPoolTaskExecutor executor;
+    private CountDownLatch latch;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 1, 1))));
+        MDC.put("correlationId", "batch-42");
+        when(errorHandler.handle(any())).thenReturn(new ErrorInfo(500, 9999, "Request failed", null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        MDC.clear();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testIndependentTreesRunInParallelWithCallerContext() {
+        // given
+        latch = new CountDownLatch(3);
+        final BatchApiService underTest = createService(3, 10);
+
+        // when
+        final List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(
+                List.of(request(3L, null), request(4L, 1L), request(1L, null), request(2L, null)), null);
+
+        // then the first root waited for the other two, so the trees ran at the same time
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(responses).extracting(BatchResponse::getStatusCode).containsOnly(200);
+        assertThat(threadByRequest.values()).allMatch(thread -> thread.startsWith("batch-api-"));
+        assertThat(threadByRequest.get(4L)).isEqualTo(threadByRequest.get(1L));
+        assertThat(tenantByRequest.values()).hasSize(4).containsOnly("default");
+        assertThat(correlationIdByRequest.values()).hasSize(4).containsOnly("batch-42");
+    }
+
+    @Test
+    public void testFailedTreeDoesNotAffectOtherTrees() {
+        // given
+        latch = new CountDownLatch(0);
+        final BatchApiService underTest = createService(2, 10);
+
+        // when
+        final List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(
+                List.of(request(1L, null), request(2L, null).setRelativeUrl("fail"), request(3L, 2L), request(4L, 1L)), null);
+
+        // then
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(responses).extracting(BatchResponse::getStatusCode).containsExactly(200, 500, 500, 200);
+        assertThat(responses.get(2).getBody()).isEqualTo("Parent request with id 2 was erroneous!");
+    }
+
+    @Test
+    public void testCrashedTreeKeepsProducedResponses() {
+        // given the strategy lookup of request 2 throws, which escapes the worker
+        latch = new CountDownLatch(0);
+        final BatchApiService underTest = createService(2, 10);
+        when(strategyProvider.getCommandStrategy(argThat(context -> context != null && "crash".equals(context.getResource()))))
+                .thenThrow(new IllegalStateException("No strategy for crash"));
+
+        // when
+        final List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(List.of(request(1L, null),
+                request(2L, 1L).setRelativeUrl("crash"), request(3L, 2L), request(4L, 1L), request(5L, null)), null);
+
+        // then the root committed before the failure is kept, and the requests never run are reported as failed
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(responses).extracting(BatchResponse::getStatusCode).containsExactly(200, 500, 500, 500, 200);
+        assertThat(responses.get(0).getBody()).isEqualTo("{\"resourceId\":1}");
+        assertThat(responses.get(2).getBody()).isEqualTo("Parent request with id 2 was erroneous!");
+        assertThat(threadByRequest).containsOnlyKeys(1L, 5L);
+    }
+
+    @Test
+    public void testTreesRejectedBySaturatedExecutorRunOnCallingThread() {
+        // given the single worker is held by the first tree until the other two trees are done
+        latch = new CountDownLatch(2);
+        final BatchApiService underTest = createService(1, 0);
+
+        // when
+        final List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(
+                List.of(request(1L, null), request(2L, null), request(3L, null)), null);
+
+        // then
+        assertThat(responses).extracting(BatchResponse::getStatusCode).containsExactly(200, 200, 200);
+        assertThat(threadByRequest.get(1L)).startsWith("batch-api-");
+        assertThat(threadByRequest.get(2L)).isEqualTo(Thread.currentThread().getName());
+        assertThat(threadByRequest.get(3L)).isEqualTo(Thread.currentThread().getName());
+        assertThat(ThreadLocalContextUtil.getTenant().getTenantIdentifier()).isEqualTo("default");
+    }
+
+    private BatchApiService createService(int poolSize, int queueCapacity) {
+        final FineractProperties.FineractBatchApiProperties batchProperties = new FineractProperties.FineractBatchApiProperties();
+        batchProperties.setParallelExecutionEnabled(true);
+        batchProperties.setParallelExecutionPoolSize(poolSize);
+        batchProperties.setParallelExecutionQueueCapacity(queueCapacity);
+        final FineractProperties.FineractApiProperties apiProperties = new FineractProperties.FineractApiProperties();
+        apiProperties.setBatch(batchProperties);
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setApi(apiProperties);
+
+        executor = new BatchApiConfiguration().batchApiThreadPoolTaskExecutor(fineractProperties);
+        executor.initialize();
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(recordingStrategy());
+        return new BatchApiServiceImpl(strategyProvider, new ResolutionHelper(new FromJsonHelper()), mock(PlatformTransactionManager.class),
+                errorHandler, List.of(), List.of(), fineractProperties, executor, mock(EntityManager.class));
+    }
+
+    private CommandStrategy recordingStrategy() {
+        return (request, uriInfo) -> {
+            final Long requestId = request.getRequestId();
+            threadByRequest.put(requestId, Thread.currentThread().getName());
+            tenantByRequest.put(requestId, ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            correlationIdByRequest.put(requestId, MDC.get("correlationId"));
+            if (request.getReference() == null) {
+                latch.countDown();
+                if (requestId == 1L) {
+                    awaitLatch();
+                }
+            }
+            if ("fail".equals(request.getRelativeUrl())) {
+                throw new IllegalStateException("Request " + requestId + " failed");
+            }
+            return new BatchResponse().setRequestId(requestId).setStatusCode(200).setBody("{\"resourceId\":" + requestId + "}");
+        };
+    }
+
+    private void awaitLatch() {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BatchRequest request(Long requestId, Long reference) {
+        return new BatchRequest().setRequestId(requestId).setReference(reference).setRelativeUrl("clients").setMethod("POST")
+                .setBody("{}");
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jayway.jsonpath.ReadContext;
+import java.util.function.Supplier;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.junit.jupiter.api.Test;
+
+class ResolutionHelperTest {
+
+    private final ResolutionHelper resolutionHelper = new ResolutionHelper(new FromJsonHelper());
+
+    @Test
+    public void testChildrenResolveAgainstTheSameParsedParentResponse() {
+        // given
+        BatchResponse parentResponse = new BatchResponse().setRequestId(1L).setStatusCode(200)
+                .setBody("{\"clientId\":12,\"loanId\":34,\"changes\":{\"officeId\":1}}");
+        BatchRequest first = new BatchRequest().setRequestId(2L).setReference(1L).setRelativeUrl("loans/$.loanId?command=approve")
+                .setBody("{\"clientId\":\"$.clientId\",\"note\":\"approved\"}");
+        BatchRequest second = new BatchRequest().setRequestId(3L).setReference(1L).setRelativeUrl("clients/$.clientId")
+                .setBody("{\"officeId\":\"$.changes.officeId\"}");
+
+        // when
+        Supplier<ReadContext> responseCtx = resolutionHelper.parsedResponse(parentResponse);
+        BatchRequest resolvedFirst = resolutionHelper.resolveRequest(first, responseCtx.get());
+        BatchRequest resolvedSecond = resolutionHelper.resolveRequest(second, responseCtx.get());
+
+        // then
+        assertThat(responseCtx.get()).isSameAs(responseCtx.get());
+        assertThat(resolvedFirst.getRelativeUrl()).isEqualTo("loans/34?command=approve");
+        assertThat(resolvedFirst.getBody()).isEqualTo("{\"clientId\":12,\"note\":\"approved\"}");
+        assertThat(resolvedSecond.getRelativeUrl()).isEqualTo("clients/12");
+        assertThat(resolvedSecond.getBody()).isEqualTo("{\"officeId\":1}");
+    }
+}
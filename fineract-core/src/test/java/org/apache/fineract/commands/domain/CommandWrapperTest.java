@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.fineract.commands.service.CommandWrapperBuilder;
+import org.junit.jupiter.api.Test;
+
+class CommandWrapperTest {
+
+    @Test
+    public void testHandlerKeyOfDatatableCommands() {
+        assertHandlerKey("DATATABLE", "CREATE", new CommandWrapperBuilder().createDBDatatable("{}").build());
+        assertHandlerKey("DATATABLE", "REGISTER", new CommandWrapperBuilder().registerDBDatatable("dt_extra", "m_client").build());
+        assertHandlerKey("DATATABLE", "CREATE_ENTRY", new CommandWrapperBuilder().createDatatableEntry("dt_extra", 1L, null).build());
+        assertHandlerKey("DATATABLE", "UPDATE_ENTRY", new CommandWrapperBuilder().updateDatatableEntry("dt_extra", 1L, null).build());
+        assertHandlerKey("DATATABLE", "UPDATE_MULTIPLE_ENTRY",
+                new CommandWrapperBuilder().updateDatatableEntry("dt_extra", 1L, 2L).build());
+        assertHandlerKey("DATATABLE", "DELETE_ENTRY", new CommandWrapperBuilder().deleteDatatableEntry("dt_extra", 1L, null).build());
+        assertHandlerKey("DATATABLE", "DELETE_MULTIPLE_ENTRY",
+                new CommandWrapperBuilder().deleteDatatableEntry("dt_extra", 1L, 2L).build());
+    }
+
+    @Test
+    public void testHandlerKeyOfRoutedCommands() {
+        assertHandlerKey("SURVEY", "CREATE", new CommandWrapperBuilder().fullFilSurvey("ppi_kenya", 1L).build());
+        assertHandlerKey("DISBURSEMENTDETAIL", "UPDATE", new CommandWrapperBuilder().updateDisbusementDate(1L, 2L).build());
+        assertHandlerKey("DISBURSEMENTDETAIL", "ADD_AND_DELETE", new CommandWrapperBuilder().addAndDeleteDisbursementDetails(1L).build());
+        assertHandlerKey("LOAN", "REPAYMENT", new CommandWrapperBuilder().loanRepaymentTransaction(1L).build());
+    }
+
+    private static void assertHandlerKey(final String entity, final String action, final CommandWrapper wrapper) {
+        assertEquals(entity, wrapper.handlerEntityName());
+        assertEquals(action, wrapper.handlerActionName());
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.provider;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.fineract.commands.annotation.CommandType;
+import org.apache.fineract.commands.exception.UnsupportedCommandException;
+import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+class CommandHandlerProviderTest {
+
+    @Test
+    public void testHandlersAreRegisteredForEveryCommandType() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(CommandHandlerProvider.class,
+                NoteHandler.class, ClientHandler.class)) {
+            final CommandHandlerProvider provider = context.getBean(CommandHandlerProvider.class);
+
+            assertInstanceOf(NoteHandler.class, provider.getHandler("CLIENTNOTE", "CREATE"));
+            assertSame(provider.getHandler("CLIENTNOTE", "CREATE"), provider.getHandler("LOANNOTE", "CREATE"));
+            assertSame(context.getBean(ClientHandler.class), provider.getHandler("CLIENT", "CREATE"));
+            assertThrows(UnsupportedCommandException.class, () -> provider.getHandler("CLIENT", "DELETE"));
+        }
+    }
+
+    @CommandType(entity = "CLIENTNOTE", action = "CREATE")
+    @CommandType(entity = "LOANNOTE", action = "CREATE")
+    static class NoteHandler implements NewCommandSourceHandler {
+
+        @Override
+        public CommandProcessingResult processCommand(final JsonCommand command) {
+            return null;
+        }
+    }
+
+    @CommandType(entity = "CLIENT", action = "CREATE")
+    static class ClientHandler implements NewCommandSourceHandler {
+
+        @Override
+        public CommandProcessingResult processCommand(final JsonCommand command) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class CommandAuditAppenderTest {
+
+    private static final String UPDATE_COMMAND_AS_JSON = "UPDATE m_portfolio_command_source SET command_as_json = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    // tenant and first command source id of every batch update, recorded on the writing thread
+    private final List<String> writtenBatches = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testFlushWritesQueuedEntriesInBatchesPerTenant() throws InterruptedException {
+        final CommandAuditAppender appender = appender(10, 2);
+        recordBatches();
+
+        initContext(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        appender.append(1L, "{\"a\":1}");
+        appender.append(2L, "{\"a\":2}");
+        initContext(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        appender.append(3L, "{\"a\":3}");
+        appender.append(null, "{}");
+        appender.append(4L, null);
+        ThreadLocalContextUtil.reset();
+
+        appender.flush();
+        appender.shutdownWriter();
+
+        assertEquals(List.of("default:1", "other:3"), writtenBatches);
+    }
+
+    @Test
+    public void testEntryIsQueuedOnlyAfterCommit() throws InterruptedException {
+        final CommandAuditAppender appender = appender(10, 10);
+        recordBatches();
+        initContext(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        TransactionSynchronizationManager.initSynchronization();
+
+        appender.append(1L, "{\"a\":1}");
+        appender.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        appender.flush();
+        appender.shutdownWriter();
+
+        assertEquals(List.of("default:1"), writtenBatches);
+    }
+
+    @Test
+    public void testCallerWritesEntryWhenQueueIsFull() throws InterruptedException {
+        final CommandAuditAppender appender = appender(1, 10);
+        recordBatches();
+        initContext(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+
+        appender.append(1L, "{\"a\":1}");
+        appender.append(2L, "{\"a\":2}");
+        assertEquals(List.of("default:2"), writtenBatches);
+
+        appender.shutdownWriter();
+        assertEquals(List.of("default:2", "default:1"), writtenBatches);
+    }
+
+    @Test
+    public void testFailedBatchDoesNotStopOtherTenants() throws InterruptedException {
+        final CommandAuditAppender appender = appender(10, 10);
+        doAnswer(invocation -> {
+            if ("default".equals(ThreadLocalContextUtil.getTenant().getTenantIdentifier())) {
+                throw new IllegalStateException("write failed");
+            }
+            writtenBatches.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            return new int[] { 1 };
+        }).when(jdbcTemplate).batchUpdate(eq(UPDATE_COMMAND_AS_JSON), anyList());
+
+        initContext(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        appender.append(1L, "{\"a\":1}");
+        initContext(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        appender.append(2L, "{\"a\":2}");
+        ThreadLocalContextUtil.reset();
+
+        appender.flush();
+        appender.shutdownWriter();
+
+        assertEquals(List.of("other"), writtenBatches);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(UPDATE_COMMAND_AS_JSON), anyList());
+    }
+
+    @Test
+    public void testShutdownFlushesPendingEntries() throws InterruptedException {
+        final CommandAuditAppender appender = appender(10, 10);
+        initContext(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        appender.append(1L, "{\"a\":1}");
+        appender.append(2L, "{\"a\":2}");
+
+        appender.shutdownWriter();
+
+        verify(jdbcTemplate).batchUpdate(eq(UPDATE_COMMAND_AS_JSON), anyList());
+        appender.flush();
+        verify(jdbcTemplate).batchUpdate(eq(UPDATE_COMMAND_AS_JSON), anyList());
+    }
+
+    private CommandAuditAppender appender(final int queueCapacity, final int batchSize) {
+        final FineractProperties.FineractCommandAuditProperties auditProperties = new FineractProperties.FineractCommandAuditProperties();
+        auditProperties.setAsyncQueueCapacity(queueCapacity);
+        auditProperties.setAsyncBatchSize(batchSize);
+        // long enough that only the explicit flushes write
+        auditProperties.setAsyncFlushIntervalMs(60000L);
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCommandAudit(auditProperties);
+        return new CommandAuditAppender(jdbcTemplate, fineractProperties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordBatches() {
+        doAnswer(invocation -> {
+            final List<Object[]> batch = invocation.getArgument(1, List.class);
+            assertArrayEquals(new Object[] { "{\"a\":" + batch.get(0)[1] + "}", batch.get(0)[1] }, batch.get(0));
+            writtenBatches.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + batch.get(0)[1]);
+            return new int[batch.size()];
+        }).when(jdbcTemplate).batchUpdate(eq(UPDATE_COMMAND_AS_JSON), anyList());
+    }
+
+    private static void initContext(final FineractPlatformTenant tenant) {
+        ThreadLocalContextUtil.setTenant(tenant);
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 1, 1))));
+    }
+}
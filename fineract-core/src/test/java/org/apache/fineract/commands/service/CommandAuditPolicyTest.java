@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.apache.fineract.commands.domain.CommandAuditMode;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.Test;
+
+class CommandAuditPolicyTest {
+
+    @Test
+    public void testAuditModeIsResolvedByPermissionName() {
+        final FineractProperties.FineractCommandAuditProperties auditProperties = new FineractProperties.FineractCommandAuditProperties();
+        auditProperties.setCompactCommands(List.of(" repayment_loan ", ""));
+        auditProperties.setAsyncCommands(List.of("DEPOSIT_SAVINGSACCOUNT"));
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCommandAudit(auditProperties);
+        final CommandAuditPolicy policy = new CommandAuditPolicy(fineractProperties);
+
+        assertEquals(CommandAuditMode.COMPACT, policy.getAuditMode(new CommandWrapperBuilder().loanRepaymentTransaction(1L).build()));
+        assertEquals(CommandAuditMode.ASYNC, policy.getAuditMode(new CommandWrapperBuilder().savingsAccountDeposit(1L).build()));
+        assertEquals(CommandAuditMode.FULL, policy.getAuditMode(new CommandWrapperBuilder().createClient().build()));
+    }
+
+    @Test
+    public void testAuditModeDefaultsToFullWithoutConfiguration() {
+        final CommandAuditPolicy policy = new CommandAuditPolicy(new FineractProperties());
+
+        assertEquals(CommandAuditMode.FULL, policy.getAuditMode(new CommandWrapperBuilder().loanRepaymentTransaction(1L).build()));
+    }
+
+    @Test
+    public void testCompactReplacesPayloadWithHash() {
+        final CommandSource commandSource = CommandSource.builder().commandAsJson("{\"transactionAmount\":100}").build();
+
+        new CommandAuditPolicy(new FineractProperties()).compact(commandSource);
+
+        assertEquals("{\"sha256\":\"274b590becc944f7f722bef0e336fccdc9a438d2860ba711f8bf16bac9d971fc\"}", commandSource.getCommandAsJson());
+        assertEquals("{}", CommandAuditPolicy.compactPayload(null));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class IdempotencyResponseCaptureWrapperTest {
+
+    @Test
+    public void testBodyWithinLimitIsCapturedAndHeldBack() throws IOException {
+        // given
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final IdempotencyResponseCaptureWrapper wrapper = new IdempotencyResponseCaptureWrapper(response, 64);
+
+        // when
+        wrapper.getOutputStream().write("{\"resourceId\":1}".getBytes(StandardCharsets.UTF_8));
+        wrapper.getOutputStream().flush();
+
+        // then
+        assertTrue(wrapper.isCaptured());
+        assertEquals("{\"resourceId\":1}", wrapper.getCapturedBody());
+        assertEquals("", response.getContentAsString());
+
+        wrapper.copyBodyToResponse();
+        assertEquals("{\"resourceId\":1}", response.getContentAsString());
+    }
+
+    @Test
+    public void testWriterOutputIsCaptured() throws IOException {
+        // given
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        final IdempotencyResponseCaptureWrapper wrapper = new IdempotencyResponseCaptureWrapper(response, 64);
+
+        // when
+        wrapper.getWriter().write("{\"name\":\"árvíz\"}");
+
+        // then
+        assertEquals("{\"name\":\"árvíz\"}", wrapper.getCapturedBody());
+        wrapper.copyBodyToResponse();
+        assertEquals("{\"name\":\"árvíz\"}", response.getContentAsString());
+    }
+
+    @Test
+    public void testBodyOverLimitIsStreamedWithoutCapture() throws IOException {
+        // given
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final IdempotencyResponseCaptureWrapper wrapper = new IdempotencyResponseCaptureWrapper(response, 8);
+
+        // when
+        wrapper.getOutputStream().write("{\"a\":".getBytes(StandardCharsets.UTF_8));
+        wrapper.getOutputStream().write("\"0123456789\"}".getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertFalse(wrapper.isCaptured());
+        assertNull(wrapper.getCapturedBody());
+        assertEquals("{\"a\":\"0123456789\"}", response.getContentAsString());
+
+        wrapper.copyBodyToResponse();
+        assertEquals("{\"a\":\"0123456789\"}", response.getContentAsString());
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.apache.fineract.infrastructure.core.service.Page;
+import org.junit.jupiter.api.Test;
+
+class DefaultToApiJsonSerializerTest {
+
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("id", "name");
+
+    private final DefaultToApiJsonSerializer<Sample> serializer = new DefaultToApiJsonSerializer<>(
+            new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson(),
+            new ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson(), new CommandProcessingResultJsonSerializer(),
+            new GoogleGsonSerializerHelper());
+
+    private final Page<Sample> page = new Page<>(List.of(new Sample(1L, "one"), new Sample(2L, "two")), 2);
+
+    @Test
+    public void testStreamedPageMatchesStringSerialization() throws IOException {
+        final ApiRequestJsonSerializationSettings settings = settings(false, Set.of());
+
+        assertEquals(serializer.serialize(settings, page, SUPPORTED_PARAMETERS), stream(settings));
+    }
+
+    @Test
+    public void testStreamedPageHonoursPrettyPrintAndPartialResponse() throws IOException {
+        final ApiRequestJsonSerializationSettings pretty = settings(true, Set.of());
+        final ApiRequestJsonSerializationSettings partial = settings(false, Set.of("name"));
+
+        assertEquals(serializer.serialize(pretty, page, SUPPORTED_PARAMETERS), stream(pretty));
+        assertEquals("{\"totalFilteredRecords\":2,\"pageItems\":[{\"name\":\"one\"},{\"name\":\"two\"}]}", stream(partial));
+    }
+
+    @Test
+    public void testUnsupportedFieldIsRejectedBeforeStreaming() {
+        final ApiRequestJsonSerializationSettings settings = settings(false, Set.of("unknown"));
+
+        assertThrows(UnsupportedParameterException.class, () -> serializer.serializeStreaming(settings, page, SUPPORTED_PARAMETERS));
+    }
+
+    private String stream(final ApiRequestJsonSerializationSettings settings) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        serializer.serializeStreaming(settings, page, SUPPORTED_PARAMETERS).write(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ApiRequestJsonSerializationSettings settings(final boolean prettyPrint, final Set<String> fields) {
+        return ApiRequestJsonSerializationSettings.from(prettyPrint, fields, false, false, false);
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Sample {
+
+        private final Long id;
+        private final String name;
+
+        private Sample(final Long id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
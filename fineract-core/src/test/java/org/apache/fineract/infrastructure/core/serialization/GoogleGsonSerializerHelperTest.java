@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.Gson;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.junit.jupiter.api.Test;
+
+class GoogleGsonSerializerHelperTest {
+
+    private final GoogleGsonSerializerHelper helper = new GoogleGsonSerializerHelper();
+
+    @Test
+    public void testPartialResponseSerializerIsReusedForSameFields() {
+        final Gson first = helper.createGsonBuilderForPartialResponseFiltering(false, new HashSet<>(Set.of("id", "name")));
+        final Gson second = helper.createGsonBuilderForPartialResponseFiltering(false, new HashSet<>(Set.of("name", "id")));
+        final Gson pretty = helper.createGsonBuilderForPartialResponseFiltering(true, Set.of("id", "name"));
+        final Gson otherFields = helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("id"));
+
+        assertSame(first, second);
+        assertNotSame(first, pretty);
+        assertNotSame(first, otherFields);
+        assertEquals("{\"id\":1}", otherFields.toJson(new Sample(1L, "one", LocalDate.of(2024, 1, 1))));
+    }
+
+    @Test
+    public void testExclusionSerializerStillRejectsUnsupportedFields() {
+        final Set<String> supported = Set.of("id", "name", "date");
+
+        final Gson first = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(supported, false, Set.of("name"));
+        final Gson second = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(supported, false, Set.of("name"));
+
+        assertSame(first, second);
+        assertEquals("{\"name\":\"one\"}", first.toJson(new Sample(1L, "one", LocalDate.of(2024, 1, 1))));
+        assertThrows(UnsupportedParameterException.class,
+                () -> helper.createGsonBuilderWithParameterExclusionSerializationStrategy(supported, false, Set.of("unknown")));
+    }
+
+    @Test
+    public void testStreamedJsonMatchesStringSerialization() {
+        final Sample sample = new Sample(1L, "one", LocalDate.of(2024, 1, 1));
+        final Gson gson = helper.createGsonExcludingNothing(false);
+        final StringWriter writer = new StringWriter();
+
+        helper.serializeJsonTo(gson, sample, writer);
+
+        assertEquals(new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson().serialize(sample), writer.toString());
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Sample {
+
+        private final Long id;
+        private final String name;
+        private final LocalDate date;
+
+        private Sample(final Long id, final String name, final LocalDate date) {
+            this.id = id;
+            this.name = name;
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+class PageEnricherTest {
+
+    @Test
+    public void testEnrichLoadsAllIdsOfThePageOnce() {
+        // given
+        final List<Collection<Long>> loaderCalls = new ArrayList<>();
+        final PageEnricher<Item, String> enricher = PageEnricher.of(Item::getId, ids -> {
+            loaderCalls.add(List.copyOf(ids));
+            return Map.of(1L, "one", 3L, "three");
+        }, Item::setValue);
+        final Page<Item> page = new Page<>(List.of(new Item(1L, null), new Item(2L, null), new Item(3L, null), new Item(1L, null)), 4);
+
+        // when
+        final Page<Item> result = enricher.enrich(page);
+
+        // then
+        assertSame(page, result);
+        assertEquals(List.of(List.of(1L, 2L, 3L)), loaderCalls);
+        assertEquals("one", page.getPageItems().get(0).getValue());
+        assertNull(page.getPageItems().get(1).getValue());
+        assertEquals("three", page.getPageItems().get(2).getValue());
+        assertEquals("one", page.getPageItems().get(3).getValue());
+    }
+
+    @Test
+    public void testEnrichSkipsLoaderWithoutIds() {
+        // given
+        final List<Collection<Long>> loaderCalls = new ArrayList<>();
+        final PageEnricher<Item, String> enricher = PageEnricher.of(Item::getId, ids -> {
+            loaderCalls.add(ids);
+            return Map.of();
+        }, Item::setValue);
+
+        // when
+        enricher.enrich(List.<Item>of());
+        enricher.enrich(List.of(new Item(null, "kept")));
+
+        // then
+        assertEquals(0, loaderCalls.size());
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static final class Item {
+
+        private Long id;
+        private String value;
+    }
+}
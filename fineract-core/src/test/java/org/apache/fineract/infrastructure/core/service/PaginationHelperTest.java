@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+public class PaginationHelperTest {
+
+    private static final String SQL = "select id from m_loan where id > ?";
+
+    private final DatabaseTypeResolver databaseTypeResolver = Mockito.mock(DatabaseTypeResolver.class);
+    private final PaginationHelper paginationHelper = new PaginationHelper(new DatabaseSpecificSQLGenerator(databaseTypeResolver),
+            databaseTypeResolver);
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final RowMapper<Long> rowMapper = (rs, rowNum) -> rs.getLong(1);
+
+    @Test
+    public void testFetchPageWithSkippedTotalDoesNotCount() {
+        final Object[] args = { 10L };
+        when(jdbcTemplate.query(SQL, rowMapper, args)).thenReturn(List.of(11L, 12L));
+        final SearchParameters searchParameters = SearchParameters.builder().afterId(10L).limit(2).skipTotal(true).build();
+
+        final Page<Long> page = paginationHelper.fetchPage(jdbcTemplate, SQL, args, rowMapper, searchParameters);
+
+        Assertions.assertEquals(List.of(11L, 12L), page.getPageItems());
+        Assertions.assertNull(page.getTotalFilteredRecords());
+        Assertions.assertTrue(page.getHasMorePages());
+        verify(jdbcTemplate).query(SQL, rowMapper, args);
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void testFetchPageWithoutSkippedTotalCounts() {
+        final Object[] args = { 10L };
+        when(jdbcTemplate.query(SQL, rowMapper, args)).thenReturn(List.of(11L));
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + SQL + ") AS temp", Integer.class, args)).thenReturn(7);
+
+        final Page<Long> page = paginationHelper.fetchPage(jdbcTemplate, SQL, args, rowMapper,
+                SearchParameters.builder().limit(1).build());
+
+        Assertions.assertEquals(7, page.getTotalFilteredRecords());
+        Assertions.assertNull(page.getHasMorePages());
+    }
+
+    @Test
+    public void testHasMorePages() {
+        Assertions.assertTrue(PaginationHelper.hasMorePages(SearchParameters.builder().offset(0).limit(50).build(), 50));
+        Assertions.assertFalse(PaginationHelper.hasMorePages(SearchParameters.builder().offset(100).limit(50).build(), 20));
+        Assertions.assertFalse(PaginationHelper.hasMorePages(SearchParameters.builder().build(), 20));
+    }
+
+    @Test
+    public void testKeysetPaginationRejectsOrderAndOffset() {
+        paginationHelper.validateKeysetPagination(SearchParameters.builder().afterId(5L).limit(50).offset(0).build());
+        paginationHelper.validateKeysetPagination(SearchParameters.builder().orderBy("accountNo").sortOrder("DESC").offset(10).build());
+
+        final PlatformApiDataValidationException exception = Assertions.assertThrows(PlatformApiDataValidationException.class,
+                () -> paginationHelper.validateKeysetPagination(
+                        SearchParameters.builder().afterId(5L).orderBy("accountNo").sortOrder("DESC").offset(10).build()));
+        Assertions.assertEquals(List.of("validation.msg.pagination.orderBy.not.supported.with.afterId",
+                "validation.msg.pagination.sortOrder.not.supported.with.afterId",
+                "validation.msg.pagination.offset.not.supported.with.afterId"),
+                exception.getErrors().stream().map(ApiParameterError::getUserMessageGlobalisationCode).toList());
+    }
+
+    @Test
+    public void testCalcFoundRowsIsOmittedWhenTotalIsSkipped() {
+        when(databaseTypeResolver.isMySQL()).thenReturn(true);
+
+        Assertions.assertEquals("SQL_CALC_FOUND_ROWS", paginationHelper.calcFoundRows(SearchParameters.builder().build()));
+        Assertions.assertEquals("", paginationHelper.calcFoundRows(SearchParameters.builder().skipTotal(true).build()));
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+class TomcatJdbcDataSourcePerTenantServiceTest {
+
+    private final DataSourcePerTenantServiceFactory dataSourceFactory = mock(DataSourcePerTenantServiceFactory.class);
+    private final TenantDetailsService tenantDetailsService = mock(TenantDetailsService.class);
+    private final FineractProperties.FineractTenantPoolProperties poolProperties = new FineractProperties.FineractTenantPoolProperties();
+    private final Map<Long, FineractPlatformTenantConnection> connections = new HashMap<>();
+    private TomcatJdbcDataSourcePerTenantService underTest;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        FineractProperties.FineractTenantProperties tenantProperties = new FineractProperties.FineractTenantProperties();
+        tenantProperties.setPool(poolProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setTenant(tenantProperties);
+        ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+        underTest = new TomcatJdbcDataSourcePerTenantService(mock(DataSource.class), dataSourceFactory, tenantDetailsService,
+                fineractProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdownIdlePoolReclaimer();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testPoolIsCreatedOnFirstUseOnly() throws SQLException {
+        // given
+        HikariDataSource dataSource = pool(1L, 5);
+
+        // when
+        underTest.onApplicationEvent(mock(ContextRefreshedEvent.class));
+        ThreadLocalContextUtil.setTenant(tenant(1L));
+        DataSource first = underTest.retrieveDataSource();
+        DataSource second = underTest.retrieveDataSource();
+
+        // then
+        verifyNoInteractions(tenantDetailsService);
+        assertSame(dataSource, first);
+        assertSame(dataSource, second);
+        verify(dataSourceFactory, times(1)).createNewDataSourceFor(any());
+        verify(dataSource).getConnection();
+    }
+
+    @Test
+    public void testConnectionBudgetLimitsPools() throws SQLException {
+        // given
+        poolProperties.setMaxTotalConnections(8);
+        pool(1L, 5);
+        HikariDataSource limited = pool(2L, 5);
+        HikariDataSource rejected = pool(3L, 5);
+
+        // when
+        ThreadLocalContextUtil.setTenant(tenant(1L));
+        underTest.retrieveDataSource();
+        ThreadLocalContextUtil.setTenant(tenant(2L));
+        underTest.retrieveDataSource();
+
+        // then
+        verify(limited).setMaximumPoolSize(3);
+        assertEquals(8, underTest.getReservedConnections());
+        ThreadLocalContextUtil.setTenant(tenant(3L));
+        assertThrows(IllegalStateException.class, underTest::retrieveDataSource);
+        verify(rejected).close();
+    }
+
+    @Test
+    public void testIdlePoolIsShrunkAndGrownOnNextUse() throws SQLException {
+        // given
+        poolProperties.setIdleTimeoutMinutes(30);
+        poolProperties.setMaxTotalConnections(10);
+        HikariDataSource dataSource = pool(1L, 5);
+        ThreadLocalContextUtil.setTenant(tenant(1L));
+        underTest.retrieveDataSource();
+
+        // when
+        underTest.reclaimIdlePools(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(31));
+
+        // then
+        verify(dataSource).setMinimumIdle(0);
+        verify(dataSource).setMaximumPoolSize(1);
+        assertEquals(1, underTest.getReservedConnections());
+
+        underTest.retrieveDataSource();
+        verify(dataSource).setMaximumPoolSize(5);
+        verify(dataSource).setMinimumIdle(2);
+        assertEquals(5, underTest.getReservedConnections());
+    }
+
+    @Test
+    public void testShrunkPoolGrowsOnceBudgetIsAvailable() throws SQLException {
+        // given
+        poolProperties.setIdleTimeoutMinutes(30);
+        poolProperties.setMaxTotalConnections(6);
+        HikariDataSource first = pool(1L, 5);
+        HikariDataSource second = pool(2L, 5);
+        ThreadLocalContextUtil.setTenant(tenant(1L));
+        underTest.retrieveDataSource();
+        underTest.reclaimIdlePools(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(31));
+        ThreadLocalContextUtil.setTenant(tenant(2L));
+        underTest.retrieveDataSource();
+
+        // when
+        ThreadLocalContextUtil.setTenant(tenant(1L));
+        underTest.retrieveDataSource();
+
+        // then
+        verify(first, never()).setMaximumPoolSize(5);
+        assertEquals(6, underTest.getReservedConnections());
+
+        underTest.reclaimIdlePools(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(31));
+        verify(second).setMaximumPoolSize(1);
+        assertEquals(2, underTest.getReservedConnections());
+
+        underTest.retrieveDataSource();
+        verify(first).setMaximumPoolSize(5);
+        assertEquals(6, underTest.getReservedConnections());
+    }
+
+    @Test
+    public void testSlowPoolCreationDoesNotBlockOtherTenants() throws Exception {
+        // given
+        HikariDataSource slow = pool(1L, 5);
+        HikariDataSource other = pool(2L, 5);
+        CountDownLatch connecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(slow.getConnection()).willAnswer(invocation -> {
+            connecting.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return mock(Connection.class, RETURNS_DEEP_STUBS);
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<DataSource> slowFirstUse = executor.submit(() -> {
+                ThreadLocalContextUtil.setTenant(tenant(1L));
+                return underTest.retrieveDataSource();
+            });
+            assertTrue(connecting.await(10, TimeUnit.SECONDS));
+
+            // when
+            ThreadLocalContextUtil.setTenant(tenant(2L));
+            DataSource otherDataSource = underTest.retrieveDataSource();
+
+            // then
+            assertSame(other, otherDataSource);
+            release.countDown();
+            assertSame(slow, slowFirstUse.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private HikariDataSource pool(Long connectionId, int maximumPoolSize) throws SQLException {
+        HikariDataSource dataSource = mock(HikariDataSource.class, RETURNS_DEEP_STUBS);
+        given(dataSource.getMaximumPoolSize()).willReturn(maximumPoolSize);
+        given(dataSource.getMinimumIdle()).willReturn(2);
+        given(dataSource.getMetricRegistry()).willReturn(null);
+        FineractPlatformTenantConnection connection = connection(connectionId);
+        given(dataSourceFactory.createNewDataSourceFor(connection)).willReturn(dataSource);
+        return dataSource;
+    }
+
+    private FineractPlatformTenant tenant(Long connectionId) {
+        return new FineractPlatformTenant(connectionId, "tenant" + connectionId, "Tenant " + connectionId, "UTC",
+                connection(connectionId));
+    }
+
+    private FineractPlatformTenantConnection connection(Long connectionId) {
+        return connections.computeIfAbsent(connectionId, id -> {
+            FineractPlatformTenantConnection connection = mock(FineractPlatformTenantConnection.class);
+            given(connection.getConnectionId()).willReturn(id);
+            return connection;
+        });
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.office.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.organisation.office.exception.CannotUpdateOfficeWithParentOfficeBelowSelf;
+import org.apache.fineract.organisation.office.exception.CannotUpdateOfficeWithParentOfficeSameAsSelf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OfficeTest {
+
+    private Office head;
+    private Office region;
+    private Office branch;
+    private Office subBranch;
+    private Office otherRegion;
+
+    @BeforeEach
+    void setUp() {
+        head = office(1L, null);
+        region = office(2L, head);
+        branch = office(3L, region);
+        subBranch = office(4L, branch);
+        otherRegion = office(5L, head);
+    }
+
+    @Test
+    void moveRegeneratesTheHierarchyOfAllOfficesBelow() {
+        branch.update(otherRegion);
+
+        assertThat(branch.getHierarchy()).isEqualTo(".5.3.");
+        assertThat(subBranch.getHierarchy()).isEqualTo(".5.3.4.");
+        assertThat(region.getHierarchy()).isEqualTo(".2.");
+    }
+
+    @Test
+    void moveUnderSelfIsRejected() {
+        assertThatThrownBy(() -> branch.update(branch)).isInstanceOf(CannotUpdateOfficeWithParentOfficeSameAsSelf.class);
+    }
+
+    @Test
+    void moveUnderAnOfficeBelowIsRejected() {
+        assertThatThrownBy(() -> region.update(subBranch)).isInstanceOf(CannotUpdateOfficeWithParentOfficeBelowSelf.class);
+
+        assertThat(region.getParent()).isSameAs(head);
+        assertThat(subBranch.getHierarchy()).isEqualTo(".2.3.4.");
+    }
+
+    private static Office office(final Long id, final Office parent) {
+        final Office office = Office.headOffice("Office " + id, LocalDate.of(2024, 1, 1), ExternalId.empty());
+        office.setId(id);
+        if (parent != null) {
+            office.setParent(parent);
+            parent.getChildren().add(office);
+        }
+        office.generateHierarchy();
+        return office;
+    }
+}
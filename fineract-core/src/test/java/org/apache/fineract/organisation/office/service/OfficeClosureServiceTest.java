@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.office.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class OfficeClosureServiceTest {
+
+    private static final String INSERT_SELF = "INSERT INTO m_office_closure (ancestor_id, descendant_id) VALUES (?, ?)";
+    private static final String INSERT_ANCESTORS = "INSERT INTO m_office_closure (ancestor_id, descendant_id)"
+            + " SELECT oc.ancestor_id, ? FROM m_office_closure oc WHERE oc.descendant_id = ?";
+    private static final String SELECT_SUBTREE = "SELECT descendant_id FROM m_office_closure WHERE ancestor_id = ?";
+    private static final String DELETE_OUTSIDE_LINKS = "DELETE FROM m_office_closure WHERE descendant_id IN (:subtree)"
+            + " AND ancestor_id NOT IN (:subtree)";
+    private static final String INSERT_NEW_ANCESTORS = "INSERT INTO m_office_closure (ancestor_id, descendant_id)"
+            + " SELECT a.ancestor_id, d.descendant_id FROM m_office_closure a, m_office_closure d"
+            + " WHERE a.descendant_id = ? AND d.ancestor_id = ?";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final OfficeClosureService underTest = new OfficeClosureService(jdbcTemplate, namedParameterJdbcTemplate);
+
+    @Test
+    void headOfficeIsLinkedToItselfOnly() {
+        underTest.addOffice(1L, null);
+
+        verify(jdbcTemplate).update(INSERT_SELF, 1L, 1L);
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void newOfficeIsLinkedToItselfAndToTheAncestorsOfItsParent() {
+        underTest.addOffice(7L, 3L);
+
+        verify(jdbcTemplate).update(INSERT_SELF, 7L, 7L);
+        verify(jdbcTemplate).update(INSERT_ANCESTORS, 7L, 3L);
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void moveRelinksTheWholeSubtreeToTheNewAncestors() {
+        given(jdbcTemplate.queryForList(SELECT_SUBTREE, Long.class, 3L)).willReturn(List.of(3L, 4L, 8L));
+
+        underTest.moveOffice(3L, 5L);
+
+        verify(namedParameterJdbcTemplate).update(DELETE_OUTSIDE_LINKS, Map.of("subtree", List.of(3L, 4L, 8L)));
+        verify(jdbcTemplate).update(INSERT_NEW_ANCESTORS, 5L, 3L);
+    }
+
+    @Test
+    void moveOfAnOfficeMissingFromTheClosureTableIsIgnored() {
+        given(jdbcTemplate.queryForList(SELECT_SUBTREE, Long.class, 3L)).willReturn(List.of());
+
+        underTest.moveOffice(3L, 5L);
+
+        verifyNoInteractions(namedParameterJdbcTemplate);
+        verify(jdbcTemplate).queryForList(SELECT_SUBTREE, Long.class, 3L);
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void scopeMatchesTheOfficeAndAllOfficesBelowIt() {
+        assertThat(OfficeClosureService.underOffice("o.id"))
+                .isEqualTo("o.id in (select oc.descendant_id from m_office_closure oc where oc.ancestor_id = ?)");
+        assertThat(OfficeClosureService.underOffice("c.office_id", "officeId"))
+                .isEqualTo("c.office_id in (select oc.descendant_id from m_office_closure oc where oc.ancestor_id = :officeId)");
+    }
+}
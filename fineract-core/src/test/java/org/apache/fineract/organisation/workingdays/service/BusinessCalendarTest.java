@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.workingdays.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.RescheduleType;
+import org.apache.fineract.organisation.holiday.service.HolidayUtil;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.service.BusinessCalendar.HolidayPeriod;
+import org.junit.jupiter.api.Test;
+
+class BusinessCalendarTest {
+
+    private static final String MONDAY_TO_FRIDAY = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR";
+
+    private final Holiday newYear = new Holiday().setFromDate(LocalDate.of(2024, 12, 31)).setToDate(LocalDate.of(2025, 1, 1));
+    private final Holiday easter = new Holiday().setFromDate(LocalDate.of(2025, 4, 18)).setToDate(LocalDate.of(2025, 4, 21));
+
+    @Test
+    public void testBusinessDaysMatchWorkingDaysAndHolidays() {
+        final WorkingDays workingDays = workingDays(RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY);
+        final BusinessCalendar calendar = new BusinessCalendar(workingDays, List.of(this.newYear, this.easter));
+
+        for (LocalDate date = LocalDate.of(2024, 12, 1); date.isBefore(LocalDate.of(2025, 6, 1)); date = date.plusDays(1)) {
+            final boolean workingDay = WorkingDaysUtil.isWorkingDay(workingDays, date);
+            final Holiday holiday = HolidayUtil.getApplicableHoliday(date, List.of(this.newYear, this.easter));
+            assertEquals(workingDay, calendar.isWorkingDay(date), date.toString());
+            assertEquals(holiday == null ? null : HolidayPeriod.of(holiday), calendar.getApplicableHoliday(date), date.toString());
+            assertEquals(workingDay && holiday == null, calendar.isBusinessDay(date), date.toString());
+        }
+        assertFalse(calendar.isSevenDayWeek());
+    }
+
+    @Test
+    public void testNextAndPreviousBusinessDayAcrossYears() {
+        final BusinessCalendar calendar = new BusinessCalendar(workingDays(RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY),
+                List.of(this.newYear, this.easter));
+
+        // 2024-12-31 and 2025-01-01 are holidays
+        assertEquals(LocalDate.of(2025, 1, 2), calendar.getBusinessDayOnOrAfter(LocalDate.of(2024, 12, 31)));
+        assertEquals(LocalDate.of(2024, 12, 30), calendar.getBusinessDayOnOrBefore(LocalDate.of(2025, 1, 1)));
+        // Good Friday to Easter Monday
+        assertEquals(LocalDate.of(2025, 4, 22), calendar.getBusinessDayOnOrAfter(LocalDate.of(2025, 4, 18)));
+        assertEquals(LocalDate.of(2025, 4, 17), calendar.getBusinessDayOnOrBefore(LocalDate.of(2025, 4, 21)));
+        assertEquals(LocalDate.of(2025, 4, 17), calendar.getBusinessDayOnOrAfter(LocalDate.of(2025, 4, 17)));
+    }
+
+    @Test
+    public void testBusinessDaysBetween() {
+        final BusinessCalendar calendar = new BusinessCalendar(workingDays(RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY),
+                List.of(this.newYear, this.easter));
+
+        final LocalDate from = LocalDate.of(2024, 11, 15);
+        final LocalDate to = LocalDate.of(2026, 2, 3);
+        int expected = 0;
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            if (calendar.isBusinessDay(date)) {
+                expected++;
+            }
+        }
+        assertEquals(expected, calendar.getBusinessDaysBetween(from, to));
+        assertEquals(-expected, calendar.getBusinessDaysBetween(to, from));
+        assertEquals(0, calendar.getBusinessDaysBetween(from, from));
+        // Thursday 2025-04-17 to Wednesday 2025-04-23 has the 17th and the 22nd
+        assertEquals(2, calendar.getBusinessDaysBetween(LocalDate.of(2025, 4, 17), LocalDate.of(2025, 4, 23)));
+    }
+
+    @Test
+    public void testOffSetDateIfNonWorkingDayMatchesWorkingDaysUtil() {
+        final LocalDate nextMeetingDate = LocalDate.of(2025, 3, 20);
+        for (final RepaymentRescheduleType type : List.of(RepaymentRescheduleType.SAME_DAY,
+                RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY, RepaymentRescheduleType.MOVE_TO_NEXT_REPAYMENT_MEETING_DAY,
+                RepaymentRescheduleType.MOVE_TO_PREVIOUS_WORKING_DAY)) {
+            final WorkingDays workingDays = workingDays(type);
+            final BusinessCalendar calendar = new BusinessCalendar(workingDays, List.of());
+            for (LocalDate date = LocalDate.of(2025, 3, 1); date.isBefore(LocalDate.of(2025, 3, 15)); date = date.plusDays(1)) {
+                assertEquals(WorkingDaysUtil.getOffSetDateIfNonWorkingDay(date, nextMeetingDate, workingDays),
+                        calendar.getOffSetDateIfNonWorkingDay(date, nextMeetingDate), type + " " + date);
+            }
+        }
+    }
+
+    @Test
+    public void testHolidaysEndingOnOrAfter() {
+        final BusinessCalendar calendar = new BusinessCalendar(workingDays(RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY),
+                List.of(this.newYear, this.easter));
+
+        assertEquals(List.of(this.newYear.getFromDate(), this.easter.getFromDate()),
+                calendar.getHolidaysEndingOnOrAfter(LocalDate.of(2025, 1, 1)).stream().map(Holiday::getFromDate).toList());
+        assertEquals(List.of(this.easter.getFromDate()),
+                calendar.getHolidaysEndingOnOrAfter(LocalDate.of(2025, 1, 2)).stream().map(Holiday::getFromDate).toList());
+        assertTrue(calendar.getHolidaysEndingOnOrAfter(null).isEmpty());
+        assertNull(calendar.getApplicableHoliday(LocalDate.of(2026, 4, 18)));
+    }
+
+    @Test
+    public void testCalendarKeepsCopiesOfTheEntities() {
+        final WorkingDays workingDays = workingDays(RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY);
+        final Holiday holiday = new Holiday().setFromDate(LocalDate.of(2025, 4, 18)).setToDate(LocalDate.of(2025, 4, 21))
+                .setRepaymentsRescheduledTo(LocalDate.of(2025, 4, 22))
+                .setReschedulingType(RescheduleType.RESCHEDULETOSPECIFICDATE.getValue());
+        holiday.setId(7L);
+        final BusinessCalendar calendar = new BusinessCalendar(workingDays, List.of(holiday));
+
+        holiday.setToDate(LocalDate.of(2025, 4, 30));
+        workingDays.setRepaymentReschedulingType(RepaymentRescheduleType.SAME_DAY.getValue());
+        calendar.getWorkingDays().setRepaymentReschedulingType(RepaymentRescheduleType.MOVE_TO_PREVIOUS_WORKING_DAY.getValue());
+        calendar.getHolidays().get(0).setToDate(LocalDate.of(2025, 5, 31));
+
+        assertEquals(RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY, calendar.getRepaymentRescheduleType());
+        assertEquals(RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY.getValue(), calendar.getWorkingDays().getRepaymentReschedulingType());
+        assertNull(calendar.getApplicableHoliday(LocalDate.of(2025, 4, 22)));
+        final HolidayPeriod period = calendar.getApplicableHoliday(LocalDate.of(2025, 4, 21));
+        assertEquals(LocalDate.of(2025, 4, 22), period.repaymentsRescheduledTo());
+        assertTrue(period.getReScheduleType().isRescheduleToSpecificDate());
+        final Holiday copy = calendar.getHolidays().get(0);
+        assertNotSame(holiday, copy);
+        assertEquals(Long.valueOf(7L), copy.getId());
+        assertEquals(LocalDate.of(2025, 4, 21), copy.getToDate());
+    }
+
+    private static WorkingDays workingDays(final RepaymentRescheduleType rescheduleType) {
+        return new WorkingDays(MONDAY_TO_FRIDAY, rescheduleType.getValue(), false, false);
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.useradministration.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+class AppUserPermissionsTest {
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testSpecificPermissionsAreMatchedCaseInsensitively() {
+        // given
+        AppUser user = userWithRoles(role("Loan officer", "READ_LOAN", "CREATE_LOAN"), role("Teller", "REPAYMENT_LOAN"));
+        // when
+        user.compilePermissions();
+        // then
+        assertThat(user.hasSpecificPermissionTo("READ_LOAN")).isTrue();
+        assertThat(user.hasSpecificPermissionTo("repayment_loan")).isTrue();
+        assertThat(user.hasSpecificPermissionTo("DELETE_LOAN")).isFalse();
+        assertThat(user.hasAnyPermission("DELETE_LOAN", "CREATE_LOAN")).isTrue();
+        assertThat(user.canNotMakeRepaymentOnLoanInPast()).isTrue();
+        assertThat(user.hasNotPermissionForDatatable("dt_extra", "READ")).isTrue();
+    }
+
+    @Test
+    public void testAllFunctionsImpliesEveryPermissionButNotSpecificOnes() {
+        // given
+        AppUser user = userWithRoles(role("Super user", "ALL_FUNCTIONS"));
+        // then
+        assertThat(user.hasAnyPermission(List.of("APPROVEINPAST_LOAN"))).isTrue();
+        assertThat(user.canNotApproveLoanInPast()).isFalse();
+        assertThat(user.hasNotPermissionForReport("Active Loans")).isFalse();
+        assertThat(user.hasSpecificPermissionTo("APPROVEINPAST_LOAN")).isFalse();
+    }
+
+    @Test
+    public void testRoleChangeRecompilesPermissions() {
+        // given
+        AppUser user = userWithRoles(role("Reader", "READ_CLIENT"));
+        user.compilePermissions();
+        assertThat(user.hasAnyPermission("CREATE_CLIENT")).isFalse();
+        // when
+        user.updateRoles(new HashSet<>(Set.of(role("Writer", "CREATE_CLIENT"))));
+        // then
+        assertThat(user.hasAnyPermission("CREATE_CLIENT")).isTrue();
+        assertThat(user.hasAnyPermission("READ_CLIENT")).isFalse();
+    }
+
+    private static AppUser userWithRoles(Role... roles) {
+        User user = new User("mifos", "password", List.of(new SimpleGrantedAuthority("DUMMY_ROLE_NOT_USED_OR_PERSISTED_TO_AVOID_EXCEPTION")));
+        return new AppUser(null, user, new HashSet<>(Set.of(roles)), "mifos@example.com", "App", "User", null, false, false, null, false);
+    }
+
+    private static Role role(String name, String... permissionCodes) {
+        Role role = new Role(name, name);
+        for (String code : permissionCodes) {
+            int separator = code.indexOf('_');
+            role.updatePermission(new Permission("portfolio", code.substring(separator + 1), code.substring(0, separator)), true);
+        }
+        return role;
+    }
+}
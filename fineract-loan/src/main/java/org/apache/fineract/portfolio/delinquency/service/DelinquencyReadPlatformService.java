@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.delinquency.service;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.portfolio.delinquency.data.DelinquencyBucketData;
 import org.apache.fineract.portfolio.delinquency.data.DelinquencyRangeData;
 import org.apache.fineract.portfolio.delinquency.data.LoanDelinquencyTagHistoryData;
@@ -39,6 +40,12 @@ public interface DelinquencyReadPlatformService {
 
     DelinquencyRangeData retrieveCurrentDelinquencyTag(Long loanId);
 
+    /**
+     * Set based variant of {@link #retrieveCurrentDelinquencyTag(Long)} for list endpoints, loans without a current tag are not
+     * part of the result.
+     */
+    Map<Long, DelinquencyRangeData> retrieveCurrentDelinquencyTags(Collection<Long> loanIds);
+
     Collection<LoanDelinquencyTagHistoryData> retrieveDelinquencyRangeHistory(Long loanId);
 
     CollectionData calculateLoanCollectionData(Long loanId);
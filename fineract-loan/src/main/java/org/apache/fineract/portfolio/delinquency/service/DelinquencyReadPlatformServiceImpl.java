@@ -22,6 +22,7 @@ import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -110,6 +111,15 @@ public class DelinquencyReadPlatformServiceImpl implements DelinquencyReadPlatfo
         return null;
     }
 
+    @Override
+    public Map<Long, DelinquencyRangeData> retrieveCurrentDelinquencyTags(Collection<Long> loanIds) {
+        if (loanIds == null || loanIds.isEmpty()) {
+            return Map.of();
+        }
+        return this.repositoryLoanDelinquencyTagHistory.findCurrentDelinquencyRangesByLoanIds(loanIds).stream().collect(
+                Collectors.toMap(row -> (Long) row[0], row -> mapperRange.map((DelinquencyRange) row[1]), (first, second) -> first));
+    }
+
     @Override
     public Collection<LoanDelinquencyTagHistoryData> retrieveDelinquencyRangeHistory(Long loanId) {
         final Loan loan = this.loanRepository.getReferenceById(loanId);
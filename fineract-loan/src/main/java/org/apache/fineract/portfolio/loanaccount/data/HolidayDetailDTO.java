@@ -18,9 +18,13 @@
  */
 package org.apache.fineract.portfolio.loanaccount.data;
 
+import java.time.LocalDate;
 import java.util.List;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.organisation.holiday.domain.Holiday;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.service.BusinessCalendar;
+import org.apache.fineract.organisation.workingdays.service.BusinessCalendar.HolidayPeriod;
 
 public class HolidayDetailDTO {
 
@@ -29,6 +33,8 @@ public class HolidayDetailDTO {
     final WorkingDays workingDays;
     final boolean allowTransactionsOnHoliday;
     final boolean allowTransactionsOnNonWorkingDay;
+    private BusinessCalendar businessCalendar;
+    private LocalDate holidaysFromDate;
 
     public HolidayDetailDTO(final boolean isHolidayEnabled, final List<Holiday> holidays, final WorkingDays workingDays) {
         this.isHolidayEnabled = isHolidayEnabled;
@@ -47,6 +53,24 @@ public class HolidayDetailDTO {
         this.allowTransactionsOnNonWorkingDay = allowTransactionsOnNonWorkingDay;
     }
 
+    /**
+     * Uses a shared office calendar, the holidays are the ones of the calendar which end on or after
+     * <code>holidaysFromDate</code>.
+     */
+    public HolidayDetailDTO(final boolean isHolidayEnabled, final BusinessCalendar businessCalendar, final LocalDate holidaysFromDate,
+            final boolean allowTransactionsOnHoliday, final boolean allowTransactionsOnNonWorkingDay) {
+        this(isHolidayEnabled, businessCalendar.getHolidaysEndingOnOrAfter(holidaysFromDate), businessCalendar.getWorkingDays(),
+                allowTransactionsOnHoliday, allowTransactionsOnNonWorkingDay);
+        if (holidaysFromDate != null) {
+            this.businessCalendar = businessCalendar;
+            this.holidaysFromDate = holidaysFromDate;
+        }
+    }
+
+    public HolidayDetailDTO(final boolean isHolidayEnabled, final BusinessCalendar businessCalendar, final LocalDate holidaysFromDate) {
+        this(isHolidayEnabled, businessCalendar, holidaysFromDate, false, false);
+    }
+
     public boolean isHolidayEnabled() {
         return this.isHolidayEnabled;
     }
@@ -66,4 +90,25 @@ public class HolidayDetailDTO {
     public boolean isAllowTransactionsOnNonWorkingDay() {
         return this.allowTransactionsOnNonWorkingDay;
     }
+
+    /**
+     * @return the business calendar of the working days and holidays, built on first use when none was given
+     */
+    public BusinessCalendar getBusinessCalendar() {
+        if (this.businessCalendar == null) {
+            this.businessCalendar = new BusinessCalendar(this.workingDays, this.holidays);
+        }
+        return this.businessCalendar;
+    }
+
+    /**
+     * @return the holiday covering the date among {@link #getHolidays()}, or null
+     */
+    public HolidayPeriod getApplicableHoliday(final LocalDate date) {
+        final HolidayPeriod holiday = getBusinessCalendar().getApplicableHoliday(date);
+        if (holiday != null && this.holidaysFromDate != null && DateUtils.isBefore(holiday.toDate(), this.holidaysFromDate)) {
+            return null;
+        }
+        return holiday;
+    }
 }
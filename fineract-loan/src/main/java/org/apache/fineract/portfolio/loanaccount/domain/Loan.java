@@ -4540,6 +4540,10 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom<Long> {
         return this.isNpa;
     }
 
+    public void markAsNpa(final boolean value) {
+        this.isNpa = value;
+    }
+
     public Integer getLoanRepaymentScheduleInstallmentsSize() {
         return this.repaymentScheduleInstallments.size();
     }
@@ -451,6 +451,35 @@ public class LoanRepaymentScheduleInstallment extends AbstractAuditableWithUTCDa
         }
     }
 
+    /**
+     * @return the paid, waived and written off components that transaction replay rebuilds after
+     *         {@link #resetDerivedComponents()}, excluding credits
+     */
+    public DerivedComponents snapshotDerivedComponents() {
+        return new DerivedComponents(this.principalCompleted, this.principalWrittenOff, this.interestPaid, this.interestWaived,
+                this.interestWrittenOff, this.feeChargesPaid, this.feeChargesWaived, this.feeChargesWrittenOff, this.penaltyChargesPaid,
+                this.penaltyChargesWaived, this.penaltyChargesWrittenOff, this.totalPaidInAdvance, this.totalPaidLate, this.obligationsMet,
+                this.obligationsMetOnDate);
+    }
+
+    public void restoreDerivedComponents(final DerivedComponents derivedComponents) {
+        this.principalCompleted = derivedComponents.principalCompleted();
+        this.principalWrittenOff = derivedComponents.principalWrittenOff();
+        this.interestPaid = derivedComponents.interestPaid();
+        this.interestWaived = derivedComponents.interestWaived();
+        this.interestWrittenOff = derivedComponents.interestWrittenOff();
+        this.feeChargesPaid = derivedComponents.feeChargesPaid();
+        this.feeChargesWaived = derivedComponents.feeChargesWaived();
+        this.feeChargesWrittenOff = derivedComponents.feeChargesWrittenOff();
+        this.penaltyChargesPaid = derivedComponents.penaltyChargesPaid();
+        this.penaltyChargesWaived = derivedComponents.penaltyChargesWaived();
+        this.penaltyChargesWrittenOff = derivedComponents.penaltyChargesWrittenOff();
+        this.totalPaidInAdvance = derivedComponents.totalPaidInAdvance();
+        this.totalPaidLate = derivedComponents.totalPaidLate();
+        this.obligationsMet = derivedComponents.obligationsMet();
+        this.obligationsMetOnDate = derivedComponents.obligationsMetOnDate();
+    }
+
     public void resetAccrualComponents() {
         this.interestAccrued = null;
         this.feeAccrued = null;
@@ -1023,4 +1052,11 @@ public class LoanRepaymentScheduleInstallment extends AbstractAuditableWithUTCDa
     public enum PaymentAction {
         PAY, UNPAY
     }
+
+    public record DerivedComponents(BigDecimal principalCompleted, BigDecimal principalWrittenOff, BigDecimal interestPaid,
+            BigDecimal interestWaived, BigDecimal interestWrittenOff, BigDecimal feeChargesPaid, BigDecimal feeChargesWaived,
+            BigDecimal feeChargesWrittenOff, BigDecimal penaltyChargesPaid, BigDecimal penaltyChargesWaived,
+            BigDecimal penaltyChargesWrittenOff, BigDecimal totalPaidInAdvance, BigDecimal totalPaidLate, boolean obligationsMet,
+            LocalDate obligationsMetOnDate) {
+    }
 }
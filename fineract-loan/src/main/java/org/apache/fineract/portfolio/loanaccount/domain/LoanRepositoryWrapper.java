@@ -23,7 +23,11 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
@@ -58,6 +62,34 @@ public class LoanRepositoryWrapper {
         return loan;
     }
 
+    /**
+     * Fetches the loans in chunks of the IN clause size limit instead of one query per loan.
+     *
+     * @return the loans by id, in the order of the given ids
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Loan> findAllWithNotFoundDetection(final Collection<Long> ids, boolean loadLazyCollections) {
+        final Map<Long, Loan> loansById = new HashMap<>();
+        for (List<Long> partition : Lists.partition(List.copyOf(new LinkedHashSet<>(ids)),
+                fineractProperties.getQuery().getInClauseParameterSizeLimit())) {
+            for (Loan loan : this.repository.findAllById(partition)) {
+                loansById.put(loan.getId(), loan);
+            }
+        }
+        final Map<Long, Loan> loans = new LinkedHashMap<>();
+        for (Long id : ids) {
+            final Loan loan = loansById.get(id);
+            if (loan == null) {
+                throw new LoanNotFoundException(id);
+            }
+            if (loadLazyCollections && !loans.containsKey(id)) {
+                loan.initializeLazyCollections();
+            }
+            loans.put(id, loan);
+        }
+        return loans;
+    }
+
     // Root Entities are enough
     public Collection<Loan> findActiveLoansByLoanIdAndGroupId(Long clientId, Long groupId) {
         final Collection<Integer> loanStatuses = new ArrayList<>(Arrays.asList(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(),
@@ -65,6 +65,8 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
 
     public final SingleLoanChargeRepaymentScheduleProcessingWrapper loanChargeProcessor = new SingleLoanChargeRepaymentScheduleProcessingWrapper();
 
+    private final LoanTransactionReplayCheckpoints replayCheckpoints = new LoanTransactionReplayCheckpoints();
+
     @Override
     public boolean accept(String s) {
         return getCode().equalsIgnoreCase(s) || getName().equalsIgnoreCase(s);
@@ -154,7 +156,12 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
         }
 
         MoneyHolder overpaymentHolder = new MoneyHolder(Money.zero(currency));
-        for (final LoanTransaction loanTransaction : transactionsToBeProcessed) {
+        // resume from the last checkpoint whose transactions are all unchanged, see LoanTransactionReplayCheckpoints
+        final LoanTransactionReplayCheckpoints.Replay replay = replayCheckpoints.begin(currency, disbursementDate, installments, charges,
+                transactionsToBeProcessed);
+        for (int i = replay.restore(installments, overpaymentHolder); i < transactionsToBeProcessed.size(); i++) {
+            final LoanTransaction loanTransaction = transactionsToBeProcessed.get(i);
+            boolean unchanged = false;
             // TODO: analyze and remove this
             if (!loanTransaction.getTypeOf().equals(LoanTransactionType.REFUND_FOR_ACTIVE_LOAN)) {
                 final Comparator<LoanRepaymentScheduleInstallment> byDate = Comparator
@@ -186,6 +193,7 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
                     if (LoanTransaction.transactionAmountsMatch(currency, loanTransaction, newLoanTransaction)) {
                         loanTransaction.updateLoanTransactionToRepaymentScheduleMappings(
                                 newLoanTransaction.getLoanTransactionToRepaymentScheduleMappings());
+                        unchanged = true;
                     } else {
                         createNewTransaction(loanTransaction, newLoanTransaction, changedTransactionDetail);
                     }
@@ -208,8 +216,12 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
                 recalculateChargeOffTransaction(changedTransactionDetail, loanTransaction, currency, installments);
             } else if (loanTransaction.isAccrualActivity()) {
                 recalculateAccrualActivityTransaction(changedTransactionDetail, loanTransaction, currency, installments);
+            } else {
+                unchanged = true;
             }
+            replay.replayed(loanTransaction, unchanged, installments, overpaymentHolder);
         }
+        replay.finish();
         reprocessInstallments(disbursementDate, transactionsToBeProcessed, installments, currency);
         return changedTransactionDetail;
     }
@@ -0,0 +1,298 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment.DerivedComponents;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionToRepaymentScheduleMapping;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
+
+/**
+ * Checkpoints of {@link AbstractLoanRepaymentScheduleTransactionProcessor#reprocessLoanTransactions}.
+ *
+ * A checkpoint is the derived state of the installments, together with the running overpayment, after the first N
+ * transactions of a replay. A later replay of the same schedule whose first N transactions are unchanged restores the
+ * checkpoint and replays only the rest, so a backdated transaction or an adjustment on a long-running loan costs the
+ * transactions after the change instead of the whole history.
+ *
+ * Checkpoints are only taken while the replay is a pure function of what is compared on reuse: the loan has no charges,
+ * the transactions are persisted repayment-like transactions, interest waivers, recoveries or transactions the replay
+ * skips, and every replayed transaction kept its amounts. A checkpoint is restored only if the reset schedule and every
+ * transaction before it, including its persisted schedule mappings, match what it was taken from, so the outcome is
+ * the one the full replay produces. Anything else falls back to the full replay.
+ */
+final class LoanTransactionReplayCheckpoints {
+
+    static final int CHECKPOINT_INTERVAL = 16;
+    private static final int MAX_CHECKPOINTS_PER_SCHEDULE = 8;
+    private static final int MAX_SCHEDULES = 1_000;
+
+    private final Map<ScheduleKey, History> histories = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ScheduleKey, History> eldest) {
+            return size() > MAX_SCHEDULES;
+        }
+    });
+
+    /**
+     * Starts tracking a replay. Must be called once the installments are reset and charges are re-applied, right before
+     * the transactions are replayed.
+     */
+    Replay begin(final MonetaryCurrency currency, final LocalDate disbursementDate, final List<LoanRepaymentScheduleInstallment> installments,
+            final Set<LoanCharge> charges, final List<LoanTransaction> transactions) {
+        if ((charges != null && !charges.isEmpty()) || installments.isEmpty()
+                || transactions.stream().anyMatch(LoanTransaction::isChargePayment)) {
+            return Replay.UNTRACKED;
+        }
+        final List<InstallmentKey> installmentKeys = new ArrayList<>(installments.size());
+        final Map<Long, DerivedComponents> baseline = new HashMap<>();
+        for (final LoanRepaymentScheduleInstallment installment : installments) {
+            if (installment.getId() == null) {
+                return Replay.UNTRACKED;
+            }
+            final InstallmentKey installmentKey = InstallmentKey.of(installment);
+            installmentKeys.add(installmentKey);
+            baseline.put(installment.getId(), installmentKey.reset());
+        }
+        installmentKeys.sort(Comparator.comparing(InstallmentKey::id));
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final ScheduleKey key = new ScheduleKey(tenant == null ? null : tenant.getTenantIdentifier(), currency.getCode(),
+                currency.getDigitsAfterDecimal(), currency.getCurrencyInMultiplesOf(), disbursementDate, installmentKeys);
+        return new Replay(this, key, baseline, transactions);
+    }
+
+    /**
+     * @return whether the replay of the transaction only depends on its persisted state and the state of the
+     *         installments, i.e. whether a checkpoint may be taken after it
+     */
+    static boolean isCheckpointable(final LoanTransaction transaction) {
+        if (transaction.getId() == null) {
+            return false;
+        }
+        if (transaction.isRepaymentLikeType() || transaction.isInterestWaiver() || transaction.isRecoveryRepayment()) {
+            return true;
+        }
+        // transactions the replay does not touch
+        return !(transaction.isWriteOff() || transaction.isRefundForActiveLoan() || transaction.isCreditBalanceRefund()
+                || transaction.isChargeback() || transaction.isChargeOff() || transaction.isAccrualActivity()
+                || transaction.isChargePayment());
+    }
+
+    private History history(final ScheduleKey key) {
+        return this.histories.get(key);
+    }
+
+    private void store(final ScheduleKey key, final History history) {
+        if (history == null) {
+            this.histories.remove(key);
+        } else {
+            this.histories.put(key, history);
+        }
+    }
+
+    /**
+     * Tracks one replay: restores the best matching checkpoint and takes new ones while the replay stays checkpointable.
+     */
+    static class Replay {
+
+        static final Replay UNTRACKED = new Replay(null, null, null, List.of());
+
+        private final LoanTransactionReplayCheckpoints checkpoints;
+        private final ScheduleKey key;
+        private final Map<Long, DerivedComponents> baseline;
+        private final List<LoanTransaction> transactions;
+        private final List<TransactionKey> replayed = new ArrayList<>();
+        private final NavigableMap<Integer, Checkpoint> taken = new TreeMap<>();
+        private boolean tracking;
+
+        private Replay(final LoanTransactionReplayCheckpoints checkpoints, final ScheduleKey key,
+                final Map<Long, DerivedComponents> baseline, final List<LoanTransaction> transactions) {
+            this.checkpoints = checkpoints;
+            this.key = key;
+            this.baseline = baseline;
+            this.transactions = transactions;
+            this.tracking = key != null;
+        }
+
+        /**
+         * Restores the latest checkpoint that is still valid for the transactions of this replay.
+         *
+         * @return the number of transactions covered by the restored checkpoint, which must not be replayed again
+         */
+        int restore(final List<LoanRepaymentScheduleInstallment> installments, final MoneyHolder overpaymentHolder) {
+            if (!this.tracking) {
+                return 0;
+            }
+            final History history = this.checkpoints.history(this.key);
+            if (history == null) {
+                return 0;
+            }
+            int unchanged = 0;
+            while (unchanged < history.transactions().size() && unchanged < this.transactions.size()) {
+                final LoanTransaction transaction = this.transactions.get(unchanged);
+                if (!isCheckpointable(transaction) || !history.transactions().get(unchanged).equals(TransactionKey.of(transaction))) {
+                    break;
+                }
+                unchanged++;
+            }
+            final Map.Entry<Integer, Checkpoint> entry = history.checkpoints().floorEntry(unchanged);
+            if (entry == null) {
+                return 0;
+            }
+            final int replayFrom = entry.getKey();
+            final Checkpoint checkpoint = entry.getValue();
+
+            // every skipped transaction would have sorted the installments
+            installments.sort(Comparator.comparing(LoanRepaymentScheduleInstallment::getDueDate));
+            for (final LoanRepaymentScheduleInstallment installment : installments) {
+                final DerivedComponents derivedComponents = checkpoint.installments().get(installment.getId());
+                if (derivedComponents != null) {
+                    installment.restoreDerivedComponents(derivedComponents);
+                }
+            }
+            overpaymentHolder.setMoneyObject(checkpoint.overpayment());
+
+            this.replayed.addAll(history.transactions().subList(0, replayFrom));
+            this.taken.putAll(history.checkpoints().headMap(replayFrom, true));
+            return replayFrom;
+        }
+
+        /**
+         * Records a replayed transaction.
+         *
+         * @param unchanged
+         *            whether the replay kept the persisted amounts of the transaction
+         */
+        void replayed(final LoanTransaction transaction, final boolean unchanged, final List<LoanRepaymentScheduleInstallment> installments,
+                final MoneyHolder overpaymentHolder) {
+            if (!this.tracking) {
+                return;
+            }
+            final TransactionKey transactionKey = unchanged && isCheckpointable(transaction) ? TransactionKey.of(transaction) : null;
+            if (transactionKey == null) {
+                this.tracking = false;
+                return;
+            }
+            this.replayed.add(transactionKey);
+            if (this.replayed.size() % CHECKPOINT_INTERVAL == 0) {
+                final Map<Long, DerivedComponents> changed = new HashMap<>();
+                for (final LoanRepaymentScheduleInstallment installment : installments) {
+                    final DerivedComponents derivedComponents = installment.snapshotDerivedComponents();
+                    if (!derivedComponents.equals(this.baseline.get(installment.getId()))) {
+                        changed.put(installment.getId(), derivedComponents);
+                    }
+                }
+                this.taken.put(this.replayed.size(), new Checkpoint(Map.copyOf(changed), overpaymentHolder.getMoneyObject()));
+                while (this.taken.size() > MAX_CHECKPOINTS_PER_SCHEDULE) {
+                    this.taken.pollFirstEntry();
+                }
+            }
+        }
+
+        /**
+         * Keeps the checkpoints taken by this replay for the next replay of the same schedule.
+         */
+        void finish() {
+            if (this.key == null) {
+                return;
+            }
+            if (this.taken.isEmpty()) {
+                this.checkpoints.store(this.key, null);
+                return;
+            }
+            final int covered = this.taken.lastKey();
+            this.checkpoints.store(this.key, new History(List.copyOf(this.replayed.subList(0, covered)), new TreeMap<>(this.taken)));
+        }
+    }
+
+    private record Checkpoint(Map<Long, DerivedComponents> installments, Money overpayment) {
+    }
+
+    private record History(List<TransactionKey> transactions, NavigableMap<Integer, Checkpoint> checkpoints) {
+    }
+
+    private record ScheduleKey(String tenantIdentifier, String currencyCode, int digitsAfterDecimal, Integer inMultiplesOf,
+            LocalDate disbursementDate, List<InstallmentKey> installments) {
+    }
+
+    private record InstallmentKey(Long id, Integer installmentNumber, LocalDate fromDate, LocalDate dueDate, BigDecimal principal,
+            BigDecimal interest, BigDecimal feeCharges, BigDecimal penaltyCharges, boolean additional, boolean downPayment,
+            boolean reAged, DerivedComponents reset) {
+
+        static InstallmentKey of(final LoanRepaymentScheduleInstallment installment) {
+            return new InstallmentKey(installment.getId(), installment.getInstallmentNumber(), installment.getFromDate(),
+                    installment.getDueDate(), amount(installment.getPrincipal()), amount(installment.getInterestCharged()),
+                    amount(installment.getFeeChargesCharged()), amount(installment.getPenaltyCharges()), installment.isAdditional(),
+                    installment.isDownPayment(), installment.isReAged(), installment.snapshotDerivedComponents());
+        }
+    }
+
+    private record TransactionKey(Long id, LoanTransactionType type, LocalDate transactionDate, BigDecimal amount, BigDecimal principal,
+            BigDecimal interest, BigDecimal feeCharges, BigDecimal penaltyCharges, BigDecimal overPayment, boolean reversed,
+            List<MappingKey> mappings) {
+
+        /**
+         * @return the key of the transaction, or {@code null} if one of its mappings points to an unsaved installment
+         */
+        static TransactionKey of(final LoanTransaction transaction) {
+            final List<MappingKey> mappings = new ArrayList<>(transaction.getLoanTransactionToRepaymentScheduleMappings().size());
+            for (final LoanTransactionToRepaymentScheduleMapping mapping : transaction.getLoanTransactionToRepaymentScheduleMappings()) {
+                final Long installmentId = mapping.getLoanRepaymentScheduleInstallment().getId();
+                if (installmentId == null) {
+                    return null;
+                }
+                mappings.add(new MappingKey(installmentId, amount(mapping.getPrincipalPortion()), amount(mapping.getInterestPortion()),
+                        amount(mapping.getFeeChargesPortion()), amount(mapping.getPenaltyChargesPortion())));
+            }
+            mappings.sort(Comparator.comparing(MappingKey::installmentId));
+            return new TransactionKey(transaction.getId(), transaction.getTypeOf(), transaction.getTransactionDate(),
+                    amount(transaction.getAmount()), amount(transaction.getPrincipalPortion()), amount(transaction.getInterestPortion()),
+                    amount(transaction.getFeeChargesPortion()), amount(transaction.getPenaltyChargesPortion()),
+                    amount(transaction.getOverPaymentPortion()), transaction.isReversed(), List.copyOf(mappings));
+        }
+    }
+
+    private record MappingKey(Long installmentId, BigDecimal principal, BigDecimal interest, BigDecimal feeCharges,
+            BigDecimal penaltyCharges) {
+    }
+
+    // persisted and freshly calculated amounts differ in scale, and zero is stored as null
+    private static BigDecimal amount(final BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value.stripTrailingZeros();
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.fineract.portfolio.loanaccount.handler;
 
 import lombok.RequiredArgsConstructor;
+import org.apache.fineract.commands.annotation.CommandType;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -28,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@CommandType(entity = "DISBURSEMENTDETAIL", action = "ADD_AND_DELETE")
 public class AddAndDeleteLoanDisburseDetailsCommandHandler implements NewCommandSourceHandler {
 
     private final LoanWritePlatformService writePlatformService;
@@ -18,10 +18,10 @@
  */
 package org.apache.fineract.portfolio.loanaccount.jobs.updateloanarrearsageing;
 
+import com.google.common.collect.Lists;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Types;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -29,7 +29,9 @@ import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanSchedulePeriodData;
 import org.apache.fineract.portfolio.loanaccount.service.LoanArrearsAgingService;
@@ -49,24 +51,29 @@ public class LoanArrearsAgeingUpdateHandler {
     private final JdbcTemplate jdbcTemplate;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
     private final LoanArrearsAgingService loanArrearsAgingService;
+    private final FineractProperties fineractProperties;
 
-    private void truncateLoanArrearsAgingDetails() {
-        jdbcTemplate.execute("truncate table m_loan_arrears_aging");
+    private void deleteAllLoanArrearsAgingDetails() {
+        // a plain delete (unlike truncate) stays in the job transaction, so readers keep seeing the previous ageing until
+        // the rebuilt rows are committed
+        jdbcTemplate.update("delete from m_loan_arrears_aging");
     }
 
     private void deleteLoanArrearsAgingDetails(List<Long> loanIds) {
         // delete existing record for loan from m_loan_arrears_aging table
-        for (Long loanId : loanIds) {
-            jdbcTemplate.update("delete from m_loan_arrears_aging where loan_id=?", loanId);
+        if (!loanIds.isEmpty()) {
+            namedParameterJdbcTemplate().update("delete from m_loan_arrears_aging where loan_id IN (:loanIds)",
+                    new MapSqlParameterSource("loanIds", loanIds));
         }
     }
 
     public void updateLoanArrearsAgeingDetailsForAllLoans() {
-        truncateLoanArrearsAgingDetails();
+        deleteAllLoanArrearsAgingDetails();
         String insertSQLStatement = buildQueryForInsertAgeingDetails(Boolean.TRUE);
         List<String> insertStatements = updateLoanArrearsAgeingDetailsWithOriginalScheduleForAllLoans();
         insertStatements.add(0, insertSQLStatement);
         final int[] records = this.jdbcTemplate.batchUpdate(insertStatements.toArray(new String[0]));
+        saveLastRefreshedBusinessDate();
         if (log.isDebugEnabled()) {
             int result = 0;
             for (int record : records) {
@@ -76,18 +83,40 @@ public class LoanArrearsAgeingUpdateHandler {
         }
     }
 
+    /**
+     * Refreshes only the loans whose ageing can have changed since the last run. Transactions, charges and schedule
+     * changes already update the ageing of their loan through business events, so what is left is the passing of time:
+     * installments that became overdue since the last refreshed business date, and loans that are no longer active.
+     * Falls back to a full rebuild when there is no previous run to continue from.
+     */
+    public void updateLoanArrearsAgeingDetailsIncrementally() {
+        final LocalDate lastRefreshedBusinessDate = getLastRefreshedBusinessDate();
+        if (lastRefreshedBusinessDate == null) {
+            updateLoanArrearsAgeingDetailsForAllLoans();
+            return;
+        }
+
+        final int removed = jdbcTemplate
+                .update("delete from m_loan_arrears_aging where loan_id in (select ml.id from m_loan ml where ml.loan_status_id <> 300)");
+        final List<Long> loanIds = jdbcTemplate.queryForList(buildQueryForLoanIdentifiersBecomingOverdue(), Long.class,
+                lastRefreshedBusinessDate);
+        for (List<Long> partition : Lists.partition(loanIds, fineractProperties.getQuery().getInClauseParameterSizeLimit())) {
+            updateLoanArrearsAgeingDetails(partition);
+        }
+        saveLastRefreshedBusinessDate();
+        log.debug("Incremental arrears ageing refreshed {} loans and removed {} inactive loans since {}", loanIds.size(), removed,
+                lastRefreshedBusinessDate);
+    }
+
     public void updateLoanArrearsAgeingDetails(List<Long> loanIdsForUpdate) {
+        if (loanIdsForUpdate.isEmpty()) {
+            return;
+        }
 
         deleteLoanArrearsAgingDetails(loanIdsForUpdate);
         String insertSQLStatement = buildQueryForInsertAgeingDetails(Boolean.FALSE);
-        List<Object[]> batch = new ArrayList<Object[]>();
-        if (!loanIdsForUpdate.isEmpty()) {
-            for (Long loanId : loanIdsForUpdate) {
-                Object[] values = new Object[] { loanId };
-                batch.add(values);
-            }
-        }
-        final int[] recordsUpdatedWithoutOriginalSchedule = this.jdbcTemplate.batchUpdate(insertSQLStatement, batch);
+        final int recordsUpdatedWithoutOriginalSchedule = namedParameterJdbcTemplate().update(insertSQLStatement,
+                new MapSqlParameterSource("loanIds", loanIdsForUpdate));
         int[] recordsUpdatedWithOriginalSchedule = new int[0];
         List<String> insertStatements = updateLoanArrearsAgeingDetailsWithOriginalSchedule(loanIdsForUpdate);
         if (!insertStatements.isEmpty()) {
@@ -95,20 +124,41 @@ public class LoanArrearsAgeingUpdateHandler {
 
         }
         if (log.isDebugEnabled()) {
-            int result = 0;
-            for (int recordWithoutOriginalSchedule : recordsUpdatedWithoutOriginalSchedule) {
-                result += recordWithoutOriginalSchedule;
-            }
-            if (recordsUpdatedWithOriginalSchedule.length > 0) {
-                for (int recordWithOriginalSchedule : recordsUpdatedWithOriginalSchedule) {
-                    result += recordWithOriginalSchedule;
-                }
+            int result = recordsUpdatedWithoutOriginalSchedule;
+            for (int recordWithOriginalSchedule : recordsUpdatedWithOriginalSchedule) {
+                result += recordWithOriginalSchedule;
             }
             log.debug("Records affected by updateLoanArrearsAgeingDetails: {}", result);
         }
 
     }
 
+    private LocalDate getLastRefreshedBusinessDate() {
+        final List<LocalDate> dates = jdbcTemplate.query("select last_business_date from m_loan_arrears_aging_checkpoint where id = 1",
+                (rs, rowNum) -> JdbcSupport.getLocalDate(rs, "last_business_date"));
+        return dates.isEmpty() ? null : dates.get(0);
+    }
+
+    private void saveLastRefreshedBusinessDate() {
+        final LocalDate businessDate = DateUtils.getBusinessLocalDate();
+        final int updated = jdbcTemplate.update("update m_loan_arrears_aging_checkpoint set last_business_date = ? where id = 1",
+                businessDate);
+        if (updated == 0) {
+            jdbcTemplate.update("insert into m_loan_arrears_aging_checkpoint (id, last_business_date) values (1, ?)", businessDate);
+        }
+    }
+
+    private String buildQueryForLoanIdentifiersBecomingOverdue() {
+        return "select distinct ml.id as loanId FROM m_loan ml INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id "
+                + "WHERE ml.loan_status_id = 300 and mr.completed_derived is false and mr.duedate < "
+                + sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(ml.grace_on_arrears_ageing, 0)", "day")
+                + " and mr.duedate >= " + sqlGenerator.subDate("CAST(? AS DATE)", "COALESCE(ml.grace_on_arrears_ageing, 0)", "day");
+    }
+
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate() {
+        return new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
     private String buildQueryForInsertAgeingDetails(boolean isForAllLoans) {
         final StringBuilder insertSqlStatementBuilder = new StringBuilder(900);
         final String principalOverdueCalculationSql = "SUM(COALESCE(mr.principal_amount, 0) - coalesce(mr.principal_completed_derived, 0) - coalesce(mr.principal_writtenoff_derived, 0))";
@@ -135,7 +185,7 @@ public class LoanArrearsAgeingUpdateHandler {
         insertSqlStatementBuilder.append(" left join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id ");
         insertSqlStatementBuilder.append(" WHERE ml.loan_status_id = 300 ");// active
         if (!isForAllLoans) {
-            insertSqlStatementBuilder.append(" and ml.id IN (?)");
+            insertSqlStatementBuilder.append(" and ml.id IN (:loanIds)");
         }
         insertSqlStatementBuilder.append(" and mr.completed_derived is false ");
         insertSqlStatementBuilder.append(" and mr.duedate < ")
@@ -150,12 +200,8 @@ public class LoanArrearsAgeingUpdateHandler {
     private List<String> updateLoanArrearsAgeingDetailsWithOriginalSchedule(List<Long> loanIdsForUpdate) {
         List<String> insertStatement = new ArrayList<>();
         String sqlForLoanIdentifiers = buildQueryForLoanIdentifiersWithOriginalSchedule(Boolean.FALSE);
-        List<Object> loanIdsForQuery = new ArrayList<>();
-        for (Long loanId : loanIdsForUpdate) {
-            loanIdsForQuery.add(loanId);
-        }
-        List<Long> loanIds = this.jdbcTemplate.queryForList(sqlForLoanIdentifiers, loanIdsForQuery.toArray(), new int[] { Types.BIGINT },
-                Long.class);
+        List<Long> loanIds = namedParameterJdbcTemplate().queryForList(sqlForLoanIdentifiers,
+                new MapSqlParameterSource("loanIds", loanIdsForUpdate), Long.class);
         if (!loanIds.isEmpty()) {
             Map<Long, List<LoanSchedulePeriodData>> scheduleDate = getScheduleDate(loanIds);
             List<Map<String, Object>> loanSummary = getLoanSummary(loanIds);
@@ -188,7 +234,7 @@ public class LoanArrearsAgeingUpdateHandler {
                 "inner join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id and prd.arrears_based_on_original_schedule = true  ");
         loanIdentifier.append("WHERE ml.loan_status_id = 300 ");
         if (!isForAllLoans) {
-            loanIdentifier.append(" and ml.id IN (?)");
+            loanIdentifier.append(" and ml.id IN (:loanIds)");
         }
         loanIdentifier.append(" and mr.completed_derived is false  and mr.duedate < ")
                 .append(sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(ml.grace_on_arrears_ageing, 0)", "day"))
@@ -208,17 +254,15 @@ public class LoanArrearsAgeingUpdateHandler {
         transactionsSql.append("from m_loan ml ");
         transactionsSql.append("where ml.id IN (:loanIds)").append(" order by ml.id");
 
-        final NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
         SqlParameterSource parameters = new MapSqlParameterSource("loanIds", loanIds);
-        List<Map<String, Object>> loanSummary = namedJdbcTemplate.queryForList(transactionsSql.toString(), parameters);
+        List<Map<String, Object>> loanSummary = namedParameterJdbcTemplate().queryForList(transactionsSql.toString(), parameters);
         return loanSummary;
     }
 
     private Map<Long, List<LoanSchedulePeriodData>> getScheduleDate(List<Long> loanIds) {
         LoanOriginalScheduleExtractor loanOriginalScheduleExtractor = new LoanOriginalScheduleExtractor(sqlGenerator);
-        final NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
         SqlParameterSource parameters = new MapSqlParameterSource("loanIds", loanIds);
-        return namedJdbcTemplate.query(loanOriginalScheduleExtractor.schema, parameters, loanOriginalScheduleExtractor);
+        return namedParameterJdbcTemplate().query(loanOriginalScheduleExtractor.schema, parameters, loanOriginalScheduleExtractor);
     }
 
     private static final class LoanOriginalScheduleExtractor implements ResultSetExtractor<Map<Long, List<LoanSchedulePeriodData>>> {
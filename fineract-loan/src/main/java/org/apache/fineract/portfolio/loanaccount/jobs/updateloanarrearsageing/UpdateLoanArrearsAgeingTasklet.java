@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.loanaccount.jobs.updateloanarrearsageing;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
@@ -30,10 +31,15 @@ import org.springframework.batch.repeat.RepeatStatus;
 public class UpdateLoanArrearsAgeingTasklet implements Tasklet {
 
     private final LoanArrearsAgeingUpdateHandler loanArrearsAgeingUpdateHandler;
+    private final FineractProperties fineractProperties;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        loanArrearsAgeingUpdateHandler.updateLoanArrearsAgeingDetailsForAllLoans();
+        if (fineractProperties.getJob().isLoanArrearsAgeingIncremental()) {
+            loanArrearsAgeingUpdateHandler.updateLoanArrearsAgeingDetailsIncrementally();
+        } else {
+            loanArrearsAgeingUpdateHandler.updateLoanArrearsAgeingDetailsForAllLoans();
+        }
         return RepeatStatus.FINISHED;
     }
 
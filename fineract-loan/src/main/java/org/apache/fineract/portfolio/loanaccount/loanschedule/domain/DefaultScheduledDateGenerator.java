@@ -24,13 +24,12 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
-import net.fortuna.ical4j.model.Recur;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
-import org.apache.fineract.organisation.holiday.domain.Holiday;
-import org.apache.fineract.organisation.holiday.service.HolidayUtil;
 import org.apache.fineract.organisation.monetary.domain.Money;
 import org.apache.fineract.organisation.workingdays.data.AdjustedDateDetailsDTO;
 import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.service.BusinessCalendar;
+import org.apache.fineract.organisation.workingdays.service.BusinessCalendar.HolidayPeriod;
 import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
 import org.apache.fineract.portfolio.calendar.data.CalendarHistoryDataWrapper;
 import org.apache.fineract.portfolio.calendar.domain.Calendar;
@@ -201,10 +200,9 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
             final AdjustedDateDetailsDTO adjustedDateDetailsDTO, final LoanApplicationTerms loanApplicationTerms,
             final HolidayDetailDTO holidayDetailDTO, final boolean isFirstRepayment) {
         if (holidayDetailDTO != null) {
-            final Recur recur = CalendarUtils.getICalRecur(holidayDetailDTO.getWorkingDays().getRecurrence());
-            final boolean isSevenDaysWeek = (recur.getDayList().size() == 7); // 7 Seven days in the week
+            final BusinessCalendar businessCalendar = holidayDetailDTO.getBusinessCalendar();
             // If Workings days are not seven day week
-            if (!isSevenDaysWeek) {
+            if (!businessCalendar.isSevenDayWeek()) {
                 checkAndUpdateWorkingDayIfRepaymentDateIsNonWorkingDay(adjustedDateDetailsDTO, holidayDetailDTO, loanApplicationTerms,
                         isFirstRepayment);
             }
@@ -216,10 +214,9 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
              * Check Changed Schedule Date is holiday or is not a working day Then re-call this method to get the non
              * holiday and working day
              */
-            if ((holidayDetailDTO.isHolidayEnabled() && HolidayUtil.getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate(),
-                    holidayDetailDTO.getHolidays()) != null)
-                    || WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(),
-                            adjustedDateDetailsDTO.getChangedScheduleDate())) {
+            if ((holidayDetailDTO.isHolidayEnabled()
+                    && holidayDetailDTO.getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate()) != null)
+                    || businessCalendar.isNonWorkingDay(adjustedDateDetailsDTO.getChangedScheduleDate())) {
                 recursivelyCheckNonWorkingDaysAndHolidaysAndWorkingDaysExemptionToGenerateNextRepaymentPeriodDate(adjustedDateDetailsDTO,
                         loanApplicationTerms, holidayDetailDTO, isFirstRepayment);
             }
@@ -238,9 +235,9 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
     private void checkAndUpdateWorkingDayIfRepaymentDateIsHolidayDay(final AdjustedDateDetailsDTO adjustedDateDetailsDTO,
             final HolidayDetailDTO holidayDetailDTO, final LoanApplicationTerms loanApplicationTerms, final boolean isFirstRepayment) {
         if (holidayDetailDTO.isHolidayEnabled()) {
-            Holiday applicableHolidayForNewAdjustedDate = null;
-            while ((applicableHolidayForNewAdjustedDate = HolidayUtil.getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate(),
-                    holidayDetailDTO.getHolidays())) != null) {
+            HolidayPeriod applicableHolidayForNewAdjustedDate = null;
+            while ((applicableHolidayForNewAdjustedDate = holidayDetailDTO
+                    .getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate())) != null) {
                 if (applicableHolidayForNewAdjustedDate.getReScheduleType().isResheduleToNextRepaymentDate()) {
                     LocalDate nextRepaymentPeriodDueDate = adjustedDateDetailsDTO.getChangedActualRepaymentDate();
                     while (!DateUtils.isAfter(nextRepaymentPeriodDueDate, adjustedDateDetailsDTO.getChangedScheduleDate())) {
@@ -250,9 +247,8 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
                     adjustedDateDetailsDTO.setChangedScheduleDate(nextRepaymentPeriodDueDate);
                     adjustedDateDetailsDTO.setNextRepaymentPeriodDueDate(nextRepaymentPeriodDueDate);
                     adjustedDateDetailsDTO.setChangedActualRepaymentDate(adjustedDateDetailsDTO.getChangedScheduleDate());
-                } else {
-                    HolidayUtil.updateRepaymentRescheduleDateToWorkingDayIfItIsHoliday(adjustedDateDetailsDTO,
-                            applicableHolidayForNewAdjustedDate);
+                } else if (applicableHolidayForNewAdjustedDate.getReScheduleType().isRescheduleToSpecificDate()) {
+                    adjustedDateDetailsDTO.setChangedScheduleDate(applicableHolidayForNewAdjustedDate.repaymentsRescheduledTo());
                 }
             }
         }
@@ -269,20 +265,23 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
     private void checkAndUpdateWorkingDayIfRepaymentDateIsNonWorkingDay(final AdjustedDateDetailsDTO adjustedDateDetailsDTO,
             final HolidayDetailDTO holidayDetailDTO, final LoanApplicationTerms loanApplicationTerms, final boolean isFirstRepayment) {
 
-        while (WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(), adjustedDateDetailsDTO.getChangedScheduleDate())) {
-            final RepaymentRescheduleType repaymentRescheduleType = WorkingDaysUtil
-                    .getRepaymentRescheduleType(holidayDetailDTO.getWorkingDays());
-
+        final BusinessCalendar businessCalendar = holidayDetailDTO.getBusinessCalendar();
+        // the schedule generator may change the reschedule type of the working days of the holiday details
+        final RepaymentRescheduleType repaymentRescheduleType = WorkingDaysUtil
+                .getRepaymentRescheduleType(holidayDetailDTO.getWorkingDays());
+        while (businessCalendar.isNonWorkingDay(adjustedDateDetailsDTO.getChangedScheduleDate())) {
             if (repaymentRescheduleType.isMoveToNextRepaymentDay()) {
                 LocalDate nextRepaymentPeriodDueDate = adjustedDateDetailsDTO.getNextRepaymentPeriodDueDate();
-                while (WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(), nextRepaymentPeriodDueDate)
+                while (businessCalendar.isNonWorkingDay(nextRepaymentPeriodDueDate)
                         || DateUtils.isAfter(adjustedDateDetailsDTO.getChangedScheduleDate(), nextRepaymentPeriodDueDate)) {
                     nextRepaymentPeriodDueDate = generateNextRepaymentDate(nextRepaymentPeriodDueDate, loanApplicationTerms,
                             isFirstRepayment);
                 }
                 adjustedDateDetailsDTO.setNextRepaymentPeriodDueDate(nextRepaymentPeriodDueDate);
             }
-            WorkingDaysUtil.updateWorkingDayIfRepaymentDateIsNonWorkingDay(adjustedDateDetailsDTO, holidayDetailDTO.getWorkingDays());
+            adjustedDateDetailsDTO.setChangedScheduleDate(businessCalendar.getOffSetDateIfNonWorkingDay(
+                    adjustedDateDetailsDTO.getChangedScheduleDate(), adjustedDateDetailsDTO.getNextRepaymentPeriodDueDate(),
+                    repaymentRescheduleType));
         }
     }
 
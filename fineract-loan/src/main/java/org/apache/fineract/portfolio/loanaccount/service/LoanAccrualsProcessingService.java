@@ -31,6 +31,8 @@ public interface LoanAccrualsProcessingService {
 
     void addPeriodicAccruals(LocalDate tilldate, Loan loan) throws MultiException;
 
+    void addPeriodicAccruals(LocalDate tilldate, Long loanId, Collection<LoanScheduleAccrualData> loanScheduleAccrualDatas);
+
     void addAccrualAccounting(Long loanId, Collection<LoanScheduleAccrualData> loanScheduleAccrualDatas) throws Exception;
 
     void addIncomeAndAccrualTransactions(Long loanId) throws Exception;
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LoanRepositoryWrapperTest {
+
+    private final LoanRepository repository = mock(LoanRepository.class);
+    private LoanRepositoryWrapper underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractQueryProperties queryProperties = new FineractProperties.FineractQueryProperties();
+        queryProperties.setInClauseParameterSizeLimit(2);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setQuery(queryProperties);
+        underTest = new LoanRepositoryWrapper(repository, fineractProperties);
+    }
+
+    @Test
+    public void testFindAllFetchesLoansInChunks() {
+        Loan first = loan(1L);
+        Loan second = loan(2L);
+        Loan third = loan(3L);
+        when(repository.findAllById(List.of(3L, 1L))).thenReturn(List.of(first, third));
+        when(repository.findAllById(List.of(2L))).thenReturn(List.of(second));
+
+        Map<Long, Loan> loans = underTest.findAllWithNotFoundDetection(List.of(3L, 1L, 2L, 1L), true);
+
+        Assertions.assertEquals(List.of(3L, 1L, 2L), List.copyOf(loans.keySet()));
+        Assertions.assertSame(first, loans.get(1L));
+        verify(first, times(1)).initializeLazyCollections();
+        verify(repository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    public void testFindAllFailsOnMissingLoan() {
+        Loan first = loan(1L);
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first));
+
+        Assertions.assertThrows(LoanNotFoundException.class, () -> underTest.findAllWithNotFoundDetection(List.of(1L, 2L), false));
+    }
+
+    private Loan loan(Long id) {
+        Loan loan = mock(Loan.class);
+        when(loan.getId()).thenReturn(id);
+        return loan;
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.updateloanarrearsageing;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.portfolio.loanaccount.service.LoanArrearsAgingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class LoanArrearsAgeingUpdateHandlerTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 15);
+    private static final LocalDate LAST_REFRESHED = LocalDate.of(2024, 3, 14);
+    private static final String CHECKPOINT_QUERY = "select last_business_date from m_loan_arrears_aging_checkpoint where id = 1";
+    private static final String CHECKPOINT_UPDATE = "update m_loan_arrears_aging_checkpoint set last_business_date = ? where id = 1";
+    private static final String CHECKPOINT_INSERT = "insert into m_loan_arrears_aging_checkpoint (id, last_business_date) values (1, ?)";
+    private static final String REMOVE_INACTIVE = "delete from m_loan_arrears_aging where loan_id in "
+            + "(select ml.id from m_loan ml where ml.loan_status_id <> 300)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private LoanArrearsAgingService loanArrearsAgingService;
+
+    private LoanArrearsAgeingUpdateHandler underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+        lenient().when(databaseTypeResolver.isMySQL()).thenReturn(true);
+
+        FineractProperties.FineractQueryProperties query = new FineractProperties.FineractQueryProperties();
+        query.setInClauseParameterSizeLimit(2);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setQuery(query);
+
+        underTest = new LoanArrearsAgeingUpdateHandler(jdbcTemplate, new DatabaseSpecificSQLGenerator(databaseTypeResolver),
+                loanArrearsAgingService, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testIncrementalFallsBackToFullRebuildWithoutCheckpoint() {
+        when(jdbcTemplate.query(eq(CHECKPOINT_QUERY), any(RowMapper.class))).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(any(String[].class))).thenReturn(new int[] { 1 });
+
+        underTest.updateLoanArrearsAgeingDetailsIncrementally();
+
+        verify(jdbcTemplate).update("delete from m_loan_arrears_aging");
+        verify(jdbcTemplate).batchUpdate(any(String[].class));
+        verify(jdbcTemplate, never()).update(REMOVE_INACTIVE);
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), any(LocalDate.class));
+        verify(jdbcTemplate).update(CHECKPOINT_UPDATE, BUSINESS_DATE);
+        verify(jdbcTemplate).update(CHECKPOINT_INSERT, BUSINESS_DATE);
+    }
+
+    @Test
+    public void testIncrementalRefreshesLoansBecomingOverdueSinceCheckpoint() {
+        when(jdbcTemplate.query(eq(CHECKPOINT_QUERY), any(RowMapper.class))).thenReturn(List.of(LAST_REFRESHED));
+        when(jdbcTemplate.update(REMOVE_INACTIVE)).thenReturn(4);
+        when(jdbcTemplate.queryForList(startsWith("select distinct ml.id as loanId"), eq(Long.class), eq(LAST_REFRESHED)))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(jdbcTemplate.update(CHECKPOINT_UPDATE, BUSINESS_DATE)).thenReturn(1);
+
+        underTest.updateLoanArrearsAgeingDetailsIncrementally();
+
+        // inactive loans are removed, the three overdue loans are refreshed in two IN clause partitions with one delete
+        // and one insert each
+        verify(jdbcTemplate).update(REMOVE_INACTIVE);
+        verify(jdbcTemplate, times(4)).update(any(PreparedStatementCreator.class));
+        verify(jdbcTemplate, never()).update("delete from m_loan_arrears_aging");
+        verify(jdbcTemplate).update(CHECKPOINT_UPDATE, BUSINESS_DATE);
+        verify(jdbcTemplate, never()).update(CHECKPOINT_INSERT, BUSINESS_DATE);
+    }
+
+    @Test
+    public void testIncrementalWithoutNewlyOverdueLoansOnlyRemovesInactiveLoans() {
+        when(jdbcTemplate.query(eq(CHECKPOINT_QUERY), any(RowMapper.class))).thenReturn(List.of(LAST_REFRESHED));
+        when(jdbcTemplate.queryForList(startsWith("select distinct ml.id as loanId"), eq(Long.class), eq(LAST_REFRESHED)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.update(CHECKPOINT_UPDATE, BUSINESS_DATE)).thenReturn(1);
+
+        underTest.updateLoanArrearsAgeingDetailsIncrementally();
+
+        verify(jdbcTemplate).update(REMOVE_INACTIVE);
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+        verify(jdbcTemplate, never()).batchUpdate(any(String[].class));
+        verify(jdbcTemplate).update(CHECKPOINT_UPDATE, BUSINESS_DATE);
+    }
+
+    @Test
+    public void testOverdueQueryOnlySelectsInstallmentsDueSinceCheckpoint() {
+        when(jdbcTemplate.query(eq(CHECKPOINT_QUERY), any(RowMapper.class))).thenReturn(List.of(LAST_REFRESHED));
+        when(jdbcTemplate.update(CHECKPOINT_UPDATE, BUSINESS_DATE)).thenReturn(1);
+
+        underTest.updateLoanArrearsAgeingDetailsIncrementally();
+
+        verify(jdbcTemplate).queryForList(eq("select distinct ml.id as loanId FROM m_loan ml INNER JOIN m_loan_repayment_schedule mr "
+                + "on mr.loan_id = ml.id WHERE ml.loan_status_id = 300 and mr.completed_derived is false and mr.duedate < "
+                + "DATE_SUB(DATE('2024-03-15'), INTERVAL COALESCE(ml.grace_on_arrears_ageing, 0) day) and mr.duedate >= "
+                + "DATE_SUB(CAST(? AS DATE), INTERVAL COALESCE(ml.grace_on_arrears_ageing, 0) day)"), eq(Long.class),
+                eq(LAST_REFRESHED));
+    }
+}
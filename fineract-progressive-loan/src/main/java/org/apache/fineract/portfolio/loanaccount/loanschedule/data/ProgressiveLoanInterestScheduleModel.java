@@ -24,10 +24,18 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.function.Consumer;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.organisation.monetary.domain.Money;
@@ -42,6 +50,11 @@ public class ProgressiveLoanInterestScheduleModel {
     private final LoanProductRelatedDetail loanProductRelatedDetail;
     private final Integer installmentAmountInMultiplesOf;
     private MathContext mc;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private RepaymentPeriodIndex repaymentPeriodIndex;
 
     public ProgressiveLoanInterestScheduleModel(List<RepaymentPeriod> repaymentPeriods, LoanProductRelatedDetail loanProductRelatedDetail,
             Integer installmentAmountInMultiplesOf, MathContext mc) {
@@ -53,17 +66,20 @@ public class ProgressiveLoanInterestScheduleModel {
     }
 
     private ProgressiveLoanInterestScheduleModel(List<RepaymentPeriod> repaymentPeriods, final TreeSet<InterestRate> interestRates,
-            LoanProductRelatedDetail loanProductRelatedDetail, Integer installmentAmountInMultiplesOf, MathContext mc) {
+            LoanProductRelatedDetail loanProductRelatedDetail, Integer installmentAmountInMultiplesOf, MathContext mc,
+            RepaymentPeriodIndex repaymentPeriodIndex) {
         this.mc = mc;
         this.repaymentPeriods = copyRepaymentPeriods(repaymentPeriods);
         this.interestRates = new TreeSet<>(interestRates);
         this.loanProductRelatedDetail = loanProductRelatedDetail;
         this.installmentAmountInMultiplesOf = installmentAmountInMultiplesOf;
+        // the copy has the same periods in the same order, so the index stays valid
+        this.repaymentPeriodIndex = repaymentPeriodIndex;
     }
 
     public ProgressiveLoanInterestScheduleModel deepCopy(MathContext mc) {
         return new ProgressiveLoanInterestScheduleModel(repaymentPeriods, interestRates, loanProductRelatedDetail,
-                installmentAmountInMultiplesOf, mc);
+                installmentAmountInMultiplesOf, mc, repaymentPeriodIndex());
     }
 
     private List<RepaymentPeriod> copyRepaymentPeriods(final List<RepaymentPeriod> repaymentPeriods) {
@@ -97,18 +113,22 @@ public class ProgressiveLoanInterestScheduleModel {
         if (repaymentPeriodDueDate == null) {
             return Optional.empty();
         }
-        return repaymentPeriods.stream()//
-                .filter(repaymentPeriodItem -> repaymentPeriodItem.getDueDate().isEqual(repaymentPeriodDueDate))//
-                .findFirst();
+        final Integer index = repaymentPeriodIndex().firstIndexByDueDate().get(repaymentPeriodDueDate);
+        return index == null ? Optional.empty() : Optional.of(repaymentPeriods.get(index));
     }
 
     public List<RepaymentPeriod> getRelatedRepaymentPeriods(final LocalDate calculateFromRepaymentPeriodDueDate) {
         if (calculateFromRepaymentPeriodDueDate == null) {
             return repaymentPeriods;
         }
-        return repaymentPeriods.stream()//
-                .filter(period -> !period.getDueDate().isBefore(calculateFromRepaymentPeriodDueDate))//
-                .toList();//
+        final RepaymentPeriodIndex index = repaymentPeriodIndex();
+        if (!index.sortedByDueDate()) {
+            return repaymentPeriods.stream()//
+                    .filter(period -> !period.getDueDate().isBefore(calculateFromRepaymentPeriodDueDate))//
+                    .toList();//
+        }
+        return Collections.unmodifiableList(repaymentPeriods.subList(index.firstIndexDueOnOrAfter(calculateFromRepaymentPeriodDueDate),
+                repaymentPeriods.size()));
     }
 
     public int getLoanTermInDays() {
@@ -135,7 +155,10 @@ public class ProgressiveLoanInterestScheduleModel {
         if (balanceChangeDate == null) {
             return Optional.empty();
         }
-        return repaymentPeriods.stream()//
+        final RepaymentPeriodIndex index = repaymentPeriodIndex();
+        // periods due before the balance change can not contain it, so the scan starts at the first one due on or after it
+        final int fromIndex = index.sortedByDueDate() ? index.firstIndexDueOnOrAfter(balanceChangeDate) : 0;
+        return repaymentPeriods.subList(fromIndex, repaymentPeriods.size()).stream()//
                 .filter(repaymentPeriod -> {
                     final boolean isFirstPeriod = repaymentPeriod.getPrevious().isEmpty();
                     if (isFirstPeriod) {
@@ -149,6 +172,17 @@ public class ProgressiveLoanInterestScheduleModel {
                 .findFirst();
     }
 
+    /**
+     * Repayment periods never change their dates and the list is only filled before the model is used, so the index is
+     * built on first use and rebuilt only if the number of periods changed since.
+     */
+    private RepaymentPeriodIndex repaymentPeriodIndex() {
+        if (repaymentPeriodIndex == null || repaymentPeriodIndex.size() != repaymentPeriods.size()) {
+            repaymentPeriodIndex = RepaymentPeriodIndex.of(repaymentPeriods);
+        }
+        return repaymentPeriodIndex;
+    }
+
     private Consumer<RepaymentPeriod> updateInterestPeriodOnRepaymentPeriod(final LocalDate balanceChangeDate, final Money disbursedAmount,
             final Money correctionAmount) {
         return repaymentPeriod -> {
@@ -197,4 +231,35 @@ public class ProgressiveLoanInterestScheduleModel {
         return Money.zero(loanProductRelatedDetail.getCurrency(), mc);
     }
 
+    /**
+     * Position of the first repayment period for every due date. The range lookups rely on the periods being ordered by
+     * due date, which is checked when the index is built.
+     */
+    private record RepaymentPeriodIndex(NavigableMap<LocalDate, Integer> firstIndexByDueDate, boolean sortedByDueDate, int size) {
+
+        static RepaymentPeriodIndex of(final List<RepaymentPeriod> repaymentPeriods) {
+            final NavigableMap<LocalDate, Integer> firstIndexByDueDate = new TreeMap<>();
+            boolean sortedByDueDate = true;
+            LocalDate previousDueDate = null;
+            for (int i = 0; i < repaymentPeriods.size(); i++) {
+                final LocalDate dueDate = repaymentPeriods.get(i).getDueDate();
+                if (dueDate == null) {
+                    sortedByDueDate = false;
+                    continue;
+                }
+                firstIndexByDueDate.putIfAbsent(dueDate, i);
+                if (previousDueDate != null && dueDate.isBefore(previousDueDate)) {
+                    sortedByDueDate = false;
+                }
+                previousDueDate = dueDate;
+            }
+            return new RepaymentPeriodIndex(Collections.unmodifiableNavigableMap(firstIndexByDueDate), sortedByDueDate,
+                    repaymentPeriods.size());
+        }
+
+        int firstIndexDueOnOrAfter(final LocalDate date) {
+            final Map.Entry<LocalDate, Integer> entry = firstIndexByDueDate.ceilingEntry(date);
+            return entry == null ? size : entry.getValue();
+        }
+    }
 }
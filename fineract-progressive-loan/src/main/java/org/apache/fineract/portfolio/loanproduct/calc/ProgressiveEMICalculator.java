@@ -160,8 +160,7 @@ public final class ProgressiveEMICalculator implements EMICalculator {
             final LocalDate repaymentPeriodDueDate, final LocalDate targetDate) {
         MathContext mc = scheduleModel.mc();
         ProgressiveLoanInterestScheduleModel scheduleModelCopy = scheduleModel.deepCopy(mc);
-        RepaymentPeriod repaymentPeriod = scheduleModelCopy.repaymentPeriods().stream()
-                .filter(rp -> rp.getDueDate().equals(repaymentPeriodDueDate)).findFirst().orElseThrow();
+        RepaymentPeriod repaymentPeriod = scheduleModelCopy.findRepaymentPeriod(repaymentPeriodDueDate).orElseThrow();
 
         LocalDate adjustedTargetDate = targetDate;
         InterestPeriod interestPeriod;
@@ -276,9 +275,8 @@ public final class ProgressiveEMICalculator implements EMICalculator {
                 return;
             }
 
-            final Iterator<RepaymentPeriod> relatedPeriodFromNewModelIterator = newScheduleModel.repaymentPeriods().stream()//
-                    .filter(period -> !period.getDueDate().isBefore(relatedPeriodsFirstDueDate))//
-                    .toList().iterator();//
+            final Iterator<RepaymentPeriod> relatedPeriodFromNewModelIterator = newScheduleModel
+                    .getRelatedRepaymentPeriods(relatedPeriodsFirstDueDate).iterator();
 
             relatedRepaymentPeriods.forEach(relatedRepaymentPeriod -> {
                 if (!relatedPeriodFromNewModelIterator.hasNext()) {
@@ -309,17 +307,20 @@ public final class ProgressiveEMICalculator implements EMICalculator {
      */
     void calculateRateFactorForPeriods(final List<RepaymentPeriod> repaymentPeriods,
             final ProgressiveLoanInterestScheduleModel scheduleModel) {
-        repaymentPeriods.forEach(repaymentPeriod -> calculateRateFactorForRepaymentPeriod(repaymentPeriod, scheduleModel));
+        final RateFactorKernel rateFactorKernel = new RateFactorKernel(this, scheduleModel);
+        repaymentPeriods.forEach(rateFactorKernel::calculateRateFactors);
     }
 
     void calculateRateFactorForRepaymentPeriod(final RepaymentPeriod repaymentPeriod,
             final ProgressiveLoanInterestScheduleModel scheduleModel) {
-        repaymentPeriod.getInterestPeriods().forEach(interestPeriod -> interestPeriod
-                .setRateFactor(calculateRateFactorPerPeriod(repaymentPeriod, interestPeriod, scheduleModel)));
+        new RateFactorKernel(this, scheduleModel).calculateRateFactors(repaymentPeriod);
     }
 
     /**
      * Calculate Rate Factor for an exact Period
+     *
+     * This is the reference calculation. Passes over several periods go through {@link RateFactorKernel}, which reuses
+     * the intermediate results.
      */
     BigDecimal calculateRateFactorPerPeriod(final RepaymentPeriod repaymentPeriod, final InterestPeriod interestPeriod,
             final ProgressiveLoanInterestScheduleModel scheduleModel) {
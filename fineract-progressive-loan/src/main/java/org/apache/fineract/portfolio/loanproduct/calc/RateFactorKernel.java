@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanproduct.calc;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.InterestPeriod;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.ProgressiveLoanInterestScheduleModel;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.RepaymentPeriod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+
+/**
+ * Rate factor calculation for one pass over the periods of a progressive interest schedule model.
+ *
+ * The loan product settings are resolved once per pass. The interest fraction for a calculated period only depends on
+ * the interest rate, the days in month and the days in year, so it is computed once for each of them, and the rate
+ * factors derived from it are memoized by the actual and calculated days of the period. The BigDecimal operations and
+ * their order are the same as in {@link ProgressiveEMICalculator#rateFactorByRepaymentPeriod}, so the results are
+ * identical.
+ */
+final class RateFactorKernel {
+
+    private static final int ONE_WEEK_IN_DAYS = 7;
+
+    private final ProgressiveEMICalculator calculator;
+    private final ProgressiveLoanInterestScheduleModel scheduleModel;
+    private final MathContext mc;
+    private final DaysInYearType daysInYearType;
+    private final DaysInMonthType daysInMonthType;
+    private final PeriodFrequencyType repaymentFrequency;
+    private final BigDecimal repaymentEvery;
+    private final Map<RateKey, RatePerPeriod> ratesPerPeriod = new HashMap<>();
+
+    RateFactorKernel(final ProgressiveEMICalculator calculator, final ProgressiveLoanInterestScheduleModel scheduleModel) {
+        final LoanProductRelatedDetail loanProductRelatedDetail = scheduleModel.loanProductRelatedDetail();
+        this.calculator = calculator;
+        this.scheduleModel = scheduleModel;
+        this.mc = scheduleModel.mc();
+        this.daysInYearType = DaysInYearType.fromInt(loanProductRelatedDetail.getDaysInYearType());
+        this.daysInMonthType = DaysInMonthType.fromInt(loanProductRelatedDetail.getDaysInMonthType());
+        this.repaymentFrequency = loanProductRelatedDetail.getRepaymentPeriodFrequencyType();
+        final Integer repayEvery = loanProductRelatedDetail.getRepayEvery();
+        this.repaymentEvery = repayEvery == null ? null : BigDecimal.valueOf(repayEvery);
+    }
+
+    void calculateRateFactors(final RepaymentPeriod repaymentPeriod) {
+        final long calculatedDaysInPeriod = DateUtils.getDifferenceInDays(repaymentPeriod.getFromDate(), repaymentPeriod.getDueDate());
+        for (InterestPeriod interestPeriod : repaymentPeriod.getInterestPeriods()) {
+            interestPeriod.setRateFactor(rateFactor(interestPeriod, calculatedDaysInPeriod));
+        }
+    }
+
+    BigDecimal rateFactor(final InterestPeriod interestPeriod, final long calculatedDaysInPeriod) {
+        final LocalDate fromDate = interestPeriod.getFromDate();
+        final BigDecimal annualInterestRate = scheduleModel.getInterestRate(fromDate);
+        final boolean partialPeriodCalculationNeeded = daysInYearType == DaysInYearType.ACTUAL
+                && interestPeriod.getDueDate().getYear() > fromDate.getYear();
+        if (partialPeriodCalculationNeeded) {
+            final BigDecimal interestRate = calculator.calcNominalInterestRatePercentage(annualInterestRate, mc);
+            final BigDecimal cumulatedPeriodFractions = calculator.calculatePeriodFractions(interestPeriod, mc);
+            return calculator.rateFactorByRepaymentPartialPeriod(interestRate, repaymentEvery, cumulatedPeriodFractions, BigDecimal.ONE,
+                    BigDecimal.ONE, mc);
+        }
+
+        final int daysInYear = daysInYearType.getNumberOfDays(fromDate);
+        final int periodMultiplierInDays = switch (repaymentFrequency) {
+            case DAYS -> 1;
+            case WEEKS -> ONE_WEEK_IN_DAYS;
+            case MONTHS -> daysInMonthType.getNumberOfDays(fromDate);
+            default -> throw new UnsupportedOperationException("Invalid repayment frequency"); // not supported yet
+        };
+        final long actualDaysInPeriod = DateUtils.getDifferenceInDays(fromDate, interestPeriod.getDueDate());
+        return ratesPerPeriod.computeIfAbsent(new RateKey(annualInterestRate, periodMultiplierInDays, daysInYear), this::ratePerPeriod)
+                .rateFactor(actualDaysInPeriod, calculatedDaysInPeriod);
+    }
+
+    private RatePerPeriod ratePerPeriod(final RateKey key) {
+        final BigDecimal interestRate = calculator.calcNominalInterestRatePercentage(key.annualInterestRate(), mc);
+        final BigDecimal interestFractionPerPeriod = BigDecimal.valueOf(key.periodMultiplierInDays()) //
+                .multiply(repaymentEvery, mc) //
+                .divide(BigDecimal.valueOf(key.daysInYear()), mc); //
+        return new RatePerPeriod(interestRate.multiply(interestFractionPerPeriod, mc));
+    }
+
+    private record RateKey(BigDecimal annualInterestRate, int periodMultiplierInDays, int daysInYear) {
+    }
+
+    private final class RatePerPeriod {
+
+        private final BigDecimal interestRatePerPeriod;
+        // rate factors by actual days in period (high 32 bits) and calculated days in period (low 32 bits)
+        private final Map<Long, BigDecimal> rateFactorsByDays = new HashMap<>();
+
+        private RatePerPeriod(final BigDecimal interestRatePerPeriod) {
+            this.interestRatePerPeriod = interestRatePerPeriod;
+        }
+
+        private BigDecimal rateFactor(final long actualDaysInPeriod, final long calculatedDaysInPeriod) {
+            final long key = (actualDaysInPeriod << 32) | (calculatedDaysInPeriod & 0xFFFFFFFFL);
+            BigDecimal rateFactor = rateFactorsByDays.get(key);
+            if (rateFactor == null) {
+                rateFactor = interestRatePerPeriod //
+                        .multiply(BigDecimal.valueOf(actualDaysInPeriod), mc) //
+                        .divide(BigDecimal.valueOf(calculatedDaysInPeriod), mc) //
+                        .setScale(mc.getPrecision(), mc.getRoundingMode()); //
+                rateFactorsByDays.put(key, rateFactor);
+            }
+            return rateFactor;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+class ProgressiveLoanInterestScheduleModelTest {
+
+    private static final MockedStatic<MoneyHelper> moneyHelper = Mockito.mockStatic(MoneyHelper.class);
+    private static final MathContext mc = new MathContext(12, RoundingMode.HALF_EVEN);
+    private static final MonetaryCurrency monetaryCurrency = MonetaryCurrency
+            .fromApplicationCurrency(new ApplicationCurrency("USD", "USD", 2, 1, "USD", "$"));
+    private static final LocalDate startDate = LocalDate.of(2024, 1, 1);
+    private static final int numberOfPeriods = 360;
+
+    @BeforeAll
+    public static void init() {
+        moneyHelper.when(MoneyHelper::getMathContext).thenReturn(mc);
+        moneyHelper.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        moneyHelper.close();
+    }
+
+    @Test
+    public void testIndexedLookupsMatchLinearScan() {
+        final ProgressiveLoanInterestScheduleModel model = createModel();
+        final List<RepaymentPeriod> periods = model.repaymentPeriods();
+
+        for (LocalDate date = startDate.minusDays(3); !date.isAfter(startDate.plusMonths(numberOfPeriods).plusDays(3)); date = date
+                .plusDays(1)) {
+            final LocalDate day = date;
+            assertEquals(periods.stream().filter(rp -> rp.getDueDate().isEqual(day)).findFirst(), model.findRepaymentPeriod(day));
+            assertEquals(periods.stream().filter(rp -> !rp.getDueDate().isBefore(day)).toList(), model.getRelatedRepaymentPeriods(day));
+            assertSameOptional(scanForBalanceChange(periods, day), model.findRepaymentPeriodForBalanceChange(day));
+        }
+    }
+
+    @Test
+    public void testDeepCopyLookupsReturnCopiedPeriods() {
+        final ProgressiveLoanInterestScheduleModel model = createModel();
+        final LocalDate dueDate = startDate.plusMonths(180);
+        model.findRepaymentPeriod(dueDate);
+
+        final ProgressiveLoanInterestScheduleModel copy = model.deepCopy(mc);
+
+        assertSame(copy.repaymentPeriods().get(179), copy.findRepaymentPeriod(dueDate).orElseThrow());
+        assertSame(copy.repaymentPeriods().get(179), copy.findRepaymentPeriodForBalanceChange(dueDate.minusDays(1)).orElseThrow());
+        assertSame(copy.repaymentPeriods().get(179), copy.getRelatedRepaymentPeriods(dueDate).get(0));
+    }
+
+    private static void assertSameOptional(final Optional<RepaymentPeriod> expected, final Optional<RepaymentPeriod> actual) {
+        assertEquals(expected.isPresent(), actual.isPresent());
+        expected.ifPresent(period -> assertSame(period, actual.get()));
+    }
+
+    private static Optional<RepaymentPeriod> scanForBalanceChange(final List<RepaymentPeriod> periods, final LocalDate date) {
+        return periods.stream().filter(rp -> rp.getPrevious().isEmpty()
+                ? !date.isBefore(rp.getFromDate()) && !date.isAfter(rp.getDueDate())
+                : date.isAfter(rp.getFromDate()) && !date.isAfter(rp.getDueDate())).findFirst();
+    }
+
+    private static ProgressiveLoanInterestScheduleModel createModel() {
+        final Money emi = Money.of(monetaryCurrency, BigDecimal.valueOf(100), mc);
+        final List<RepaymentPeriod> periods = new ArrayList<>(numberOfPeriods);
+        RepaymentPeriod previous = null;
+        for (int i = 0; i < numberOfPeriods; i++) {
+            final RepaymentPeriod period = new RepaymentPeriod(previous, startDate.plusMonths(i), startDate.plusMonths(i + 1), emi, mc);
+            periods.add(period);
+            previous = period;
+        }
+        return new ProgressiveLoanInterestScheduleModel(periods, Mockito.mock(LoanProductRelatedDetail.class), 1, mc);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanproduct.calc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.InterestPeriod;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.ProgressiveLoanInterestScheduleModel;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.RepaymentPeriod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+/**
+ * Compares the rate factors of {@link RateFactorKernel} with the reference calculation of
+ * {@link ProgressiveEMICalculator#calculateRateFactorPerPeriod} on randomly generated schedules.
+ */
+class RateFactorKernelTest {
+
+    private static final ProgressiveEMICalculator emiCalculator = new ProgressiveEMICalculator();
+    private static final MockedStatic<MoneyHelper> moneyHelper = Mockito.mockStatic(MoneyHelper.class);
+    private static final MonetaryCurrency monetaryCurrency = MonetaryCurrency
+            .fromApplicationCurrency(new ApplicationCurrency("USD", "USD", 2, 1, "USD", "$"));
+    private static final DaysInYearType[] daysInYearTypes = { DaysInYearType.ACTUAL, DaysInYearType.DAYS_360, DaysInYearType.DAYS_364,
+            DaysInYearType.DAYS_365 };
+    private static final DaysInMonthType[] daysInMonthTypes = { DaysInMonthType.ACTUAL, DaysInMonthType.DAYS_30 };
+    private static final PeriodFrequencyType[] repaymentFrequencies = { PeriodFrequencyType.DAYS, PeriodFrequencyType.WEEKS,
+            PeriodFrequencyType.MONTHS };
+    private static final int samplesPerSeed = 50;
+
+    @BeforeAll
+    public static void init() {
+        moneyHelper.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+        moneyHelper.when(MoneyHelper::getMathContext).thenReturn(new MathContext(12, RoundingMode.HALF_EVEN));
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        moneyHelper.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1L, 42L, 20240101L, 987654321L })
+    public void testRateFactorsMatchReferenceCalculation(final long seed) {
+        final Random random = new Random(seed);
+        for (int sample = 0; sample < samplesPerSeed; sample++) {
+            // given
+            final MathContext mc = new MathContext(random.nextBoolean() ? 12 : 19,
+                    random.nextBoolean() ? RoundingMode.HALF_EVEN : RoundingMode.HALF_UP);
+            final ProgressiveLoanInterestScheduleModel model = randomModel(random, mc);
+
+            // when
+            emiCalculator.calculateRateFactorForPeriods(model.repaymentPeriods(), model);
+
+            // then
+            for (RepaymentPeriod repaymentPeriod : model.repaymentPeriods()) {
+                for (InterestPeriod interestPeriod : repaymentPeriod.getInterestPeriods()) {
+                    assertEquals(emiCalculator.calculateRateFactorPerPeriod(repaymentPeriod, interestPeriod, model),
+                            interestPeriod.getRateFactor(), () -> "seed " + seed + ", interest period " + interestPeriod.getFromDate()
+                                    + " - " + interestPeriod.getDueDate());
+                }
+            }
+        }
+    }
+
+    private static ProgressiveLoanInterestScheduleModel randomModel(final Random random, final MathContext mc) {
+        final LoanProductRelatedDetail loanProductRelatedDetail = Mockito.mock(LoanProductRelatedDetail.class);
+        Mockito.when(loanProductRelatedDetail.getDaysInYearType())
+                .thenReturn(daysInYearTypes[random.nextInt(daysInYearTypes.length)].getValue());
+        Mockito.when(loanProductRelatedDetail.getDaysInMonthType())
+                .thenReturn(daysInMonthTypes[random.nextInt(daysInMonthTypes.length)].getValue());
+        Mockito.when(loanProductRelatedDetail.getRepaymentPeriodFrequencyType())
+                .thenReturn(repaymentFrequencies[random.nextInt(repaymentFrequencies.length)]);
+        Mockito.when(loanProductRelatedDetail.getRepayEvery()).thenReturn(1 + random.nextInt(4));
+        Mockito.when(loanProductRelatedDetail.getAnnualNominalInterestRate()).thenReturn(randomInterestRate(random));
+
+        final Money zero = Money.zero(monetaryCurrency, mc);
+        final List<RepaymentPeriod> repaymentPeriods = new ArrayList<>();
+        LocalDate fromDate = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1500));
+        RepaymentPeriod previous = null;
+        for (int i = 0, numberOfPeriods = 1 + random.nextInt(24); i < numberOfPeriods; i++) {
+            final LocalDate dueDate = fromDate.plusDays(1 + random.nextInt(45));
+            final RepaymentPeriod repaymentPeriod = new RepaymentPeriod(previous, fromDate, dueDate, zero, mc);
+            splitInterestPeriod(random, repaymentPeriod, zero, mc);
+            repaymentPeriods.add(repaymentPeriod);
+            previous = repaymentPeriod;
+            fromDate = dueDate;
+        }
+
+        final ProgressiveLoanInterestScheduleModel model = new ProgressiveLoanInterestScheduleModel(repaymentPeriods,
+                loanProductRelatedDetail, null, mc);
+        for (int i = 0, numberOfRateChanges = random.nextInt(3); i < numberOfRateChanges; i++) {
+            final RepaymentPeriod repaymentPeriod = repaymentPeriods.get(random.nextInt(repaymentPeriods.size()));
+            model.addInterestRate(repaymentPeriod.getFromDate().plusDays(random.nextInt(10)), randomInterestRate(random));
+        }
+        return model;
+    }
+
+    private static void splitInterestPeriod(final Random random, final RepaymentPeriod repaymentPeriod, final Money zero,
+            final MathContext mc) {
+        final long days = repaymentPeriod.getDueDate().toEpochDay() - repaymentPeriod.getFromDate().toEpochDay();
+        final TreeSet<LocalDate> splitDates = new TreeSet<>();
+        for (int i = 0, numberOfSplits = days > 1 ? random.nextInt(3) : 0; i < numberOfSplits; i++) {
+            splitDates.add(repaymentPeriod.getFromDate().plusDays(1 + random.nextInt((int) days - 1)));
+        }
+        final List<InterestPeriod> interestPeriods = repaymentPeriod.getInterestPeriods();
+        for (LocalDate splitDate : splitDates) {
+            final InterestPeriod last = interestPeriods.get(interestPeriods.size() - 1);
+            final LocalDate dueDate = last.getDueDate();
+            last.setDueDate(splitDate);
+            interestPeriods.add(new InterestPeriod(repaymentPeriod, splitDate, dueDate, BigDecimal.ZERO, zero, zero, zero, mc));
+        }
+    }
+
+    private static BigDecimal randomInterestRate(final Random random) {
+        final BigDecimal interestRate = BigDecimal.valueOf(random.nextInt(4_000_000), 5);
+        return random.nextBoolean() ? interestRate : interestRate.stripTrailingZeros();
+    }
+}
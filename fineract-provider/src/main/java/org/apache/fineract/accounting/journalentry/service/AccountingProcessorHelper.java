@@ -959,24 +959,22 @@ public class AccountingProcessorHelper {
         persistJournalEntry(journalEntry);
     }
 
-    public void createProvisioningDebitJournalEntry(LocalDate transactionDate, Long provisioningEntryId, Office office, String currencyCode,
-            GLAccount account, BigDecimal amount) {
+    public JournalEntry newProvisioningDebitJournalEntry(LocalDate transactionDate, Long provisioningEntryId, Office office,
+            String currencyCode, GLAccount account, BigDecimal amount) {
         final boolean manualEntry = false;
         String modifiedTransactionId = PROVISIONING_TRANSACTION_IDENTIFIER + provisioningEntryId;
-        final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
-                transactionDate, JournalEntryType.DEBIT, amount, null, PortfolioProductType.PROVISIONING.getValue(), provisioningEntryId,
-                null, null, null, null, null);
-        persistJournalEntry(journalEntry);
+        return JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry, transactionDate,
+                JournalEntryType.DEBIT, amount, null, PortfolioProductType.PROVISIONING.getValue(), provisioningEntryId, null, null, null,
+                null, null);
     }
 
-    public void createProvisioningCreditJournalEntry(LocalDate transactionDate, Long provisioningEntryId, Office office,
+    public JournalEntry newProvisioningCreditJournalEntry(LocalDate transactionDate, Long provisioningEntryId, Office office,
             String currencyCode, GLAccount account, BigDecimal amount) {
         final boolean manualEntry = false;
         String modifiedTransactionId = PROVISIONING_TRANSACTION_IDENTIFIER + provisioningEntryId;
-        final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
-                transactionDate, JournalEntryType.CREDIT, amount, null, PortfolioProductType.PROVISIONING.getValue(), provisioningEntryId,
-                null, null, null, null, null);
-        persistJournalEntry(journalEntry);
+        return JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry, transactionDate,
+                JournalEntryType.CREDIT, amount, null, PortfolioProductType.PROVISIONING.getValue(), provisioningEntryId, null, null, null,
+                null, null);
     }
 
     private void createDebitJournalEntryForLoan(final Office office, final String currencyCode, final GLAccount account, final Long loanId,
@@ -1377,6 +1375,14 @@ public class AccountingProcessorHelper {
         return incomeAccount;
     }
 
+    /**
+     * Saves journal entries which do not raise business events with a single flush at the end.
+     */
+    public void persistJournalEntries(List<JournalEntry> journalEntries) {
+        this.glJournalEntryRepository.saveAll(journalEntries);
+        this.glJournalEntryRepository.flush();
+    }
+
     public JournalEntry persistJournalEntry(JournalEntry journalEntry) {
         boolean isNew = journalEntry.isNew();
         JournalEntry savedJournalEntry = this.glJournalEntryRepository.saveAndFlush(journalEntry);
@@ -402,6 +402,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
 
         Map<GLAccount, BigDecimal> liabilityMap = new HashMap<>();
         Map<GLAccount, BigDecimal> expenseMap = new HashMap<>();
+        List<JournalEntry> journalEntries = new ArrayList<>();
 
         for (Map.Entry<OfficeCurrencyKey, List<LoanProductProvisioningEntry>> entry : officeMap.entrySet()) {
             liabilityMap.clear();
@@ -426,20 +427,21 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                 }
             }
             createJournalEntry(provisioningEntry.getCreatedDate(), provisioningEntry.getId(), entry.getKey().office,
-                    entry.getKey().currency, liabilityMap, expenseMap);
+                    entry.getKey().currency, liabilityMap, expenseMap, journalEntries);
         }
+        this.helper.persistJournalEntries(journalEntries);
         return "P" + provisioningEntry.getId();
     }
 
     private void createJournalEntry(LocalDate transactionDate, Long entryId, Office office, String currencyCode,
-            Map<GLAccount, BigDecimal> liabilityMap, Map<GLAccount, BigDecimal> expenseMap) {
+            Map<GLAccount, BigDecimal> liabilityMap, Map<GLAccount, BigDecimal> expenseMap, List<JournalEntry> journalEntries) {
         for (Map.Entry<GLAccount, BigDecimal> entry : liabilityMap.entrySet()) {
-            this.helper.createProvisioningCreditJournalEntry(transactionDate, entryId, office, currencyCode, entry.getKey(),
-                    entry.getValue());
+            journalEntries.add(this.helper.newProvisioningCreditJournalEntry(transactionDate, entryId, office, currencyCode,
+                    entry.getKey(), entry.getValue()));
         }
         for (Map.Entry<GLAccount, BigDecimal> entry : expenseMap.entrySet()) {
-            this.helper.createProvisioningDebitJournalEntry(transactionDate, entryId, office, currencyCode, entry.getKey(),
-                    entry.getValue());
+            journalEntries.add(this.helper.newProvisioningDebitJournalEntry(transactionDate, entryId, office, currencyCode,
+                    entry.getKey(), entry.getValue()));
         }
     }
 
@@ -177,13 +177,22 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
     private Collection<LoanProductProvisioningEntry> generateLoanProvisioningEntry(ProvisioningEntry parent, LocalDate date) {
         Collection<LoanProductProvisioningEntryData> entries = this.provisioningEntriesReadPlatformService
                 .retrieveLoanProductsProvisioningData(date);
+        // the rows are already aggregated per entry line, the referenced entities are loaded once per distinct id
+        Map<Long, LoanProduct> loanProducts = new HashMap<>();
+        Map<Long, Office> offices = new HashMap<>();
+        Map<Long, ProvisioningCategory> provisioningCategories = new HashMap<>();
+        Map<Long, GLAccount> glAccounts = new HashMap<>();
         Map<Integer, LoanProductProvisioningEntry> provisioningEntries = new HashMap<>();
         for (LoanProductProvisioningEntryData data : entries) {
-            LoanProduct loanProduct = this.loanProductRepository.findById(data.getProductId()).orElseThrow();
-            Office office = this.officeRepositoryWrapper.findOneWithNotFoundDetection(data.getOfficeId());
-            ProvisioningCategory provisioningCategory = provisioningCategoryRepository.findById(data.getCategoryId()).orElse(null);
-            GLAccount liabilityAccount = glAccountRepository.findById(data.getLiablityAccount()).orElseThrow();
-            GLAccount expenseAccount = glAccountRepository.findById(data.getExpenseAccount()).orElseThrow();
+            LoanProduct loanProduct = loanProducts.computeIfAbsent(data.getProductId(),
+                    productId -> this.loanProductRepository.findById(productId).orElseThrow());
+            Office office = offices.computeIfAbsent(data.getOfficeId(), this.officeRepositoryWrapper::findOneWithNotFoundDetection);
+            ProvisioningCategory provisioningCategory = provisioningCategories.computeIfAbsent(data.getCategoryId(),
+                    categoryId -> provisioningCategoryRepository.findById(categoryId).orElse(null));
+            GLAccount liabilityAccount = glAccounts.computeIfAbsent(data.getLiablityAccount(),
+                    accountId -> glAccountRepository.findById(accountId).orElseThrow());
+            GLAccount expenseAccount = glAccounts.computeIfAbsent(data.getExpenseAccount(),
+                    accountId -> glAccountRepository.findById(accountId).orElseThrow());
             MonetaryCurrency currency = loanProduct.getPrincipalAmount().getCurrency();
             Money money = Money.of(currency, data.getBalance());
             Money amountToReserve = money.percentageOf(data.getPercentage(), MoneyHelper.getMathContext());
@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.jobs.service.updatenpa.LoanNpaUpdateHandler;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the NPA flag of the loan in line with the arrears ageing refreshed by the previous steps. The flag only changes
+ * when the loan crosses the NPA threshold of its product.
+ * <p>
+ * The flag is written to the database right away as well, because the accrual step selects the loans to accrue with
+ * SQL before the loan entity is saved.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UpdateLoanNpaBusinessStep implements LoanCOBBusinessStep {
+
+    private final LoanNpaUpdateHandler loanNpaUpdateHandler;
+
+    @Override
+    public Loan execute(Loan loan) {
+        final boolean npa = !loan.isNpa();
+        if (loanNpaUpdateHandler.isCrossingNpaThreshold(npa, loan.getId())) {
+            log.debug("Loan with Id [{}] is {} NPA", loan.getId(), npa ? "entering" : "leaving");
+            loanNpaUpdateHandler.updateNpa(loan.getId(), npa);
+            loan.markAsNpa(npa);
+        }
+        return loan;
+    }
+
+    @Override
+    public String getEnumStyledName() {
+        return "UPDATE_LOAN_NPA";
+    }
+
+    @Override
+    public String getHumanReadableName() {
+        return "Update loan NPA";
+    }
+}
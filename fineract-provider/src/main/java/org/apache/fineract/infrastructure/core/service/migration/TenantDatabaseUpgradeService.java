@@ -21,8 +21,17 @@ package org.apache.fineract.infrastructure.core.service.migration;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import javax.sql.DataSource;
 import liquibase.change.custom.CustomTaskChange;
@@ -41,6 +50,9 @@ import org.springframework.stereotype.Service;
 
 /**
  * A service that picks up on tenants that are configured to auto-update their specific schema on application startup.
+ * <p>
+ * Tenants are upgraded on a pool of <code>fineract.tenant.upgrade.pool-size</code> threads. A failing tenant does not
+ * stop the others, startup fails with the first failure once all of them are done.
  */
 @Service
 @Slf4j
@@ -60,6 +72,7 @@ public class TenantDatabaseUpgradeService implements InitializingBean {
     private final ExtendedSpringLiquibaseFactory liquibaseFactory;
     private final TenantDataSourceFactory tenantDataSourceFactory;
     private final Environment environment;
+    private final TenantSchemaChecksumService schemaChecksumService;
 
     // DO NOT REMOVE! Required for liquibase custom task initialization
     private final List<CustomTaskChange> customTaskChangesForDependencyInjection;
@@ -121,17 +134,76 @@ public class TenantDatabaseUpgradeService implements InitializingBean {
 
     }
 
-    private void upgradeIndividualTenants() throws LiquibaseException {
+    private void upgradeIndividualTenants() {
         log.info("Upgrading all tenants");
         List<FineractPlatformTenant> tenants = tenantDetailsService.findAllTenants();
         if (isNotEmpty(tenants)) {
-            for (FineractPlatformTenant tenant : tenants) {
-                upgradeIndividualTenant(tenant);
+            String changelogChecksum = calculateChangelogChecksum();
+            Map<String, String> appliedChecksums = changelogChecksum == null ? Map.of() : schemaChecksumService.findAppliedChecksums();
+            int poolSize = Math.min(getUpgradePoolSize(), tenants.size());
+            AtomicInteger threadCounter = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+                Thread thread = new Thread(runnable, "tenant-upgrade-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            Map<String, Future<?>> upgrades = new LinkedHashMap<>();
+            try {
+                for (FineractPlatformTenant tenant : tenants) {
+                    upgrades.put(tenant.getTenantIdentifier(), executor.submit(() -> {
+                        upgradeIndividualTenant(tenant, changelogChecksum, appliedChecksums.get(tenant.getTenantIdentifier()));
+                        return null;
+                    }));
+                }
+                List<String> failedTenants = new ArrayList<>();
+                RuntimeException failure = null;
+                for (Map.Entry<String, Future<?>> upgrade : upgrades.entrySet()) {
+                    try {
+                        upgrade.getValue().get();
+                    } catch (ExecutionException e) {
+                        log.error("Upgrade for tenant {} has failed", upgrade.getKey(), e.getCause());
+                        failedTenants.add(upgrade.getKey());
+                        RuntimeException cause = e.getCause() instanceof RuntimeException runtimeException ? runtimeException
+                                : new RuntimeException("Error while migrating the schema of tenant " + upgrade.getKey(), e.getCause());
+                        if (failure == null) {
+                            failure = cause;
+                        } else {
+                            failure.addSuppressed(cause);
+                        }
+                    }
+                }
+                if (failure != null) {
+                    log.error("Tenant upgrades have failed for {}", failedTenants);
+                    throw failure;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while migrating the tenant schemas", e);
+            } finally {
+                executor.shutdownNow();
             }
         }
         log.info("Tenant upgrades have finished");
     }
 
+    private int getUpgradePoolSize() {
+        FineractProperties.FineractTenantUpgradeProperties upgrade = fineractProperties.getTenant().getUpgrade();
+        return upgrade == null ? 1 : Math.max(1, upgrade.getPoolSize());
+    }
+
+    private String calculateChangelogChecksum() {
+        FineractProperties.FineractTenantUpgradeProperties upgrade = fineractProperties.getTenant().getUpgrade();
+        if (upgrade == null || !upgrade.isChecksumSkipEnabled()) {
+            return null;
+        }
+        try {
+            return schemaChecksumService.calculateChangelogChecksum();
+        } catch (IOException e) {
+            log.warn("Unable to calculate the changelog checksum, upgrading every tenant", e);
+            return null;
+        }
+    }
+
     /**
      * Upgrade each tenant's database
      *
@@ -139,9 +211,18 @@ public class TenantDatabaseUpgradeService implements InitializingBean {
      * migration (it was introduced as part of v4.21.0)
      *
      * @param tenant
+     * @param changelogChecksum
+     *            checksum of the packaged changelogs, <code>null</code> when the checksum skip is disabled
+     * @param appliedChecksum
+     *            checksum of the changelogs the tenant was last upgraded with
      * @throws LiquibaseException
      */
-    private void upgradeIndividualTenant(FineractPlatformTenant tenant) throws LiquibaseException {
+    private void upgradeIndividualTenant(FineractPlatformTenant tenant, String changelogChecksum, String appliedChecksum)
+            throws LiquibaseException {
+        if (changelogChecksum != null && changelogChecksum.equals(appliedChecksum)) {
+            log.info("Tenant {} is up to date, skipping upgrade", tenant.getTenantIdentifier());
+            return;
+        }
         log.info("Upgrade for tenant {} has started", tenant.getTenantIdentifier());
         DataSource tenantDataSource = tenantDataSourceFactory.create(tenant);
         // 'initial_switch' and 'custom_changelog' contexts should be controlled by the application configuration
@@ -155,6 +236,9 @@ public class TenantDatabaseUpgradeService implements InitializingBean {
         SpringLiquibase tenantLiquibase = liquibaseFactory.create(tenantDataSource, TENANT_DB_CONTEXT, CUSTOM_CHANGELOG_CONTEXT,
                 tenant.getTenantIdentifier());
         tenantLiquibase.afterPropertiesSet();
+        if (changelogChecksum != null) {
+            schemaChecksumService.storeAppliedChecksum(tenant.getTenantIdentifier(), changelogChecksum);
+        }
         log.info("Upgrade for tenant {} has finished", tenant.getTenantIdentifier());
     }
 
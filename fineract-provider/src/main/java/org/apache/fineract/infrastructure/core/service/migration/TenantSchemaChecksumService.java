@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.migration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Fingerprint of the packaged tenant changelogs, stored per tenant in the tenant store once its upgrade succeeded. A
+ * tenant whose stored checksum equals the packaged one has nothing to migrate, so Liquibase is not started for it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantSchemaChecksumService {
+
+    private static final List<String> CHANGELOG_LOCATIONS = List.of("db/changelog/", "db/custom-changelog/");
+
+    @Qualifier("hikariTenantDataSource")
+    private final DataSource tenantStoreDataSource;
+    private final ResourceLoader resourceLoader;
+    private final Environment environment;
+
+    /**
+     * SHA-256 over the path and content of every changelog resource on the classpath, including module and custom
+     * changelogs, and the active profiles which select Liquibase contexts.
+     */
+    public String calculateChangelogChecksum() throws IOException {
+        final MessageDigest digest = sha256();
+        for (Map.Entry<String, Resource> changelog : findChangelogs()) {
+            digest.update(changelog.getKey().getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = new DigestInputStream(changelog.getValue().getInputStream(), digest)) {
+                StreamUtils.drain(in);
+            }
+        }
+        digest.update(String.join(",", environment.getActiveProfiles()).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public Map<String, String> findAppliedChecksums() {
+        final Map<String, String> checksums = new HashMap<>();
+        new JdbcTemplate(tenantStoreDataSource).query("SELECT identifier, schema_checksum FROM tenants WHERE schema_checksum IS NOT NULL",
+                rs -> {
+                    checksums.put(rs.getString("identifier"), rs.getString("schema_checksum"));
+                });
+        return checksums;
+    }
+
+    public void storeAppliedChecksum(final String tenantIdentifier, final String checksum) {
+        new JdbcTemplate(tenantStoreDataSource).update("UPDATE tenants SET schema_checksum = ? WHERE identifier = ?", checksum,
+                tenantIdentifier);
+    }
+
+    private List<Map.Entry<String, Resource>> findChangelogs() throws IOException {
+        final List<Map.Entry<String, Resource>> changelogs = new ArrayList<>();
+        for (String location : CHANGELOG_LOCATIONS) {
+            for (Resource resource : ResourcePatternUtils.getResourcePatternResolver(resourceLoader)
+                    .getResources("classpath*:" + location + "**/*")) {
+                if (!resource.isReadable()) {
+                    continue;
+                }
+                final String url = resource.getURL().toString();
+                final int index = url.lastIndexOf(location);
+                // path relative to the classpath root, the location of the jar or folder must not change the checksum
+                changelogs.add(Map.entry(index < 0 ? url : url.substring(index), resource));
+            }
+        }
+        changelogs.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+        return changelogs;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service.updatenpa;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the loans whose NPA flag no longer matches their arrears and flips the flag of those loans only.
+ * <p>
+ * A loan of a product with NPA overdue days becomes NPA once it is active and overdue for more than those days. It
+ * leaves NPA when it is no longer overdue that long, provided the product lets loans move out of NPA before the arrears
+ * are cleared, or the arrears are cleared.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoanNpaUpdateHandler {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+
+    /**
+     * @return the next page of loan ids after {@code lastLoanId} which enter NPA, or leave it when {@code npa} is false
+     */
+    public List<Long> retrieveLoansCrossingNpaThreshold(boolean npa, Long lastLoanId, int limit) {
+        MapSqlParameterSource parameters = crossingParameters();
+        parameters.addValue("lastLoanId", lastLoanId);
+        return namedParameterJdbcTemplate.queryForList(
+                "select loan.id " + crossingLoans(npa) + " and loan.id > :lastLoanId order by loan.id " + sqlGenerator.limit(limit),
+                parameters, Long.class);
+    }
+
+    public boolean isCrossingNpaThreshold(boolean npa, Long loanId) {
+        MapSqlParameterSource parameters = crossingParameters();
+        parameters.addValue("loanId", loanId);
+        Long count = namedParameterJdbcTemplate.queryForObject("select count(loan.id) " + crossingLoans(npa) + " and loan.id = :loanId",
+                parameters, Long.class);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Flips the NPA flag of the given loans with a single statement. Loans flipped in the meantime are left alone.
+     *
+     * @return the number of updated loans
+     */
+    public int updateNpa(List<Long> loanIds, boolean npa, Long userId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("npa", npa);
+        parameters.addValue("currentNpa", !npa);
+        parameters.addValue("userId", userId);
+        parameters.addValue("modifiedOn", DateUtils.getAuditOffsetDateTime());
+        parameters.addValue("loanIds", loanIds);
+        return namedParameterJdbcTemplate.update("update m_loan set is_npa = :npa, last_modified_by = :userId, "
+                + "last_modified_on_utc = :modifiedOn where id in (:loanIds) and is_npa = :currentNpa", parameters);
+    }
+
+    /**
+     * Flips the NPA flag of a single loan, leaving the audit columns to the loan entity saved afterwards.
+     *
+     * @return the number of updated loans
+     */
+    public int updateNpa(Long loanId, boolean npa) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("npa", npa);
+        parameters.addValue("currentNpa", !npa);
+        parameters.addValue("loanId", loanId);
+        return namedParameterJdbcTemplate.update("update m_loan set is_npa = :npa where id = :loanId and is_npa = :currentNpa",
+                parameters);
+    }
+
+    private String crossingLoans(boolean npa) {
+        final String npaOverdueSince = "laa.overdue_since_date_derived < "
+                + sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(mpl.overdue_days_for_npa, 0)", "day");
+        final StringBuilder sql = new StringBuilder();
+        sql.append("from m_loan loan ");
+        sql.append("inner join m_product_loan mpl on mpl.id = loan.product_id and mpl.overdue_days_for_npa is not null ");
+        if (npa) {
+            sql.append("inner join m_loan_arrears_aging laa on laa.loan_id = loan.id ");
+            sql.append("where loan.is_npa = false and loan.loan_status_id = :active and ").append(npaOverdueSince);
+        } else {
+            sql.append("left join m_loan_arrears_aging laa on laa.loan_id = loan.id ");
+            sql.append("where loan.is_npa = true ");
+            sql.append("and ((loan.loan_status_id = :active and mpl.account_moves_out_of_npa_only_on_arrears_completion = false) ");
+            sql.append("or (mpl.account_moves_out_of_npa_only_on_arrears_completion = true and laa.overdue_since_date_derived is null)) ");
+            sql.append("and not (loan.loan_status_id = :active and laa.overdue_since_date_derived is not null and ")
+                    .append(npaOverdueSince).append(")");
+        }
+        return sql.toString();
+    }
+
+    private static MapSqlParameterSource crossingParameters() {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("active", LoanStatus.ACTIVE.getValue());
+        return parameters;
+    }
+}
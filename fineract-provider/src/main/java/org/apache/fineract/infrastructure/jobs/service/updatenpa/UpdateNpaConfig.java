@@ -18,9 +18,7 @@
  */
 package org.apache.fineract.infrastructure.jobs.service.updatenpa;
 
-import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
-import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
-import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceServiceFactory;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.springframework.batch.core.Job;
@@ -42,11 +40,9 @@ public class UpdateNpaConfig {
     @Autowired
     private PlatformTransactionManager transactionManager;
     @Autowired
-    private RoutingDataSourceServiceFactory dataSourceServiceFactory;
+    private LoanNpaUpdateHandler loanNpaUpdateHandler;
     @Autowired
-    private DatabaseTypeResolver databaseTypeResolver;
-    @Autowired
-    private DatabaseSpecificSQLGenerator sqlGenerator;
+    private FineractProperties fineractProperties;
 
     @Autowired
     private PlatformSecurityContext platformSecurityContext;
@@ -63,6 +59,6 @@ public class UpdateNpaConfig {
 
     @Bean
     public UpdateNpaTasklet updateNpaTasklet() {
-        return new UpdateNpaTasklet(dataSourceServiceFactory, databaseTypeResolver, sqlGenerator, platformSecurityContext);
+        return new UpdateNpaTasklet(loanNpaUpdateHandler, fineractProperties, platformSecurityContext);
     }
 }
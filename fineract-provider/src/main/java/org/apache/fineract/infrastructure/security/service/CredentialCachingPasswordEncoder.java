@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} which remembers successful password verifications for a short time, so repeated HTTP Basic
+ * requests of the same user do not pay the full hash verification each time.
+ * <p>
+ * Entries are keyed by an HMAC-SHA256 (with a random key per process) of the tenant, the stored password hash and the
+ * presented password, no password is kept in memory. A password change produces a new stored hash and never hits an
+ * old entry. The user is still loaded on every request, so disabling, locking and role changes take effect
+ * immediately.
+ */
+public class CredentialCachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final long ttlNanos;
+    private final SecretKeySpec key;
+    private final Map<String, Long> verified;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer verificationTimer;
+
+    public CredentialCachingPasswordEncoder(final PasswordEncoder delegate, final long ttlSeconds, final int maxEntries,
+            final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        final byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.verified = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.hits = Counter.builder("fineract.security.credential.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("fineract.security.credential.cache").tag("result", "miss").register(meterRegistry);
+        this.verificationTimer = Timer.builder("fineract.security.credential.verification")
+                .description("Time spent verifying presented passwords against the stored hash").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return this.delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return this.delegate.matches(rawPassword, encodedPassword);
+        }
+        final String cacheKey = cacheKey(rawPassword, encodedPassword);
+        final long now = System.nanoTime();
+        final Long expiresAt = this.verified.get(cacheKey);
+        if (expiresAt != null) {
+            if (now - expiresAt < 0) {
+                this.hits.increment();
+                return true;
+            }
+            this.verified.remove(cacheKey);
+        }
+        this.misses.increment();
+        final long start = System.nanoTime();
+        final boolean matches = this.delegate.matches(rawPassword, encodedPassword);
+        this.verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (matches) {
+            this.verified.put(cacheKey, System.nanoTime() + this.ttlNanos);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return this.delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String cacheKey(final CharSequence rawPassword, final String encodedPassword) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        try {
+            final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(this.key);
+            mac.update((tenant == null ? "" : tenant.getTenantIdentifier()).getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.security.service;
 
 import org.apache.fineract.infrastructure.security.domain.PlatformUser;
 import org.apache.fineract.infrastructure.security.domain.PlatformUserRepository;
+import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
@@ -51,6 +52,11 @@ public class TenantAwareJpaPlatformUserDetailsService implements PlatformUserDet
             throw new UsernameNotFoundException(username + ": not found");
         }
 
+        // compiled once here so every cached copy answers permission checks without walking its roles
+        if (appUser instanceof AppUser user) {
+            user.compilePermissions();
+        }
+
         return appUser;
     }
 }
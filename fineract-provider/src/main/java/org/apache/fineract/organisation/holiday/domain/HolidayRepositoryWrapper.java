@@ -64,6 +64,10 @@ public class HolidayRepositoryWrapper {
         return this.repository.findByOfficeIdAndGreaterThanDate(officeId, date, HolidayStatusType.ACTIVE.getValue());
     }
 
+    public List<Holiday> findActiveByOfficeId(final Long officeId) {
+        return this.repository.findByOfficeIdAndStatus(officeId, HolidayStatusType.ACTIVE.getValue());
+    }
+
     public List<Holiday> findUnprocessed() {
         return this.repository.findUnprocessed(HolidayStatusType.ACTIVE.getValue());
     }
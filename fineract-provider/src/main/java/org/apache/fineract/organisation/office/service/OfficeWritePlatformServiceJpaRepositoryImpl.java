@@ -57,6 +57,7 @@ public class OfficeWritePlatformServiceJpaRepositoryImpl implements OfficeWriteP
     private final OfficeRepositoryWrapper officeRepositoryWrapper;
     private final OfficeTransactionRepository officeTransactionRepository;
     private final ApplicationCurrencyRepositoryWrapper applicationCurrencyRepository;
+    private final OfficeClosureService officeClosureService;
 
     @Transactional
     @Override
@@ -84,6 +85,7 @@ public class OfficeWritePlatformServiceJpaRepositoryImpl implements OfficeWriteP
             office.generateHierarchy();
 
             this.officeRepositoryWrapper.save(office);
+            this.officeClosureService.addOffice(office.getId(), parent.getId());
 
             return new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
@@ -130,6 +132,9 @@ public class OfficeWritePlatformServiceJpaRepositoryImpl implements OfficeWriteP
             if (!changes.isEmpty()) {
                 this.officeRepositoryWrapper.saveAndFlush(office);
             }
+            if (changes.containsKey("parentId")) {
+                this.officeClosureService.moveOffice(office.getId(), parentId);
+            }
 
             return new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
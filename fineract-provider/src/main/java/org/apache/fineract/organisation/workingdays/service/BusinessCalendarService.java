@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.workingdays.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out the {@link BusinessCalendar} of an office, cached per tenant and office.
+ * <p>
+ * Holiday and working day changes evict the calendars of the tenant, again after the changing transaction committed,
+ * so a calendar built from uncommitted data does not outlive it. Entries also expire after
+ * <code>fineract.business-calendar.cache-ttl-seconds</code>, which bounds the staleness of changes made through other
+ * instances. A time to live of 0 disables the cache.
+ * <p>
+ * Every eviction starts a new generation of the tenant. A calendar is only handed out from the cache while it belongs to
+ * the current generation, so a calendar which was loaded before an eviction and stored after it is never used.
+ */
+@Service
+@RequiredArgsConstructor
+public class BusinessCalendarService {
+
+    private final HolidayRepositoryWrapper holidayRepository;
+    private final WorkingDaysRepositoryWrapper workingDaysRepository;
+    private final FineractProperties fineractProperties;
+
+    private final Map<CalendarKey, CachedCalendar> calendars = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> tenantGenerations = new ConcurrentHashMap<>();
+    private LongSupplier nanoClock = System::nanoTime;
+
+    public BusinessCalendar getCalendar(final Long officeId) {
+        final long ttlNanos = TimeUnit.SECONDS.toNanos(getCacheTtlSeconds());
+        if (ttlNanos <= 0) {
+            return loadCalendar(officeId);
+        }
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        final CalendarKey key = new CalendarKey(tenantIdentifier, officeId);
+        // read before loading, an eviction while loading makes the loaded calendar stale
+        final long generation = generation(tenantIdentifier).get();
+        final long now = this.nanoClock.getAsLong();
+        final CachedCalendar cached = this.calendars.get(key);
+        if (cached != null && cached.generation() == generation && now - cached.loadedAt() < ttlNanos) {
+            return cached.calendar();
+        }
+        final BusinessCalendar calendar = loadCalendar(officeId);
+        this.calendars.put(key, new CachedCalendar(calendar, generation, now));
+        return calendar;
+    }
+
+    /**
+     * Evicts the calendars of the current tenant, now and once the current transaction committed.
+     */
+    public void evictTenantCalendars() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        evict(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    evict(tenantIdentifier);
+                }
+            });
+        }
+    }
+
+    private void evict(final String tenantIdentifier) {
+        generation(tenantIdentifier).incrementAndGet();
+        this.calendars.keySet().removeIf(key -> key.tenantIdentifier().equals(tenantIdentifier));
+    }
+
+    private AtomicLong generation(final String tenantIdentifier) {
+        return this.tenantGenerations.computeIfAbsent(tenantIdentifier, identifier -> new AtomicLong());
+    }
+
+    private BusinessCalendar loadCalendar(final Long officeId) {
+        return new BusinessCalendar(this.workingDaysRepository.findOne(), this.holidayRepository.findActiveByOfficeId(officeId));
+    }
+
+    private long getCacheTtlSeconds() {
+        final FineractProperties.FineractBusinessCalendarProperties properties = this.fineractProperties.getBusinessCalendar();
+        return properties == null ? 0 : properties.getCacheTtlSeconds();
+    }
+
+    private record CalendarKey(String tenantIdentifier, Long officeId) {
+    }
+
+    private record CachedCalendar(BusinessCalendar calendar, long generation, long loadedAt) {
+    }
+}
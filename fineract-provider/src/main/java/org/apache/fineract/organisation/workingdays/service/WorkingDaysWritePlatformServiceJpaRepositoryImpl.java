@@ -38,6 +38,7 @@ public class WorkingDaysWritePlatformServiceJpaRepositoryImpl implements Working
 
     private final WorkingDaysRepositoryWrapper daysRepositoryWrapper;
     private final WorkingDayValidator fromApiJsonDeserializer;
+    private final BusinessCalendarService businessCalendarService;
 
     @Transactional
     @Override
@@ -54,6 +55,7 @@ public class WorkingDaysWritePlatformServiceJpaRepositoryImpl implements Working
 
             Map<String, Object> changes = workingDays.update(command);
             this.daysRepositoryWrapper.saveAndFlush(workingDays);
+            this.businessCalendarService.evictTenantCalendars();
             return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withEntityId(workingDays.getId()).with(changes)
                     .build();
         } catch (final ValidationException e) {
@@ -165,9 +165,13 @@ final class ClientsApiResourceSwagger {
             public String emailAddress;
         }
 
-        @Schema(example = "2")
+        @Schema(example = "2", nullable = true, description = "Number of records matching the filter. Absent when skipTotal=true, "
+                + "in which case hasMorePages tells whether another page may follow.")
         public Integer totalFilteredRecords;
         public Set<GetClientsPageItemsResponse> pageItems;
+        @Schema(example = "true", nullable = true, description = "Only set when skipTotal=true: true when the page is full, so another "
+                + "page may follow. Request it with afterId set to the id of the last item, or with the next offset.")
+        public Boolean hasMorePages;
     }
 
     @Schema(description = "GetClientsClientIdResponse")
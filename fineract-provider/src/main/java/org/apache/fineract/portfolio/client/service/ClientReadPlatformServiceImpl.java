@@ -51,6 +51,7 @@ import org.apache.fineract.infrastructure.dataqueries.service.EntityDatatableChe
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
 import org.apache.fineract.organisation.office.data.OfficeData;
+import org.apache.fineract.organisation.office.service.OfficeClosureService;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
 import org.apache.fineract.organisation.staff.data.StaffData;
 import org.apache.fineract.organisation.staff.service.StaffReadPlatformService;
@@ -167,6 +168,8 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     @Override
     public Page<ClientData> retrieveAll(final SearchParameters searchParameters) {
 
+        this.paginationHelper.validateKeysetPagination(searchParameters);
+
         if (searchParameters != null && searchParameters.getStatus() != null
                 && ClientStatus.fromString(searchParameters.getStatus()) == ClientStatus.INVALID) {
             final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
@@ -177,19 +180,19 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
 
-        final String userOfficeHierarchy = this.context.officeHierarchy();
-        final String underHierarchySearchString = userOfficeHierarchy + "%";
+        final Long userOfficeId = this.context.authenticatedUser().getOffice().getId();
         final String appUserID = String.valueOf(context.authenticatedUser().getId());
 
         // if (searchParameters.isScopedByOfficeHierarchy()) {
         // this.context.validateAccessRights(searchParameters.getHierarchy());
         // underHierarchySearchString = searchParameters.getHierarchy() + "%";
         // }
-        List<Object> paramList = new ArrayList<>(Arrays.asList(underHierarchySearchString, underHierarchySearchString));
+        List<Object> paramList = new ArrayList<>(Arrays.asList(userOfficeId, userOfficeId));
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        sqlBuilder.append("select " + paginationHelper.calcFoundRows(searchParameters) + " ");
         sqlBuilder.append(this.clientToDataMapper.schema());
-        sqlBuilder.append(" where (o.hierarchy like ? or transferToOffice.hierarchy like ?) ");
+        sqlBuilder.append(" where (").append(OfficeClosureService.underOffice("o.id")).append(" or ")
+                .append(OfficeClosureService.underOffice("transferToOffice.id")).append(") ");
 
         if (searchParameters != null) {
             if (searchParameters.getIsSelfUser()) {
@@ -204,7 +207,10 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
                 sqlBuilder.append(" and (").append(extraCriteria).append(")");
             }
 
-            if (searchParameters.hasOrderBy()) {
+            if (searchParameters.hasAfterId()) {
+                sqlBuilder.append(" and c.id > ? order by c.id");
+                paramList.add(searchParameters.getAfterId());
+            } else if (searchParameters.hasOrderBy()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
                 if (searchParameters.hasSortOrder()) {
@@ -215,14 +221,15 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
 
             if (searchParameters.hasLimit()) {
                 sqlBuilder.append(" ");
-                if (searchParameters.hasOffset()) {
+                if (searchParameters.hasOffset() && !searchParameters.hasAfterId()) {
                     sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit(), searchParameters.getOffset()));
                 } else {
                     sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit()));
                 }
             }
         }
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), paramList.toArray(), this.clientToDataMapper);
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), paramList.toArray(), this.clientToDataMapper,
+                searchParameters);
     }
 
     private String buildSqlStringFromClientCriteria(String schemaSql, final SearchParameters searchParameters, List<Object> paramList) {
@@ -342,26 +349,25 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     public Collection<ClientData> retrieveClientMembersOfGroup(final Long groupId) {
 
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
+        final Long userOfficeId = currentUser.getOffice().getId();
 
-        final String sql = "select " + this.membersOfGroupMapper.schema() + " where o.hierarchy like ? and pgc.group_id = ?";
+        final String sql = "select " + this.membersOfGroupMapper.schema() + " where " + OfficeClosureService.underOffice("o.id")
+                + " and pgc.group_id = ?";
 
-        return this.jdbcTemplate.query(sql, this.membersOfGroupMapper, hierarchySearchString, groupId); // NOSONAR
+        return this.jdbcTemplate.query(sql, this.membersOfGroupMapper, userOfficeId, groupId); // NOSONAR
     }
 
     @Override
     public Collection<ClientData> retrieveActiveClientMembersOfGroup(final Long groupId) {
 
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
+        final Long userOfficeId = currentUser.getOffice().getId();
 
-        final String sql = "select " + this.membersOfGroupMapper.schema()
-                + " where o.hierarchy like ? and pgc.group_id = ? and c.status_enum = ? ";
+        final String sql = "select " + this.membersOfGroupMapper.schema() + " where " + OfficeClosureService.underOffice("o.id")
+                + " and pgc.group_id = ? and c.status_enum = ? ";
 
         return this.jdbcTemplate.query(sql, this.membersOfGroupMapper, // NOSONAR
-                hierarchySearchString, groupId, ClientStatus.ACTIVE.getValue());
+                userOfficeId, groupId, ClientStatus.ACTIVE.getValue());
     }
 
     private static final class ClientMembersOfGroupMapper implements RowMapper<ClientData> {
@@ -543,14 +549,13 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     public Collection<ClientData> retrieveActiveClientMembersOfCenter(final Long centerId) {
 
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
+        final Long userOfficeId = currentUser.getOffice().getId();
 
-        final String sql = "select " + this.membersOfGroupMapper.schema()
-                + " left join m_group g on pgc.group_id=g.id where o.hierarchy like ? and g.parent_id = ? and c.status_enum = ? group by c.id";
+        final String sql = "select " + this.membersOfGroupMapper.schema() + " left join m_group g on pgc.group_id=g.id where "
+                + OfficeClosureService.underOffice("o.id") + " and g.parent_id = ? and c.status_enum = ? group by c.id";
 
         return this.jdbcTemplate.query(sql, this.membersOfGroupMapper, // NOSONAR
-                hierarchySearchString, centerId, ClientStatus.ACTIVE.getValue());
+                userOfficeId, centerId, ClientStatus.ACTIVE.getValue());
     }
 
     private static final class ParentGroupsMapper implements RowMapper<GroupGeneralData> {
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -40,9 +41,11 @@ import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetailAssembler
 import org.apache.fineract.portfolio.paymentdetail.service.PaymentDetailWritePlatformService;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
 import org.apache.fineract.portfolio.savings.domain.DepositAccountAssembler;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
 import org.apache.fineract.portfolio.savings.service.DepositAccountWritePlatformService;
 
+@Slf4j
 @RequiredArgsConstructor
 public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements CollectionSheetWritePlatformService {
 
@@ -135,14 +138,20 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
         final Map<String, Object> changes = new HashMap<>();
         final Collection<SavingsAccountTransactionDTO> savingsTransactions = this.accountAssembler
                 .assembleBulkMandatorySavingsAccountTransactionDTOs(command, paymentDetail);
+        // accounts of the sheet are loaded together, a missing one fails on its own deposit below
+        final List<Long> savingsIds = savingsTransactions.stream().map(SavingsAccountTransactionDTO::getSavingsAccountId).toList();
+        final Map<Long, SavingsAccount> accounts = savingsIds.isEmpty() ? Map.of() : this.accountAssembler.assembleFrom(savingsIds);
         List<Long> depositTransactionIds = new ArrayList<>();
         for (SavingsAccountTransactionDTO savingsAccountTransactionDTO : savingsTransactions) {
             try {
-                SavingsAccountTransaction savingsAccountTransaction = this.accountWritePlatformService
-                        .mandatorySavingsAccountDeposit(savingsAccountTransactionDTO);
+                final SavingsAccount account = accounts.get(savingsAccountTransactionDTO.getSavingsAccountId());
+                SavingsAccountTransaction savingsAccountTransaction = account == null
+                        ? this.accountWritePlatformService.mandatorySavingsAccountDeposit(savingsAccountTransactionDTO)
+                        : this.accountWritePlatformService.mandatorySavingsAccountDeposit(savingsAccountTransactionDTO, account);
                 depositTransactionIds.add(savingsAccountTransaction.getId());
             } catch (Exception e) {
-                // TODO: handle exception
+                log.warn("Mandatory savings deposit to account {} of the collection sheet has failed",
+                        savingsAccountTransactionDTO.getSavingsAccountId(), e);
             }
         }
         changes.put("SavingsTransactions", depositTransactionIds);
@@ -40,6 +40,7 @@ import org.apache.fineract.infrastructure.security.service.PlatformSecurityConte
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
 import org.apache.fineract.infrastructure.security.utils.SQLBuilder;
 import org.apache.fineract.organisation.office.data.OfficeData;
+import org.apache.fineract.organisation.office.service.OfficeClosureService;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
 import org.apache.fineract.organisation.staff.data.StaffData;
 import org.apache.fineract.organisation.staff.service.StaffReadPlatformService;
@@ -66,6 +67,7 @@ public class GroupReadPlatformServiceImpl implements GroupReadPlatformService {
     public static final String OFFICE_ID = "officeId";
     public static final String OFFICE_NAME = "officeName";
     private static final AllGroupTypesDataMapper ALL_GROUP_TYPES_DATA_MAPPER = new AllGroupTypesDataMapper();
+    private static final String OFFICE_CLOSURE_JOIN = " join m_office_closure oc on oc.descendant_id = o.id ";
     private static final Set<String> SUPPORTED_ORDER_BY_VALUES = new HashSet<>(Arrays.asList(ID, NAME, OFFICE_ID, OFFICE_NAME));
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
@@ -131,15 +133,15 @@ public class GroupReadPlatformServiceImpl implements GroupReadPlatformService {
 
         this.paginationParametersDataValidator.validateParameterValues(parameters, SUPPORTED_ORDER_BY_VALUES, "audits");
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
+        final Long userOfficeId = currentUser.getOffice().getId();
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
         sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
         sqlBuilder.append(ALL_GROUP_TYPES_DATA_MAPPER.schema());
+        sqlBuilder.append(OFFICE_CLOSURE_JOIN);
 
         final SQLBuilder extraCriteria = getGroupExtraCriteria(searchParameters);
-        extraCriteria.addCriteria(" o.hierarchy like ", hierarchySearchString);
+        extraCriteria.addCriteria("oc.ancestor_id = ", userOfficeId);
         sqlBuilder.append(" ").append(extraCriteria.getSQLTemplate());
         if (parameters.hasOrderBy()) {
             sqlBuilder.append(" order by ").append(searchParameters.getOrderBy()).append(' ').append(searchParameters.getSortOrder());
@@ -161,14 +163,14 @@ public class GroupReadPlatformServiceImpl implements GroupReadPlatformService {
     @Override
     public Collection<GroupGeneralData> retrieveAll(SearchParameters searchParameters, final PaginationParameters parameters) {
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
+        final Long userOfficeId = currentUser.getOffice().getId();
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
         sqlBuilder.append("select ");
         sqlBuilder.append(ALL_GROUP_TYPES_DATA_MAPPER.schema());
+        sqlBuilder.append(OFFICE_CLOSURE_JOIN);
         final SQLBuilder extraCriteria = getGroupExtraCriteria(searchParameters);
-        extraCriteria.addCriteria("o.hierarchy like ", hierarchySearchString);
+        extraCriteria.addCriteria("oc.ancestor_id = ", userOfficeId);
 
         sqlBuilder.append(" ").append(extraCriteria.getSQLTemplate());
 
@@ -225,11 +227,11 @@ public class GroupReadPlatformServiceImpl implements GroupReadPlatformService {
 
         try {
             final AppUser currentUser = this.context.authenticatedUser();
-            final String hierarchy = currentUser.getOffice().getHierarchy();
-            final String hierarchySearchString = hierarchy + "%";
+            final Long userOfficeId = currentUser.getOffice().getId();
 
-            final String sql = "select " + ALL_GROUP_TYPES_DATA_MAPPER.schema() + " where g.id = ? and o.hierarchy like ?";
-            return this.jdbcTemplate.queryForObject(sql, ALL_GROUP_TYPES_DATA_MAPPER, groupId, hierarchySearchString); // NOSONAR
+            final String sql = "select " + ALL_GROUP_TYPES_DATA_MAPPER.schema() + " where g.id = ? and "
+                    + OfficeClosureService.underOffice("o.id");
+            return this.jdbcTemplate.queryForObject(sql, ALL_GROUP_TYPES_DATA_MAPPER, groupId, userOfficeId); // NOSONAR
         } catch (final EmptyResultDataAccessException e) {
             throw new GroupNotFoundException(groupId, e);
         }
@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+/**
+ * Loads the accrual rows of all loans of a chunk with one query and accrues them loan by loan within the chunk
+ * transaction. A failing loan rolls the chunk back, after which the step retries the loans one at a time and skips the
+ * failing one.
+ */
+public abstract class AccrualItemWriter implements ItemWriter<Long> {
+
+    @Override
+    public void write(@NotNull Chunk<? extends Long> chunk) throws Exception {
+        final Map<Long, Collection<LoanScheduleAccrualData>> accrualDataByLoan = new LinkedHashMap<>();
+        for (final LoanScheduleAccrualData accrualData : retrieveAccrualData(new ArrayList<>(chunk.getItems()))) {
+            accrualDataByLoan.computeIfAbsent(accrualData.getLoanId(), loanId -> new ArrayList<>()).add(accrualData);
+        }
+        for (final Map.Entry<Long, Collection<LoanScheduleAccrualData>> entry : accrualDataByLoan.entrySet()) {
+            addAccruals(entry.getKey(), entry.getValue());
+        }
+    }
+
+    protected abstract Collection<LoanScheduleAccrualData> retrieveAccrualData(List<Long> loanIds);
+
+    protected abstract void addAccruals(Long loanId, Collection<LoanScheduleAccrualData> loanScheduleAccrualData) throws Exception;
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.accounting.common.AccountingRuleType;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Selects the loans the accrual jobs work on: active, not NPA, not charged off loans of periodic accrual products.
+ * <p>
+ * The ids are split into ranges up front and every range is read in keyset pages, so neither the partitioning nor the
+ * workers ever hold the accrual rows of the whole portfolio.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccrualLoanIdService {
+
+    private static final String ACCRUAL_LOANS = """
+            from m_loan loan
+            join m_product_loan mpl on mpl.id = loan.product_id
+            where loan.loan_status_id = :active and mpl.accounting_type = :type
+            and loan.is_npa = false and loan.is_charged_off = false
+            """;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+
+    public List<LoanCOBPartition> retrieveLoanPartitions(int partitionSize) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
+        sql.append("  (select floor(((row_number() over(order by id))-1) / :pageSize) as page, t.* from ");
+        sql.append("      (select loan.id as id ").append(ACCRUAL_LOANS).append(") t) t2 ");
+        sql.append("group by page ");
+        sql.append("order by page");
+
+        MapSqlParameterSource parameters = accrualLoanParameters();
+        parameters.addValue("pageSize", partitionSize);
+        return namedParameterJdbcTemplate.query(sql.toString(), parameters, AccrualLoanIdService::mapRow);
+    }
+
+    /**
+     * @return the next page of accrual loan ids after {@code lastLoanId}, up to and including {@code maxLoanId}
+     */
+    public List<Long> retrieveLoanIds(Long lastLoanId, Long maxLoanId, int pageSize) {
+        MapSqlParameterSource parameters = accrualLoanParameters();
+        parameters.addValue("lastLoanId", lastLoanId);
+        parameters.addValue("maxLoanId", maxLoanId);
+        return namedParameterJdbcTemplate.queryForList(
+                "select loan.id " + ACCRUAL_LOANS + "and loan.id > :lastLoanId and loan.id <= :maxLoanId order by loan.id "
+                        + sqlGenerator.limit(pageSize),
+                parameters, Long.class);
+    }
+
+    private static MapSqlParameterSource accrualLoanParameters() {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("active", LoanStatus.ACTIVE.getValue());
+        parameters.addValue("type", AccountingRuleType.ACCRUAL_PERIODIC.getValue());
+        return parameters;
+    }
+
+    private static LoanCOBPartition mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new LoanCOBPartition(rs.getLong("min"), rs.getLong("max"), rs.getLong("page"), rs.getLong("count"));
+    }
+}
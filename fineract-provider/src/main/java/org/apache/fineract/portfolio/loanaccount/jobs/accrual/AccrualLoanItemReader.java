@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+
+/**
+ * Streams the loan ids of a partition range in keyset pages of the chunk size.
+ * <p>
+ * The last loan id of every committed chunk is saved in the step execution context, so a restarted partition continues
+ * after the loans an earlier, failed execution has already accrued.
+ */
+public class AccrualLoanItemReader implements ItemStreamReader<Long> {
+
+    private final AccrualLoanIdService accrualLoanIdService;
+    private final Long maxLoanId;
+    private final int pageSize;
+    private final Deque<Long> page = new ArrayDeque<>();
+
+    private Long lastLoanId;
+    private boolean exhausted;
+
+    public AccrualLoanItemReader(final AccrualLoanIdService accrualLoanIdService, final Long minLoanId, final Long maxLoanId,
+            final int pageSize) {
+        this.accrualLoanIdService = accrualLoanIdService;
+        this.maxLoanId = maxLoanId;
+        this.pageSize = pageSize;
+        this.lastLoanId = minLoanId - 1;
+    }
+
+    @Override
+    public void open(@NotNull ExecutionContext executionContext) {
+        if (executionContext.containsKey(AccrualJobConstant.LAST_LOAN_ID)) {
+            lastLoanId = executionContext.getLong(AccrualJobConstant.LAST_LOAN_ID);
+        }
+    }
+
+    @Override
+    public Long read() {
+        if (page.isEmpty() && !exhausted) {
+            final List<Long> loanIds = accrualLoanIdService.retrieveLoanIds(lastLoanId, maxLoanId, pageSize);
+            exhausted = loanIds.size() < pageSize;
+            page.addAll(loanIds);
+        }
+        final Long loanId = page.poll();
+        if (loanId != null) {
+            lastLoanId = loanId;
+        }
+        return loanId;
+    }
+
+    @Override
+    public void update(@NotNull ExecutionContext executionContext) {
+        executionContext.putLong(AccrualJobConstant.LAST_LOAN_ID, lastLoanId);
+    }
+}
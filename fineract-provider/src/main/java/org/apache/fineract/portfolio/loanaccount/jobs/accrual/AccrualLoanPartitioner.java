@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * Splits the accrual loans into loan id ranges of the configured partition size.
+ * <p>
+ * The business date is fixed in every partition, so a restarted partition accrues till the same date as the original run.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AccrualLoanPartitioner implements Partitioner {
+
+    public static final String PARTITION_PREFIX = "accrual_partition_";
+
+    private final PropertyService propertyService;
+    private final AccrualLoanIdService accrualLoanIdService;
+    private final JobName jobName;
+
+    @NotNull
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        final int partitionSize = propertyService.getPartitionSize(jobName.name());
+        final LocalDate tillDate = DateUtils.getBusinessLocalDate();
+        final List<LoanCOBPartition> loanPartitions = accrualLoanIdService.retrieveLoanPartitions(partitionSize);
+        final Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        long loanCount = 0L;
+        for (final LoanCOBPartition loanPartition : loanPartitions) {
+            final String partitionName = PARTITION_PREFIX + loanPartition.getPageNo();
+            final ExecutionContext executionContext = new ExecutionContext();
+            executionContext.put(AccrualJobConstant.MIN_LOAN_ID, loanPartition.getMinId());
+            executionContext.put(AccrualJobConstant.MAX_LOAN_ID, loanPartition.getMaxId());
+            executionContext.put(AccrualJobConstant.TILL_DATE, tillDate);
+            executionContext.put(AccrualJobConstant.PARTITION, partitionName);
+            partitions.put(partitionName, executionContext);
+            loanCount += loanPartition.getCount();
+        }
+        log.info("{}: {} loans, {} partitions were created using partition size {}", jobName.name(), loanCount, loanPartitions.size(),
+                partitionSize);
+        return partitions;
+    }
+}
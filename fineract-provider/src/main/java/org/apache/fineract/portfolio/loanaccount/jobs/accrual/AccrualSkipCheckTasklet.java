@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+/**
+ * Fails the job when loans have been skipped by any partition, the same way the single tasklet failed on loan errors.
+ * Skipped loans are not recorded as accrued, so the next run picks them up again.
+ */
+@RequiredArgsConstructor
+public class AccrualSkipCheckTasklet implements Tasklet {
+
+    private final String workerStepName;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        long skippedLoans = 0L;
+        final List<String> failedPartitions = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+        for (final StepExecution stepExecution : contribution.getStepExecution().getJobExecution().getStepExecutions()) {
+            if (stepExecution.getStepName().startsWith(workerStepName) && stepExecution.getSkipCount() > 0) {
+                skippedLoans += stepExecution.getSkipCount();
+                failedPartitions.add(stepExecution.getStepName());
+                errors.addAll(stepExecution.getFailureExceptions());
+            }
+        }
+        if (skippedLoans > 0) {
+            final String message = "Failed to add accrual transactions for " + skippedLoans + " loans in partitions " + failedPartitions;
+            // skipped items leave no failure exception on a completed partition, their errors are logged by the skip listener
+            if (errors.isEmpty()) {
+                errors.add(new IllegalStateException(message));
+            }
+            throw new JobExecutionException(message, errors);
+        }
+        return RepeatStatus.FINISHED;
+    }
+}
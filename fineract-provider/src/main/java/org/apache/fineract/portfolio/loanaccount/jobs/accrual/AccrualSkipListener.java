@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.SkipListener;
+
+@Slf4j
+public class AccrualSkipListener implements SkipListener<Long, Long> {
+
+    @Override
+    public void onSkipInRead(@NotNull Throwable t) {
+        log.error("Failed to read the next loan for accrual", t);
+    }
+
+    @Override
+    public void onSkipInWrite(@NotNull Long loanId, @NotNull Throwable t) {
+        log.error("Failed to add accrual transaction for loan {}", loanId, t);
+    }
+}
@@ -18,35 +18,118 @@
  */
 package org.apache.fineract.portfolio.loanaccount.jobs.addaccrualentries;
 
+import org.apache.fineract.cob.loan.ContextAwareTaskDecorator;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualJobConstant;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualLoanIdService;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualLoanItemReader;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualLoanPartitioner;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualSkipCheckTasklet;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualSkipListener;
+import org.apache.fineract.portfolio.loanaccount.service.LoanAccrualsProcessingService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
 public class AddAccrualEntriesConfig {
 
+    private static final String WORKER_STEP = "Add accrual entries worker - Step";
+    private static final String SKIP_CHECK_STEP = "Add accrual entries skip check - Step";
+
     @Autowired
     private JobRepository jobRepository;
     @Autowired
     private PlatformTransactionManager transactionManager;
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private AccrualLoanIdService accrualLoanIdService;
+    @Autowired
+    private LoanReadPlatformService loanReadPlatformService;
+    @Autowired
+    private LoanAccrualsProcessingService loanAccrualsProcessingService;
+
+    @Bean
+    protected Step addAccrualEntriesStep() {
+        return new StepBuilder(JobName.ADD_ACCRUAL_ENTRIES.name(), jobRepository)
+                .partitioner(WORKER_STEP, addAccrualEntriesPartitioner()) //
+                .step(addAccrualEntriesWorkerStep()) //
+                .gridSize(propertyService.getThreadPoolMaxPoolSize(JobName.ADD_ACCRUAL_ENTRIES.name())) //
+                .taskExecutor(addAccrualEntriesTaskExecutor()) //
+                .build();
+    }
+
+    @Bean
+    protected Step addAccrualEntriesWorkerStep() {
+        return new StepBuilder(WORKER_STEP, jobRepository)
+                .<Long, Long>chunk(propertyService.getChunkSize(JobName.ADD_ACCRUAL_ENTRIES.name()), transactionManager) //
+                .reader(addAccrualEntriesItemReader(null, null)) //
+                .writer(addAccrualEntriesItemWriter()) //
+                .faultTolerant() //
+                .skip(Exception.class) //
+                .skipLimit(Integer.MAX_VALUE) //
+                .listener(new AccrualSkipListener()) //
+                .build();
+    }
 
     @Bean
-    protected Step addAccrualEntriesStep(AddAccrualEntriesTasklet addAccrualEntriesTasklet) {
-        return new StepBuilder(JobName.ADD_ACCRUAL_ENTRIES.name(), jobRepository).tasklet(addAccrualEntriesTasklet, transactionManager)
+    protected Step addAccrualEntriesSkipCheckStep() {
+        return new StepBuilder(SKIP_CHECK_STEP, jobRepository).tasklet(new AccrualSkipCheckTasklet(WORKER_STEP), transactionManager)
                 .build();
     }
 
     @Bean
-    public Job addAccrualEntriesJob(AddAccrualEntriesTasklet addAccrualEntriesTasklet) {
-        return new JobBuilder(JobName.ADD_ACCRUAL_ENTRIES.name(), jobRepository).start(addAccrualEntriesStep(addAccrualEntriesTasklet))
+    @StepScope
+    public AccrualLoanPartitioner addAccrualEntriesPartitioner() {
+        return new AccrualLoanPartitioner(propertyService, accrualLoanIdService, JobName.ADD_ACCRUAL_ENTRIES);
+    }
+
+    @Bean
+    @StepScope
+    public AccrualLoanItemReader addAccrualEntriesItemReader(
+            @Value("#{stepExecutionContext['" + AccrualJobConstant.MIN_LOAN_ID + "']}") Long minLoanId,
+            @Value("#{stepExecutionContext['" + AccrualJobConstant.MAX_LOAN_ID + "']}") Long maxLoanId) {
+        return new AccrualLoanItemReader(accrualLoanIdService, minLoanId, maxLoanId,
+                propertyService.getChunkSize(JobName.ADD_ACCRUAL_ENTRIES.name()));
+    }
+
+    @Bean
+    @StepScope
+    public AddAccrualEntriesItemWriter addAccrualEntriesItemWriter() {
+        return new AddAccrualEntriesItemWriter(loanReadPlatformService, loanAccrualsProcessingService);
+    }
+
+    @Bean
+    public Job addAccrualEntriesJob() {
+        return new JobBuilder(JobName.ADD_ACCRUAL_ENTRIES.name(), jobRepository).start(addAccrualEntriesStep()) //
+                .next(addAccrualEntriesSkipCheckStep()) //
                 .incrementer(new RunIdIncrementer()).build();
     }
+
+    private TaskExecutor addAccrualEntriesTaskExecutor() {
+        final int maxPoolSize = propertyService.getThreadPoolMaxPoolSize(JobName.ADD_ACCRUAL_ENTRIES.name());
+        if (maxPoolSize == 1) {
+            return new SyncTaskExecutor();
+        }
+        // every partition is submitted up front, so the executor throttles instead of queueing into a bounded pool
+        final SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("Add-Accrual-Entries-Thread-");
+        taskExecutor.setConcurrencyLimit(maxPoolSize);
+        taskExecutor.setTaskDecorator(new ContextAwareTaskDecorator());
+        return taskExecutor;
+    }
 }
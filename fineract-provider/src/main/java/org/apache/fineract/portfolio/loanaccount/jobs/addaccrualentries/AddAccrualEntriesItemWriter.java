@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.addaccrualentries;
+
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualItemWriter;
+import org.apache.fineract.portfolio.loanaccount.service.LoanAccrualsProcessingService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+
+@RequiredArgsConstructor
+public class AddAccrualEntriesItemWriter extends AccrualItemWriter {
+
+    private final LoanReadPlatformService loanReadPlatformService;
+    private final LoanAccrualsProcessingService loanAccrualsProcessingService;
+
+    @Override
+    protected Collection<LoanScheduleAccrualData> retrieveAccrualData(List<Long> loanIds) {
+        return loanReadPlatformService.retriveScheduleAccrualData(loanIds);
+    }
+
+    @Override
+    protected void addAccruals(Long loanId, Collection<LoanScheduleAccrualData> loanScheduleAccrualData) throws Exception {
+        loanAccrualsProcessingService.addAccrualAccounting(loanId, loanScheduleAccrualData);
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.addperiodicaccrualentries;
+
+import java.time.LocalDate;
+import org.apache.fineract.cob.loan.ContextAwareTaskDecorator;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualJobConstant;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualLoanIdService;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualLoanItemReader;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualLoanPartitioner;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualSkipCheckTasklet;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualSkipListener;
+import org.apache.fineract.portfolio.loanaccount.service.LoanAccrualsProcessingService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class AddPeriodicAccrualEntriesConfig {
+
+    private static final String WORKER_STEP = "Add periodic accrual entries worker - Step";
+    private static final String SKIP_CHECK_STEP = "Add periodic accrual entries skip check - Step";
+
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private AccrualLoanIdService accrualLoanIdService;
+    @Autowired
+    private LoanReadPlatformService loanReadPlatformService;
+    @Autowired
+    private LoanAccrualsProcessingService loanAccrualsProcessingService;
+
+    @Bean
+    protected Step addPeriodicAccrualEntriesStep() {
+        return new StepBuilder(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES.name(), jobRepository)
+                .partitioner(WORKER_STEP, addPeriodicAccrualEntriesPartitioner()) //
+                .step(addPeriodicAccrualEntriesWorkerStep()) //
+                .gridSize(propertyService.getThreadPoolMaxPoolSize(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES.name())) //
+                .taskExecutor(addPeriodicAccrualEntriesTaskExecutor()) //
+                .build();
+    }
+
+    @Bean
+    protected Step addPeriodicAccrualEntriesWorkerStep() {
+        return new StepBuilder(WORKER_STEP, jobRepository)
+                .<Long, Long>chunk(propertyService.getChunkSize(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES.name()), transactionManager) //
+                .reader(addPeriodicAccrualEntriesItemReader(null, null)) //
+                .writer(addPeriodicAccrualEntriesItemWriter(null)) //
+                .faultTolerant() //
+                .skip(Exception.class) //
+                .skipLimit(Integer.MAX_VALUE) //
+                .listener(new AccrualSkipListener()) //
+                .build();
+    }
+
+    @Bean
+    protected Step addPeriodicAccrualEntriesSkipCheckStep() {
+        return new StepBuilder(SKIP_CHECK_STEP, jobRepository).tasklet(new AccrualSkipCheckTasklet(WORKER_STEP), transactionManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public AccrualLoanPartitioner addPeriodicAccrualEntriesPartitioner() {
+        return new AccrualLoanPartitioner(propertyService, accrualLoanIdService, JobName.ADD_PERIODIC_ACCRUAL_ENTRIES);
+    }
+
+    @Bean
+    @StepScope
+    public AccrualLoanItemReader addPeriodicAccrualEntriesItemReader(
+            @Value("#{stepExecutionContext['" + AccrualJobConstant.MIN_LOAN_ID + "']}") Long minLoanId,
+            @Value("#{stepExecutionContext['" + AccrualJobConstant.MAX_LOAN_ID + "']}") Long maxLoanId) {
+        return new AccrualLoanItemReader(accrualLoanIdService, minLoanId, maxLoanId,
+                propertyService.getChunkSize(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES.name()));
+    }
+
+    @Bean
+    @StepScope
+    public AddPeriodicAccrualEntriesItemWriter addPeriodicAccrualEntriesItemWriter(
+            @Value("#{stepExecutionContext['" + AccrualJobConstant.TILL_DATE + "']}") LocalDate tillDate) {
+        return new AddPeriodicAccrualEntriesItemWriter(loanReadPlatformService, loanAccrualsProcessingService, tillDate);
+    }
+
+    @Bean
+    public Job addPeriodicAccrualEntriesJob() {
+        return new JobBuilder(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES.name(), jobRepository).start(addPeriodicAccrualEntriesStep()) //
+                .next(addPeriodicAccrualEntriesSkipCheckStep()) //
+                .incrementer(new RunIdIncrementer()).build();
+    }
+
+    private TaskExecutor addPeriodicAccrualEntriesTaskExecutor() {
+        final int maxPoolSize = propertyService.getThreadPoolMaxPoolSize(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES.name());
+        if (maxPoolSize == 1) {
+            return new SyncTaskExecutor();
+        }
+        // every partition is submitted up front, so the executor throttles instead of queueing into a bounded pool
+        final SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("Add-Periodic-Accrual-Entries-Thread-");
+        taskExecutor.setConcurrencyLimit(maxPoolSize);
+        taskExecutor.setTaskDecorator(new ContextAwareTaskDecorator());
+        return taskExecutor;
+    }
+}
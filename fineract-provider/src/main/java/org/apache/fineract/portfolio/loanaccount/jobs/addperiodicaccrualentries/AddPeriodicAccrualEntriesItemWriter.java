@@ -19,34 +19,28 @@
 package org.apache.fineract.portfolio.loanaccount.jobs.addperiodicaccrualentries;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.infrastructure.core.exception.MultiException;
-import org.apache.fineract.infrastructure.core.service.DateUtils;
-import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.apache.fineract.portfolio.loanaccount.jobs.accrual.AccrualItemWriter;
 import org.apache.fineract.portfolio.loanaccount.service.LoanAccrualsProcessingService;
-import org.springframework.batch.core.StepContribution;
-import org.springframework.batch.core.scope.context.ChunkContext;
-import org.springframework.batch.core.step.tasklet.Tasklet;
-import org.springframework.batch.repeat.RepeatStatus;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
 
-@Slf4j
 @RequiredArgsConstructor
-public class AddPeriodicAccrualEntriesTasklet implements Tasklet {
+public class AddPeriodicAccrualEntriesItemWriter extends AccrualItemWriter {
 
+    private final LoanReadPlatformService loanReadPlatformService;
     private final LoanAccrualsProcessingService loanAccrualsProcessingService;
+    private final LocalDate tillDate;
 
     @Override
-    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        try {
-            addPeriodicAccruals(DateUtils.getBusinessLocalDate());
-        } catch (MultiException e) {
-            throw new JobExecutionException(e);
-        }
-        return RepeatStatus.FINISHED;
+    protected Collection<LoanScheduleAccrualData> retrieveAccrualData(List<Long> loanIds) {
+        return loanReadPlatformService.retrievePeriodicAccrualData(tillDate, loanIds);
     }
 
-    private void addPeriodicAccruals(final LocalDate tilldate) throws MultiException {
-        loanAccrualsProcessingService.addPeriodicAccruals(tilldate);
+    @Override
+    protected void addAccruals(Long loanId, Collection<LoanScheduleAccrualData> loanScheduleAccrualData) {
+        loanAccrualsProcessingService.addPeriodicAccruals(tillDate, loanId, loanScheduleAccrualData);
     }
 }
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+/**
+ * Reports the duration and the loan throughput of every committed chunk, both in the log and as metrics.
+ */
+@Slf4j
+public class ApplyHolidaysToLoansChunkListener implements ChunkListener {
+
+    private static final String CHUNK_START = "applyHolidaysChunkStart";
+    private static final String WRITE_COUNT_BEFORE_CHUNK = "applyHolidaysWriteCountBeforeChunk";
+
+    private final Timer chunkTimer;
+    private final Counter loanCounter;
+
+    public ApplyHolidaysToLoansChunkListener(final MeterRegistry meterRegistry) {
+        this.chunkTimer = Timer.builder("fineract.job.apply-holidays-to-loans.chunk")
+                .description("Time spent applying holidays to a chunk of loans").register(meterRegistry);
+        this.loanCounter = Counter.builder("fineract.job.apply-holidays-to-loans.loans")
+                .description("Loans the holidays have been applied to").register(meterRegistry);
+    }
+
+    @Override
+    public void beforeChunk(@NotNull ChunkContext context) {
+        context.setAttribute(CHUNK_START, System.nanoTime());
+        context.setAttribute(WRITE_COUNT_BEFORE_CHUNK, context.getStepContext().getStepExecution().getWriteCount());
+    }
+
+    @Override
+    public void afterChunk(@NotNull ChunkContext context) {
+        if (!context.hasAttribute(CHUNK_START)) {
+            return;
+        }
+        final long elapsedNanos = System.nanoTime() - (Long) context.getAttribute(CHUNK_START);
+        final StepExecution stepExecution = context.getStepContext().getStepExecution();
+        final long loans = stepExecution.getWriteCount() - (Long) context.getAttribute(WRITE_COUNT_BEFORE_CHUNK);
+        chunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        loanCounter.increment(loans);
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        log.info("{}: holidays applied to {} loans in {} ms ({} loans/s), {} loans done in this partition", stepExecution.getStepName(),
+                loans, elapsedMillis, elapsedMillis == 0 ? loans : loans * 1000 / elapsedMillis, stepExecution.getWriteCount());
+    }
+}
@@ -18,16 +18,30 @@
  */
 package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.apache.fineract.cob.loan.ContextAwareTaskDecorator;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
@@ -37,16 +51,92 @@ public class ApplyHolidaysToLoansConfig {
     private JobRepository jobRepository;
     @Autowired
     private PlatformTransactionManager transactionManager;
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private ConfigurationDomainService configurationDomainService;
+    @Autowired
+    private HolidayRepositoryWrapper holidayRepository;
+    @Autowired
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+    @Autowired
+    private HolidayLoanIdService holidayLoanIdService;
+    @Autowired
+    private HolidayRepaymentScheduleAdjuster holidayRepaymentScheduleAdjuster;
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
 
     @Bean
-    protected Step applyHolidaysToLoansStep(ApplyHolidaysToLoansTasklet applyHolidaysToLoansTasklet) {
+    protected Step applyHolidaysToLoansStep() {
         return new StepBuilder(JobName.APPLY_HOLIDAYS_TO_LOANS.name(), jobRepository)
-                .tasklet(applyHolidaysToLoansTasklet, transactionManager).build();
+                .tasklet(new CollectUnprocessedHolidaysTasklet(configurationDomainService, holidayRepository), transactionManager).build();
     }
 
     @Bean
-    public Job applyHolidaysToLoansJob(ApplyHolidaysToLoansTasklet applyHolidaysToLoansTasklet) {
-        return new JobBuilder(JobName.APPLY_HOLIDAYS_TO_LOANS.name(), jobRepository)
-                .start(applyHolidaysToLoansStep(applyHolidaysToLoansTasklet)).incrementer(new RunIdIncrementer()).build();
+    protected Step applyHolidaysToLoansPartitionerStep() {
+        return new StepBuilder(ApplyHolidaysToLoansConstant.PARTITIONER_STEP, jobRepository)
+                .partitioner(ApplyHolidaysToLoansConstant.WORKER_STEP, applyHolidaysToLoansPartitioner(null))
+                .step(applyHolidaysToLoansWorkerStep()) //
+                .gridSize(propertyService.getThreadPoolMaxPoolSize(JobName.APPLY_HOLIDAYS_TO_LOANS.name())) //
+                .taskExecutor(applyHolidaysToLoansTaskExecutor()) //
+                .build();
+    }
+
+    @Bean
+    protected Step applyHolidaysToLoansWorkerStep() {
+        return new StepBuilder(ApplyHolidaysToLoansConstant.WORKER_STEP, jobRepository)
+                .<Long, Long>chunk(propertyService.getChunkSize(JobName.APPLY_HOLIDAYS_TO_LOANS.name()), transactionManager) //
+                .reader(applyHolidaysToLoansItemReader(null, null, null)) //
+                .writer(applyHolidaysToLoansItemWriter(null)) //
+                .listener(new ApplyHolidaysToLoansChunkListener(meterRegistry.getIfAvailable(SimpleMeterRegistry::new))) //
+                .build();
+    }
+
+    @Bean
+    protected Step markHolidaysProcessedStep() {
+        return new StepBuilder(ApplyHolidaysToLoansConstant.MARK_PROCESSED_STEP, jobRepository)
+                .tasklet(new MarkHolidaysProcessedTasklet(holidayRepository, holidayLoanIdService), transactionManager).build();
+    }
+
+    @Bean
+    @StepScope
+    public ApplyHolidaysToLoansPartitioner applyHolidaysToLoansPartitioner(
+            @Value("#{jobExecutionContext['" + ApplyHolidaysToLoansConstant.HOLIDAY_IDS + "']}") List<Long> holidayIds) {
+        return new ApplyHolidaysToLoansPartitioner(propertyService, holidayLoanIdService, holidayIds);
+    }
+
+    @Bean
+    @StepScope
+    public ApplyHolidaysToLoansItemReader applyHolidaysToLoansItemReader(
+            @Value("#{jobExecutionContext['" + ApplyHolidaysToLoansConstant.HOLIDAY_IDS + "']}") List<Long> holidayIds,
+            @Value("#{stepExecutionContext['" + ApplyHolidaysToLoansConstant.MIN_LOAN_ID + "']}") Long minLoanId,
+            @Value("#{stepExecutionContext['" + ApplyHolidaysToLoansConstant.MAX_LOAN_ID + "']}") Long maxLoanId) {
+        return new ApplyHolidaysToLoansItemReader(holidayLoanIdService, holidayIds, minLoanId, maxLoanId);
+    }
+
+    @Bean
+    @StepScope
+    public ApplyHolidaysToLoansItemWriter applyHolidaysToLoansItemWriter(
+            @Value("#{jobExecutionContext['" + ApplyHolidaysToLoansConstant.HOLIDAY_IDS + "']}") List<Long> holidayIds) {
+        return new ApplyHolidaysToLoansItemWriter(holidayRepository, loanRepositoryWrapper, holidayRepaymentScheduleAdjuster,
+                holidayLoanIdService, holidayIds);
+    }
+
+    @Bean
+    public Job applyHolidaysToLoansJob() {
+        return new JobBuilder(JobName.APPLY_HOLIDAYS_TO_LOANS.name(), jobRepository).start(applyHolidaysToLoansStep())
+                .next(applyHolidaysToLoansPartitionerStep()).next(markHolidaysProcessedStep()).incrementer(new RunIdIncrementer()).build();
+    }
+
+    private TaskExecutor applyHolidaysToLoansTaskExecutor() {
+        final int maxPoolSize = propertyService.getThreadPoolMaxPoolSize(JobName.APPLY_HOLIDAYS_TO_LOANS.name());
+        if (maxPoolSize == 1) {
+            return new SyncTaskExecutor();
+        }
+        // every partition is submitted up front, so the executor throttles instead of queueing into a bounded pool
+        final SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("Apply-Holidays-Thread-");
+        taskExecutor.setConcurrencyLimit(maxPoolSize);
+        taskExecutor.setTaskDecorator(new ContextAwareTaskDecorator());
+        return taskExecutor;
     }
 }
@@ -0,0 +1,35 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
+
+public final class ApplyHolidaysToLoansConstant {
+
+    public static final String PARTITIONER_STEP = "Apply holidays to loans partition - Step";
+    public static final String WORKER_STEP = "Apply holidays to loans worker - Step";
+    public static final String MARK_PROCESSED_STEP = "Mark holidays processed - Step";
+
+    public static final String HOLIDAY_IDS = "holidayIds";
+    public static final String MIN_LOAN_ID = "minLoanId";
+    public static final String MAX_LOAN_ID = "maxLoanId";
+    public static final String PARTITION = "partition";
+
+    private ApplyHolidaysToLoansConstant() {
+
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
+
+import java.util.Iterator;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.ItemReader;
+
+/**
+ * Reads the ids of the loans in the partition range at least one of the holidays has not been applied to yet. Loans
+ * finished by an earlier, failed execution are left out, which makes the applied loan records the restart checkpoint.
+ */
+@RequiredArgsConstructor
+public class ApplyHolidaysToLoansItemReader implements ItemReader<Long> {
+
+    private final HolidayLoanIdService holidayLoanIdService;
+    private final List<Long> holidayIds;
+    private final Long minLoanId;
+    private final Long maxLoanId;
+
+    private Iterator<Long> loanIds;
+
+    @Override
+    public Long read() {
+        if (loanIds == null) {
+            loanIds = holidayLoanIdService.retrieveLoanIds(holidayIds, minLoanId, maxLoanId).iterator();
+        }
+        return loanIds.hasNext() ? loanIds.next() : null;
+    }
+}
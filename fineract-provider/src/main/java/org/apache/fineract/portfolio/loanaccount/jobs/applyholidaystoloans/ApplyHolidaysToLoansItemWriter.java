@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+/**
+ * Loads the loans of a chunk in one go and applies the holidays to them one holiday after the other, in the order of
+ * the holidays. Each loan is recorded as applied for a holiday within the chunk transaction.
+ */
+@RequiredArgsConstructor
+public class ApplyHolidaysToLoansItemWriter implements ItemWriter<Long> {
+
+    private final HolidayRepositoryWrapper holidayRepository;
+    private final LoanRepositoryWrapper loanRepositoryWrapper;
+    private final HolidayRepaymentScheduleAdjuster holidayRepaymentScheduleAdjuster;
+    private final HolidayLoanIdService holidayLoanIdService;
+    private final List<Long> holidayIds;
+
+    @Override
+    public void write(@NotNull Chunk<? extends Long> chunk) {
+        final Map<Long, Loan> loans = loanRepositoryWrapper.findAllWithNotFoundDetection(new ArrayList<>(chunk.getItems()), true);
+        for (final Long holidayId : holidayIds) {
+            // the schedules moved by the previous holiday are flushed, so this selection sees them
+            final List<Long> affectedLoanIds = holidayLoanIdService.retrieveLoanIds(holidayId, loans.keySet());
+            if (affectedLoanIds.isEmpty()) {
+                continue;
+            }
+            final Holiday holiday = holidayRepository.findOneWithNotFoundDetection(holidayId);
+            final List<Loan> affectedLoans = new ArrayList<>(affectedLoanIds.size());
+            for (final Long loanId : affectedLoanIds) {
+                final Loan loan = loans.get(loanId);
+                holidayRepaymentScheduleAdjuster.applyHolidayToRepaymentScheduleDates(loan, holiday);
+                affectedLoans.add(loan);
+            }
+            loanRepositoryWrapper.save(affectedLoans);
+            loanRepositoryWrapper.flush();
+            holidayLoanIdService.markLoansApplied(holidayId, affectedLoanIds);
+        }
+    }
+}
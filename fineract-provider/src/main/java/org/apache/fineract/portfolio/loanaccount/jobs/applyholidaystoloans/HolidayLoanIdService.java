@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Selects the loans holidays still have to be applied to and keeps track of the ones already done.
+ * <p>
+ * A loan is affected by a holiday when its client or group belongs to one of the holiday offices, it is pending,
+ * approved or active and it has an installment due on or after the start of the holiday. Loans are recorded in
+ * {@code m_holiday_applied_loan} in the same transaction as their new schedule, so a failed or repeated run never
+ * reschedules a loan twice for the same holiday.
+ */
+@Component
+@RequiredArgsConstructor
+public class HolidayLoanIdService {
+
+    private static final String AFFECTED_LOANS = """
+            from m_loan l
+            left join m_client c on c.id = l.client_id
+            left join m_group g on g.id = l.group_id
+            where l.loan_status_id in (:statusIds)
+            and exists (select 1 from m_holiday h
+                join m_holiday_office ho on ho.holiday_id = h.id
+                where h.id in (:holidayIds)
+                and (ho.office_id = c.office_id or ho.office_id = g.office_id)
+                and exists (select 1 from m_loan_repayment_schedule rs where rs.loan_id = l.id and rs.duedate >= h.from_date)
+                and not exists (select 1 from m_holiday_applied_loan hl where hl.holiday_id = h.id and hl.loan_id = l.id))
+            """;
+
+    private static final List<Integer> LOAN_STATUSES = List.of(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(),
+            LoanStatus.APPROVED.getValue(), LoanStatus.ACTIVE.getValue());
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * @return loan id ranges over the loans affected by any of the holidays, so every loan belongs to one range only
+     */
+    public List<LoanCOBPartition> retrieveLoanPartitions(Collection<Long> holidayIds, int partitionSize) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
+        sql.append("  (select floor(((row_number() over(order by id))-1) / :pageSize) as page, t.* from ");
+        sql.append("      (select l.id as id ").append(AFFECTED_LOANS).append(") t) t2 ");
+        sql.append("group by page ");
+        sql.append("order by page");
+
+        MapSqlParameterSource parameters = affectedLoanParameters(holidayIds);
+        parameters.addValue("pageSize", partitionSize);
+        return namedParameterJdbcTemplate.query(sql.toString(), parameters, HolidayLoanIdService::mapRow);
+    }
+
+    public List<Long> retrieveLoanIds(Collection<Long> holidayIds, Long minLoanId, Long maxLoanId) {
+        MapSqlParameterSource parameters = affectedLoanParameters(holidayIds);
+        parameters.addValue("minLoanId", minLoanId);
+        parameters.addValue("maxLoanId", maxLoanId);
+        return namedParameterJdbcTemplate.queryForList(
+                "select l.id " + AFFECTED_LOANS + "and l.id between :minLoanId and :maxLoanId order by l.id", parameters, Long.class);
+    }
+
+    /**
+     * @return the given loans the holiday still has to be applied to
+     */
+    public List<Long> retrieveLoanIds(Long holidayId, Collection<Long> loanIds) {
+        MapSqlParameterSource parameters = affectedLoanParameters(List.of(holidayId));
+        parameters.addValue("loanIds", loanIds);
+        return namedParameterJdbcTemplate.queryForList("select l.id " + AFFECTED_LOANS + "and l.id in (:loanIds) order by l.id",
+                parameters, Long.class);
+    }
+
+    public void markLoansApplied(Long holidayId, Collection<Long> loanIds) {
+        SqlParameterSource[] batch = loanIds.stream()
+                .map(loanId -> new MapSqlParameterSource().addValue("holidayId", holidayId).addValue("loanId", loanId))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate("insert into m_holiday_applied_loan (holiday_id, loan_id) values (:holidayId, :loanId)",
+                batch);
+    }
+
+    public void clearAppliedLoans(Long holidayId) {
+        namedParameterJdbcTemplate.update("delete from m_holiday_applied_loan where holiday_id = :holidayId",
+                new MapSqlParameterSource("holidayId", holidayId));
+    }
+
+    private static MapSqlParameterSource affectedLoanParameters(Collection<Long> holidayIds) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("statusIds", LOAN_STATUSES);
+        parameters.addValue("holidayIds", holidayIds);
+        return parameters;
+    }
+
+    private static LoanCOBPartition mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new LoanCOBPartition(rs.getLong("min"), rs.getLong("max"), rs.getLong("page"), rs.getLong("count"));
+    }
+}
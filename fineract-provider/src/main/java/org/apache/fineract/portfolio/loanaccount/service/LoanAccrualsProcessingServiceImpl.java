@@ -163,6 +163,7 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
         Collection<LoanChargeData> chargeData = this.loanChargeReadPlatformService.retrieveLoanChargesForAccrual(loanId);
         Collection<LoanSchedulePeriodData> loanWaiverScheduleData = new ArrayList<>(1);
         Collection<LoanTransactionData> loanWaiverTransactionData = new ArrayList<>(1);
+        final List<Map<String, Object>> newTransactions = new ArrayList<>();
 
         for (final LoanScheduleAccrualData accrualData : loanScheduleAccrualData) {
             if (accrualData.getWaivedInterestIncome() != null && loanWaiverScheduleData.isEmpty()) {
@@ -171,16 +172,24 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
             }
             updateCharges(chargeData, accrualData, accrualData.getFromDateAsLocaldate(), accrualData.getDueDateAsLocaldate());
             updateInterestIncome(accrualData, loanWaiverTransactionData, loanWaiverScheduleData, accrualData.getDueDateAsLocaldate());
-            calculateFinalAccrualsForScheduleAndAddAccrualAccounting(accrualData);
+            calculateFinalAccrualsForScheduleAndAddAccrualAccounting(accrualData, newTransactions);
         }
+        postAccrualJournalEntries(loanScheduleAccrualData, newTransactions);
     }
 
-    private void addPeriodicAccruals(final LocalDate tillDate, Long loanId, Collection<LoanScheduleAccrualData> loanScheduleAccrualData) {
+    /**
+     * method adds the periodic accruals of a single loan, used by the partitioned "Add Periodic Accrual Transactions" job
+     */
+    @Override
+    @Transactional
+    public void addPeriodicAccruals(final LocalDate tillDate, final Long loanId,
+            final Collection<LoanScheduleAccrualData> loanScheduleAccrualData) {
         boolean firstTime = true;
         LocalDate accruedTill = null;
         Collection<LoanChargeData> chargeData = this.loanChargeReadPlatformService.retrieveLoanChargesForAccrual(loanId);
         Collection<LoanSchedulePeriodData> loanWaiverScheduleData = new ArrayList<>(1);
         Collection<LoanTransactionData> loanWaiverTransactionData = new ArrayList<>(1);
+        final List<Map<String, Object>> newTransactions = new ArrayList<>();
         for (final LoanScheduleAccrualData accrualData : loanScheduleAccrualData) {
             if (accrualData.getWaivedInterestIncome() != null && loanWaiverScheduleData.isEmpty()) {
                 loanWaiverScheduleData = this.loanReadPlatformService.fetchWaiverInterestRepaymentData(accrualData.getLoanId());
@@ -195,15 +204,28 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
                 if (accruedTill == null || DateUtils.isBefore(accruedTill, tillDate)) {
                     updateCharges(chargeData, accrualData, accrualData.getFromDateAsLocaldate(), tillDate);
                     updateInterestIncome(accrualData, loanWaiverTransactionData, loanWaiverScheduleData, tillDate);
-                    calculateFinalAccrualsForScheduleTillSpecificDateAndAddAccrualAccounting(tillDate, accrualData);
+                    calculateFinalAccrualsForScheduleTillSpecificDateAndAddAccrualAccounting(tillDate, accrualData, newTransactions);
                 }
             } else {
                 updateCharges(chargeData, accrualData, accrualData.getFromDateAsLocaldate(), accrualData.getDueDateAsLocaldate());
                 updateInterestIncome(accrualData, loanWaiverTransactionData, loanWaiverScheduleData, tillDate);
-                calculateFinalAccrualsForScheduleAndAddAccrualAccounting(accrualData);
+                calculateFinalAccrualsForScheduleAndAddAccrualAccounting(accrualData, newTransactions);
                 accruedTill = accrualData.getDueDateAsLocaldate();
             }
         }
+        postAccrualJournalEntries(loanScheduleAccrualData, newTransactions);
+    }
+
+    /**
+     * Posts the journal entries of all accrual transactions created for one loan with a single accounting bridge call.
+     */
+    private void postAccrualJournalEntries(final Collection<LoanScheduleAccrualData> loanScheduleAccrualData,
+            final List<Map<String, Object>> newTransactions) {
+        if (!newTransactions.isEmpty()) {
+            final Map<String, Object> accountingBridgeData = deriveAccountingBridgeData(loanScheduleAccrualData.iterator().next(),
+                    newTransactions);
+            this.journalEntryWritePlatformService.createJournalEntriesForLoan(accountingBridgeData);
+        }
     }
 
     @Transactional
@@ -334,7 +356,7 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
     }
 
     private void calculateFinalAccrualsForScheduleTillSpecificDateAndAddAccrualAccounting(final LocalDate tillDate,
-            final LoanScheduleAccrualData accrualData) {
+            final LoanScheduleAccrualData accrualData, final List<Map<String, Object>> newTransactions) {
 
         BigDecimal amount = BigDecimal.ZERO;
         BigDecimal feePortion = accrualData.getDueDateFeeIncome();
@@ -392,7 +414,7 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
 
         if (amount.compareTo(BigDecimal.ZERO) > 0) {
             addAccrualAccounting(accrualData, amount, interestPortion, totalAccInterest, feePortion, totalAccFee, penaltyPortion,
-                    totalAccPenalty, tillDate);
+                    totalAccPenalty, tillDate, newTransactions);
         }
     }
 
@@ -428,7 +450,8 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
         return interestPortion;
     }
 
-    private void calculateFinalAccrualsForScheduleAndAddAccrualAccounting(LoanScheduleAccrualData scheduleAccrualData) {
+    private void calculateFinalAccrualsForScheduleAndAddAccrualAccounting(LoanScheduleAccrualData scheduleAccrualData,
+            List<Map<String, Object>> newTransactions) {
 
         BigDecimal amount = BigDecimal.ZERO;
         BigDecimal interestPortion = null;
@@ -487,17 +510,18 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
             final String chargeAccrualDateCriteria = configurationDomainService.getAccrualDateConfigForCharge();
             if (chargeAccrualDateCriteria.equalsIgnoreCase(ACCRUAL_ON_CHARGE_DUE_DATE)) {
                 addAccrualAccounting(scheduleAccrualData, amount, interestPortion, totalAccInterest, feePortion, totalAccFee,
-                        penaltyPortion, totalAccPenalty, scheduleAccrualData.getDueDateAsLocaldate());
+                        penaltyPortion, totalAccPenalty, scheduleAccrualData.getDueDateAsLocaldate(), newTransactions);
             } else if (chargeAccrualDateCriteria.equalsIgnoreCase(ACCRUAL_ON_CHARGE_SUBMITTED_ON_DATE)) {
                 addAccrualAccounting(scheduleAccrualData, amount, interestPortion, totalAccInterest, feePortion, totalAccFee,
-                        penaltyPortion, totalAccPenalty, DateUtils.getBusinessLocalDate());
+                        penaltyPortion, totalAccPenalty, DateUtils.getBusinessLocalDate(), newTransactions);
             }
         }
     }
 
     private void addAccrualAccounting(LoanScheduleAccrualData scheduleAccrualData, BigDecimal amount, BigDecimal interestPortion,
             BigDecimal totalAccInterest, BigDecimal feePortion, BigDecimal totalAccFee, BigDecimal penaltyPortion,
-            BigDecimal totalAccPenalty, final LocalDate accruedTill) throws DataAccessException {
+            BigDecimal totalAccPenalty, final LocalDate accruedTill, final List<Map<String, Object>> newTransactions)
+            throws DataAccessException {
 
         AppUser user = context.authenticatedUser();
         Loan loan = loanRepository.getReferenceById(scheduleAccrualData.getLoanId());
@@ -542,12 +566,11 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
 
         businessEventNotifierService.notifyPostBusinessEvent(new LoanAccrualTransactionCreatedBusinessEvent(loanTransaction));
 
-        final Map<String, Object> accountingBridgeData = deriveAccountingBridgeData(scheduleAccrualData, transactionMap);
-        this.journalEntryWritePlatformService.createJournalEntriesForLoan(accountingBridgeData);
+        newTransactions.add(transactionMap);
     }
 
     private Map<String, Object> deriveAccountingBridgeData(final LoanScheduleAccrualData loanScheduleAccrualData,
-            final Map<String, Object> transactionMap) {
+            final List<Map<String, Object>> newLoanTransactions) {
 
         final Map<String, Object> accountingBridgeData = new LinkedHashMap<>();
         accountingBridgeData.put("loanId", loanScheduleAccrualData.getLoanId());
@@ -561,9 +584,6 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
         accountingBridgeData.put("isChargeOff", false);
         accountingBridgeData.put("isFraud", false);
 
-        final List<Map<String, Object>> newLoanTransactions = new ArrayList<>();
-        newLoanTransactions.add(transactionMap);
-
         accountingBridgeData.put("newLoanTransactions", newLoanTransactions);
         return accountingBridgeData;
     }
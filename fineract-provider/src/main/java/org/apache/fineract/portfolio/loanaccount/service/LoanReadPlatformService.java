@@ -100,6 +100,8 @@ public interface LoanReadPlatformService {
 
     Collection<LoanScheduleAccrualData> retriveScheduleAccrualData();
 
+    Collection<LoanScheduleAccrualData> retriveScheduleAccrualData(Collection<Long> loanIds);
+
     LoanTransactionData retrieveRecoveryPaymentTemplate(Long loanId);
 
     LoanTransactionData retrieveLoanWriteoffTemplate(Long loanId);
@@ -108,6 +110,8 @@ public interface LoanReadPlatformService {
 
     Collection<LoanScheduleAccrualData> retrievePeriodicAccrualData(LocalDate tillDate, Loan loan);
 
+    Collection<LoanScheduleAccrualData> retrievePeriodicAccrualData(LocalDate tillDate, Collection<Long> loanIds);
+
     LoanTransactionData retrieveLoanChargeOffTemplate(Long loanId);
 
     Collection<Long> fetchLoansForInterestRecalculation();
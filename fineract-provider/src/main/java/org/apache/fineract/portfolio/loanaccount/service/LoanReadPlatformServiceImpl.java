@@ -50,6 +50,7 @@ import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageEnricher;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
@@ -60,6 +61,7 @@ import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrencyRepositoryWrapper;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.office.service.OfficeClosureService;
 import org.apache.fineract.organisation.staff.data.StaffData;
 import org.apache.fineract.organisation.staff.service.StaffReadPlatformService;
 import org.apache.fineract.portfolio.account.data.AccountTransferData;
@@ -179,8 +181,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
     public LoanAccountData retrieveOne(final Long loanId) {
 
         try {
-            final String hierarchy = getHierarchyString();
-            final String hierarchySearchString = hierarchy + "%";
+            final Long userOfficeId = getUserOfficeId();
 
             final LoanMapper rm = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
 
@@ -189,20 +190,25 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
             sqlBuilder.append(rm.loanSchema());
             sqlBuilder.append(" join m_office o on (o.id = c.office_id or o.id = g.office_id) ");
             sqlBuilder.append(" left join m_office transferToOffice on transferToOffice.id = c.transfer_to_office_id ");
-            sqlBuilder.append(" where l.id=? and ( o.hierarchy like ? or transferToOffice.hierarchy like ?)");
+            sqlBuilder.append(" where l.id=?");
+            if (userOfficeId == null) {
+                return this.jdbcTemplate.queryForObject(sqlBuilder.toString(), rm, loanId);
+            }
+            sqlBuilder.append(" and ( ").append(OfficeClosureService.underOffice("o.id")).append(" or ")
+                    .append(OfficeClosureService.underOffice("transferToOffice.id")).append(")");
 
-            return this.jdbcTemplate.queryForObject(sqlBuilder.toString(), rm, loanId, hierarchySearchString, hierarchySearchString);
+            return this.jdbcTemplate.queryForObject(sqlBuilder.toString(), rm, loanId, userOfficeId, userOfficeId);
         } catch (final EmptyResultDataAccessException e) {
             throw new LoanNotFoundException(loanId, e);
         }
     }
 
-    private String getHierarchyString() {
+    private Long getUserOfficeId() {
         AppUser currentUser = null;
         if (this.context != null) {
             currentUser = this.context.getAuthenticatedUserIfPresent();
         }
-        return Optional.ofNullable(currentUser).map(appUser -> appUser.getOffice().getHierarchy()).orElse(".");
+        return Optional.ofNullable(currentUser).map(appUser -> appUser.getOffice().getId()).orElse(null);
     }
 
     @Override
@@ -221,13 +227,13 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
     @Override
     public List<LoanAccountData> retrieveGLIMChildLoansByGLIMParentAccount(String parentloanAccountNumber) {
         this.context.authenticatedUser();
-        final LoanMapper rm = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
+        final LoanMapper rm = new LoanMapper(sqlGenerator);
 
         final String sql = "select " + rm.loanSchema()
                 + " left join glim_parent_child_mapping as glim on glim.glim_child_account_id=l.account_no "
                 + "where glim.glim_parent_account_id=?";
 
-        return this.jdbcTemplate.query(sql, rm, parentloanAccountNumber); // NOSONAR
+        return delinquencyEnricher().enrich(this.jdbcTemplate.query(sql, rm, parentloanAccountNumber)); // NOSONAR
 
     }
 
@@ -304,13 +310,14 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
     @Override
     public Page<LoanAccountData> retrieveAll(final SearchParameters searchParameters) {
 
+        this.paginationHelper.validateKeysetPagination(searchParameters);
+
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
-        final LoanMapper loanMapper = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
+        final Long userOfficeId = currentUser.getOffice().getId();
+        final LoanMapper loanMapper = new LoanMapper(sqlGenerator);
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        sqlBuilder.append("select " + paginationHelper.calcFoundRows(searchParameters) + " ");
         sqlBuilder.append(loanMapper.loanSchema());
 
         // TODO - for time being this will data scope list of loans returned to
@@ -320,12 +327,13 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         // but that at present is an edge case
         sqlBuilder.append(" join m_office o on (o.id = c.office_id or o.id = g.office_id) ");
         sqlBuilder.append(" left join m_office transferToOffice on transferToOffice.id = c.transfer_to_office_id ");
-        sqlBuilder.append(" where ( o.hierarchy like ? or transferToOffice.hierarchy like ?)");
+        sqlBuilder.append(" where ( ").append(OfficeClosureService.underOffice("o.id")).append(" or ")
+                .append(OfficeClosureService.underOffice("transferToOffice.id")).append(")");
 
         int arrayPos = 2;
         List<Object> extraCriterias = new ArrayList<>();
-        extraCriterias.add(hierarchySearchString);
-        extraCriterias.add(hierarchySearchString);
+        extraCriterias.add(userOfficeId);
+        extraCriterias.add(userOfficeId);
 
         if (searchParameters != null) {
 
@@ -352,7 +360,11 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
                 arrayPos = arrayPos + 1;
             }
 
-            if (searchParameters.hasOrderBy()) {
+            if (searchParameters.hasAfterId()) {
+                sqlBuilder.append(" and l.id > ? order by l.id");
+                extraCriterias.add(searchParameters.getAfterId());
+                arrayPos = arrayPos + 1;
+            } else if (searchParameters.hasOrderBy()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
 
@@ -364,7 +376,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
 
             if (searchParameters.hasLimit()) {
                 sqlBuilder.append(" ");
-                if (searchParameters.hasOffset()) {
+                if (searchParameters.hasOffset() && !searchParameters.hasAfterId()) {
                     sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit(), searchParameters.getOffset()));
                 } else {
                     sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit()));
@@ -373,7 +385,13 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         }
         final Object[] objectArray = extraCriterias.toArray();
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), finalObjectArray, loanMapper);
+        return delinquencyEnricher().enrich(
+                this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), finalObjectArray, loanMapper, searchParameters));
+    }
+
+    private PageEnricher<LoanAccountData, DelinquencyRangeData> delinquencyEnricher() {
+        return PageEnricher.of(LoanAccountData::getId, delinquencyReadPlatformService::retrieveCurrentDelinquencyTags,
+                LoanAccountData::setDelinquencyRange);
     }
 
     @Override
@@ -618,6 +636,11 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
             this.delinquencyReadPlatformService = delinquencyReadPlatformService;
         }
 
+        // For list queries, the current delinquency tag is fetched for the whole page afterwards
+        LoanMapper(DatabaseSpecificSQLGenerator sqlGenerator) {
+            this(sqlGenerator, null);
+        }
+
         public String loanSchema() {
             return "l.id as id, l.account_no as accountNo, l.external_id as externalId, l.fund_id as fundId, f.name as fundName,"
                     + " l.loan_type_enum as loanType, l.loanpurpose_cv_id as loanPurposeId, cv.code_value as loanPurposeName,"
@@ -1051,7 +1074,8 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
             final BigDecimal topupAmount = rs.getBigDecimal("topupAmount");
             final boolean disallowExpectedDisbursements = rs.getBoolean("disallowExpectedDisbursements");
             // Current Delinquency Range Data
-            DelinquencyRangeData delinquencyRange = this.delinquencyReadPlatformService.retrieveCurrentDelinquencyTag(id);
+            DelinquencyRangeData delinquencyRange = this.delinquencyReadPlatformService == null ? null
+                    : this.delinquencyReadPlatformService.retrieveCurrentDelinquencyTag(id);
 
             final boolean isFraud = rs.getBoolean("isFraud");
             final LocalDate lastClosedBusinessDate = JdbcSupport.getLocalDate(rs, "lastClosedBusinessDate");
@@ -1739,14 +1763,19 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
 
     @Override
     public Collection<LoanScheduleAccrualData> retriveScheduleAccrualData() {
+        return retriveScheduleAccrualData(null);
+    }
+
+    @Override
+    public Collection<LoanScheduleAccrualData> retriveScheduleAccrualData(final Collection<Long> loanIds) {
         final String chargeAccrualDateCriteria = configurationDomainService.getAccrualDateConfigForCharge();
         if (chargeAccrualDateCriteria.equalsIgnoreCase(ACCRUAL_ON_CHARGE_SUBMITTED_ON_DATE)) {
-            return retrieveScheduleAccrualDataForChargeSubmittedDateProcessing();
+            return retrieveScheduleAccrualDataForChargeSubmittedDateProcessing(loanIds);
         }
-        return retrieveScheduleAccrualDataForDefaultProcessing();
+        return retrieveScheduleAccrualDataForDefaultProcessing(loanIds);
     }
 
-    private Collection<LoanScheduleAccrualData> retrieveScheduleAccrualDataForDefaultProcessing() {
+    private Collection<LoanScheduleAccrualData> retrieveScheduleAccrualDataForDefaultProcessing(final Collection<Long> loanIds) {
         LocalDate organisationStartDate = this.configurationDomainService.retrieveOrganisationStartDate();
         LoanScheduleAccrualMapper mapper = new LoanScheduleAccrualMapper();
         Map<String, Object> paramMap = new HashMap<>(3);
@@ -1761,6 +1790,10 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         if (organisationStartDate != null) {
             sqlBuilder.append(" and ls.duedate > :organisationStartDate ");
         }
+        if (loanIds != null) {
+            sqlBuilder.append(" and loan.id in (:loanIds) ");
+            paramMap.put("loanIds", loanIds);
+        }
         sqlBuilder.append(" order by loan.id,ls.duedate ");
 
         paramMap.put("active", LoanStatus.ACTIVE.getValue());
@@ -1771,7 +1804,8 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
 
     }
 
-    private Collection<LoanScheduleAccrualData> retrieveScheduleAccrualDataForChargeSubmittedDateProcessing() {
+    private Collection<LoanScheduleAccrualData> retrieveScheduleAccrualDataForChargeSubmittedDateProcessing(
+            final Collection<Long> loanIds) {
         LocalDate organisationStartDate = this.configurationDomainService.retrieveOrganisationStartDate();
         LoanScheduleAccrualMapper mapper = new LoanScheduleAccrualMapper();
         Map<String, Object> paramMap = new HashMap<>(3);
@@ -1786,6 +1820,10 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         if (organisationStartDate != null) {
             sqlBuilder.append(" and ls.duedate > :organisationStartDate ");
         }
+        if (loanIds != null) {
+            sqlBuilder.append(" and loan.id in (:loanIds) ");
+            paramMap.put("loanIds", loanIds);
+        }
         sqlBuilder.append(" order by loan.id,ls.duedate ");
 
         paramMap.put("active", LoanStatus.ACTIVE.getValue());
@@ -1796,19 +1834,25 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
 
     @Override
     public Collection<LoanScheduleAccrualData> retrievePeriodicAccrualData(final LocalDate tillDate) {
-        return retrievePeriodicAccrualData(tillDate, null);
+        return retrievePeriodicAccrualData(tillDate, (Collection<Long>) null);
     }
 
     @Override
     public Collection<LoanScheduleAccrualData> retrievePeriodicAccrualData(final LocalDate tillDate, final Loan loan) {
+        return retrievePeriodicAccrualData(tillDate, loan == null ? null : List.of(loan.getId()));
+    }
+
+    @Override
+    public Collection<LoanScheduleAccrualData> retrievePeriodicAccrualData(final LocalDate tillDate, final Collection<Long> loanIds) {
         final String chargeAccrualDateCriteria = configurationDomainService.getAccrualDateConfigForCharge();
         if (chargeAccrualDateCriteria.equalsIgnoreCase(ACCRUAL_ON_CHARGE_SUBMITTED_ON_DATE)) {
-            return retrievePeriodicAccrualDataForChargeSubmittedDateProcessing(tillDate, loan);
+            return retrievePeriodicAccrualDataForChargeSubmittedDateProcessing(tillDate, loanIds);
         }
-        return retrievePeriodicAccrualDataForDefaultProcessing(tillDate, loan);
+        return retrievePeriodicAccrualDataForDefaultProcessing(tillDate, loanIds);
     }
 
-    private Collection<LoanScheduleAccrualData> retrievePeriodicAccrualDataForDefaultProcessing(final LocalDate tillDate, final Loan loan) {
+    private Collection<LoanScheduleAccrualData> retrievePeriodicAccrualDataForDefaultProcessing(final LocalDate tillDate,
+            final Collection<Long> loanIds) {
         LoanSchedulePeriodicAccrualMapper mapper = new LoanSchedulePeriodicAccrualMapper();
         LocalDate organisationStartDate = this.configurationDomainService.retrieveOrganisationStartDate();
         final StringBuilder sqlBuilder = new StringBuilder(400);
@@ -1825,9 +1869,9 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
             sqlBuilder.append(" and ls.duedate > :organisationStartDate ");
             paramMap.put("organisationStartDate", organisationStartDate);
         }
-        if (loan != null) {
-            sqlBuilder.append(" and loan.id= :loanId ");
-            paramMap.put("loanId", loan.getId());
+        if (loanIds != null) {
+            sqlBuilder.append(" and loan.id in (:loanIds) ");
+            paramMap.put("loanIds", loanIds);
         }
         sqlBuilder.append(" order by loan.id,ls.duedate ");
         paramMap.put("active", LoanStatus.ACTIVE.getValue());
@@ -1837,7 +1881,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
     }
 
     private Collection<LoanScheduleAccrualData> retrievePeriodicAccrualDataForChargeSubmittedDateProcessing(final LocalDate tillDate,
-            final Loan loan) {
+            final Collection<Long> loanIds) {
         LoanSchedulePeriodicAccrualMapper mapper = new LoanSchedulePeriodicAccrualMapper();
         LocalDate organisationStartDate = this.configurationDomainService.retrieveOrganisationStartDate();
         final StringBuilder sqlBuilder = new StringBuilder(400);
@@ -1853,9 +1897,9 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
             sqlBuilder.append(" and ls.duedate > :organisationStartDate ");
             paramMap.put("organisationStartDate", organisationStartDate);
         }
-        if (loan != null) {
-            sqlBuilder.append(" and loan.id= :loanId ");
-            paramMap.put("loanId", loan.getId());
+        if (loanIds != null) {
+            sqlBuilder.append(" and loan.id in (:loanIds) ");
+            paramMap.put("loanIds", loanIds);
         }
         sqlBuilder.append(" order by loan.id,ls.duedate ");
         paramMap.put("active", LoanStatus.ACTIVE.getValue());
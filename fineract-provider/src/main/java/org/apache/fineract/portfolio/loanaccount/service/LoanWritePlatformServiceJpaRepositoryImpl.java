@@ -54,6 +54,7 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.data.DataValidatorBuilder;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.exception.AbstractPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
@@ -1344,49 +1345,62 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         if (repaymentCommand == null) {
             return changes;
         }
-        List<Long> transactionIds = new ArrayList<>();
-        boolean isAccountTransfer = false;
-        HolidayDetailDTO holidayDetailDTO = null;
-        boolean isHolidayValidationDone = false;
+        final List<SingleRepaymentCommand> repaymentCommands = Arrays.stream(repaymentCommand).filter(Objects::nonNull).toList();
+        final Map<Long, Loan> loans = this.loanRepositoryWrapper
+                .findAllWithNotFoundDetection(repaymentCommands.stream().map(SingleRepaymentCommand::getLoanId).toList(), true);
+        loans.values().forEach(this.loanAssembler::setHelpers);
+
+        // holidays and working days are resolved once per office instead of once per loan
         final boolean allowTransactionsOnHoliday = this.configurationDomainService.allowTransactionsOnHolidayEnabled();
-        for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
-            if (singleLoanRepaymentCommand != null) {
-                Loan loan = this.loanRepositoryWrapper.findOneWithNotFoundDetection(singleLoanRepaymentCommand.getLoanId());
-                final List<Holiday> holidays = this.holidayRepository.findByOfficeIdAndGreaterThanDate(loan.getOfficeId(),
-                        singleLoanRepaymentCommand.getTransactionDate());
-                final WorkingDays workingDays = this.workingDaysRepository.findOne();
-                final boolean allowTransactionsOnNonWorkingDay = this.configurationDomainService.allowTransactionsOnNonWorkingDayEnabled();
-                boolean isHolidayEnabled;
-                isHolidayEnabled = this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled();
-                holidayDetailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays, allowTransactionsOnHoliday,
-                        allowTransactionsOnNonWorkingDay);
+        final boolean allowTransactionsOnNonWorkingDay = this.configurationDomainService.allowTransactionsOnNonWorkingDayEnabled();
+        final boolean isHolidayEnabled = this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled();
+        final WorkingDays workingDays = repaymentCommands.isEmpty() ? null : this.workingDaysRepository.findOne();
+        final Map<Long, HolidayDetailDTO> holidayDetailsByOffice = new HashMap<>();
+        final Map<Long, HolidayDetailDTO> holidayDetailsByLoan = new HashMap<>();
+        final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+        for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommands) {
+            final Loan loan = loans.get(singleLoanRepaymentCommand.getLoanId());
+            final HolidayDetailDTO holidayDetailDTO = holidayDetailsByOffice.computeIfAbsent(loan.getOfficeId(),
+                    officeId -> new HolidayDetailDTO(isHolidayEnabled,
+                            this.holidayRepository.findByOfficeIdAndGreaterThanDate(officeId,
+                                    singleLoanRepaymentCommand.getTransactionDate()),
+                            workingDays, allowTransactionsOnHoliday, allowTransactionsOnNonWorkingDay));
+            holidayDetailsByLoan.put(loan.getId(), holidayDetailDTO);
+            try {
                 loan.validateRepaymentDateIsOnHoliday(singleLoanRepaymentCommand.getTransactionDate(),
                         holidayDetailDTO.isAllowTransactionsOnHoliday(), holidayDetailDTO.getHolidays());
                 loan.validateRepaymentDateIsOnNonWorkingDay(singleLoanRepaymentCommand.getTransactionDate(),
                         holidayDetailDTO.getWorkingDays(), holidayDetailDTO.isAllowTransactionsOnNonWorkingDay());
-                isHolidayValidationDone = true;
-                break;
+            } catch (final AbstractPlatformDomainRuleException e) {
+                // every invalid loan of the sheet is reported, not just the first one
+                dataValidationErrors.add(ApiParameterError.parameterErrorWithValue(e.getGlobalisationMessageCode(),
+                        e.getDefaultUserMessage(), "loanId", String.valueOf(loan.getId()), e.getDefaultUserMessageArgs()));
             }
-
         }
-        for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
-            if (singleLoanRepaymentCommand != null) {
-                final Loan loan = this.loanAssembler.assembleFrom(singleLoanRepaymentCommand.getLoanId());
-                final PaymentDetail paymentDetail = singleLoanRepaymentCommand.getPaymentDetail();
-                ExternalId externalId = singleLoanRepaymentCommand.getExternalId();
-                if (externalId.isEmpty() && configurationDomainService.isExternalIdAutoGenerationEnabled()) {
-                    externalId = ExternalId.generate();
-                }
-                if (paymentDetail != null && paymentDetail.getId() == null) {
-                    this.paymentDetailWritePlatformService.persistPaymentDetail(paymentDetail);
-                }
-                final String chargeRefundChargeType = null;
-                LoanTransaction loanTransaction = this.loanAccountDomainService.makeRepayment(LoanTransactionType.REPAYMENT, loan,
-                        bulkRepaymentCommand.getTransactionDate(), singleLoanRepaymentCommand.getTransactionAmount(), paymentDetail,
-                        bulkRepaymentCommand.getNote(), externalId, isRecoveryRepayment, chargeRefundChargeType, isAccountTransfer,
-                        holidayDetailDTO, isHolidayValidationDone);
-                transactionIds.add(loanTransaction.getId());
+        if (!dataValidationErrors.isEmpty()) {
+            throw new PlatformApiDataValidationException(dataValidationErrors);
+        }
+
+        final List<Long> transactionIds = new ArrayList<>();
+        final boolean isAccountTransfer = false;
+        final boolean isHolidayValidationDone = true;
+        // no event recording around the sheet: a bulk event must not span the loans of several aggregate roots
+        for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommands) {
+            final Loan loan = loans.get(singleLoanRepaymentCommand.getLoanId());
+            final PaymentDetail paymentDetail = singleLoanRepaymentCommand.getPaymentDetail();
+            ExternalId externalId = singleLoanRepaymentCommand.getExternalId();
+            if (externalId.isEmpty() && configurationDomainService.isExternalIdAutoGenerationEnabled()) {
+                externalId = ExternalId.generate();
+            }
+            if (paymentDetail != null && paymentDetail.getId() == null) {
+                this.paymentDetailWritePlatformService.persistPaymentDetail(paymentDetail);
             }
+            final String chargeRefundChargeType = null;
+            LoanTransaction loanTransaction = this.loanAccountDomainService.makeRepayment(LoanTransactionType.REPAYMENT, loan,
+                    bulkRepaymentCommand.getTransactionDate(), singleLoanRepaymentCommand.getTransactionAmount(), paymentDetail,
+                    bulkRepaymentCommand.getNote(), externalId, isRecoveryRepayment, chargeRefundChargeType, isAccountTransfer,
+                    holidayDetailsByLoan.get(loan.getId()), isHolidayValidationDone);
+            transactionIds.add(loanTransaction.getId());
         }
         changes.put("loanTransactions", transactionIds);
         return changes;
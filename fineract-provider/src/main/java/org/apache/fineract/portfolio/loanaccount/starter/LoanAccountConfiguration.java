@@ -40,6 +40,7 @@ import org.apache.fineract.organisation.staff.domain.StaffRepository;
 import org.apache.fineract.organisation.staff.service.StaffReadPlatformService;
 import org.apache.fineract.organisation.teller.data.CashierTransactionDataValidator;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
+import org.apache.fineract.organisation.workingdays.service.BusinessCalendarService;
 import org.apache.fineract.portfolio.account.domain.AccountAssociationsRepository;
 import org.apache.fineract.portfolio.account.domain.AccountTransferDetailRepository;
 import org.apache.fineract.portfolio.account.domain.AccountTransferRepository;
@@ -326,11 +327,12 @@ public class LoanAccountConfiguration {
     @ConditionalOnMissingBean(LoanUtilService.class)
     public LoanUtilService loanUtilService(ApplicationCurrencyRepositoryWrapper applicationCurrencyRepository,
             CalendarInstanceRepository calendarInstanceRepository, ConfigurationDomainService configurationDomainService,
-            HolidayRepository holidayRepository, WorkingDaysRepositoryWrapper workingDaysRepository,
-            LoanScheduleGeneratorFactory loanScheduleFactory, FloatingRatesReadPlatformService floatingRatesReadPlatformService,
-            CalendarReadPlatformService calendarReadPlatformService) {
-        return new LoanUtilService(applicationCurrencyRepository, calendarInstanceRepository, configurationDomainService, holidayRepository,
-                workingDaysRepository, loanScheduleFactory, floatingRatesReadPlatformService, calendarReadPlatformService);
+            WorkingDaysRepositoryWrapper workingDaysRepository, LoanScheduleGeneratorFactory loanScheduleFactory,
+            FloatingRatesReadPlatformService floatingRatesReadPlatformService, CalendarReadPlatformService calendarReadPlatformService,
+            BusinessCalendarService businessCalendarService) {
+        return new LoanUtilService(applicationCurrencyRepository, calendarInstanceRepository, configurationDomainService,
+                workingDaysRepository, loanScheduleFactory, floatingRatesReadPlatformService, calendarReadPlatformService,
+                businessCalendarService);
     }
 
     @Bean
@@ -211,9 +211,13 @@ final class SavingsAccountsApiResourceSwagger {
             public GetSavingsSummary summary;
         }
 
-        @Schema(example = "1")
+        @Schema(example = "1", nullable = true, description = "Number of records matching the filter. Absent when skipTotal=true, "
+                + "in which case hasMorePages tells whether another page may follow.")
         public Integer totalFilteredRecords;
         public Set<GetSavingsPageItems> pageItems;
+        @Schema(example = "true", nullable = true, description = "Only set when skipTotal=true: true when the page is full, so another "
+                + "page may follow. Request it with afterId set to the id of the last item, or with the next offset.")
+        public Boolean hasMorePages;
     }
 
     @Schema(description = "PostSavingsAccountsRequest")
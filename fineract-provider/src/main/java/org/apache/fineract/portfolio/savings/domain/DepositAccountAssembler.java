@@ -63,6 +63,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
@@ -369,6 +370,15 @@ public class DepositAccountAssembler {
         return account;
     }
 
+    /**
+     * Loads the accounts with one query per IN clause chunk, the deposit type of each account is not checked.
+     */
+    public Map<Long, SavingsAccount> assembleFrom(final Collection<Long> savingsIds) {
+        final Map<Long, SavingsAccount> accounts = this.savingsAccountRepository.findAllByIds(savingsIds);
+        accounts.values().forEach(this::assignSavingAccountHelpers);
+        return accounts;
+    }
+
     public void assignSavingAccountHelpers(final SavingsAccount savingsAccount) {
         savingsAccount.setHelpers(this.savingsAccountTransactionSummaryWrapper, this.savingsHelper);
     }
@@ -106,6 +106,7 @@ import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransactionRepository;
 import org.apache.fineract.portfolio.savings.exception.DepositAccountTransactionNotAllowedException;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountNotFoundException;
 import org.apache.fineract.portfolio.savings.exception.SavingsAccountTransactionNotFoundException;
 import org.apache.fineract.portfolio.savings.exception.TransactionUpdateNotAllowedException;
 import org.apache.fineract.useradministration.domain.AppUser;
@@ -1362,29 +1363,42 @@ public class DepositAccountWritePlatformServiceJpaRepositoryImpl implements Depo
     @Transactional
     @Override
     public SavingsAccountTransaction mandatorySavingsAccountDeposit(final SavingsAccountTransactionDTO accountTransactionDTO) {
+        final SavingsAccount account = this.depositAccountAssembler.assembleFrom(accountTransactionDTO.getSavingsAccountId(),
+                mandatoryDepositAccountType(accountTransactionDTO));
+        return mandatorySavingsAccountDeposit(accountTransactionDTO, account);
+    }
+
+    @Transactional
+    @Override
+    public SavingsAccountTransaction mandatorySavingsAccountDeposit(final SavingsAccountTransactionDTO accountTransactionDTO,
+            final SavingsAccount account) {
         boolean isRegularTransaction = false;
+        final DepositAccountType depositAccountType = mandatoryDepositAccountType(accountTransactionDTO);
+        // same check as the deposit type filtered lookup of a single account
+        if (account.depositAccountType() != depositAccountType) {
+            throw new SavingsAccountNotFoundException(accountTransactionDTO.getSavingsAccountId());
+        }
         final PaymentDetail paymentDetail = accountTransactionDTO.getPaymentDetail();
         if (paymentDetail != null && paymentDetail.getId() == null) {
             this.paymentDetailWritePlatformService.persistPaymentDetail(paymentDetail);
         }
-        if (accountTransactionDTO.getAccountType().equals(DepositAccountType.RECURRING_DEPOSIT.getValue())) {
-            RecurringDepositAccount account = (RecurringDepositAccount) this.depositAccountAssembler
-                    .assembleFrom(accountTransactionDTO.getSavingsAccountId(), DepositAccountType.RECURRING_DEPOSIT);
-            return this.depositAccountDomainService.handleRDDeposit(account, accountTransactionDTO.getFormatter(),
+        if (depositAccountType == DepositAccountType.RECURRING_DEPOSIT) {
+            return this.depositAccountDomainService.handleRDDeposit((RecurringDepositAccount) account, accountTransactionDTO.getFormatter(),
                     accountTransactionDTO.getTransactionDate(), accountTransactionDTO.getTransactionAmount(), paymentDetail,
                     isRegularTransaction);
         }
-        SavingsAccount account = null;
-        if (accountTransactionDTO.getAccountType().equals(DepositAccountType.SAVINGS_DEPOSIT.getValue())) {
-            account = this.depositAccountAssembler.assembleFrom(accountTransactionDTO.getSavingsAccountId(),
-                    DepositAccountType.SAVINGS_DEPOSIT);
-        } else {
-            account = this.depositAccountAssembler.assembleFrom(accountTransactionDTO.getSavingsAccountId(),
-                    DepositAccountType.CURRENT_DEPOSIT);
-        }
         return this.depositAccountDomainService.handleSavingDeposit(account, accountTransactionDTO.getFormatter(),
                 accountTransactionDTO.getTransactionDate(), accountTransactionDTO.getTransactionAmount(), paymentDetail,
                 isRegularTransaction);
+    }
 
+    private static DepositAccountType mandatoryDepositAccountType(final SavingsAccountTransactionDTO accountTransactionDTO) {
+        if (accountTransactionDTO.getAccountType().equals(DepositAccountType.RECURRING_DEPOSIT.getValue())) {
+            return DepositAccountType.RECURRING_DEPOSIT;
+        }
+        if (accountTransactionDTO.getAccountType().equals(DepositAccountType.SAVINGS_DEPOSIT.getValue())) {
+            return DepositAccountType.SAVINGS_DEPOSIT;
+        }
+        return DepositAccountType.CURRENT_DEPOSIT;
     }
 }
@@ -49,6 +49,7 @@ import org.apache.fineract.infrastructure.dataqueries.service.EntityDatatableChe
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
 import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.organisation.office.service.OfficeClosureService;
 import org.apache.fineract.organisation.staff.data.StaffData;
 import org.apache.fineract.organisation.staff.service.StaffReadPlatformService;
 import org.apache.fineract.portfolio.account.data.AccountTransferData;
@@ -184,19 +185,20 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
     @Override
     public Page<SavingsAccountData> retrieveAll(final SearchParameters searchParameters) {
 
+        this.paginationHelper.validateKeysetPagination(searchParameters);
+
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
+        final Long userOfficeId = currentUser.getOffice().getId();
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        sqlBuilder.append("select " + paginationHelper.calcFoundRows(searchParameters) + " ");
         sqlBuilder.append(this.savingAccountMapper.schema());
 
         sqlBuilder.append(" join m_office o on o.id = c.office_id");
-        sqlBuilder.append(" where o.hierarchy like ?");
+        sqlBuilder.append(" where ").append(OfficeClosureService.underOffice("o.id"));
 
-        final Object[] objectArray = new Object[2];
-        objectArray[0] = hierarchySearchString;
+        final Object[] objectArray = new Object[5];
+        objectArray[0] = userOfficeId;
         int arrayPos = 1;
         if (searchParameters != null) {
 
@@ -216,7 +218,11 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
                 objectArray[arrayPos] = searchParameters.getOfficeId();
                 arrayPos = arrayPos + 1;
             }
-            if (searchParameters.hasOrderBy()) {
+            if (searchParameters.hasAfterId()) {
+                sqlBuilder.append(" and sa.id > ? order by sa.id");
+                objectArray[arrayPos] = searchParameters.getAfterId();
+                arrayPos = arrayPos + 1;
+            } else if (searchParameters.hasOrderBy()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
 
@@ -228,7 +234,7 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
 
             if (searchParameters.hasLimit()) {
                 sqlBuilder.append(" ");
-                if (searchParameters.hasOffset()) {
+                if (searchParameters.hasOffset() && !searchParameters.hasAfterId()) {
                     sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit(), searchParameters.getOffset()));
                 } else {
                     sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit()));
@@ -236,7 +242,8 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             }
         }
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), finalObjectArray, this.savingAccountMapper);
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), finalObjectArray, this.savingAccountMapper,
+                searchParameters);
     }
 
     @Override
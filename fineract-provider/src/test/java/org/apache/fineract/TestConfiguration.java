@@ -37,6 +37,7 @@ import org.apache.fineract.infrastructure.core.service.migration.ExtendedSpringL
 import org.apache.fineract.infrastructure.core.service.migration.TenantDataSourceFactory;
 import org.apache.fineract.infrastructure.core.service.migration.TenantDatabaseStateVerifier;
 import org.apache.fineract.infrastructure.core.service.migration.TenantDatabaseUpgradeService;
+import org.apache.fineract.infrastructure.core.service.migration.TenantSchemaChecksumService;
 import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
 import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
 import org.apache.fineract.infrastructure.jobs.ScheduledJobRunnerConfig;
@@ -158,7 +159,8 @@ public class TestConfiguration {
             FineractProperties fineractProperties, Environment environment,
             List<CustomTaskChange> customTaskChangesForDependencyInjection) {
         return new TenantDatabaseUpgradeService(tenantDetailsService, tenantDataSource, fineractProperties, tenantDatabaseStateVerifier,
-                liquibaseFactory, tenantDataSourceFactory, environment, customTaskChangesForDependencyInjection);
+                liquibaseFactory, tenantDataSourceFactory, environment, mock(TenantSchemaChecksumService.class),
+                customTaskChangesForDependencyInjection);
     }
 
     /**
@@ -0,0 +1,240 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.provisioning.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountRepository;
+import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
+import org.apache.fineract.accounting.provisioning.domain.LoanProductProvisioningEntry;
+import org.apache.fineract.accounting.provisioning.domain.ProvisioningEntry;
+import org.apache.fineract.accounting.provisioning.domain.ProvisioningEntryRepository;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
+import org.apache.fineract.organisation.provisioning.domain.ProvisioningCategory;
+import org.apache.fineract.organisation.provisioning.domain.ProvisioningCategoryRepository;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProduct;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRepository;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImplTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 1);
+
+    /**
+     * The provisioning data columns that identify a provisioning entry line, each with a change of the matching field.
+     */
+    private static final Map<String, UnaryOperator<LoanProductProvisioningEntryData>> ENTRY_LINE_KEY = new LinkedHashMap<>();
+
+    static {
+        ENTRY_LINE_KEY.put("office_id", data -> data.setOfficeId(2L));
+        ENTRY_LINE_KEY.put("criteriaid", data -> data.setCriteriaId(2L));
+        ENTRY_LINE_KEY.put("product_id", data -> data.setProductId(2L));
+        ENTRY_LINE_KEY.put("currency_code", data -> data.setCurrencyCode("EUR"));
+        ENTRY_LINE_KEY.put("numberofdaysoverdue", data -> data.setOverdueInDays(40L));
+        ENTRY_LINE_KEY.put("category_id", data -> data.setCategoryId(2L));
+        ENTRY_LINE_KEY.put("liability_account", data -> data.setLiablityAccount(21L));
+        ENTRY_LINE_KEY.put("expense_account", data -> data.setExpenseAccount(22L));
+    }
+
+    private final MockedStatic<MoneyHelper> moneyHelper = Mockito.mockStatic(MoneyHelper.class);
+
+    @Mock
+    private ProvisioningEntriesReadPlatformService provisioningEntriesReadPlatformService;
+
+    @Mock
+    private LoanProductRepository loanProductRepository;
+
+    @Mock
+    private GLAccountRepository glAccountRepository;
+
+    @Mock
+    private OfficeRepositoryWrapper officeRepositoryWrapper;
+
+    @Mock
+    private ProvisioningCategoryRepository provisioningCategoryRepository;
+
+    @Mock
+    private PlatformSecurityContext platformSecurityContext;
+
+    @Mock
+    private ProvisioningEntryRepository provisioningEntryRepository;
+
+    @InjectMocks
+    private ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        moneyHelper.when(MoneyHelper::getMathContext).thenReturn(new MathContext(12, RoundingMode.HALF_EVEN));
+        moneyHelper.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+        when(platformSecurityContext.authenticatedUser()).thenReturn(Mockito.mock(AppUser.class));
+        Money principal = Money.of(new MonetaryCurrency("USD", 2, null), BigDecimal.ONE);
+        for (long id : new long[] { 1L, 2L }) {
+            LoanProduct loanProduct = Mockito.mock(LoanProduct.class);
+            when(loanProduct.getId()).thenReturn(id);
+            when(loanProduct.getPrincipalAmount()).thenReturn(principal);
+            when(loanProductRepository.findById(id)).thenReturn(Optional.of(loanProduct));
+            Office office = Mockito.mock(Office.class);
+            when(office.getId()).thenReturn(id);
+            when(officeRepositoryWrapper.findOneWithNotFoundDetection(id)).thenReturn(office);
+            ProvisioningCategory category = Mockito.mock(ProvisioningCategory.class);
+            when(category.getId()).thenReturn(id);
+            when(provisioningCategoryRepository.findById(id)).thenReturn(Optional.of(category));
+        }
+        for (long id : new long[] { 11L, 12L, 21L, 22L }) {
+            GLAccount account = Mockito.mock(GLAccount.class);
+            when(account.getId()).thenReturn(id);
+            when(glAccountRepository.findById(id)).thenReturn(Optional.of(account));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        moneyHelper.close();
+    }
+
+    @Test
+    public void testProvisioningDataGroupByMatchesTheEntryLineKey() {
+        // given
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        DatabaseSpecificSQLGenerator sqlGenerator = Mockito.mock(DatabaseSpecificSQLGenerator.class);
+        when(sqlGenerator.dateDiff("?", "sch.duedate")).thenReturn("DATEDIFF(?,sch.duedate)");
+        ProvisioningEntriesReadPlatformServiceImpl readPlatformService = new ProvisioningEntriesReadPlatformServiceImpl(jdbcTemplate, null,
+                null, sqlGenerator);
+
+        // when
+        readPlatformService.retrieveLoanProductsProvisioningData(DATE);
+
+        // then
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sqlCaptor.capture(), any(RowMapper.class), eq("2024-03-01"), eq("2024-03-01"), eq("2024-03-01"));
+        String sql = sqlCaptor.getValue();
+        Set<String> groupBy = columns(sql.substring(sql.lastIndexOf(" group by ") + " group by ".length()));
+        Set<String> expectedGroupBy = new HashSet<>(ENTRY_LINE_KEY.keySet());
+        // the percentage follows from criteria and category, lines differing in it only are merged by partialHashCode
+        expectedGroupBy.add("provision_percentage");
+        Assertions.assertEquals(expectedGroupBy, groupBy);
+        Set<String> selected = columns(sql.substring("select ".length(), sql.indexOf(" from (")));
+        Assertions.assertTrue(selected.containsAll(groupBy));
+        Assertions.assertTrue(selected.contains("sum(outstandingbalance) as outstandingbalance"));
+    }
+
+    @Test
+    public void testEveryGroupByColumnSeparatesEntryLines() {
+        for (Map.Entry<String, UnaryOperator<LoanProductProvisioningEntryData>> column : ENTRY_LINE_KEY.entrySet()) {
+            // given
+            when(provisioningEntriesReadPlatformService.retrieveLoanProductsProvisioningData(DATE))
+                    .thenReturn(List.of(data("5", "1000"), column.getValue().apply(data("5", "300"))));
+
+            // when
+            Collection<LoanProductProvisioningEntry> entries = underTest.createProvisioningEntry(DATE, false)
+                    .getLoanProductProvisioningEntries();
+
+            // then
+            Assertions.assertEquals(2, entries.size(), column.getKey());
+            Assertions.assertEquals(List.of(new BigDecimal("15.00"), new BigDecimal("50.00")), reservedAmounts(entries), column.getKey());
+        }
+    }
+
+    @Test
+    public void testReserveAmountsAreSummedPerEntryLine() {
+        // given
+        when(provisioningEntriesReadPlatformService.retrieveLoanProductsProvisioningData(DATE)).thenReturn(List.of(data("5", "1000"),
+                data("5", "300").setOverdueInDays(40L), data("10", "200"), data("5", "100").setOfficeId(2L)));
+
+        // when
+        ProvisioningEntry provisioningEntry = underTest.createProvisioningEntry(DATE, false);
+
+        // then
+        Collection<LoanProductProvisioningEntry> entries = provisioningEntry.getLoanProductProvisioningEntries();
+        Assertions.assertEquals(3, entries.size());
+        Assertions.assertEquals(List.of(new BigDecimal("5.00"), new BigDecimal("15.00"), new BigDecimal("70.00")),
+                reservedAmounts(entries));
+        verify(provisioningEntryRepository).saveAndFlush(provisioningEntry);
+        // the referenced entities are loaded once per distinct id
+        verify(loanProductRepository).findById(1L);
+        verify(officeRepositoryWrapper).findOneWithNotFoundDetection(1L);
+        verify(officeRepositoryWrapper).findOneWithNotFoundDetection(2L);
+        verify(provisioningCategoryRepository).findById(1L);
+        verify(glAccountRepository).findById(11L);
+        verify(glAccountRepository).findById(12L);
+        verify(glAccountRepository, times(2)).findById(anyLong());
+    }
+
+    private static LoanProductProvisioningEntryData data(String percentage, String balance) {
+        return new LoanProductProvisioningEntryData().setOfficeId(1L).setCriteriaId(1L).setProductId(1L).setCurrencyCode("USD")
+                .setOverdueInDays(10L).setCategoryId(1L).setLiablityAccount(11L).setExpenseAccount(12L)
+                .setPercentage(new BigDecimal(percentage)).setBalance(new BigDecimal(balance));
+    }
+
+    private static List<BigDecimal> reservedAmounts(Collection<LoanProductProvisioningEntry> entries) {
+        List<BigDecimal> reservedAmounts = new ArrayList<>();
+        entries.forEach(entry -> reservedAmounts.add(entry.getReservedAmount()));
+        reservedAmounts.sort(BigDecimal::compareTo);
+        return reservedAmounts;
+    }
+
+    private static Set<String> columns(String columnList) {
+        return Arrays.stream(columnList.split(",")).map(String::trim).map(column -> column.replace("t.", ""))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.fineract.infrastructure.jobs.service.updatenpa.LoanNpaUpdateHandler;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class UpdateLoanNpaBusinessStepTest {
+
+    @Mock
+    private LoanNpaUpdateHandler loanNpaUpdateHandler;
+    @Mock
+    private Loan loan;
+
+    private UpdateLoanNpaBusinessStep underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new UpdateLoanNpaBusinessStep(loanNpaUpdateHandler);
+        when(loan.getId()).thenReturn(1L);
+    }
+
+    @Test
+    public void givenLoanCrossingThresholdWhenExecuteThenNpaIsFlipped() {
+        // given
+        when(loan.isNpa()).thenReturn(false);
+        when(loanNpaUpdateHandler.isCrossingNpaThreshold(true, 1L)).thenReturn(true);
+
+        // when
+        underTest.execute(loan);
+
+        // then
+        verify(loanNpaUpdateHandler).updateNpa(1L, true);
+        verify(loan).markAsNpa(true);
+    }
+
+    @Test
+    public void givenLoanNotCrossingThresholdWhenExecuteThenNpaIsUnchanged() {
+        // given
+        when(loan.isNpa()).thenReturn(true);
+        when(loanNpaUpdateHandler.isCrossingNpaThreshold(false, 1L)).thenReturn(false);
+
+        // when
+        underTest.execute(loan);
+
+        // then
+        verify(loanNpaUpdateHandler, never()).updateNpa(anyLong(), anyBoolean());
+        verify(loan, never()).markAsNpa(anyBoolean());
+    }
+}
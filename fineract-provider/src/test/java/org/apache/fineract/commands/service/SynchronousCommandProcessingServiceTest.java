@@ -20,12 +20,14 @@ package org.apache.fineract.commands.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
+import org.apache.fineract.commands.domain.CommandAuditMode;
 import org.apache.fineract.commands.domain.CommandProcessingResultType;
 import org.apache.fineract.commands.domain.CommandSource;
 import org.apache.fineract.commands.domain.CommandWrapper;
@@ -69,6 +71,10 @@ public class SynchronousCommandProcessingServiceTest {
     private IdempotencyKeyResolver idempotencyKeyResolver;
     @Mock
     private CommandSourceService commandSourceService;
+    @Mock
+    private CommandAuditPolicy commandAuditPolicy;
+    @Mock
+    private CommandAuditAppender commandAuditAppender;
 
     @Spy
     private FineractRequestContextHolder fineractRequestContextHolder;
@@ -88,10 +94,6 @@ public class SynchronousCommandProcessingServiceTest {
     @Test
     public void testExecuteCommandSuccess() {
         CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
-        when(commandWrapper.isDatatableResource()).thenReturn(false);
-        when(commandWrapper.isNoteResource()).thenReturn(false);
-        when(commandWrapper.isSurveyResource()).thenReturn(false);
-        when(commandWrapper.isLoanDisburseDetailResource()).thenReturn(false);
 
         long commandId = 1L;
         JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
@@ -129,13 +131,45 @@ public class SynchronousCommandProcessingServiceTest {
         assertEquals(commandProcessingResult, actualCommandProcessingResult);
     }
 
+    @Test
+    public void testExecuteCommandWithCompactAuditSavesSingleEntry() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+
+        NewCommandSourceHandler commandHandler = Mockito.mock(NewCommandSourceHandler.class);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(commandHandler);
+
+        when(configurationDomainService.isMakerCheckerEnabledForTask(Mockito.any())).thenReturn(false);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(null);
+
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(2L);
+        when(commandSourceService.getInitialCommandSource(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandAuditPolicy.getAuditMode(commandWrapper)).thenReturn(CommandAuditMode.COMPACT);
+        when(commandAuditPolicy.compact(commandSource)).thenReturn(commandSource);
+        when(commandSourceService.processCommandAndSaveResult(Mockito.eq(commandHandler), Mockito.eq(commandWrapper),
+                Mockito.eq(jsonCommand), Mockito.eq(commandSource), Mockito.eq(appUser), Mockito.any()))
+                .thenReturn(commandProcessingResult);
+
+        CommandProcessingResult actualCommandProcessingResult = underTest.executeCommand(commandWrapper, jsonCommand, false);
+
+        assertEquals(commandProcessingResult, actualCommandProcessingResult);
+        verify(commandAuditPolicy).compact(commandSource);
+        verify(commandSourceService, never()).saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk);
+        verify(commandSourceService, never()).saveResultSameTransaction(Mockito.any());
+        verify(commandAuditAppender, never()).append(Mockito.any(), Mockito.any());
+        verify(request).setAttribute(SynchronousCommandProcessingService.COMMAND_SOURCE_ID, 2L);
+    }
+
     @Test
     public void testExecuteCommandFails() {
         CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
-        when(commandWrapper.isDatatableResource()).thenReturn(false);
-        when(commandWrapper.isNoteResource()).thenReturn(false);
-        when(commandWrapper.isSurveyResource()).thenReturn(false);
-        when(commandWrapper.isLoanDisburseDetailResource()).thenReturn(false);
         JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
         Long commandId = jsonCommand.commandId();
 
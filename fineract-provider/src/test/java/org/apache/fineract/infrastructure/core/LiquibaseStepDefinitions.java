@@ -44,6 +44,7 @@ import org.apache.fineract.infrastructure.core.service.migration.TenantDataSourc
 import org.apache.fineract.infrastructure.core.service.migration.TenantDatabaseStateVerifier;
 import org.apache.fineract.infrastructure.core.service.migration.TenantDatabaseUpgradeService;
 import org.apache.fineract.infrastructure.core.service.migration.TenantPasswordEncryptionTask;
+import org.apache.fineract.infrastructure.core.service.migration.TenantSchemaChecksumService;
 import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
@@ -189,6 +190,7 @@ public class LiquibaseStepDefinitions implements En {
                 .willReturn(tenantLiquibase);
 
         tenantDatabaseUpgradeService = new TenantDatabaseUpgradeService(tenantDetailsService, tenantStoreDataSource, fineractProperties,
-                databaseStateVerifier, liquibaseFactory, tenantDataSourceFactory, environment, Arrays.asList(tenantPasswordEncryptor));
+                databaseStateVerifier, liquibaseFactory, tenantDataSourceFactory, environment, mock(TenantSchemaChecksumService.class),
+                Arrays.asList(tenantPasswordEncryptor));
     }
 }
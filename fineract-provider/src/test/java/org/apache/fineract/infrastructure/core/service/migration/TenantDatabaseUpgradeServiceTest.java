@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.migration;
+
+import static org.apache.fineract.infrastructure.core.service.migration.TenantDatabaseUpgradeService.CUSTOM_CHANGELOG_CONTEXT;
+import static org.apache.fineract.infrastructure.core.service.migration.TenantDatabaseUpgradeService.TENANT_DB_CONTEXT;
+import static org.apache.fineract.infrastructure.core.service.migration.TenantDatabaseUpgradeService.TENANT_STORE_DB_CONTEXT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import liquibase.exception.LiquibaseException;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class TenantDatabaseUpgradeServiceTest {
+
+    private final TenantDetailsService tenantDetailsService = mock(TenantDetailsService.class);
+    private final DataSource tenantStoreDataSource = mock(DataSource.class);
+    private final TenantDatabaseStateVerifier databaseStateVerifier = mock(TenantDatabaseStateVerifier.class);
+    private final ExtendedSpringLiquibaseFactory liquibaseFactory = mock(ExtendedSpringLiquibaseFactory.class);
+    private final TenantDataSourceFactory tenantDataSourceFactory = mock(TenantDataSourceFactory.class);
+    private final TenantSchemaChecksumService schemaChecksumService = mock(TenantSchemaChecksumService.class);
+    private final Map<String, FineractPlatformTenant> tenants = new ConcurrentHashMap<>();
+    private final Map<String, DataSource> tenantDataSources = new ConcurrentHashMap<>();
+    private final Map<String, ExtendedSpringLiquibase> tenantLiquibases = new ConcurrentHashMap<>();
+
+    private FineractProperties.FineractTenantUpgradeProperties upgradeProperties;
+    private TenantDatabaseUpgradeService upgradeService;
+
+    @BeforeEach
+    public void setUp() {
+        upgradeProperties = new FineractProperties.FineractTenantUpgradeProperties();
+        final FineractProperties.FineractTenantProperties tenantProperties = new FineractProperties.FineractTenantProperties();
+        tenantProperties.setUpgrade(upgradeProperties);
+        final FineractProperties.FineractModeProperties modeProperties = new FineractProperties.FineractModeProperties();
+        modeProperties.setWriteEnabled(true);
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setTenant(tenantProperties);
+        fineractProperties.setMode(modeProperties);
+
+        given(liquibaseFactory.create(tenantStoreDataSource, TENANT_STORE_DB_CONTEXT)).willReturn(mock(ExtendedSpringLiquibase.class));
+        upgradeService = new TenantDatabaseUpgradeService(tenantDetailsService, tenantStoreDataSource, fineractProperties,
+                databaseStateVerifier, liquibaseFactory, tenantDataSourceFactory, new MockEnvironment(), schemaChecksumService, List.of());
+    }
+
+    @Test
+    public void testTenantsAreUpgradedInParallelWithTheirOwnLiquibase() throws Exception {
+        upgradeProperties.setPoolSize(2);
+        tenants("first", "second");
+        // both upgrades have to be running at the same time to pass the barrier
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        for (ExtendedSpringLiquibase liquibase : tenantLiquibases.values()) {
+            willAnswer(invocation -> {
+                threadNames.add(Thread.currentThread().getName());
+                barrier.await(10, TimeUnit.SECONDS);
+                return null;
+            }).given(liquibase).afterPropertiesSet();
+        }
+
+        upgradeService.afterPropertiesSet();
+
+        assertThat(threadNames).hasSize(2).allMatch(name -> name.startsWith("tenant-upgrade-"));
+        for (String tenant : List.of("first", "second")) {
+            verify(liquibaseFactory).create(tenantDataSources.get(tenant), TENANT_DB_CONTEXT, CUSTOM_CHANGELOG_CONTEXT, tenant);
+            verify(tenantLiquibases.get(tenant)).afterPropertiesSet();
+        }
+    }
+
+    @Test
+    public void testFailingTenantsAreReportedAfterTheOthersFinished() throws Exception {
+        upgradeProperties.setPoolSize(1);
+        tenants("first", "second", "third");
+        final IllegalStateException firstFailure = new IllegalStateException("first failed");
+        willThrow(firstFailure).given(tenantLiquibases.get("first")).afterPropertiesSet();
+        willThrow(new LiquibaseException("second failed")).given(tenantLiquibases.get("second")).afterPropertiesSet();
+
+        assertThatThrownBy(() -> upgradeService.afterPropertiesSet()).isSameAs(firstFailure);
+
+        assertThat(firstFailure.getSuppressed()).hasSize(1);
+        assertThat(firstFailure.getSuppressed()[0]).hasMessage("Error while migrating the schema of tenant second")
+                .hasCauseInstanceOf(LiquibaseException.class);
+        verify(tenantLiquibases.get("third")).afterPropertiesSet();
+    }
+
+    @Test
+    public void testUpToDateTenantIsSkipped() throws Exception {
+        upgradeProperties.setChecksumSkipEnabled(true);
+        tenants("current", "outdated", "new");
+        given(schemaChecksumService.calculateChangelogChecksum()).willReturn("checksum");
+        given(schemaChecksumService.findAppliedChecksums()).willReturn(Map.of("current", "checksum", "outdated", "previous"));
+
+        upgradeService.afterPropertiesSet();
+
+        verify(tenantDataSourceFactory, never()).create(tenants.get("current"));
+        verify(tenantLiquibases.get("outdated")).afterPropertiesSet();
+        verify(tenantLiquibases.get("new")).afterPropertiesSet();
+        verify(schemaChecksumService, never()).storeAppliedChecksum(eq("current"), anyString());
+        verify(schemaChecksumService).storeAppliedChecksum("outdated", "checksum");
+        verify(schemaChecksumService).storeAppliedChecksum("new", "checksum");
+    }
+
+    @Test
+    public void testChecksumIsNotStoredForFailedUpgrade() throws Exception {
+        upgradeProperties.setChecksumSkipEnabled(true);
+        tenants("failing");
+        given(schemaChecksumService.calculateChangelogChecksum()).willReturn("checksum");
+        given(schemaChecksumService.findAppliedChecksums()).willReturn(Map.of());
+        willThrow(new IllegalStateException("failed")).given(tenantLiquibases.get("failing")).afterPropertiesSet();
+
+        assertThatThrownBy(() -> upgradeService.afterPropertiesSet()).hasMessage("failed");
+
+        verify(schemaChecksumService, never()).storeAppliedChecksum(anyString(), anyString());
+    }
+
+    @Test
+    public void testEveryTenantIsUpgradedWhenChecksumSkipIsDisabled() throws Exception {
+        tenants("first", "second");
+
+        upgradeService.afterPropertiesSet();
+
+        verify(schemaChecksumService, never()).calculateChangelogChecksum();
+        verify(schemaChecksumService, never()).findAppliedChecksums();
+        verify(schemaChecksumService, never()).storeAppliedChecksum(anyString(), anyString());
+        verify(tenantLiquibases.get("first")).afterPropertiesSet();
+        verify(tenantLiquibases.get("second")).afterPropertiesSet();
+    }
+
+    @Test
+    public void testEveryTenantIsUpgradedWhenChecksumCannotBeCalculated() throws Exception {
+        upgradeProperties.setChecksumSkipEnabled(true);
+        tenants("first");
+        given(schemaChecksumService.calculateChangelogChecksum()).willThrow(new IOException("unreadable"));
+
+        upgradeService.afterPropertiesSet();
+
+        verify(schemaChecksumService, never()).findAppliedChecksums();
+        verify(tenantLiquibases.get("first")).afterPropertiesSet();
+        verify(schemaChecksumService, never()).storeAppliedChecksum(anyString(), anyString());
+    }
+
+    private void tenants(final String... identifiers) {
+        final List<FineractPlatformTenant> allTenants = new ArrayList<>();
+        for (String identifier : identifiers) {
+            final FineractPlatformTenant tenant = new FineractPlatformTenant((long) allTenants.size() + 1, identifier, identifier,
+                    "Asia/Kolkata", null);
+            final DataSource dataSource = mock(DataSource.class);
+            final ExtendedSpringLiquibase liquibase = mock(ExtendedSpringLiquibase.class);
+            given(tenantDataSourceFactory.create(tenant)).willReturn(dataSource);
+            given(liquibaseFactory.create(dataSource, TENANT_DB_CONTEXT, CUSTOM_CHANGELOG_CONTEXT, identifier)).willReturn(liquibase);
+            tenantDataSources.put(identifier, dataSource);
+            tenantLiquibases.put(identifier, liquibase);
+            tenants.put(identifier, tenant);
+            allTenants.add(tenant);
+        }
+        given(tenantDetailsService.findAllTenants()).willReturn(allTenants);
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import javax.sql.DataSource;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.mock.env.MockEnvironment;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+class TenantSchemaChecksumServiceTest {
+
+    private final DataSource tenantStoreDataSource = mock(DataSource.class);
+    private final ResourcePatternResolver resourceResolver = mock(ResourcePatternResolver.class);
+    private final MockEnvironment environment = new MockEnvironment();
+
+    @Test
+    public void testChecksumDoesNotDependOnChangelogLocationOrOrder() throws IOException {
+        changelogs(changelog("file:/first/db/changelog/tenant/a.xml", "a"), changelog("jar:file:/app.jar!/db/changelog/tenant/b.xml", "b"));
+        final String checksum = checksum();
+
+        changelogs(changelog("file:/second/db/changelog/tenant/b.xml", "b"), changelog("file:/second/db/changelog/tenant/a.xml", "a"));
+
+        assertThat(checksum()).isEqualTo(checksum).hasSize(64).matches("[0-9a-f]+");
+    }
+
+    @Test
+    public void testChecksumChangesWithChangelogContent() throws IOException {
+        changelogs(changelog("file:/app/db/changelog/tenant/a.xml", "a"));
+        final String checksum = checksum();
+
+        changelogs(changelog("file:/app/db/changelog/tenant/a.xml", "changed"));
+        assertThat(checksum()).isNotEqualTo(checksum);
+
+        changelogs(changelog("file:/app/db/changelog/tenant/renamed.xml", "a"));
+        assertThat(checksum()).isNotEqualTo(checksum);
+    }
+
+    @Test
+    public void testChecksumChangesWithCustomChangelogsAndProfiles() throws IOException {
+        changelogs(changelog("file:/app/db/changelog/tenant/a.xml", "a"));
+        final String checksum = checksum();
+
+        final Resource custom = changelog("file:/custom/db/custom-changelog/c.xml", "c");
+        given(resourceResolver.getResources("classpath*:db/custom-changelog/**/*")).willReturn(new Resource[] { custom });
+        final String customChecksum = checksum();
+        assertThat(customChecksum).isNotEqualTo(checksum);
+
+        environment.setActiveProfiles("test");
+        assertThat(checksum()).isNotEqualTo(customChecksum);
+    }
+
+    @Test
+    public void testAppliedChecksumsAreReadAndStoredInTheTenantStore() throws SQLException {
+        final Connection connection = mock(Connection.class);
+        final Statement statement = mock(Statement.class);
+        final ResultSet resultSet = mock(ResultSet.class);
+        final PreparedStatement update = mock(PreparedStatement.class);
+        given(tenantStoreDataSource.getConnection()).willReturn(connection);
+        given(connection.createStatement()).willReturn(statement);
+        given(statement.executeQuery("SELECT identifier, schema_checksum FROM tenants WHERE schema_checksum IS NOT NULL"))
+                .willReturn(resultSet);
+        given(resultSet.next()).willReturn(true, true, false);
+        given(resultSet.getString("identifier")).willReturn("first", "second");
+        given(resultSet.getString("schema_checksum")).willReturn("one", "two");
+        given(connection.prepareStatement("UPDATE tenants SET schema_checksum = ? WHERE identifier = ?")).willReturn(update);
+        final TenantSchemaChecksumService service = new TenantSchemaChecksumService(tenantStoreDataSource, resourceResolver, environment);
+
+        assertThat(service.findAppliedChecksums()).isEqualTo(Map.of("first", "one", "second", "two"));
+
+        service.storeAppliedChecksum("first", "three");
+        verify(update).setString(1, "three");
+        verify(update).setString(2, "first");
+        verify(update).executeUpdate();
+    }
+
+    @Test
+    public void testChecksumColumnFitsTheChecksum() throws Exception {
+        final Document changelog;
+        try (InputStream in = new DefaultResourceLoader()
+                .getResource("classpath:db/changelog/tenant-store/parts/0011_tenant_schema_checksum.xml").getInputStream()) {
+            changelog = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+        }
+        final Element changeSet = (Element) changelog.getElementsByTagName("changeSet").item(0);
+        final Element addColumn = (Element) changelog.getElementsByTagName("addColumn").item(0);
+        final Element column = (Element) changelog.getElementsByTagName("column").item(0);
+
+        assertThat(changeSet.getAttribute("context")).isEqualTo(TenantDatabaseUpgradeService.TENANT_STORE_DB_CONTEXT);
+        assertThat(addColumn.getAttribute("tableName")).isEqualTo("tenants");
+        assertThat(column.getAttribute("name")).isEqualTo("schema_checksum");
+        // hex encoded SHA-256
+        assertThat(column.getAttribute("type")).isEqualTo("VARCHAR(64)");
+    }
+
+    private String checksum() throws IOException {
+        return new TenantSchemaChecksumService(tenantStoreDataSource, resourceResolver, environment).calculateChangelogChecksum();
+    }
+
+    private void changelogs(final Resource... changelogs) throws IOException {
+        given(resourceResolver.getResources(anyString())).willReturn(new Resource[0]);
+        given(resourceResolver.getResources("classpath*:db/changelog/**/*")).willReturn(changelogs);
+    }
+
+    private static Resource changelog(final String url, final String content) throws IOException {
+        final Resource resource = mock(Resource.class);
+        given(resource.isReadable()).willReturn(true);
+        given(resource.getURL()).willReturn(URI.create(url).toURL());
+        given(resource.getInputStream()).willAnswer(invocation -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        return resource;
+    }
+}
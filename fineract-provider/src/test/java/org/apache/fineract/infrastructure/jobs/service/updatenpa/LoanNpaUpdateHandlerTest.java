@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service.updatenpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+class LoanNpaUpdateHandlerTest {
+
+    private static final String NPA_OVERDUE_SINCE = "laa.overdue_since_date_derived < DATE_SUB(BUSINESS_DATE, NPA_DAYS)";
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @InjectMocks
+    private LoanNpaUpdateHandler underTest;
+    @Captor
+    private ArgumentCaptor<String> sqlCaptor;
+    @Captor
+    private ArgumentCaptor<SqlParameterSource> parametersCaptor;
+
+    @Test
+    void loansEnteringNpaAreActiveAndOverdueLongerThanTheProductThreshold() {
+        givenNpaOverdueSince();
+        given(sqlGenerator.limit(500)).willReturn("LIMIT 500");
+        given(namedParameterJdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .willReturn(List.of(11L, 12L));
+
+        assertThat(underTest.retrieveLoansCrossingNpaThreshold(true, 10L, 500)).containsExactly(11L, 12L);
+
+        verify(namedParameterJdbcTemplate).queryForList(sqlCaptor.capture(), parametersCaptor.capture(), eq(Long.class));
+        assertThat(sqlCaptor.getValue()).startsWith("select loan.id from m_loan loan ")
+                .contains("inner join m_product_loan mpl on mpl.id = loan.product_id and mpl.overdue_days_for_npa is not null ")
+                .contains("inner join m_loan_arrears_aging laa on laa.loan_id = loan.id ")
+                .contains("where loan.is_npa = false and loan.loan_status_id = :active and " + NPA_OVERDUE_SINCE)
+                .endsWith(" and loan.id > :lastLoanId order by loan.id LIMIT 500");
+        assertThat(parametersCaptor.getValue().getValue("active")).isEqualTo(LoanStatus.ACTIVE.getValue());
+        assertThat(parametersCaptor.getValue().getValue("lastLoanId")).isEqualTo(10L);
+    }
+
+    @Test
+    void loansLeavingNpaAreNoLongerOverdueLongerThanTheProductThreshold() {
+        givenNpaOverdueSince();
+        given(sqlGenerator.limit(500)).willReturn("LIMIT 500");
+
+        underTest.retrieveLoansCrossingNpaThreshold(false, 0L, 500);
+
+        verify(namedParameterJdbcTemplate).queryForList(sqlCaptor.capture(), parametersCaptor.capture(), eq(Long.class));
+        assertThat(sqlCaptor.getValue()).startsWith("select loan.id from m_loan loan ")
+                .contains("inner join m_product_loan mpl on mpl.id = loan.product_id and mpl.overdue_days_for_npa is not null ")
+                // loans without arrears ageing leave NPA as well
+                .contains("left join m_loan_arrears_aging laa on laa.loan_id = loan.id ").contains("where loan.is_npa = true ")
+                .contains("and ((loan.loan_status_id = :active and mpl.account_moves_out_of_npa_only_on_arrears_completion = false) "
+                        + "or (mpl.account_moves_out_of_npa_only_on_arrears_completion = true "
+                        + "and laa.overdue_since_date_derived is null)) ")
+                // loans still qualifying for NPA stay
+                .contains("and not (loan.loan_status_id = :active and laa.overdue_since_date_derived is not null and "
+                        + NPA_OVERDUE_SINCE + ")")
+                .endsWith(" and loan.id > :lastLoanId order by loan.id LIMIT 500");
+        assertThat(parametersCaptor.getValue().getValue("lastLoanId")).isEqualTo(0L);
+    }
+
+    @Test
+    void singleLoanIsCheckedWithTheSameConditions() {
+        givenNpaOverdueSince();
+        given(namedParameterJdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class))).willReturn(1L, 0L,
+                null);
+
+        assertThat(underTest.isCrossingNpaThreshold(true, 7L)).isTrue();
+        assertThat(underTest.isCrossingNpaThreshold(true, 7L)).isFalse();
+        assertThat(underTest.isCrossingNpaThreshold(true, 7L)).isFalse();
+
+        verify(namedParameterJdbcTemplate, times(3)).queryForObject(sqlCaptor.capture(), parametersCaptor.capture(),
+                eq(Long.class));
+        assertThat(sqlCaptor.getValue()).startsWith("select count(loan.id) from m_loan loan ")
+                .contains("where loan.is_npa = false and loan.loan_status_id = :active and " + NPA_OVERDUE_SINCE)
+                .endsWith(" and loan.id = :loanId");
+        assertThat(parametersCaptor.getValue().getValue("loanId")).isEqualTo(7L);
+    }
+
+    @Test
+    void batchUpdateOnlyFlipsLoansStillHavingTheOppositeFlag() {
+        underTest.updateNpa(List.of(11L, 12L), true, 3L);
+
+        verify(namedParameterJdbcTemplate).update(sqlCaptor.capture(), parametersCaptor.capture());
+        assertThat(sqlCaptor.getValue()).isEqualTo("update m_loan set is_npa = :npa, last_modified_by = :userId, "
+                + "last_modified_on_utc = :modifiedOn where id in (:loanIds) and is_npa = :currentNpa");
+        final SqlParameterSource parameters = parametersCaptor.getValue();
+        assertThat(parameters.getValue("npa")).isEqualTo(true);
+        assertThat(parameters.getValue("currentNpa")).isEqualTo(false);
+        assertThat(parameters.getValue("userId")).isEqualTo(3L);
+        assertThat(parameters.getValue("loanIds")).isEqualTo(List.of(11L, 12L));
+        assertThat(parameters.getValue("modifiedOn")).isNotNull();
+    }
+
+    @Test
+    void singleLoanUpdateOnlyFlipsTheFlag() {
+        underTest.updateNpa(7L, false);
+
+        verify(namedParameterJdbcTemplate).update(sqlCaptor.capture(), parametersCaptor.capture());
+        assertThat(sqlCaptor.getValue()).isEqualTo("update m_loan set is_npa = :npa where id = :loanId and is_npa = :currentNpa");
+        assertThat(parametersCaptor.getValue().getValue("npa")).isEqualTo(false);
+        assertThat(parametersCaptor.getValue().getValue("currentNpa")).isEqualTo(true);
+        assertThat(parametersCaptor.getValue().getValue("loanId")).isEqualTo(7L);
+    }
+
+    private void givenNpaOverdueSince() {
+        given(sqlGenerator.currentBusinessDate()).willReturn("BUSINESS_DATE");
+        given(sqlGenerator.subDate("BUSINESS_DATE", "COALESCE(mpl.overdue_days_for_npa, 0)", "day"))
+                .willReturn("DATE_SUB(BUSINESS_DATE, NPA_DAYS)");
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service.updatenpa;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractJobProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.repeat.RepeatStatus;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class UpdateNpaTaskletTest {
+
+    private static final Long USER_ID = 9L;
+
+    @Mock
+    private LoanNpaUpdateHandler loanNpaUpdateHandler;
+
+    @Mock
+    private PlatformSecurityContext context;
+
+    @Mock
+    private AppUser user;
+
+    private final FineractProperties fineractProperties = new FineractProperties();
+
+    private UpdateNpaTasklet underTest;
+
+    private StepExecution stepExecution;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractJobProperties jobProperties = new FineractJobProperties();
+        jobProperties.setNpaUpdateBatchSize(2);
+        fineractProperties.setJob(jobProperties);
+        when(context.getAuthenticatedUserIfPresent()).thenReturn(user);
+        when(user.getId()).thenReturn(USER_ID);
+        underTest = new UpdateNpaTasklet(loanNpaUpdateHandler, fineractProperties, context);
+        stepExecution = new JobExecution(1L).createStepExecution("UPDATE_NPA");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testLoansLeavingNpaAreUpdatedBeforeLoansEnteringIt() throws Exception {
+        // given
+        when(loanNpaUpdateHandler.retrieveLoansCrossingNpaThreshold(false, 0L, 2)).thenReturn(List.of(3L, 5L));
+        when(loanNpaUpdateHandler.retrieveLoansCrossingNpaThreshold(false, 5L, 2)).thenReturn(List.of(8L));
+        when(loanNpaUpdateHandler.retrieveLoansCrossingNpaThreshold(true, 0L, 2)).thenReturn(List.of(4L, 6L));
+        when(loanNpaUpdateHandler.retrieveLoansCrossingNpaThreshold(true, 6L, 2)).thenReturn(List.of());
+        when(loanNpaUpdateHandler.updateNpa(anyList(), anyBoolean(), anyLong())).thenAnswer(i -> i.getArgument(0, List.class).size());
+
+        // when & then
+        Assertions.assertEquals(RepeatStatus.CONTINUABLE, execute());
+        Assertions.assertEquals(5L, stepExecution.getExecutionContext().getLong("lastLoanId"));
+        Assertions.assertEquals(RepeatStatus.CONTINUABLE, execute());
+        // a partial batch ends the leaving phase and starts the entering phase from the first loan
+        Assertions.assertEquals(Boolean.TRUE, stepExecution.getExecutionContext().get("enteringNpa"));
+        Assertions.assertEquals(0L, stepExecution.getExecutionContext().getLong("lastLoanId"));
+        Assertions.assertEquals(RepeatStatus.CONTINUABLE, execute());
+        Assertions.assertEquals(6L, stepExecution.getExecutionContext().getLong("lastLoanId"));
+        Assertions.assertEquals(RepeatStatus.FINISHED, execute());
+
+        InOrder inOrder = inOrder(loanNpaUpdateHandler);
+        inOrder.verify(loanNpaUpdateHandler).retrieveLoansCrossingNpaThreshold(false, 0L, 2);
+        inOrder.verify(loanNpaUpdateHandler).updateNpa(List.of(3L, 5L), false, USER_ID);
+        inOrder.verify(loanNpaUpdateHandler).retrieveLoansCrossingNpaThreshold(false, 5L, 2);
+        inOrder.verify(loanNpaUpdateHandler).updateNpa(List.of(8L), false, USER_ID);
+        inOrder.verify(loanNpaUpdateHandler).retrieveLoansCrossingNpaThreshold(true, 0L, 2);
+        inOrder.verify(loanNpaUpdateHandler).updateNpa(List.of(4L, 6L), true, USER_ID);
+        inOrder.verify(loanNpaUpdateHandler).retrieveLoansCrossingNpaThreshold(true, 6L, 2);
+        inOrder.verifyNoMoreInteractions();
+        Assertions.assertEquals(5L, stepExecution.getWriteCount());
+    }
+
+    @Test
+    public void testRestartContinuesAfterTheLastCommittedBatch() throws Exception {
+        // given
+        stepExecution.getExecutionContext().put("enteringNpa", true);
+        stepExecution.getExecutionContext().putLong("lastLoanId", 42L);
+        when(loanNpaUpdateHandler.retrieveLoansCrossingNpaThreshold(true, 42L, 2)).thenReturn(List.of(44L));
+        when(loanNpaUpdateHandler.updateNpa(List.of(44L), true, USER_ID)).thenReturn(1);
+
+        // when
+        RepeatStatus status = execute();
+
+        // then
+        Assertions.assertEquals(RepeatStatus.FINISHED, status);
+        verify(loanNpaUpdateHandler).retrieveLoansCrossingNpaThreshold(true, 42L, 2);
+        verify(loanNpaUpdateHandler).updateNpa(List.of(44L), true, USER_ID);
+        verify(loanNpaUpdateHandler, never()).retrieveLoansCrossingNpaThreshold(false, 0L, 2);
+    }
+
+    @Test
+    public void testNonPositiveBatchSizeIsRejected() {
+        // given
+        fineractProperties.getJob().setNpaUpdateBatchSize(0);
+
+        // when & then
+        Assertions.assertThrows(IllegalStateException.class, this::execute);
+        verifyNoInteractions(loanNpaUpdateHandler);
+    }
+
+    private RepeatStatus execute() throws Exception {
+        // every call runs in its own transaction, the contribution is applied to the step execution on commit
+        StepContribution contribution = new StepContribution(stepExecution);
+        RepeatStatus status = underTest.execute(contribution, null);
+        stepExecution.apply(contribution);
+        return status;
+    }
+}
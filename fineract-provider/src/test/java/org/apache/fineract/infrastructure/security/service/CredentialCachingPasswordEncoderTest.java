@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@ExtendWith(MockitoExtension.class)
+class CredentialCachingPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testSuccessfulVerificationIsRemembered() {
+        when(delegate.matches("password", "{bcrypt}hash")).thenReturn(true);
+        final CredentialCachingPasswordEncoder encoder = new CredentialCachingPasswordEncoder(delegate, 60, 10, meterRegistry);
+
+        assertTrue(encoder.matches("password", "{bcrypt}hash"));
+        assertTrue(encoder.matches("password", "{bcrypt}hash"));
+
+        verify(delegate, times(1)).matches("password", "{bcrypt}hash");
+        assertEquals(1.0, meterRegistry.get("fineract.security.credential.cache").tag("result", "hit").counter().count());
+        assertEquals(1L, meterRegistry.get("fineract.security.credential.verification").timer().count());
+    }
+
+    @Test
+    void testFailedVerificationAndChangedPasswordAreNotServedFromCache() {
+        when(delegate.matches("password", "{bcrypt}hash")).thenReturn(true);
+        when(delegate.matches("wrong", "{bcrypt}hash")).thenReturn(false);
+        when(delegate.matches("password", "{bcrypt}newhash")).thenReturn(false);
+        final CredentialCachingPasswordEncoder encoder = new CredentialCachingPasswordEncoder(delegate, 60, 10, meterRegistry);
+
+        assertTrue(encoder.matches("password", "{bcrypt}hash"));
+        assertFalse(encoder.matches("wrong", "{bcrypt}hash"));
+        assertFalse(encoder.matches("wrong", "{bcrypt}hash"));
+        assertFalse(encoder.matches("password", "{bcrypt}newhash"));
+
+        verify(delegate, times(2)).matches("wrong", "{bcrypt}hash");
+        verify(delegate, times(1)).matches("password", "{bcrypt}newhash");
+    }
+}
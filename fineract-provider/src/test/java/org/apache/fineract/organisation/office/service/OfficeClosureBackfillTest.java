@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.office.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+class OfficeClosureBackfillTest {
+
+    @Test
+    void backfillLinksOfficesByTheirHierarchy() throws Exception {
+        final Document changelog;
+        try (InputStream in = new DefaultResourceLoader().getResource("classpath:db/changelog/tenant/parts/0152_office_closure.xml")
+                .getInputStream()) {
+            changelog = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+        }
+        final Element createTable = (Element) changelog.getElementsByTagName("createTable").item(0);
+        final Element createIndex = (Element) changelog.getElementsByTagName("createIndex").item(0);
+        final String backfill = changelog.getElementsByTagName("sql").item(0).getTextContent().trim().replaceAll("\\s+", " ");
+
+        assertThat(createTable.getAttribute("tableName")).isEqualTo("m_office_closure");
+        assertThat(createIndex.getAttribute("tableName")).isEqualTo("m_office_closure");
+        assertThat(backfill).isEqualTo("INSERT INTO m_office_closure (ancestor_id, descendant_id)"
+                + " SELECT a.id, d.id FROM m_office a JOIN m_office d ON d.hierarchy LIKE CONCAT(a.hierarchy, '%')");
+    }
+
+    @Test
+    void hierarchyPrefixesMatchTheParentsAfterAMove() {
+        final Office head = office(1L, null);
+        final Office region = office(2L, head);
+        final Office branch = office(3L, region);
+        final Office subBranch = office(4L, branch);
+        // hierarchy ".23." starts with ".2" but not with ".2."
+        final Office otherRegion = office(23L, head);
+        final List<Office> offices = List.of(head, region, branch, subBranch, otherRegion);
+
+        branch.update(otherRegion);
+
+        assertThat(backfill(offices)).isEqualTo(closureOfParents(offices)).contains(List.of(23L, 4L)).doesNotContain(List.of(2L, 4L));
+    }
+
+    /**
+     * The rows the backfill inserts for the offices, the office pairs whose hierarchy starts with the hierarchy of the
+     * ancestor.
+     */
+    private static Set<List<Long>> backfill(final List<Office> offices) {
+        final Set<List<Long>> rows = new HashSet<>();
+        for (final Office ancestor : offices) {
+            for (final Office descendant : offices) {
+                if (descendant.getHierarchy().startsWith(ancestor.getHierarchy())) {
+                    rows.add(List.of(ancestor.getId(), descendant.getId()));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static Set<List<Long>> closureOfParents(final List<Office> offices) {
+        final Set<List<Long>> rows = new HashSet<>();
+        for (final Office descendant : offices) {
+            for (Office ancestor = descendant; ancestor != null; ancestor = ancestor.getParent()) {
+                rows.add(List.of(ancestor.getId(), descendant.getId()));
+            }
+        }
+        return rows;
+    }
+
+    private static Office office(final Long id, final Office parent) {
+        final Office office = Office.headOffice("Office " + id, LocalDate.of(2024, 1, 1), ExternalId.empty());
+        office.setId(id);
+        if (parent != null) {
+            office.setParent(parent);
+            parent.getChildren().add(office);
+        }
+        office.generateHierarchy();
+        return office;
+    }
+}
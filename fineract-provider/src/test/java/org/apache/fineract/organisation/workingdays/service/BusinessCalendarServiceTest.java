@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.workingdays.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractBusinessCalendarProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class BusinessCalendarServiceTest {
+
+    private static final FineractPlatformTenant DEFAULT_TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata",
+            null);
+    private static final FineractPlatformTenant OTHER_TENANT = new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null);
+
+    private final HolidayRepositoryWrapper holidayRepository = mock(HolidayRepositoryWrapper.class);
+    private final WorkingDaysRepositoryWrapper workingDaysRepository = mock(WorkingDaysRepositoryWrapper.class);
+    private final FineractProperties fineractProperties = new FineractProperties();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private BusinessCalendarService underTest;
+
+    @BeforeEach
+    void setUp() {
+        final FineractBusinessCalendarProperties properties = new FineractBusinessCalendarProperties();
+        properties.setCacheTtlSeconds(300);
+        fineractProperties.setBusinessCalendar(properties);
+        underTest = new BusinessCalendarService(holidayRepository, workingDaysRepository, fineractProperties);
+        ReflectionTestUtils.setField(underTest, "nanoClock", (LongSupplier) nanoTime::get);
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        given(workingDaysRepository.findOne())
+                .willAnswer(invocation -> new WorkingDays("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR",
+                        RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY.getValue(), false, false));
+        given(holidayRepository.findActiveByOfficeId(1L)).willReturn(List.of());
+        given(holidayRepository.findActiveByOfficeId(2L)).willReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void calendarIsCachedPerTenantAndOffice() {
+        final BusinessCalendar calendar = underTest.getCalendar(1L);
+
+        assertThat(underTest.getCalendar(1L)).isSameAs(calendar);
+        assertThat(underTest.getCalendar(2L)).isNotSameAs(calendar);
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        assertThat(underTest.getCalendar(1L)).isNotSameAs(calendar);
+        verify(holidayRepository, times(2)).findActiveByOfficeId(1L);
+        verify(holidayRepository).findActiveByOfficeId(2L);
+    }
+
+    @Test
+    void calendarExpiresAfterTheTimeToLive() {
+        final BusinessCalendar calendar = underTest.getCalendar(1L);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(299));
+        assertThat(underTest.getCalendar(1L)).isSameAs(calendar);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(underTest.getCalendar(1L)).isNotSameAs(calendar);
+    }
+
+    @Test
+    void timeToLiveOfZeroDisablesTheCache() {
+        fineractProperties.getBusinessCalendar().setCacheTtlSeconds(0);
+
+        assertThat(underTest.getCalendar(1L)).isNotSameAs(underTest.getCalendar(1L));
+    }
+
+    @Test
+    void evictionOnlyAffectsTheCurrentTenant() {
+        final BusinessCalendar defaultCalendar = underTest.getCalendar(1L);
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        final BusinessCalendar otherCalendar = underTest.getCalendar(1L);
+
+        underTest.evictTenantCalendars();
+
+        assertThat(underTest.getCalendar(1L)).isNotSameAs(otherCalendar);
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        assertThat(underTest.getCalendar(1L)).isSameAs(defaultCalendar);
+    }
+
+    @Test
+    void calendarCachedByTheChangingTransactionIsEvictedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        underTest.evictTenantCalendars();
+        // loaded from the uncommitted change
+        final BusinessCalendar uncommitted = underTest.getCalendar(1L);
+        assertThat(underTest.getCalendar(1L)).isSameAs(uncommitted);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(underTest.getCalendar(1L)).isNotSameAs(uncommitted);
+    }
+
+    @Test
+    void calendarLoadedDuringAnEvictionIsNotServed() {
+        given(holidayRepository.findActiveByOfficeId(1L)).willAnswer(invocation -> {
+            underTest.evictTenantCalendars();
+            return List.of();
+        }).willReturn(List.of());
+        final BusinessCalendar stale = underTest.getCalendar(1L);
+
+        final BusinessCalendar reloaded = underTest.getCalendar(1L);
+
+        assertThat(reloaded).isNotSameAs(stale);
+        assertThat(underTest.getCalendar(1L)).isSameAs(reloaded);
+    }
+
+    @Test
+    void cachedCalendarDoesNotHoldTheLoadedEntities() {
+        final Holiday holiday = new Holiday().setFromDate(LocalDate.of(2025, 4, 18)).setToDate(LocalDate.of(2025, 4, 21));
+        given(holidayRepository.findActiveByOfficeId(1L)).willReturn(List.of(holiday));
+        final BusinessCalendar calendar = underTest.getCalendar(1L);
+
+        holiday.setToDate(LocalDate.of(2025, 4, 30));
+        calendar.getWorkingDays().setRepaymentReschedulingType(RepaymentRescheduleType.SAME_DAY.getValue());
+
+        final BusinessCalendar cached = underTest.getCalendar(1L);
+        assertThat(cached).isSameAs(calendar);
+        assertThat(cached.isHoliday(LocalDate.of(2025, 4, 22))).isFalse();
+        assertThat(cached.getHolidays()).singleElement().isNotSameAs(holiday);
+        assertThat(cached.getRepaymentRescheduleType()).isEqualTo(RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY);
+    }
+}
@@ -199,4 +199,27 @@ public class CalendarUtilsTest {
         assertThat(result).isEqualTo(expected);
     }
 
+    @Test
+    @WithSystemTimeZone(EUROPE_BERLIN_ID)
+    @WithTenantContext(tenantTimeZoneId = EUROPE_BERLIN_ID)
+    @WithSystemProperty(key = FLOATING_TIMEZONE_PROPERTY_KEY, value = "true")
+    public void testRecurringDatesAreServedFromCacheWithoutSharingState() {
+        // given
+        String recurringRule = "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO";
+        LocalDate seedDate = LocalDate.of(2024, 1, 1);
+        LocalDate periodStartDate = LocalDate.of(2024, 1, 1);
+        LocalDate periodEndDate = LocalDate.of(2024, 3, 1);
+
+        // when
+        Collection<LocalDate> first = CalendarUtils.getRecurringDates(recurringRule, seedDate, periodStartDate, periodEndDate);
+        first.clear();
+        Collection<LocalDate> second = CalendarUtils.getRecurringDates(recurringRule, seedDate, periodStartDate, periodEndDate);
+
+        // then
+        assertThat(second).containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 29),
+                LocalDate.of(2024, 2, 12), LocalDate.of(2024, 2, 26));
+        assertThat(CalendarUtils.getICalRecur(recurringRule)).isSameAs(CalendarUtils.getICalRecur(recurringRule));
+        assertThat(CalendarUtils.getNextRecurringDate(recurringRule, seedDate, LocalDate.of(2024, 1, 2)))
+                .isEqualTo(LocalDate.of(2024, 1, 15));
+    }
 }
@@ -0,0 +1,264 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionToRepaymentScheduleMapping;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+/**
+ * Differential tests: a replay that resumes from a checkpoint must leave the installments, the transactions and the
+ * changed transaction detail exactly as a full replay of the same loan does.
+ */
+public class LoanTransactionReplayCheckpointsTest {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final MockedStatic<MoneyHelper> MONEY_HELPER = Mockito.mockStatic(MoneyHelper.class);
+    private static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2020, 1, 1);
+    private static final int NUMBER_OF_INSTALLMENTS = 60;
+    private static final int NUMBER_OF_REPAYMENTS = 48;
+
+    @BeforeAll
+    public static void init() {
+        MONEY_HELPER.when(MoneyHelper::getMathContext).thenReturn(new MathContext(12, RoundingMode.HALF_EVEN));
+        MONEY_HELPER.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+    }
+
+    @AfterAll
+    public static void destruct() {
+        MONEY_HELPER.close();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2025, 1, 1))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 5, 16, 20, 33, 47 })
+    public void backdatedRepaymentMatchesFullReplay(final int afterRepayment) {
+        // given
+        final CountingProcessor checkpointed = new CountingProcessor();
+        final LoanHistory incremental = LoanHistory.create(checkpointed);
+        final LoanHistory full = LoanHistory.create(new CountingProcessor());
+        final LocalDate transactionDate = dueDate(afterRepayment).plusDays(5);
+
+        // when
+        incremental.addRepayment(transactionDate, 75);
+        full.addRepayment(transactionDate, 75);
+        checkpointed.processed = 0;
+        final ChangedTransactionDetail incrementalResult = incremental.reprocess(checkpointed);
+        final CountingProcessor fullReplay = new CountingProcessor();
+        final ChangedTransactionDetail fullResult = full.reprocess(fullReplay);
+
+        // then
+        assertThat(incremental.describe(incrementalResult)).isEqualTo(full.describe(fullResult));
+        final int skipped = afterRepayment / LoanTransactionReplayCheckpoints.CHECKPOINT_INTERVAL
+                * LoanTransactionReplayCheckpoints.CHECKPOINT_INTERVAL;
+        assertThat(checkpointed.processed).isEqualTo(fullReplay.processed - skipped);
+    }
+
+    @Test
+    public void unchangedHistoryIsNotReplayedAgain() {
+        // given
+        final CountingProcessor checkpointed = new CountingProcessor();
+        final LoanHistory incremental = LoanHistory.create(checkpointed);
+        final LoanHistory full = LoanHistory.create(new CountingProcessor());
+
+        // when
+        checkpointed.processed = 0;
+        final ChangedTransactionDetail incrementalResult = incremental.reprocess(checkpointed);
+        final ChangedTransactionDetail fullResult = full.reprocess(new CountingProcessor());
+
+        // then
+        assertThat(incremental.describe(incrementalResult)).isEqualTo(full.describe(fullResult));
+        assertThat(checkpointed.processed).isZero();
+    }
+
+    @Test
+    public void changedPersistedMappingInvalidatesLaterCheckpoints() {
+        // given
+        final CountingProcessor checkpointed = new CountingProcessor();
+        final LoanHistory incremental = LoanHistory.create(checkpointed);
+        final LoanHistory full = LoanHistory.create(new CountingProcessor());
+        incremental.tamperWithMappingOf(3);
+        full.tamperWithMappingOf(3);
+
+        // when
+        checkpointed.processed = 0;
+        final ChangedTransactionDetail incrementalResult = incremental.reprocess(checkpointed);
+        final CountingProcessor fullReplay = new CountingProcessor();
+        final ChangedTransactionDetail fullResult = full.reprocess(fullReplay);
+
+        // then
+        assertThat(incremental.describe(incrementalResult)).isEqualTo(full.describe(fullResult));
+        assertThat(checkpointed.processed).isEqualTo(fullReplay.processed);
+    }
+
+    private static LocalDate dueDate(final int installmentNumber) {
+        return DISBURSEMENT_DATE.plusMonths(installmentNumber);
+    }
+
+    private static String format(final Money money) {
+        return money.getAmount().toPlainString();
+    }
+
+    private static final class CountingProcessor extends FineractStyleLoanRepaymentScheduleTransactionProcessor {
+
+        private int processed;
+
+        @Override
+        public void processLatestTransaction(final LoanTransaction loanTransaction, final TransactionCtx ctx) {
+            processed++;
+            super.processLatestTransaction(loanTransaction, ctx);
+        }
+    }
+
+    /**
+     * A loan as it is after being persisted: installments and transactions have ids and the transactions carry the
+     * amounts and mappings of their last replay.
+     */
+    private static final class LoanHistory {
+
+        private final Loan loan = Mockito.mock(Loan.class);
+        private final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        private final List<LoanTransaction> transactions = new ArrayList<>();
+
+        static LoanHistory create(final CountingProcessor processor) {
+            final LoanHistory history = new LoanHistory();
+            for (int number = 1; number <= NUMBER_OF_INSTALLMENTS; number++) {
+                final LoanRepaymentScheduleInstallment installment = new LoanRepaymentScheduleInstallment(history.loan, number,
+                        dueDate(number - 1), dueDate(number), BigDecimal.valueOf(100), BigDecimal.valueOf(10), BigDecimal.ZERO,
+                        BigDecimal.ZERO, false, new HashSet<>(), BigDecimal.ZERO);
+                installment.setId((long) number);
+                history.installments.add(installment);
+            }
+            for (int number = 1; number <= NUMBER_OF_REPAYMENTS; number++) {
+                // a mix of early, late, partial and over payments
+                final LocalDate transactionDate = number % 5 == 0 ? dueDate(number).plusDays(12) : dueDate(number).minusDays(3);
+                final int amount = number % 7 == 0 ? 60 : number % 11 == 0 ? 200 : 110;
+                history.addRepayment(transactionDate, amount);
+            }
+            // first replay allocates the new transactions, the second one is the replay of the persisted loan
+            history.reprocess(new CountingProcessor());
+            history.persist();
+            history.reprocess(processor);
+            return history;
+        }
+
+        void addRepayment(final LocalDate transactionDate, final int amount) {
+            final LoanTransaction repayment = new LoanTransaction(loan, null, LoanTransactionType.REPAYMENT.getValue(), transactionDate,
+                    BigDecimal.valueOf(amount), null, null, null, null, null, false, null, ExternalId.empty());
+            int index = 0;
+            while (index < transactions.size() && !transactions.get(index).getTransactionDate().isAfter(transactionDate)) {
+                index++;
+            }
+            transactions.add(index, repayment);
+        }
+
+        void tamperWithMappingOf(final int transactionIndex) {
+            final LoanTransactionToRepaymentScheduleMapping mapping = transactions.get(transactionIndex)
+                    .getLoanTransactionToRepaymentScheduleMappings().iterator().next();
+            mapping.setComponents(BigDecimal.ONE, mapping.getInterestPortion(), null, null);
+        }
+
+        ChangedTransactionDetail reprocess(final AbstractLoanRepaymentScheduleTransactionProcessor processor) {
+            return processor.reprocessLoanTransactions(DISBURSEMENT_DATE, transactions, CURRENCY, installments, new HashSet<>());
+        }
+
+        private void persist() {
+            long id = 1000;
+            for (final LoanTransaction transaction : transactions) {
+                transaction.setId(++id);
+            }
+        }
+
+        List<String> describe(final ChangedTransactionDetail changedTransactionDetail) {
+            final List<String> description = new ArrayList<>();
+            for (final LoanRepaymentScheduleInstallment installment : installments) {
+                description.add("installment " + installment.getInstallmentNumber() + " " + installment.getDueDate() + " principal "
+                        + format(installment.getPrincipalCompleted(CURRENCY)) + " interest " + format(installment.getInterestPaid(CURRENCY))
+                        + " waived " + format(installment.getInterestWaived(CURRENCY)) + " advance "
+                        + format(installment.getTotalPaidInAdvance(CURRENCY)) + " late " + format(installment.getTotalPaidLate(CURRENCY))
+                        + " met " + installment.isObligationsMet() + " " + installment.getObligationsMetOnDate());
+            }
+            for (final LoanTransaction transaction : transactions) {
+                description.add(describe(transaction));
+            }
+            changedTransactionDetail.getNewTransactionMappings()
+                    .forEach((replacedId, transaction) -> description.add("replaces " + replacedId + " " + describe(transaction)));
+            return description;
+        }
+
+        private String describe(final LoanTransaction transaction) {
+            final StringBuilder description = new StringBuilder("transaction ").append(transaction.getId()).append(' ')
+                    .append(transaction.getTransactionDate()).append(" reversed ").append(transaction.isReversed()).append(" amount ")
+                    .append(format(transaction.getAmount(CURRENCY))).append(" principal ")
+                    .append(format(transaction.getPrincipalPortion(CURRENCY))).append(" interest ")
+                    .append(format(transaction.getInterestPortion(CURRENCY))).append(" overpaid ")
+                    .append(format(transaction.getOverPaymentPortion(CURRENCY)));
+            transaction.getLoanTransactionToRepaymentScheduleMappings().stream()
+                    .sorted(Comparator.comparing(mapping -> mapping.getLoanRepaymentScheduleInstallment().getInstallmentNumber()))
+                    .forEach(mapping -> description.append(" | ").append(mapping.getLoanRepaymentScheduleInstallment().getInstallmentNumber())
+                            .append(' ').append(format(mapping.getPrincipalPortion(CURRENCY))).append(' ')
+                            .append(format(mapping.getInterestPortion(CURRENCY))));
+            return description.toString();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.apache.fineract.portfolio.loanaccount.jobs.addaccrualentries.AddAccrualEntriesItemWriter;
+import org.apache.fineract.portfolio.loanaccount.service.LoanAccrualsProcessingService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+
+@ExtendWith(MockitoExtension.class)
+class AccrualItemWriterTest {
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+
+    @Mock
+    private LoanAccrualsProcessingService loanAccrualsProcessingService;
+
+    private AddAccrualEntriesItemWriter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new AddAccrualEntriesItemWriter(loanReadPlatformService, loanAccrualsProcessingService);
+    }
+
+    @Test
+    public void testAccrualRowsOfAChunkAreLoadedOnceAndAccruedPerLoan() throws Exception {
+        // given
+        LoanScheduleAccrualData loan3First = accrualData(3L);
+        LoanScheduleAccrualData loan5 = accrualData(5L);
+        LoanScheduleAccrualData loan3Second = accrualData(3L);
+        when(loanReadPlatformService.retriveScheduleAccrualData(List.of(3L, 5L, 8L))).thenReturn(List.of(loan3First, loan5, loan3Second));
+
+        // when
+        underTest.write(new Chunk<>(3L, 5L, 8L));
+
+        // then
+        verify(loanReadPlatformService).retriveScheduleAccrualData(List.of(3L, 5L, 8L));
+        InOrder inOrder = inOrder(loanAccrualsProcessingService);
+        inOrder.verify(loanAccrualsProcessingService).addAccrualAccounting(3L, List.of(loan3First, loan3Second));
+        inOrder.verify(loanAccrualsProcessingService).addAccrualAccounting(5L, List.of(loan5));
+        verifyNoMoreInteractions(loanReadPlatformService, loanAccrualsProcessingService);
+    }
+
+    @Test
+    public void testFailingLoanFailsTheChunk() throws Exception {
+        // given
+        LoanScheduleAccrualData loan3 = accrualData(3L);
+        LoanScheduleAccrualData loan5 = accrualData(5L);
+        when(loanReadPlatformService.retriveScheduleAccrualData(List.of(3L, 5L))).thenReturn(List.of(loan3, loan5));
+        IllegalStateException failure = new IllegalStateException("failed");
+        Mockito.doThrow(failure).when(loanAccrualsProcessingService).addAccrualAccounting(3L, List.of(loan3));
+
+        // when
+        Exception exception = Assertions.assertThrows(IllegalStateException.class, () -> underTest.write(new Chunk<>(3L, 5L)));
+
+        // then
+        Assertions.assertSame(failure, exception);
+        verify(loanAccrualsProcessingService).addAccrualAccounting(3L, List.of(loan3));
+        verifyNoMoreInteractions(loanAccrualsProcessingService);
+    }
+
+    @Test
+    public void testLoansWithoutAccrualRowsAreNotAccrued() throws Exception {
+        // given
+        when(loanReadPlatformService.retriveScheduleAccrualData(List.of(3L))).thenReturn(List.of());
+
+        // when
+        underTest.write(new Chunk<>(3L));
+
+        // then
+        verifyNoInteractions(loanAccrualsProcessingService);
+    }
+
+    private static LoanScheduleAccrualData accrualData(Long loanId) {
+        LoanScheduleAccrualData accrualData = Mockito.mock(LoanScheduleAccrualData.class);
+        when(accrualData.getLoanId()).thenReturn(loanId);
+        return accrualData;
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.sql.ResultSet;
+import java.util.List;
+import org.apache.fineract.accounting.common.AccountingRuleType;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+class AccrualLoanIdServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @InjectMocks
+    private AccrualLoanIdService underTest;
+    @Captor
+    private ArgumentCaptor<String> sqlCaptor;
+    @Captor
+    private ArgumentCaptor<SqlParameterSource> parametersCaptor;
+    @Captor
+    private ArgumentCaptor<RowMapper<LoanCOBPartition>> rowMapperCaptor;
+
+    @Test
+    void partitionsSplitTheAccrualLoansIntoPagesOfIds() throws Exception {
+        underTest.retrieveLoanPartitions(100);
+
+        verify(namedParameterJdbcTemplate).query(sqlCaptor.capture(), parametersCaptor.capture(), rowMapperCaptor.capture());
+        assertAccrualLoanSelection(sqlCaptor.getValue(), parametersCaptor.getValue());
+        assertThat(sqlCaptor.getValue()).contains("floor(((row_number() over(order by id))-1) / :pageSize) as page")
+                .contains("(select loan.id as id from m_loan loan").contains("group by page").endsWith("order by page");
+        assertThat(parametersCaptor.getValue().getValue("pageSize")).isEqualTo(100);
+
+        final ResultSet rs = mock(ResultSet.class);
+        given(rs.getLong("min")).willReturn(1L);
+        given(rs.getLong("max")).willReturn(40L);
+        given(rs.getLong("page")).willReturn(0L);
+        given(rs.getLong("count")).willReturn(25L);
+        final LoanCOBPartition partition = rowMapperCaptor.getValue().mapRow(rs, 0);
+        assertThat(partition.getMinId()).isEqualTo(1L);
+        assertThat(partition.getMaxId()).isEqualTo(40L);
+        assertThat(partition.getPageNo()).isEqualTo(0L);
+        assertThat(partition.getCount()).isEqualTo(25L);
+    }
+
+    @Test
+    void loanIdsAreReadInKeysetPagesWithinThePartitionRange() {
+        given(sqlGenerator.limit(50)).willReturn("LIMIT 50");
+        given(namedParameterJdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .willReturn(List.of(13L, 15L));
+
+        assertThat(underTest.retrieveLoanIds(12L, 40L, 50)).containsExactly(13L, 15L);
+
+        verify(namedParameterJdbcTemplate).queryForList(sqlCaptor.capture(), parametersCaptor.capture(), eq(Long.class));
+        assertAccrualLoanSelection(sqlCaptor.getValue(), parametersCaptor.getValue());
+        assertThat(sqlCaptor.getValue()).startsWith("select loan.id from m_loan loan")
+                .endsWith("and loan.id > :lastLoanId and loan.id <= :maxLoanId order by loan.id LIMIT 50");
+        assertThat(parametersCaptor.getValue().getValue("lastLoanId")).isEqualTo(12L);
+        assertThat(parametersCaptor.getValue().getValue("maxLoanId")).isEqualTo(40L);
+    }
+
+    private static void assertAccrualLoanSelection(final String sql, final SqlParameterSource parameters) {
+        assertThat(sql.replaceAll("\\s+", " ")).contains("join m_product_loan mpl on mpl.id = loan.product_id")
+                .contains("where loan.loan_status_id = :active and mpl.accounting_type = :type")
+                .contains("and loan.is_npa = false and loan.is_charged_off = false");
+        assertThat(parameters.getValue("active")).isEqualTo(LoanStatus.ACTIVE.getValue());
+        assertThat(parameters.getValue("type")).isEqualTo(AccountingRuleType.ACCRUAL_PERIODIC.getValue());
+    }
+}
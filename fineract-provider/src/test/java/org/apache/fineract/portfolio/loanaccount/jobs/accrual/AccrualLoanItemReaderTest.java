@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+class AccrualLoanItemReaderTest {
+
+    @Mock
+    private AccrualLoanIdService accrualLoanIdService;
+
+    @Test
+    public void testLoanIdsAreReadInKeysetPages() {
+        // given
+        when(accrualLoanIdService.retrieveLoanIds(9L, 20L, 2)).thenReturn(List.of(10L, 12L));
+        when(accrualLoanIdService.retrieveLoanIds(12L, 20L, 2)).thenReturn(List.of(15L));
+        AccrualLoanItemReader reader = new AccrualLoanItemReader(accrualLoanIdService, 10L, 20L, 2);
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.open(executionContext);
+
+        // when & then
+        Assertions.assertEquals(10L, reader.read());
+        Assertions.assertEquals(12L, reader.read());
+        reader.update(executionContext);
+        Assertions.assertEquals(12L, executionContext.getLong(AccrualJobConstant.LAST_LOAN_ID));
+        Assertions.assertEquals(15L, reader.read());
+        Assertions.assertNull(reader.read());
+        verify(accrualLoanIdService).retrieveLoanIds(9L, 20L, 2);
+        verify(accrualLoanIdService).retrieveLoanIds(12L, 20L, 2);
+        verifyNoMoreInteractions(accrualLoanIdService);
+    }
+
+    @Test
+    public void testRestartContinuesAfterLastCommittedLoan() {
+        // given
+        when(accrualLoanIdService.retrieveLoanIds(12L, 20L, 2)).thenReturn(List.of());
+        AccrualLoanItemReader reader = new AccrualLoanItemReader(accrualLoanIdService, 10L, 20L, 2);
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putLong(AccrualJobConstant.LAST_LOAN_ID, 12L);
+
+        // when
+        reader.open(executionContext);
+
+        // then
+        Assertions.assertNull(reader.read());
+        verify(accrualLoanIdService).retrieveLoanIds(12L, 20L, 2);
+    }
+}
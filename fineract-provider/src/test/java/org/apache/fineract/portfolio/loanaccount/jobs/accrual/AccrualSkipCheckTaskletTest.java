@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.accrual;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.repeat.RepeatStatus;
+
+class AccrualSkipCheckTaskletTest {
+
+    private static final String WORKER_STEP = "Accrual worker - Step";
+
+    private final AccrualSkipCheckTasklet underTest = new AccrualSkipCheckTasklet(WORKER_STEP);
+
+    @Test
+    public void testJobSucceedsWhenNoLoanWasSkipped() throws Exception {
+        // given
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.createStepExecution(WORKER_STEP + ":partition_0");
+        StepExecution skipCheck = jobExecution.createStepExecution("Skip check - Step");
+
+        // when
+        RepeatStatus status = underTest.execute(new StepContribution(skipCheck), null);
+
+        // then
+        Assertions.assertEquals(RepeatStatus.FINISHED, status);
+    }
+
+    @Test
+    public void testJobFailsWhenPartitionsSkippedLoans() {
+        // given
+        JobExecution jobExecution = new JobExecution(1L);
+        StepExecution partition0 = jobExecution.createStepExecution(WORKER_STEP + ":partition_0");
+        partition0.setWriteSkipCount(2);
+        jobExecution.createStepExecution(WORKER_STEP + ":partition_1");
+        StepExecution partition2 = jobExecution.createStepExecution(WORKER_STEP + ":partition_2");
+        partition2.setReadSkipCount(1);
+        IllegalStateException failure = new IllegalStateException("loan 7 failed");
+        partition2.addFailureException(failure);
+        StepExecution otherStep = jobExecution.createStepExecution("Other - Step");
+        otherStep.setWriteSkipCount(5);
+        StepExecution skipCheck = jobExecution.createStepExecution("Skip check - Step");
+
+        // when
+        JobExecutionException exception = Assertions.assertThrows(JobExecutionException.class,
+                () -> underTest.execute(new StepContribution(skipCheck), null));
+
+        // then
+        Assertions.assertTrue(exception.getMessage().startsWith("Failed to add accrual transactions for 3 loans in partitions ["
+                + WORKER_STEP + ":partition_0, " + WORKER_STEP + ":partition_2]"));
+        Assertions.assertEquals(List.of(failure), exception.getCauses());
+    }
+
+    @Test
+    public void testJobFailsWhenSkippedLoansLeftNoFailureException() {
+        // given
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.createStepExecution(WORKER_STEP + ":partition_0").setProcessSkipCount(1);
+        StepExecution skipCheck = jobExecution.createStepExecution("Skip check - Step");
+
+        // when
+        JobExecutionException exception = Assertions.assertThrows(JobExecutionException.class,
+                () -> underTest.execute(new StepContribution(skipCheck), null));
+
+        // then
+        Assertions.assertEquals(1, exception.getCauses().size());
+        Assertions.assertTrue(exception.getCauses().get(0).getMessage().startsWith("Failed to add accrual transactions for 1 loans"));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+
+@ExtendWith(MockitoExtension.class)
+class ApplyHolidaysToLoansItemWriterTest {
+
+    @Mock
+    private HolidayRepositoryWrapper holidayRepository;
+    @Mock
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+    @Mock
+    private HolidayRepaymentScheduleAdjuster holidayRepaymentScheduleAdjuster;
+    @Mock
+    private HolidayLoanIdService holidayLoanIdService;
+    @Mock
+    private Loan firstLoan;
+    @Mock
+    private Loan secondLoan;
+    @Mock
+    private Loan thirdLoan;
+
+    private final Holiday firstHoliday = new Holiday().setName("first");
+    private final Holiday secondHoliday = new Holiday().setName("second");
+    private ApplyHolidaysToLoansItemWriter underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ApplyHolidaysToLoansItemWriter(holidayRepository, loanRepositoryWrapper, holidayRepaymentScheduleAdjuster,
+                holidayLoanIdService, List.of(7L, 8L));
+        final Map<Long, Loan> loans = new LinkedHashMap<>();
+        loans.put(1L, firstLoan);
+        loans.put(2L, secondLoan);
+        loans.put(3L, thirdLoan);
+        when(loanRepositoryWrapper.findAllWithNotFoundDetection(List.of(1L, 2L, 3L), true)).thenReturn(loans);
+    }
+
+    @Test
+    void holidaysAreAppliedOneAfterTheOtherToTheLoansTheyAffect() throws Exception {
+        when(holidayLoanIdService.retrieveLoanIds(7L, Set.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L));
+        when(holidayLoanIdService.retrieveLoanIds(8L, Set.of(1L, 2L, 3L))).thenReturn(List.of(2L, 3L));
+        when(holidayRepository.findOneWithNotFoundDetection(7L)).thenReturn(firstHoliday);
+        when(holidayRepository.findOneWithNotFoundDetection(8L)).thenReturn(secondHoliday);
+
+        underTest.write(new Chunk<>(List.of(1L, 2L, 3L)));
+
+        final InOrder inOrder = inOrder(holidayLoanIdService, holidayRepaymentScheduleAdjuster, loanRepositoryWrapper);
+        inOrder.verify(holidayLoanIdService).retrieveLoanIds(7L, Set.of(1L, 2L, 3L));
+        inOrder.verify(holidayRepaymentScheduleAdjuster).applyHolidayToRepaymentScheduleDates(firstLoan, firstHoliday);
+        inOrder.verify(holidayRepaymentScheduleAdjuster).applyHolidayToRepaymentScheduleDates(secondLoan, firstHoliday);
+        inOrder.verify(loanRepositoryWrapper).save(List.of(firstLoan, secondLoan));
+        inOrder.verify(loanRepositoryWrapper).flush();
+        inOrder.verify(holidayLoanIdService).markLoansApplied(7L, List.of(1L, 2L));
+        // the second holiday selects its loans after the first one has been flushed
+        inOrder.verify(holidayLoanIdService).retrieveLoanIds(8L, Set.of(1L, 2L, 3L));
+        inOrder.verify(holidayRepaymentScheduleAdjuster).applyHolidayToRepaymentScheduleDates(secondLoan, secondHoliday);
+        inOrder.verify(holidayRepaymentScheduleAdjuster).applyHolidayToRepaymentScheduleDates(thirdLoan, secondHoliday);
+        inOrder.verify(loanRepositoryWrapper).save(List.of(secondLoan, thirdLoan));
+        inOrder.verify(loanRepositoryWrapper).flush();
+        inOrder.verify(holidayLoanIdService).markLoansApplied(8L, List.of(2L, 3L));
+    }
+
+    @Test
+    void holidayAlreadyAppliedByAnEarlierExecutionIsSkipped() throws Exception {
+        // the loans of the first holiday are in m_holiday_applied_loan
+        when(holidayLoanIdService.retrieveLoanIds(7L, Set.of(1L, 2L, 3L))).thenReturn(List.of());
+        when(holidayLoanIdService.retrieveLoanIds(8L, Set.of(1L, 2L, 3L))).thenReturn(List.of(3L));
+        when(holidayRepository.findOneWithNotFoundDetection(8L)).thenReturn(secondHoliday);
+
+        underTest.write(new Chunk<>(List.of(1L, 2L, 3L)));
+
+        verify(holidayRepository, never()).findOneWithNotFoundDetection(7L);
+        verify(holidayRepaymentScheduleAdjuster, never()).applyHolidayToRepaymentScheduleDates(any(Loan.class), eq(firstHoliday));
+        verify(holidayLoanIdService, never()).markLoansApplied(eq(7L), any());
+        verify(holidayRepaymentScheduleAdjuster).applyHolidayToRepaymentScheduleDates(thirdLoan, secondHoliday);
+        verify(holidayLoanIdService).markLoansApplied(8L, List.of(3L));
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+class ApplyHolidaysToLoansPartitionerTest {
+
+    @Mock
+    private PropertyService propertyService;
+    @Mock
+    private HolidayLoanIdService holidayLoanIdService;
+
+    @Test
+    public void testPartitionsAreCreatedPerLoanIdRangeAcrossAllHolidays() {
+        // given
+        when(propertyService.getPartitionSize(JobName.APPLY_HOLIDAYS_TO_LOANS.name())).thenReturn(5);
+        when(holidayLoanIdService.retrieveLoanPartitions(List.of(7L, 8L), 5))
+                .thenReturn(List.of(new LoanCOBPartition(1L, 10L, 0L, 5L), new LoanCOBPartition(11L, 20L, 1L, 3L)));
+        ApplyHolidaysToLoansPartitioner partitioner = new ApplyHolidaysToLoansPartitioner(propertyService, holidayLoanIdService,
+                List.of(7L, 8L));
+
+        // when
+        Map<String, ExecutionContext> partitions = partitioner.partition(1);
+
+        // then
+        Assertions.assertEquals(2, partitions.size());
+        validatePartition(partitions.get("partition_0"), 1L, 10L);
+        validatePartition(partitions.get("partition_1"), 11L, 20L);
+    }
+
+    @Test
+    public void testNoPartitionsWithoutHolidays() {
+        // given
+        when(propertyService.getPartitionSize(JobName.APPLY_HOLIDAYS_TO_LOANS.name())).thenReturn(5);
+        ApplyHolidaysToLoansPartitioner partitioner = new ApplyHolidaysToLoansPartitioner(propertyService, holidayLoanIdService,
+                List.of());
+
+        // when
+        Map<String, ExecutionContext> partitions = partitioner.partition(1);
+
+        // then
+        Assertions.assertTrue(partitions.isEmpty());
+        verifyNoInteractions(holidayLoanIdService);
+    }
+
+    private void validatePartition(ExecutionContext executionContext, long minLoanId, long maxLoanId) {
+        Assertions.assertEquals(minLoanId, executionContext.get(ApplyHolidaysToLoansConstant.MIN_LOAN_ID));
+        Assertions.assertEquals(maxLoanId, executionContext.get(ApplyHolidaysToLoansConstant.MAX_LOAN_ID));
+    }
+}
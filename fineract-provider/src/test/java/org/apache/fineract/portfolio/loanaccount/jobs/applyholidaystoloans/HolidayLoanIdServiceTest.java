@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.sql.ResultSet;
+import java.util.List;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+class HolidayLoanIdServiceTest {
+
+    private static final List<Integer> LOAN_STATUSES = List.of(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(),
+            LoanStatus.APPROVED.getValue(), LoanStatus.ACTIVE.getValue());
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @InjectMocks
+    private HolidayLoanIdService underTest;
+    @Captor
+    private ArgumentCaptor<String> sqlCaptor;
+    @Captor
+    private ArgumentCaptor<SqlParameterSource> parametersCaptor;
+    @Captor
+    private ArgumentCaptor<RowMapper<LoanCOBPartition>> rowMapperCaptor;
+    @Captor
+    private ArgumentCaptor<SqlParameterSource[]> batchCaptor;
+
+    @Test
+    void partitionsCoverTheLoansOfAllHolidays() throws Exception {
+        underTest.retrieveLoanPartitions(List.of(7L, 8L), 100);
+
+        verify(namedParameterJdbcTemplate).query(sqlCaptor.capture(), parametersCaptor.capture(), rowMapperCaptor.capture());
+        assertAffectedLoanSelection(sqlCaptor.getValue());
+        assertThat(sqlCaptor.getValue()).contains("floor(((row_number() over(order by id))-1) / :pageSize) as page")
+                .contains("group by page").endsWith("order by page");
+        final SqlParameterSource parameters = parametersCaptor.getValue();
+        assertThat(parameters.getValue("holidayIds")).isEqualTo(List.of(7L, 8L));
+        assertThat(parameters.getValue("statusIds")).isEqualTo(LOAN_STATUSES);
+        assertThat(parameters.getValue("pageSize")).isEqualTo(100);
+
+        final ResultSet rs = mock(ResultSet.class);
+        given(rs.getLong("min")).willReturn(1L);
+        given(rs.getLong("max")).willReturn(40L);
+        given(rs.getLong("page")).willReturn(0L);
+        given(rs.getLong("count")).willReturn(25L);
+        final LoanCOBPartition partition = rowMapperCaptor.getValue().mapRow(rs, 0);
+        assertThat(partition.getMinId()).isEqualTo(1L);
+        assertThat(partition.getMaxId()).isEqualTo(40L);
+        assertThat(partition.getPageNo()).isEqualTo(0L);
+        assertThat(partition.getCount()).isEqualTo(25L);
+    }
+
+    @Test
+    void readerSelectsTheLoansOfAPartitionRange() {
+        given(namedParameterJdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .willReturn(List.of(3L, 5L));
+
+        assertThat(underTest.retrieveLoanIds(List.of(7L, 8L), 1L, 40L)).containsExactly(3L, 5L);
+
+        verify(namedParameterJdbcTemplate).queryForList(sqlCaptor.capture(), parametersCaptor.capture(), eq(Long.class));
+        assertAffectedLoanSelection(sqlCaptor.getValue());
+        assertThat(sqlCaptor.getValue()).endsWith("and l.id between :minLoanId and :maxLoanId order by l.id");
+        final SqlParameterSource parameters = parametersCaptor.getValue();
+        assertThat(parameters.getValue("holidayIds")).isEqualTo(List.of(7L, 8L));
+        assertThat(parameters.getValue("minLoanId")).isEqualTo(1L);
+        assertThat(parameters.getValue("maxLoanId")).isEqualTo(40L);
+    }
+
+    @Test
+    void writerSelectsTheLoansOfAChunkOneHolidayAtATime() {
+        underTest.retrieveLoanIds(7L, List.of(3L, 5L));
+
+        verify(namedParameterJdbcTemplate).queryForList(sqlCaptor.capture(), parametersCaptor.capture(), eq(Long.class));
+        assertAffectedLoanSelection(sqlCaptor.getValue());
+        assertThat(sqlCaptor.getValue()).endsWith("and l.id in (:loanIds) order by l.id");
+        assertThat(parametersCaptor.getValue().getValue("holidayIds")).isEqualTo(List.of(7L));
+        assertThat(parametersCaptor.getValue().getValue("loanIds")).isEqualTo(List.of(3L, 5L));
+    }
+
+    @Test
+    void appliedLoansAreRecordedAndClearedPerHoliday() {
+        underTest.markLoansApplied(7L, List.of(3L, 5L));
+        underTest.clearAppliedLoans(7L);
+
+        verify(namedParameterJdbcTemplate).batchUpdate(
+                eq("insert into m_holiday_applied_loan (holiday_id, loan_id) values (:holidayId, :loanId)"), batchCaptor.capture());
+        assertThat(batchCaptor.getValue()).hasSize(2);
+        assertThat(batchCaptor.getValue()[0].getValue("holidayId")).isEqualTo(7L);
+        assertThat(batchCaptor.getValue()[0].getValue("loanId")).isEqualTo(3L);
+        assertThat(batchCaptor.getValue()[1].getValue("loanId")).isEqualTo(5L);
+        verify(namedParameterJdbcTemplate).update(eq("delete from m_holiday_applied_loan where holiday_id = :holidayId"),
+                parametersCaptor.capture());
+        assertThat(parametersCaptor.getValue().getValue("holidayId")).isEqualTo(7L);
+    }
+
+    private static void assertAffectedLoanSelection(final String sql) {
+        assertThat(sql.replaceAll("\\s+", " ")).contains("where l.loan_status_id in (:statusIds)")
+                .contains("where h.id in (:holidayIds) and (ho.office_id = c.office_id or ho.office_id = g.office_id)")
+                .contains("rs.loan_id = l.id and rs.duedate >= h.from_date")
+                // the restart checkpoint
+                .contains("not exists (select 1 from m_holiday_applied_loan hl where hl.holiday_id = h.id and hl.loan_id = l.id)");
+    }
+}
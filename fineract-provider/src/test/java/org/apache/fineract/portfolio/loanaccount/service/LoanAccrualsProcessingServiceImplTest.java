@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.business.domain.loan.transaction.LoanAccrualTransactionCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.organisation.office.domain.OfficeRepository;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoanAccrualsProcessingServiceImplTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 1);
+    private static final Long LOAN_ID = 1L;
+    private static final Long OFFICE_ID = 2L;
+    private static final Long PRODUCT_ID = 3L;
+
+    private final MockedStatic<MoneyHelper> moneyHelper = Mockito.mockStatic(MoneyHelper.class);
+
+    @Mock
+    private LoanChargeReadPlatformService loanChargeReadPlatformService;
+
+    @Mock
+    private ExternalIdFactory externalIdFactory;
+
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+
+    @Mock
+    private JournalEntryWritePlatformService journalEntryWritePlatformService;
+
+    @Mock
+    private LoanTransactionRepository loanTransactionRepository;
+
+    @Mock
+    private PlatformSecurityContext context;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private OfficeRepository officeRepository;
+
+    @Mock
+    private Loan loan;
+
+    @Mock
+    private LoanRepaymentScheduleInstallment installment;
+
+    @InjectMocks
+    private LoanAccrualsProcessingServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+        moneyHelper.when(MoneyHelper::getMathContext).thenReturn(new MathContext(12, RoundingMode.HALF_EVEN));
+        moneyHelper.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+
+        AppUser user = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser()).thenReturn(user);
+        when(loanChargeReadPlatformService.retrieveLoanChargesForAccrual(LOAN_ID)).thenReturn(List.of());
+        when(configurationDomainService.getAccrualDateConfigForCharge()).thenReturn("due-date");
+        when(externalIdFactory.create()).thenReturn(ExternalId.empty());
+        when(loanRepository.getReferenceById(LOAN_ID)).thenReturn(loan);
+        when(officeRepository.getReferenceById(OFFICE_ID)).thenReturn(Mockito.mock(Office.class));
+        when(loan.getCurrency()).thenReturn(new MonetaryCurrency("USD", 2, null));
+        when(loan.fetchLoanRepaymentScheduleInstallmentByDueDate(any())).thenReturn(installment);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        moneyHelper.close();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testAccrualsOfOneLoanArePostedWithOneJournalEntryCall() {
+        // given
+        List<LoanScheduleAccrualData> accrualData = List.of(accrualData(1, LocalDate.of(2024, 1, 1), "10"),
+                accrualData(2, LocalDate.of(2024, 2, 1), "12"));
+
+        // when
+        underTest.addAccrualAccounting(LOAN_ID, accrualData);
+
+        // then
+        verify(businessEventNotifierService, times(2)).notifyPostBusinessEvent(any(LoanAccrualTransactionCreatedBusinessEvent.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(journalEntryWritePlatformService).createJournalEntriesForLoan(captor.capture());
+        Map<String, Object> accountingBridgeData = captor.getValue();
+        Assertions.assertEquals(LOAN_ID, accountingBridgeData.get("loanId"));
+        Assertions.assertEquals(OFFICE_ID, accountingBridgeData.get("officeId"));
+        Assertions.assertEquals(PRODUCT_ID, accountingBridgeData.get("loanProductId"));
+        Assertions.assertEquals(Boolean.TRUE, accountingBridgeData.get("periodicAccrualBasedAccountingEnabled"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> newLoanTransactions = (List<Map<String, Object>>) accountingBridgeData.get("newLoanTransactions");
+        Assertions.assertEquals(2, newLoanTransactions.size());
+        Assertions.assertEquals(new BigDecimal("10"), newLoanTransactions.get(0).get("amount"));
+        Assertions.assertEquals(LocalDate.of(2024, 1, 1), newLoanTransactions.get(0).get("date"));
+        Assertions.assertEquals(new BigDecimal("12"), newLoanTransactions.get(1).get("amount"));
+        Assertions.assertEquals(LocalDate.of(2024, 2, 1), newLoanTransactions.get(1).get("date"));
+    }
+
+    @Test
+    public void testPeriodicAccrualsOfOneLoanArePostedWithOneJournalEntryCall() {
+        // given
+        List<LoanScheduleAccrualData> accrualData = List.of(accrualData(1, LocalDate.of(2024, 1, 1), "10"),
+                accrualData(2, LocalDate.of(2024, 2, 1), "12"));
+
+        // when
+        underTest.addPeriodicAccruals(BUSINESS_DATE, LOAN_ID, accrualData);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(journalEntryWritePlatformService).createJournalEntriesForLoan(captor.capture());
+        Assertions.assertEquals(2, ((List<?>) captor.getValue().get("newLoanTransactions")).size());
+    }
+
+    @Test
+    public void testNoJournalEntriesArePostedWhenNothingIsAccrued() {
+        // given
+        List<LoanScheduleAccrualData> accrualData = List.of(accrualData(1, LocalDate.of(2024, 1, 1), "0"));
+
+        // when
+        underTest.addAccrualAccounting(LOAN_ID, accrualData);
+
+        // then
+        verify(loanTransactionRepository, never()).saveAndFlush(any());
+        verify(journalEntryWritePlatformService, never()).createJournalEntriesForLoan(any());
+    }
+
+    private static LoanScheduleAccrualData accrualData(int installmentNumber, LocalDate dueDate, String interestIncome) {
+        return new LoanScheduleAccrualData(LOAN_ID, OFFICE_ID, installmentNumber, null, PeriodFrequencyType.MONTHS, 1, dueDate,
+                dueDate.minusMonths(1), (long) installmentNumber, PRODUCT_ID, new BigDecimal(interestIncome), null, null, null, null, null,
+                new CurrencyData("USD", 2, null), null, null, null, null);
+    }
+}
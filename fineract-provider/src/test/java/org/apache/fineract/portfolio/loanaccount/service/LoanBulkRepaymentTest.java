@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanBalanceChangedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierServiceImpl;
+import org.apache.fineract.infrastructure.event.business.service.TransactionHelper;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
+import org.apache.fineract.infrastructure.event.external.service.ExternalEventService;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
+import org.apache.fineract.portfolio.collectionsheet.command.CollectionSheetBulkRepaymentCommand;
+import org.apache.fineract.portfolio.collectionsheet.command.SingleRepaymentCommand;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanAccountDomainService;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class LoanBulkRepaymentTest {
+
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+    @Mock
+    private LoanAccountDomainService loanAccountDomainService;
+    @Mock
+    private LoanAssembler loanAssembler;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private WorkingDaysRepositoryWrapper workingDaysRepository;
+    @Mock
+    private HolidayRepositoryWrapper holidayRepository;
+    @Mock
+    private ExternalEventService externalEventService;
+    @Mock
+    private ExternalEventConfigurationRepository eventConfigurationRepository;
+    @Captor
+    private ArgumentCaptor<BusinessEvent<?>> postedEvents;
+    @InjectMocks
+    private LoanWritePlatformServiceJpaRepositoryImpl underTest;
+
+    private BusinessEventNotifierServiceImpl businessEventNotifierService;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        eventsProperties.setExternal(new FineractProperties.FineractExternalEventsProperties());
+        eventsProperties.getExternal().setEnabled(true);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setEvents(eventsProperties);
+        given(eventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(anyString()))
+                .willReturn(new ExternalEventConfiguration(LoanBalanceChangedBusinessEvent.class.getSimpleName(), true));
+        // without a transaction the events are posted right away
+        businessEventNotifierService = new BusinessEventNotifierServiceImpl(externalEventService, eventConfigurationRepository,
+                fineractProperties, mock(TransactionHelper.class));
+        ReflectionTestUtils.setField(underTest, "businessEventNotifierService", businessEventNotifierService);
+    }
+
+    @Test
+    public void testRepaymentsOfSeveralLoansPostTheirOwnEvents() {
+        // given
+        Loan first = loan(1L);
+        Loan second = loan(2L);
+        Map<Long, Loan> loans = new LinkedHashMap<>();
+        loans.put(1L, first);
+        loans.put(2L, second);
+        given(loanRepositoryWrapper.findAllWithNotFoundDetection(List.of(1L, 2L), true)).willReturn(loans);
+        LoanTransaction firstRepayment = repayment(11L);
+        LoanTransaction secondRepayment = repayment(12L);
+        given(loanAccountDomainService.makeRepayment(eq(LoanTransactionType.REPAYMENT), any(Loan.class), eq(TRANSACTION_DATE),
+                any(BigDecimal.class), any(), any(), any(ExternalId.class), anyBoolean(), any(), anyBoolean(), any(), anyBoolean()))
+                .willAnswer(invocation -> {
+                    Loan loan = invocation.getArgument(1);
+                    // replayed transactions are recorded and posted per loan, as ReplayedTransactionBusinessEventService does
+                    businessEventNotifierService.startExternalEventRecording();
+                    businessEventNotifierService.notifyPostBusinessEvent(new LoanBalanceChangedBusinessEvent(loan));
+                    businessEventNotifierService.notifyPostBusinessEvent(new LoanBalanceChangedBusinessEvent(loan));
+                    businessEventNotifierService.stopExternalEventRecording();
+                    businessEventNotifierService.notifyPostBusinessEvent(new LoanBalanceChangedBusinessEvent(loan));
+                    return loan == first ? firstRepayment : secondRepayment;
+                });
+        CollectionSheetBulkRepaymentCommand command = new CollectionSheetBulkRepaymentCommand("note", TRANSACTION_DATE,
+                new SingleRepaymentCommand[] { repaymentCommand(1L), null, repaymentCommand(2L) });
+
+        // when
+        Map<String, Object> changes = underTest.makeLoanBulkRepayment(command);
+
+        // then
+        assertThat(changes.get("loanTransactions")).isEqualTo(List.of(11L, 12L));
+        verify(externalEventService, times(4)).postEvent(postedEvents.capture());
+        assertThat(postedEvents.getAllValues()).extracting(BusinessEvent::getAggregateRootId).containsExactly(1L, 1L, 2L, 2L);
+        assertThat(postedEvents.getAllValues()).extracting(event -> event.getClass().getSimpleName()).containsExactly(
+                BulkBusinessEvent.class.getSimpleName(), LoanBalanceChangedBusinessEvent.class.getSimpleName(),
+                BulkBusinessEvent.class.getSimpleName(), LoanBalanceChangedBusinessEvent.class.getSimpleName());
+    }
+
+    private static Loan loan(Long id) {
+        Loan loan = mock(Loan.class);
+        given(loan.getId()).willReturn(id);
+        given(loan.getOfficeId()).willReturn(1L);
+        return loan;
+    }
+
+    private static LoanTransaction repayment(Long id) {
+        LoanTransaction transaction = mock(LoanTransaction.class);
+        given(transaction.getId()).willReturn(id);
+        return transaction;
+    }
+
+    private static SingleRepaymentCommand repaymentCommand(Long loanId) {
+        return new SingleRepaymentCommand(loanId, ExternalId.empty(), BigDecimal.TEN, TRANSACTION_DATE, null);
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class SavingsAccountRepositoryWrapperTest {
+
+    private final SavingsAccountRepository repository = mock(SavingsAccountRepository.class);
+    private SavingsAccountRepositoryWrapper underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractQueryProperties queryProperties = new FineractProperties.FineractQueryProperties();
+        queryProperties.setInClauseParameterSizeLimit(2);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setQuery(queryProperties);
+        underTest = new SavingsAccountRepositoryWrapper(repository, mock(SavingsAccountTransactionRepository.class),
+                mock(JdbcTemplate.class), fineractProperties);
+    }
+
+    @Test
+    public void testFindAllFetchesAccountsInChunks() {
+        SavingsAccount first = account(1L);
+        SavingsAccount second = account(2L);
+        SavingsAccount third = account(3L);
+        when(repository.findAllById(List.of(3L, 1L))).thenReturn(List.of(first, third));
+        when(repository.findAllById(List.of(2L))).thenReturn(List.of(second));
+
+        Map<Long, SavingsAccount> accounts = underTest.findAllByIds(List.of(3L, 1L, 2L, 1L));
+
+        Assertions.assertEquals(3, accounts.size());
+        Assertions.assertSame(first, accounts.get(1L));
+        Assertions.assertSame(second, accounts.get(2L));
+        verify(first, times(1)).loadLazyCollections();
+        verify(repository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    public void testFindAllLeavesOutMissingAccounts() {
+        SavingsAccount first = account(1L);
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first));
+
+        Map<Long, SavingsAccount> accounts = underTest.findAllByIds(List.of(1L, 2L));
+
+        Assertions.assertEquals(Map.of(1L, first), accounts);
+    }
+
+    private SavingsAccount account(Long id) {
+        SavingsAccount account = mock(SavingsAccount.class);
+        when(account.getId()).thenReturn(id);
+        return account;
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import java.util.regex.Pattern;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.organisation.office.service.OfficeClosureService;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+class SearchReadPlatformServiceImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private AppUser appUser;
+    @Mock
+    private Office office;
+    @InjectMocks
+    private SearchReadPlatformServiceImpl underTest;
+    @Captor
+    private ArgumentCaptor<String> sqlCaptor;
+    @Captor
+    private ArgumentCaptor<SqlParameterSource> paramsCaptor;
+
+    @Test
+    void searchIsScopedToTheOfficeOfTheUserAndTheOfficesBelowIt() {
+        given(context.authenticatedUser()).willReturn(appUser);
+        given(appUser.getOffice()).willReturn(office);
+        given(office.getId()).willReturn(3L);
+        given(sqlGenerator.limit(50, 0)).willReturn("LIMIT 50");
+
+        underTest.retriveMatchingData(new SearchConditions("jo", null, false));
+
+        verify(namedParameterJdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(RowMapper.class));
+        final String officeScope = OfficeClosureService.underOffice("o.id", "officeId");
+        // clients, loans, savings, shares, client identifiers and groups
+        assertThat(sqlCaptor.getValue()).contains(officeScope).doesNotContain("hierarchy");
+        assertThat(sqlCaptor.getValue().split(Pattern.quote(officeScope), -1)).hasSize(7);
+        assertThat(paramsCaptor.getValue().getValue("officeId")).isEqualTo(3L);
+        assertThat(paramsCaptor.getValue().getValue("search")).isEqualTo("%jo%");
+    }
+
+    @Test
+    void searchOfTheHeadOfficeUserIsScopedToTheHeadOffice() {
+        given(context.authenticatedUser()).willReturn(appUser);
+        given(appUser.getOffice()).willReturn(office);
+        given(office.getId()).willReturn(1L);
+        given(sqlGenerator.limit(50, 0)).willReturn("LIMIT 50");
+
+        underTest.retriveMatchingData(new SearchConditions("000000001", "clients", true));
+
+        verify(namedParameterJdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(RowMapper.class));
+        assertThat(sqlCaptor.getValue()).contains(OfficeClosureService.underOffice("o.id", "officeId")).doesNotContain("m_loan");
+        assertThat(paramsCaptor.getValue().getValue("officeId")).isEqualTo(1L);
+        assertThat(paramsCaptor.getValue().getValue("search")).isEqualTo("000000001");
+    }
+}
@@ -18,8 +18,14 @@
  */
 package org.apache.fineract.portfolio.savings.domain;
 
+import com.google.common.collect.Lists;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.portfolio.savings.DepositAccountType;
 import org.apache.fineract.portfolio.savings.exception.SavingsAccountNotFoundException;
@@ -48,13 +54,16 @@ public class SavingsAccountRepositoryWrapper {
     private final SavingsAccountRepository repository;
     private final SavingsAccountTransactionRepository savingsAccountTransactionRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final FineractProperties fineractProperties;
 
     @Autowired
     public SavingsAccountRepositoryWrapper(final SavingsAccountRepository repository,
-            final SavingsAccountTransactionRepository savingsAccountTransactionRepository, final JdbcTemplate jdbcTemplate) {
+            final SavingsAccountTransactionRepository savingsAccountTransactionRepository, final JdbcTemplate jdbcTemplate,
+            final FineractProperties fineractProperties) {
         this.repository = repository;
         this.savingsAccountTransactionRepository = savingsAccountTransactionRepository;
         this.jdbcTemplate = jdbcTemplate;
+        this.fineractProperties = fineractProperties;
     }
 
     @Transactional(readOnly = true)
@@ -90,6 +99,24 @@ public class SavingsAccountRepositoryWrapper {
         return account;
     }
 
+    /**
+     * Fetches the accounts in chunks of the IN clause size limit instead of one query per account.
+     *
+     * @return the found accounts by id, ids without an account are left out
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, SavingsAccount> findAllByIds(final Collection<Long> savingsIds) {
+        final Map<Long, SavingsAccount> accounts = new HashMap<>();
+        for (List<Long> partition : Lists.partition(List.copyOf(new LinkedHashSet<>(savingsIds)),
+                fineractProperties.getQuery().getInClauseParameterSizeLimit())) {
+            for (SavingsAccount account : this.repository.findAllById(partition)) {
+                account.loadLazyCollections();
+                accounts.put(account.getId(), account);
+            }
+        }
+        return accounts;
+    }
+
     @Transactional(readOnly = true)
     public List<SavingsAccount> findSavingAccountByClientId(@Param("clientId") Long clientId) {
         List<SavingsAccount> accounts = this.repository.findSavingAccountByClientId(clientId);